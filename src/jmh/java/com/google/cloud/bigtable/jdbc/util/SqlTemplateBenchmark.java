@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the placeholder rewriting path of prepared statements: parsing a SQL string into a
+ * {@link SqlTemplate}, and looking up the cached template.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlTemplateBenchmark {
+  @Param({
+    "SELECT * FROM users WHERE id = ?",
+    "SELECT _key, cf['a'] FROM t /* ? */ WHERE _key >= ? AND _key < ? AND cf['b'] = 'x?' LIMIT 10"
+  })
+  public String sql;
+
+  @Benchmark
+  public SqlTemplate compile() {
+    return SqlTemplate.compile(sql);
+  }
+
+  @Benchmark
+  public String cachedNamedParams() {
+    SqlTemplate template = SqlTemplate.of(sql);
+    return template.toNamedParams(template.getPlaceholderCount());
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The queries of a prepared statement batch, run with a bounded number of streams open at a time.
+ *
+ * <p>The first queries are started when the batch is executed. Each query runs in its own child of
+ * the batch execution, and when its stream is exhausted or closed the next pending query is
+ * started, so results are read in order while the following queries are already streaming.
+ * Cancelling the batch execution cancels all of them.
+ *
+ * @param <T> the result of a started query.
+ */
+final class BatchExecution<T extends AutoCloseable> {
+  static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+  /** Starts the query at an index of the batch. */
+  interface QueryStarter<T> {
+    /** Starts query {@code index}, whose RPCs must belong to {@code execution}. */
+    T start(int index, QueryExecution execution) throws SQLException;
+  }
+
+  private final QueryExecution execution;
+  private final QueryStarter<T> starter;
+  private final int maxInFlight;
+  // All guarded by this. Indexed by query; a query has either a result or a failure once ready.
+  // Queries are started without holding the lock, so that closing the batch from a cancel or
+  // timeout does not wait for an RPC to start.
+  private final Object[] results;
+  private final SQLException[] failures;
+  private final QueryExecution[] executions;
+  private final boolean[] ready;
+  private final boolean[] done;
+  private int started = 0;
+  private int inFlight = 0;
+  private boolean closed = false;
+
+  BatchExecution(int size, int maxInFlight, QueryExecution execution, QueryStarter<T> starter) {
+    this.execution = execution;
+    this.starter = starter;
+    this.maxInFlight = maxInFlight > 0 ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+    this.results = new Object[size];
+    this.failures = new SQLException[size];
+    this.executions = new QueryExecution[size];
+    this.ready = new boolean[size];
+    this.done = new boolean[size];
+    execution.onEnd(this::close);
+  }
+
+  /** Starts the first queries of the batch. */
+  void start() {
+    int index;
+    while ((index = reserveNext(false)) >= 0) {
+      launch(index);
+    }
+  }
+
+  int size() {
+    return results.length;
+  }
+
+  /**
+   * Returns the result of query {@code index}, starting it now if it has not been started yet.
+   *
+   * @throws SQLException if the query failed to start.
+   */
+  @SuppressWarnings("unchecked")
+  T get(int index) throws SQLException {
+    while (true) {
+      int next;
+      synchronized (this) {
+        checkNotClosed();
+        if (index < started) {
+          // Started by this or another thread; waits until it is published.
+          while (!ready[index]) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new SQLException("Interrupted while starting the query.", e);
+            }
+            checkNotClosed();
+          }
+          if (failures[index] != null) {
+            throw failures[index];
+          }
+          return (T) results[index];
+        }
+        next = reserveNext(true);
+      }
+      launch(next);
+    }
+  }
+
+  // Guarded by this.
+  private void checkNotClosed() throws SQLException {
+    if (closed) {
+      throw execution.isAborted()
+          ? execution.toSQLException(null)
+          : new SQLException("The batch is closed.");
+    }
+  }
+
+  /** Records that query {@code index} was read to the end or closed, and starts the next one. */
+  void done(int index) {
+    QueryExecution queryExecution;
+    synchronized (this) {
+      if (done[index] || results[index] == null) {
+        return;
+      }
+      done[index] = true;
+      inFlight--;
+      queryExecution = executions[index];
+    }
+    queryExecution.finish();
+    start();
+  }
+
+  /** Stops starting queries and closes the results of the ones that are still running. */
+  void close() {
+    List<AutoCloseable> running = new ArrayList<>();
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      for (int index = 0; index < started; index++) {
+        if (results[index] != null && !done[index]) {
+          done[index] = true;
+          running.add((AutoCloseable) results[index]);
+        }
+      }
+      notifyAll();
+    }
+    running.forEach(BatchExecution::closeQuietly);
+    execution.finish();
+  }
+
+  /**
+   * Reserves the next query to start and returns its index, or -1 if no query may start now. With
+   * {@code ignoreLimit}, the query is reserved even if the maximum number are in flight.
+   */
+  private synchronized int reserveNext(boolean ignoreLimit) {
+    if (closed || started >= results.length || (!ignoreLimit && inFlight >= maxInFlight)) {
+      return -1;
+    }
+    int index = started++;
+    inFlight++;
+    executions[index] = execution.startChild();
+    return index;
+  }
+
+  // Starts the reserved query at index without holding the lock, then publishes its outcome.
+  private void launch(int index) {
+    QueryExecution queryExecution;
+    synchronized (this) {
+      queryExecution = executions[index];
+    }
+    T result = null;
+    SQLException failure = null;
+    try {
+      result = starter.start(index, queryExecution);
+    } catch (SQLException e) {
+      failure = e;
+    } catch (RuntimeException e) {
+      failure = new SQLException("Failed to execute query: " + e.getMessage(), e);
+    }
+    boolean abandoned;
+    synchronized (this) {
+      results[index] = result;
+      failures[index] = failure;
+      ready[index] = true;
+      if (result == null) {
+        inFlight--;
+      }
+      // The batch was closed while the query was starting.
+      abandoned = closed && result != null;
+      if (abandoned) {
+        done[index] = true;
+      }
+      notifyAll();
+    }
+    if (abandoned) {
+      closeQuietly(result);
+    }
+    queryExecution.onEnd(() -> done(index));
+  }
+
+  private static void closeQuietly(AutoCloseable result) {
+    try {
+      result.close();
+    } catch (Exception ignored) {
+      // The query is abandoned either way.
+    }
+  }
+}
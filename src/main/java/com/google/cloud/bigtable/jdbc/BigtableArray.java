@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.Date;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import com.google.protobuf.ByteString;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link java.sql.Array} over the elements of an ARRAY value, as returned by the client.
+ *
+ * <p>Elements are only converted when they are read: {@link #getArray(long, int)} converts the
+ * requested slice only. Arrays are typed by their base type, such as {@code Long[]} for INT64
+ * elements, whether they have null elements or not. STRUCT elements are returned as {@link
+ * java.sql.Struct}s.
+ */
+final class BigtableArray implements Array {
+  private final SqlType<?> elementType;
+  private List<?> elements;
+
+  BigtableArray(SqlType<?> elementType, List<?> elements) {
+    this.elementType = elementType;
+    this.elements = elements;
+  }
+
+  private List<?> elements() throws SQLException {
+    if (elements == null) {
+      throw new SQLException("The Array was freed.");
+    }
+    return elements;
+  }
+
+  @Override
+  public String getBaseTypeName() {
+    return BigtableColumnType.fromSqlType(elementType).name();
+  }
+
+  @Override
+  public int getBaseType() {
+    return BigtableColumnType.fromSqlType(elementType).getSqlTypeCode();
+  }
+
+  @Override
+  public Object getArray() throws SQLException {
+    return toArray(elementType, elements());
+  }
+
+  @Override
+  public Object getArray(long index, int count) throws SQLException {
+    List<?> elements = elements();
+    if (index < 1 || count < 0 || index - 1 + count > elements.size()) {
+      throw new SQLException(
+          "Invalid slice of " + count + " elements at " + index + " of " + elements.size());
+    }
+    int from = (int) (index - 1);
+    return toArray(elementType, elements.subList(from, from + count));
+  }
+
+  @Override
+  public Object getArray(Map<String, Class<?>> map) throws SQLException {
+    checkNoTypeMap(map);
+    return getArray();
+  }
+
+  @Override
+  public Object getArray(long index, int count, Map<String, Class<?>> map) throws SQLException {
+    checkNoTypeMap(map);
+    return getArray(index, count);
+  }
+
+  @Override
+  public ResultSet getResultSet() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSet is not supported");
+  }
+
+  @Override
+  public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSet is not supported");
+  }
+
+  @Override
+  public ResultSet getResultSet(long index, int count) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSet is not supported");
+  }
+
+  @Override
+  public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map)
+      throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSet is not supported");
+  }
+
+  @Override
+  public void free() {
+    elements = null;
+  }
+
+  private static void checkNoTypeMap(Map<String, Class<?>> map) throws SQLException {
+    if (map != null && !map.isEmpty()) {
+      throw new SQLFeatureNotSupportedException("Type maps are not supported");
+    }
+  }
+
+  // Converts elements of elementType to the Java array returned by getArray().
+  static Object toArray(SqlType<?> elementType, List<?> elements) {
+    SqlType.Code code = elementType == null ? null : elementType.getCode();
+    if (code == SqlType.Code.STRUCT) {
+      SqlType.Struct structType = (SqlType.Struct) elementType;
+      java.sql.Struct[] structs = new java.sql.Struct[elements.size()];
+      for (int i = 0; i < structs.length; i++) {
+        Struct struct = (Struct) elements.get(i);
+        structs[i] = struct == null ? null : new BigtableStruct(struct, structType);
+      }
+      return structs;
+    }
+    return elements.toArray(
+        (Object[]) java.lang.reflect.Array.newInstance(elementClass(code), elements.size()));
+  }
+
+  // Returns the class of the elements of code, as returned by the client.
+  private static Class<?> elementClass(SqlType.Code code) {
+    if (code == null) {
+      return Object.class;
+    }
+    switch (code) {
+      case INT64:
+        return Long.class;
+      case FLOAT64:
+        return Double.class;
+      case FLOAT32:
+        return Float.class;
+      case BOOL:
+        return Boolean.class;
+      case STRING:
+        return String.class;
+      case BYTES:
+        return ByteString.class;
+      case DATE:
+        return Date.class;
+      case TIMESTAMP:
+        return Instant.class;
+      default:
+        return Object.class;
+    }
+  }
+
+  /** Returns the elements of an ARRAY&lt;INT64&gt; value, which must not be null. */
+  static long[] toLongArray(List<?> elements) {
+    long[] values = new long[elements.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (Long) element(elements, i);
+    }
+    return values;
+  }
+
+  /** Returns the elements of an ARRAY&lt;FLOAT64&gt; value, which must not be null. */
+  static double[] toDoubleArray(List<?> elements) {
+    double[] values = new double[elements.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (Double) element(elements, i);
+    }
+    return values;
+  }
+
+  private static Object element(List<?> elements, int i) {
+    Object element = elements.get(i);
+    if (element == null) {
+      throw new IllegalArgumentException("Element " + (i + 1) + " of the array is null");
+    }
+    return element;
+  }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.MapVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Reads the rows of a result set into Arrow record batches of up to {@code batchSize} rows.
+ *
+ * <p>Values are written from the rows of the client straight into the vectors of {@link
+ * #getVectorSchemaRoot()}, which is reused by each call to {@link #loadNextBatch()}. Columns map
+ * to Arrow types as follows: INT64 to Int64, FLOAT32 and FLOAT64 to Float32 and Float64, BOOL to
+ * Bool, STRING to Utf8, BYTES to Binary, TIMESTAMP to a UTC Timestamp in microseconds, DATE to a
+ * Date in days, and ARRAY, STRUCT and MAP to List, Struct and Map of the mapped types.
+ *
+ * <p>As an {@link ArrowReader}, it can be exported through the Arrow C data interface to
+ * consumers such as DuckDB. Requires {@code org.apache.arrow:arrow-vector} and an Arrow memory
+ * implementation on the classpath; the driver itself does not depend on them. Closing the reader
+ * closes the result set.
+ */
+public final class BigtableArrowReader extends ArrowReader {
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  private final BigtableResultSet resultSet;
+  private final int batchSize;
+
+  public BigtableArrowReader(java.sql.ResultSet resultSet, BufferAllocator allocator, int batchSize)
+      throws SQLException {
+    super(allocator);
+    if (batchSize < 1) {
+      throw new SQLException("Invalid batch size: " + batchSize);
+    }
+    this.resultSet = resultSet.unwrap(BigtableResultSet.class);
+    this.batchSize = batchSize;
+  }
+
+  public BigtableArrowReader(java.sql.ResultSet resultSet, BufferAllocator allocator)
+      throws SQLException {
+    this(resultSet, allocator, DEFAULT_BATCH_SIZE);
+  }
+
+  /** Returns the Arrow schema of {@code columns}. */
+  public static Schema toSchema(List<ColumnMetadata> columns) {
+    List<Field> fields = new ArrayList<>(columns.size());
+    for (ColumnMetadata column : columns) {
+      fields.add(toField(column.name(), column.type(), true));
+    }
+    return new Schema(fields);
+  }
+
+  static Field toField(String name, SqlType<?> type, boolean nullable) {
+    if (type == null) {
+      throw new IllegalArgumentException("Column " + name + " has no type");
+    }
+    List<Field> children = new ArrayList<>();
+    ArrowType arrowType;
+    switch (type.getCode()) {
+      case INT64:
+        arrowType = new ArrowType.Int(64, true);
+        break;
+      case FLOAT32:
+        arrowType = new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+        break;
+      case FLOAT64:
+        arrowType = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+        break;
+      case BOOL:
+        arrowType = ArrowType.Bool.INSTANCE;
+        break;
+      case STRING:
+        arrowType = ArrowType.Utf8.INSTANCE;
+        break;
+      case BYTES:
+        arrowType = ArrowType.Binary.INSTANCE;
+        break;
+      case TIMESTAMP:
+        arrowType = new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC");
+        break;
+      case DATE:
+        arrowType = new ArrowType.Date(DateUnit.DAY);
+        break;
+      case ARRAY:
+        arrowType = ArrowType.List.INSTANCE;
+        children.add(
+            toField(
+                ListVector.DATA_VECTOR_NAME, ((SqlType.Array<?>) type).getElementType(), true));
+        break;
+      case STRUCT:
+        arrowType = ArrowType.Struct.INSTANCE;
+        for (SqlType.Struct.Field field : ((SqlType.Struct) type).getFields()) {
+          children.add(toField(field.name(), field.type(), true));
+        }
+        break;
+      case MAP:
+        SqlType.Map<?, ?> mapType = (SqlType.Map<?, ?>) type;
+        arrowType = new ArrowType.Map(false);
+        List<Field> entry = new ArrayList<>();
+        entry.add(toField(MapVector.KEY_NAME, mapType.getKeyType(), false));
+        entry.add(toField(MapVector.VALUE_NAME, mapType.getValueType(), true));
+        FieldType entryType = FieldType.notNullable(ArrowType.Struct.INSTANCE);
+        children.add(new Field(MapVector.DATA_VECTOR_NAME, entryType, entry));
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Column " + name + " has unsupported type " + type.getCode());
+    }
+    FieldType fieldType =
+        nullable ? FieldType.nullable(arrowType) : FieldType.notNullable(arrowType);
+    return new Field(name, fieldType, children);
+  }
+
+  @Override
+  protected Schema readSchema() throws IOException {
+    try {
+      return toSchema(resultSet.columns());
+    } catch (RuntimeException e) {
+      throw new IOException("Failed to read the schema: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public boolean loadNextBatch() throws IOException {
+    prepareLoadNextBatch();
+    VectorSchemaRoot root = getVectorSchemaRoot();
+    List<FieldVector> vectors = root.getFieldVectors();
+    for (FieldVector vector : vectors) {
+      vector.reset();
+    }
+    List<ColumnMetadata> columns = null;
+    int rows = 0;
+    try {
+      while (rows < batchSize && resultSet.next()) {
+        if (columns == null) {
+          columns = resultSet.columns();
+        }
+        StructReader row = resultSet.currentStream();
+        for (int i = 0; i < vectors.size(); i++) {
+          writeColumn(vectors.get(i), columns.get(i).type(), row, i, rows);
+        }
+        rows++;
+      }
+    } catch (SQLException | RuntimeException e) {
+      throw new IOException("Failed to read rows: " + e.getMessage(), e);
+    }
+    root.setRowCount(rows);
+    return rows > 0;
+  }
+
+  // Writes scalar columns without boxing their values.
+  private static void writeColumn(
+      FieldVector vector, SqlType<?> type, StructReader row, int column, int index) {
+    switch (type.getCode()) {
+      case INT64:
+      case FLOAT32:
+      case FLOAT64:
+      case BOOL:
+        break;
+      default:
+        writeValue(vector, type, index, BufferedResultSet.readValue(row, column, type));
+        return;
+    }
+    if (row.isNull(column)) {
+      setNull(vector, index);
+    } else if (vector instanceof BigIntVector) {
+      ((BigIntVector) vector).setSafe(index, row.getLong(column));
+    } else if (vector instanceof Float4Vector) {
+      ((Float4Vector) vector).setSafe(index, row.getFloat(column));
+    } else if (vector instanceof Float8Vector) {
+      ((Float8Vector) vector).setSafe(index, row.getDouble(column));
+    } else {
+      ((BitVector) vector).setSafe(index, row.getBoolean(column) ? 1 : 0);
+    }
+  }
+
+  private static void writeValue(FieldVector vector, SqlType<?> type, int index, Object value) {
+    if (value == null) {
+      setNull(vector, index);
+      return;
+    }
+    switch (type.getCode()) {
+      case INT64:
+        ((BigIntVector) vector).setSafe(index, (Long) value);
+        break;
+      case FLOAT32:
+        ((Float4Vector) vector).setSafe(index, (Float) value);
+        break;
+      case FLOAT64:
+        ((Float8Vector) vector).setSafe(index, (Double) value);
+        break;
+      case BOOL:
+        ((BitVector) vector).setSafe(index, (Boolean) value ? 1 : 0);
+        break;
+      case STRING:
+        ((VarCharVector) vector).setSafe(index, ((String) value).getBytes(StandardCharsets.UTF_8));
+        break;
+      case BYTES:
+        // Copies the bytes into the vector without an intermediate array.
+        ByteBuffer bytes = ((ByteString) value).asReadOnlyByteBuffer();
+        ((VarBinaryVector) vector).setSafe(index, bytes, bytes.position(), bytes.remaining());
+        break;
+      case TIMESTAMP:
+        long micros = ValueConverters.toEpochMicros((Instant) value);
+        ((TimeStampMicroTZVector) vector).setSafe(index, micros);
+        break;
+      case DATE:
+        com.google.cloud.Date date = (com.google.cloud.Date) value;
+        LocalDate localDate = LocalDate.of(date.getYear(), date.getMonth(), date.getDayOfMonth());
+        ((DateDayVector) vector).setSafe(index, (int) localDate.toEpochDay());
+        break;
+      case ARRAY:
+        SqlType<?> elementType = ((SqlType.Array<?>) type).getElementType();
+        writeList((ListVector) vector, elementType, index, (List<?>) value);
+        break;
+      case STRUCT:
+        writeStruct((StructVector) vector, (SqlType.Struct) type, index, (Struct) value);
+        break;
+      case MAP:
+        writeMap((MapVector) vector, (SqlType.Map<?, ?>) type, index, (Map<?, ?>) value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported type " + type.getCode());
+    }
+  }
+
+  private static void writeList(
+      ListVector vector, SqlType<?> elementType, int index, List<?> elements) {
+    int offset = vector.startNewValue(index);
+    FieldVector data = vector.getDataVector();
+    for (int i = 0; i < elements.size(); i++) {
+      writeValue(data, elementType, offset + i, elements.get(i));
+    }
+    vector.endValue(index, elements.size());
+  }
+
+  private static void writeStruct(
+      StructVector vector, SqlType.Struct type, int index, Struct value) {
+    vector.setIndexDefined(index);
+    int fields = type.getFields().size();
+    for (int i = 0; i < fields; i++) {
+      SqlType<?> fieldType = type.getType(i);
+      writeValue(
+          (FieldVector) vector.getChildByOrdinal(i),
+          fieldType,
+          index,
+          BufferedResultSet.readValue(value, i, fieldType));
+    }
+  }
+
+  private static void writeMap(
+      MapVector vector, SqlType.Map<?, ?> type, int index, Map<?, ?> map) {
+    StructVector entries = (StructVector) vector.getDataVector();
+    FieldVector keys = (FieldVector) entries.getChildByOrdinal(0);
+    FieldVector values = (FieldVector) entries.getChildByOrdinal(1);
+    int offset = vector.startNewValue(index);
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      entries.setIndexDefined(offset);
+      writeValue(keys, type.getKeyType(), offset, entry.getKey());
+      writeValue(values, type.getValueType(), offset, entry.getValue());
+      offset++;
+    }
+    vector.endValue(index, map.size());
+  }
+
+  private static void setNull(FieldVector vector, int index) {
+    if (vector instanceof BaseFixedWidthVector) {
+      ((BaseFixedWidthVector) vector).setNull(index);
+    } else if (vector instanceof BaseVariableWidthVector) {
+      ((BaseVariableWidthVector) vector).setNull(index);
+    } else if (vector instanceof ListVector) {
+      ((ListVector) vector).setNull(index);
+    } else if (vector instanceof StructVector) {
+      ((StructVector) vector).setNull(index);
+    }
+  }
+
+  @Override
+  public long bytesRead() {
+    // Rows are not read from an Arrow IPC channel.
+    return 0;
+  }
+
+  @Override
+  protected void closeReadSource() throws IOException {
+    try {
+      resultSet.close();
+    } catch (SQLException e) {
+      throw new IOException("Failed to close the result set: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.protobuf.ByteString;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * A read-only {@link Blob} over the {@link ByteString} of a BYTES value. Streams and positions
+ * read the received bytes directly; only {@link #getBytes(long, int)} copies them.
+ */
+final class BigtableBlob implements Blob {
+  private ByteString bytes;
+
+  BigtableBlob(ByteString bytes) {
+    this.bytes = bytes;
+  }
+
+  /** Returns the bytes of this blob, without copying them. */
+  ByteString getByteString() throws SQLException {
+    checkNotFreed();
+    return bytes;
+  }
+
+  private void checkNotFreed() throws SQLException {
+    if (bytes == null) {
+      throw new SQLException("The Blob was freed.");
+    }
+  }
+
+  // Returns the 0-based offset of the 1-based position pos, which may be just past the end.
+  private int offset(long pos) throws SQLException {
+    checkNotFreed();
+    if (pos < 1 || pos > bytes.size() + 1L) {
+      throw new SQLException("Invalid position: " + pos);
+    }
+    return (int) (pos - 1);
+  }
+
+  @Override
+  public long length() throws SQLException {
+    checkNotFreed();
+    return bytes.size();
+  }
+
+  @Override
+  public byte[] getBytes(long pos, int length) throws SQLException {
+    int start = offset(pos);
+    if (length < 0) {
+      throw new SQLException("Invalid length: " + length);
+    }
+    return bytes.substring(start, Math.min(start + length, bytes.size())).toByteArray();
+  }
+
+  @Override
+  public InputStream getBinaryStream() throws SQLException {
+    checkNotFreed();
+    return bytes.newInput();
+  }
+
+  @Override
+  public InputStream getBinaryStream(long pos, long length) throws SQLException {
+    int start = offset(pos);
+    if (length < 0 || start + length > bytes.size()) {
+      throw new SQLException("Invalid length: " + length);
+    }
+    return bytes.substring(start, start + (int) length).newInput();
+  }
+
+  @Override
+  public long position(byte[] pattern, long start) throws SQLException {
+    int from = offset(start);
+    int last = bytes.size() - pattern.length;
+    for (int i = from; i <= last; i++) {
+      int j = 0;
+      while (j < pattern.length && bytes.byteAt(i + j) == pattern[j]) {
+        j++;
+      }
+      if (j == pattern.length) {
+        return i + 1L;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public long position(Blob pattern, long start) throws SQLException {
+    byte[] patternBytes =
+        pattern instanceof BigtableBlob
+            ? ((BigtableBlob) pattern).getByteString().toByteArray()
+            : pattern.getBytes(1, (int) pattern.length());
+    return position(patternBytes, start);
+  }
+
+  @Override
+  public int setBytes(long pos, byte[] bytes) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Blobs of query results are read-only");
+  }
+
+  @Override
+  public int setBytes(long pos, byte[] bytes, int offset, int len) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Blobs of query results are read-only");
+  }
+
+  @Override
+  public OutputStream setBinaryStream(long pos) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Blobs of query results are read-only");
+  }
+
+  @Override
+  public void truncate(long len) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Blobs of query results are read-only");
+  }
+
+  @Override
+  public void free() {
+    bytes = null;
+  }
+}
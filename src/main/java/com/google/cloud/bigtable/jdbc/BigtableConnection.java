@@ -18,8 +18,10 @@ package com.google.cloud.bigtable.jdbc;
 
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
 import com.google.cloud.bigtable.jdbc.client.BigtableClientFactoryImpl;
+import com.google.cloud.bigtable.jdbc.client.BigtableClientRegistry;
 import com.google.cloud.bigtable.jdbc.client.IBigtableClientFactory;
 import com.google.cloud.bigtable.jdbc.util.BigtableJdbcUrlParser;
+import com.google.cloud.bigtable.jdbc.util.ConnectionProperty;
 import java.io.IOException;
 import java.sql.Array;
 import java.sql.Blob;
@@ -38,26 +40,74 @@ import java.sql.SQLXML;
 import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Struct;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class BigtableConnection implements Connection {
+  // Runs background validations, isValid checks that have a timeout, warm-up and prepared-query
+  // refreshes.
+  private static final ExecutorService BACKGROUND_EXECUTOR =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread thread = new Thread(r, "bigtable-jdbc-connection-background");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** How a new connection checks that Bigtable is reachable before it is used. */
+  enum ValidationMode {
+    /** Run "select 1" in the constructor and fail the connection if it does not succeed. */
+    SYNC,
+    /** Run "select 1" in the background; failures are reported as warnings and by isValid. */
+    ASYNC,
+    /** Skip validation. */
+    NONE;
+
+    static ValidationMode fromProperty(String value) throws SQLException {
+      for (ValidationMode mode : values()) {
+        if (mode.name().equalsIgnoreCase(value)) {
+          return mode;
+        }
+      }
+      throw new SQLException("Invalid value for connection_validation: " + value);
+    }
+  }
 
   private Map<String, Class<?>> typeMap = new HashMap<>();
   // The actual client, responsible for operations and communicates with Bigtable.
   private final BigtableDataClient client;
-  private boolean isClosed = false;
-  private static final Set<String> SUPPORTED_KEYS =
-      new HashSet<>(
-          Arrays.asList(
-              "app_profile_id", "universe_domain", "credential_file_path", "credential_json"));
+  private volatile boolean isClosed = false;
+  // Lease on the shared client when the client came from the registry, null when it was provided
+  // by the caller and is owned by this connection.
+  private BigtableClientRegistry.Lease clientLease;
   private final IBigtableClientFactory bigtableClientFactory;
   private SQLWarning warnings;
+  // A successful RPC within this window is treated as proof that the connection is alive.
+  private long validationTtlNanos;
+  // System.nanoTime() of the last RPC known to have succeeded, 0 if none has.
+  private volatile long lastSuccessfulRpcNanos = 0;
+  private volatile Future<Boolean> pendingValidation;
+  private PreparedQueryCache preparedQueryCache = new PreparedQueryCache();
+  // The initial query timeout of the statements of this connection, 0 for none.
+  private int defaultQueryTimeoutSeconds;
+  private volatile int networkTimeoutMillis = 0;
+  private boolean autoParameterize;
+  private int batchMaxInFlight = BatchExecution.DEFAULT_MAX_IN_FLIGHT;
+  private long scrollMemoryLimitBytes = RowStore.DEFAULT_MEMORY_LIMIT_BYTES;
+  // Statements created by this connection that are not closed yet.
+  private final Set<BigtableStatement> openStatements = ConcurrentHashMap.newKeySet();
 
   public BigtableConnection(String url, Properties info) throws SQLException {
     this(url, info, null);
@@ -65,11 +115,23 @@ public class BigtableConnection implements Connection {
 
   public BigtableConnection(String url, Properties info, BigtableDataClient dataClient)
       throws SQLException {
-    this(url, info, dataClient, createClientFactory(info));
+    this(url, info, dataClient, createClientFactory(url, info));
   }
 
-  private static IBigtableClientFactory createClientFactory(Properties info) {
-    return new BigtableClientFactoryImpl(info);
+  private static IBigtableClientFactory createClientFactory(String url, Properties info)
+      throws SQLException {
+    Properties factoryProperties = new Properties();
+    try {
+      factoryProperties.putAll(BigtableJdbcUrlParser.parse(url).getQueryParameters());
+    } catch (java.net.URISyntaxException | IllegalArgumentException e) {
+      // The constructor reports the malformed URL.
+    }
+    factoryProperties.putAll(info);
+    try {
+      return new BigtableClientFactoryImpl(factoryProperties);
+    } catch (IllegalArgumentException e) {
+      throw new SQLException(e.getMessage(), e);
+    }
   }
 
   public BigtableConnection(
@@ -87,7 +149,7 @@ public class BigtableConnection implements Connection {
 
       for (Map.Entry<String, String> entry : parsedUrl.getQueryParameters().entrySet()) {
         String key = entry.getKey();
-        if (!SUPPORTED_KEYS.contains(key)) {
+        if (!ConnectionProperty.isSupported(key)) {
           throw new SQLException("Unrecognized connection parameter: " + key);
         }
         urlParams.setProperty(key, entry.getValue());
@@ -95,10 +157,20 @@ public class BigtableConnection implements Connection {
 
       if (dataClient != null) {
         this.client = dataClient;
+        this.validationTtlNanos = parseValidationTtl(urlParams);
+        this.defaultQueryTimeoutSeconds = parseQueryTimeout(urlParams);
+        this.preparedQueryCache = createPreparedQueryCache(urlParams);
+        this.autoParameterize = parseAutoParameterize(urlParams);
+        this.batchMaxInFlight = parseBatchMaxInFlight(urlParams);
+        this.scrollMemoryLimitBytes = parseScrollMemoryLimit(urlParams);
+        preparedQueryCache.startRefreshing(client::prepareStatement, BACKGROUND_EXECUTOR);
+        if (ConnectionWarmUp.isEnabled(urlParams)) {
+          warmUp(ConnectionWarmUp.loadQueries(urlParams));
+        }
         return;
       }
       for (String key : info.stringPropertyNames()) {
-        if (urlParams.containsKey(key) && SUPPORTED_KEYS.contains(key)) {
+        if (urlParams.containsKey(key) && ConnectionProperty.isSupported(key)) {
           throw new SQLException(
               "Duplicate property found in both URL and connection properties: " + key);
         }
@@ -106,10 +178,41 @@ public class BigtableConnection implements Connection {
       Properties connectionParams = new Properties();
       connectionParams.putAll(urlParams);
       connectionParams.putAll(info);
+      this.validationTtlNanos = parseValidationTtl(connectionParams);
+      this.defaultQueryTimeoutSeconds = parseQueryTimeout(connectionParams);
+      this.preparedQueryCache = createPreparedQueryCache(connectionParams);
+      this.autoParameterize = parseAutoParameterize(connectionParams);
+      this.batchMaxInFlight = parseBatchMaxInFlight(connectionParams);
+      this.scrollMemoryLimitBytes = parseScrollMemoryLimit(connectionParams);
+      ValidationMode validationMode =
+          ValidationMode.fromProperty(
+              ConnectionProperty.CONNECTION_VALIDATION.get(connectionParams));
+      List<String> warmUpQueries =
+          ConnectionWarmUp.isEnabled(connectionParams)
+              ? ConnectionWarmUp.loadQueries(connectionParams)
+              : null;
       this.client = createBigtableDataClient(connectionParams);
+      preparedQueryCache.startRefreshing(client::prepareStatement, BACKGROUND_EXECUTOR);
       // Test the connection by executing a simple query.
       // This will help catch any issues with the connection
-      validateConnection();
+      switch (validationMode) {
+        case SYNC:
+          try {
+            validateConnection();
+          } catch (SQLException | RuntimeException e) {
+            clientLease.close();
+            throw e;
+          }
+          break;
+        case ASYNC:
+          this.pendingValidation = BACKGROUND_EXECUTOR.submit(this::validateInBackground);
+          break;
+        case NONE:
+          break;
+      }
+      if (warmUpQueries != null) {
+        warmUp(warmUpQueries);
+      }
     } catch (java.net.URISyntaxException | IllegalArgumentException e) {
       throw new SQLException("Malformed JDBC URL: " + url, e);
     } catch (Exception e) {
@@ -117,19 +220,217 @@ public class BigtableConnection implements Connection {
     }
   }
 
+  private void warmUp(List<String> queries) {
+    for (SQLWarning warning :
+        ConnectionWarmUp.run(
+            client, bigtableClientFactory, queries, preparedQueryCache, BACKGROUND_EXECUTOR)) {
+      pushWarning(warning);
+    }
+  }
+
+  /** Returns the cache of queries prepared through this connection. */
+  PreparedQueryCache getPreparedQueryCache() {
+    return preparedQueryCache;
+  }
+
+  private static long parseValidationTtl(Properties properties) throws SQLException {
+    String value = ConnectionProperty.VALIDATION_TTL_MS.get(properties);
+    long ttlMillis;
+    try {
+      ttlMillis = Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for validation_ttl_ms: " + value, e);
+    }
+    if (ttlMillis < 0) {
+      throw new SQLException("Invalid value for validation_ttl_ms: " + value);
+    }
+    return TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+  }
+
+  private static int parseQueryTimeout(Properties properties) throws SQLException {
+    String value = ConnectionProperty.QUERY_TIMEOUT_SECONDS.get(properties);
+    int seconds;
+    try {
+      seconds = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for query_timeout_seconds: " + value, e);
+    }
+    if (seconds < 0) {
+      throw new SQLException("Invalid value for query_timeout_seconds: " + value);
+    }
+    return seconds;
+  }
+
+  private static PreparedQueryCache createPreparedQueryCache(Properties properties)
+      throws SQLException {
+    String sizeValue = ConnectionProperty.PREPARED_QUERY_CACHE_SIZE.get(properties);
+    String bytesValue = ConnectionProperty.PREPARED_QUERY_CACHE_MAX_BYTES.get(properties);
+    String refreshValue = ConnectionProperty.PREPARED_QUERY_REFRESH_MS.get(properties);
+    int maxEntries;
+    long maxBytes;
+    long refreshAfterMillis;
+    try {
+      maxEntries = Integer.parseInt(sizeValue);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for prepared_query_cache_size: " + sizeValue, e);
+    }
+    try {
+      maxBytes = Long.parseLong(bytesValue);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for prepared_query_cache_max_bytes: " + bytesValue, e);
+    }
+    try {
+      refreshAfterMillis = Long.parseLong(refreshValue);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for prepared_query_refresh_ms: " + refreshValue, e);
+    }
+    if (maxEntries < 0) {
+      throw new SQLException("Invalid value for prepared_query_cache_size: " + sizeValue);
+    }
+    if (maxBytes < 0) {
+      throw new SQLException("Invalid value for prepared_query_cache_max_bytes: " + bytesValue);
+    }
+    if (refreshAfterMillis < 0) {
+      throw new SQLException("Invalid value for prepared_query_refresh_ms: " + refreshValue);
+    }
+    return new PreparedQueryCache(maxEntries, maxBytes, refreshAfterMillis);
+  }
+
+  private static boolean parseAutoParameterize(Properties properties) throws SQLException {
+    String value = ConnectionProperty.AUTO_PARAMETERIZE.get(properties);
+    if (value.equalsIgnoreCase("true")) {
+      return true;
+    }
+    if (value.equalsIgnoreCase("false")) {
+      return false;
+    }
+    throw new SQLException("Invalid value for auto_parameterize: " + value);
+  }
+
+  private static int parseBatchMaxInFlight(Properties properties) throws SQLException {
+    String value = ConnectionProperty.BATCH_MAX_IN_FLIGHT.get(properties);
+    int maxInFlight;
+    try {
+      maxInFlight = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for batch_max_in_flight: " + value, e);
+    }
+    if (maxInFlight < 1) {
+      throw new SQLException("Invalid value for batch_max_in_flight: " + value);
+    }
+    return maxInFlight;
+  }
+
+  private static long parseScrollMemoryLimit(Properties properties) throws SQLException {
+    String value = ConnectionProperty.SCROLL_MEMORY_LIMIT_BYTES.get(properties);
+    long limit;
+    try {
+      limit = Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for scroll_memory_limit_bytes: " + value, e);
+    }
+    if (limit < 1) {
+      throw new SQLException("Invalid value for scroll_memory_limit_bytes: " + value);
+    }
+    return Math.min(limit, RowStore.MAX_MEMORY_LIMIT_BYTES);
+  }
+
+  private static long parseClientIdleTimeout(Properties properties) throws SQLException {
+    String value = ConnectionProperty.CLIENT_IDLE_TIMEOUT_MS.get(properties);
+    long idleTimeoutMillis;
+    try {
+      idleTimeoutMillis = Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new SQLException("Invalid value for client_idle_timeout_ms: " + value, e);
+    }
+    if (idleTimeoutMillis < 0) {
+      throw new SQLException("Invalid value for client_idle_timeout_ms: " + value);
+    }
+    return idleTimeoutMillis;
+  }
+
+  /** Returns a snapshot of the counters of the prepared-query cache of this connection. */
+  public PreparedQueryCacheStatistics getPreparedQueryCacheStatistics() {
+    return preparedQueryCache.getStatistics();
+  }
+
+  /** Returns the query timeout new statements start with, in seconds. */
+  int getDefaultQueryTimeout() {
+    return defaultQueryTimeoutSeconds;
+  }
+
+  /** Returns true if plain statements replace the literals of their queries by parameters. */
+  boolean isAutoParameterize() {
+    return autoParameterize;
+  }
+
+  /** Returns the maximum number of queries of a batch that run at the same time. */
+  int getBatchMaxInFlight() {
+    return batchMaxInFlight;
+  }
+
+  /** Returns how many bytes of rows a scrollable result set keeps on the heap. */
+  long getScrollMemoryLimitBytes() {
+    return scrollMemoryLimitBytes;
+  }
+
+  /** Returns the network timeout set by {@link #setNetworkTimeout}, 0 if there is none. */
+  int getNetworkTimeoutMillis() {
+    return networkTimeoutMillis;
+  }
+
+  /** Clears the network timeout set by {@link #setNetworkTimeout}, for example before reuse. */
+  void resetNetworkTimeout() {
+    networkTimeoutMillis = 0;
+  }
+
   private void validateConnection() throws SQLException {
     try (PreparedStatement statement = this.prepareStatement("select 1");
         ResultSet rs = statement.executeQuery()) {}
+    recordSuccessfulRpc();
+  }
+
+  private boolean validateInBackground() {
+    try {
+      validateConnection();
+      return true;
+    } catch (SQLException | RuntimeException e) {
+      pushWarning(new SQLWarning("Background connection validation failed: " + e.getMessage(), e));
+      return false;
+    }
+  }
+
+  /**
+   * Records that an RPC issued through this connection succeeded. {@link #isValid(int)} uses this
+   * to skip its own round trip while the last success is within {@code validation_ttl_ms}.
+   */
+  void recordSuccessfulRpc() {
+    lastSuccessfulRpcNanos = System.nanoTime();
   }
 
-  BigtableDataClient createBigtableDataClient(Properties properties) throws IOException {
+  private boolean hasRecentSuccessfulRpc() {
+    long last = lastSuccessfulRpcNanos;
+    return last != 0 && System.nanoTime() - last < validationTtlNanos;
+  }
+
+  BigtableDataClient createBigtableDataClient(Properties properties)
+      throws IOException, SQLException {
     String projectId = properties.getProperty("projectId");
     String instanceId = properties.getProperty("instanceId");
     String appProfileId = properties.getProperty("app_profile_id");
     String universeDomain = properties.getProperty("universe_domain");
+    long idleTimeoutMillis = parseClientIdleTimeout(properties);
 
-    return this.bigtableClientFactory.createBigtableDataClient(
-        projectId, instanceId, appProfileId, universeDomain);
+    this.clientLease =
+        BigtableClientRegistry.getInstance()
+            .acquire(
+                this.bigtableClientFactory,
+                projectId,
+                instanceId,
+                appProfileId,
+                universeDomain,
+                idleTimeoutMillis);
+    return clientLease.getClient();
   }
 
   private void checkClosed() throws SQLException {
@@ -138,16 +439,34 @@ public class BigtableConnection implements Connection {
     }
   }
 
+  private static void checkResultSetType(int resultSetType) throws SQLException {
+    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY
+        && resultSetType != ResultSet.TYPE_SCROLL_INSENSITIVE) {
+      throw new SQLFeatureNotSupportedException(
+          "Only TYPE_FORWARD_ONLY and TYPE_SCROLL_INSENSITIVE are supported");
+    }
+  }
+
+  private <T extends BigtableStatement> T track(T statement) {
+    openStatements.add(statement);
+    return statement;
+  }
+
+  /** Called by a statement of this connection when it is closed. */
+  void statementClosed(BigtableStatement statement) {
+    openStatements.remove(statement);
+  }
+
   @Override
   public Statement createStatement() throws SQLException {
     checkClosed();
-    return new BigtableStatement(this, client);
+    return track(new BigtableStatement(this, client));
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql) throws SQLException {
     checkClosed();
-    return new BigtablePreparedStatement(this, sql, client);
+    return track(new BigtablePreparedStatement(this, sql, client));
   }
 
   @Override
@@ -183,9 +502,64 @@ public class BigtableConnection implements Connection {
 
   @Override
   public void close() throws SQLException {
-    if (!isClosed) {
+    if (markClosed()) {
+      closeStatements();
+      releaseClient();
+    }
+  }
+
+  /**
+   * Closes this connection without waiting for it: the connection is marked closed and the
+   * queries of its statements are cancelled right away, while closing the statements and shutting
+   * down the client, which waits for the gRPC channels to terminate, run on {@code executor}.
+   */
+  @Override
+  public void abort(Executor executor) throws SQLException {
+    if (executor == null) {
+      throw new SQLException("executor must not be null");
+    }
+    if (!markClosed()) {
+      return;
+    }
+    for (BigtableStatement statement : openStatements) {
+      statement.abortExecution();
+    }
+    executor.execute(
+        () -> {
+          closeStatements();
+          releaseClient();
+        });
+  }
+
+  // Returns true if this call closed the connection.
+  private synchronized boolean markClosed() {
+    if (isClosed) {
+      return false;
+    }
+    isClosed = true;
+    preparedQueryCache.stopRefreshing();
+    if (pendingValidation != null) {
+      pendingValidation.cancel(true);
+    }
+    return true;
+  }
+
+  private void closeStatements() {
+    for (BigtableStatement statement : openStatements) {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        // The connection is closed either way.
+      }
+    }
+    openStatements.clear();
+  }
+
+  private void releaseClient() {
+    if (clientLease != null) {
+      clientLease.close();
+    } else {
       client.close();
-      isClosed = true;
     }
   }
 
@@ -231,13 +605,13 @@ public class BigtableConnection implements Connection {
   }
 
   @Override
-  public SQLWarning getWarnings() throws SQLException {
+  public synchronized SQLWarning getWarnings() throws SQLException {
     checkClosed();
     return warnings;
   }
 
   @Override
-  public void clearWarnings() throws SQLException {
+  public synchronized void clearWarnings() throws SQLException {
     checkClosed();
     warnings = null;
   }
@@ -247,7 +621,7 @@ public class BigtableConnection implements Connection {
    *
    * @param warning The warning to be added.
    */
-  public void pushWarning(SQLWarning warning) {
+  public synchronized void pushWarning(SQLWarning warning) {
     if (this.warnings == null) {
       this.warnings = warning;
     } else {
@@ -259,26 +633,26 @@ public class BigtableConnection implements Connection {
   public Statement createStatement(int resultSetType, int resultSetConcurrency)
       throws SQLException {
     checkClosed();
-    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY) {
-      throw new SQLFeatureNotSupportedException("Only TYPE_FORWARD_ONLY is supported");
-    }
+    checkResultSetType(resultSetType);
     if (resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
       throw new SQLFeatureNotSupportedException("Only CONCUR_READ_ONLY is supported");
     }
-    return new BigtableStatement(this, client);
+    BigtableStatement statement = new BigtableStatement(this, client);
+    statement.setResultSetType(resultSetType);
+    return track(statement);
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
       throws SQLException {
     checkClosed();
-    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY) {
-      throw new SQLFeatureNotSupportedException("Only TYPE_FORWARD_ONLY is supported");
-    }
+    checkResultSetType(resultSetType);
     if (resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
       throw new SQLFeatureNotSupportedException("Only CONCUR_READ_ONLY is supported");
     }
-    return new BigtablePreparedStatement(this, sql, client);
+    BigtablePreparedStatement statement = new BigtablePreparedStatement(this, sql, client);
+    statement.setResultSetType(resultSetType);
+    return track(statement);
   }
 
   @Override
@@ -340,16 +714,16 @@ public class BigtableConnection implements Connection {
   public Statement createStatement(
       int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
     checkClosed();
-    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY) {
-      throw new SQLFeatureNotSupportedException("Only TYPE_FORWARD_ONLY is supported");
-    }
+    checkResultSetType(resultSetType);
     if (resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
       throw new SQLFeatureNotSupportedException("Only CONCUR_READ_ONLY is supported");
     }
     if (resultSetHoldability != ResultSet.HOLD_CURSORS_OVER_COMMIT) {
       throw new SQLFeatureNotSupportedException("Only HOLD_CURSORS_OVER_COMMIT is supported");
     }
-    return new BigtableStatement(this, client);
+    BigtableStatement statement = new BigtableStatement(this, client);
+    statement.setResultSetType(resultSetType);
+    return track(statement);
   }
 
   @Override
@@ -357,16 +731,16 @@ public class BigtableConnection implements Connection {
       String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
       throws SQLException {
     checkClosed();
-    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY) {
-      throw new SQLFeatureNotSupportedException("Only TYPE_FORWARD_ONLY is supported");
-    }
+    checkResultSetType(resultSetType);
     if (resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
       throw new SQLFeatureNotSupportedException("Only CONCUR_READ_ONLY is supported");
     }
     if (resultSetHoldability != ResultSet.HOLD_CURSORS_OVER_COMMIT) {
       throw new SQLFeatureNotSupportedException("Only HOLD_CURSORS_OVER_COMMIT is supported");
     }
-    return new BigtablePreparedStatement(this, sql, client);
+    BigtablePreparedStatement statement = new BigtablePreparedStatement(this, sql, client);
+    statement.setResultSetType(resultSetType);
+    return track(statement);
   }
 
   @Override
@@ -412,17 +786,48 @@ public class BigtableConnection implements Connection {
     throw new SQLFeatureNotSupportedException("createSQLXML is not supported");
   }
 
+  /**
+   * Returns true if the connection is open and Bigtable is reachable. An RPC that succeeded within
+   * {@code validation_ttl_ms} is reused as evidence of liveness; otherwise a "select 1" round trip
+   * is made, bounded by {@code timeout} seconds when it is positive.
+   */
   @Override
   public boolean isValid(int timeout) throws SQLException {
+    if (timeout < 0) {
+      throw new SQLException("timeout must not be negative");
+    }
     if (isClosed) {
       return false;
     }
-    SQLWarning warning = new SQLWarning("timeout is not supported in isValid and will be ignored.");
-    this.pushWarning(warning);
-    try {
-      validateConnection();
+    if (hasRecentSuccessfulRpc()) {
       return true;
-    } catch (SQLException e) {
+    }
+    Future<Boolean> validation = pendingValidation;
+    if (validation == null || validation.isDone()) {
+      if (timeout == 0) {
+        try {
+          validateConnection();
+          return true;
+        } catch (SQLException | RuntimeException e) {
+          return false;
+        }
+      }
+      validation =
+          BACKGROUND_EXECUTOR.submit(
+              () -> {
+                validateConnection();
+                return true;
+              });
+    }
+    try {
+      return timeout == 0 ? validation.get() : validation.get(timeout, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      validation.cancel(true);
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException | CancellationException e) {
       return false;
     }
   }
@@ -483,19 +888,27 @@ public class BigtableConnection implements Connection {
     throw new SQLFeatureNotSupportedException("getSchema is not supported");
   }
 
-  @Override
-  public void abort(Executor executor) throws SQLException {
-    throw new SQLFeatureNotSupportedException("abort is not supported");
-  }
-
+  /**
+   * Bounds every query of this connection to {@code milliseconds}, in addition to the query timeout
+   * of its statement. Timed out queries have their stream cancelled by a shared timer, so {@code
+   * executor} is not used.
+   */
   @Override
   public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setNetworkTimeout is not supported");
+    checkClosed();
+    if (executor == null) {
+      throw new SQLException("executor must not be null");
+    }
+    if (milliseconds < 0) {
+      throw new SQLException("Network timeout must be >= 0, got: " + milliseconds);
+    }
+    this.networkTimeoutMillis = milliseconds;
   }
 
   @Override
   public int getNetworkTimeout() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getNetworkTimeout is not supported");
+    checkClosed();
+    return networkTimeoutMillis;
   }
 
   @Override
@@ -507,4 +920,69 @@ public class BigtableConnection implements Connection {
   public boolean isWrapperFor(Class<?> iface) throws SQLException {
     throw new SQLFeatureNotSupportedException("isWrapperFor is not supported");
   }
+
+  /** A point-in-time snapshot of the prepared-query cache of a connection. */
+  public static final class PreparedQueryCacheStatistics {
+    private final int size;
+    private final long estimatedBytes;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long refreshes;
+
+    PreparedQueryCacheStatistics(
+        int size, long estimatedBytes, long hits, long misses, long evictions, long refreshes) {
+      this.size = size;
+      this.estimatedBytes = estimatedBytes;
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+      this.refreshes = refreshes;
+    }
+
+    /** Prepared queries currently cached. */
+    public int getSize() {
+      return size;
+    }
+
+    /** Estimated memory held by the cached queries, in bytes. */
+    public long getEstimatedBytes() {
+      return estimatedBytes;
+    }
+
+    public long getHits() {
+      return hits;
+    }
+
+    /** Lookups that had to prepare the query on the server. */
+    public long getMisses() {
+      return misses;
+    }
+
+    public long getEvictions() {
+      return evictions;
+    }
+
+    /** Cached queries prepared again in the background before they expired. */
+    public long getRefreshes() {
+      return refreshes;
+    }
+
+    @Override
+    public String toString() {
+      return "PreparedQueryCacheStatistics{size="
+          + size
+          + ", estimatedBytes="
+          + estimatedBytes
+          + ", hits="
+          + hits
+          + ", misses="
+          + misses
+          + ", evictions="
+          + evictions
+          + ", refreshes="
+          + refreshes
+          + "}";
+    }
+  }
 }
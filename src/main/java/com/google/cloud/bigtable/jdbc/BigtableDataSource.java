@@ -0,0 +1,594 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+
+/**
+ * A {@link DataSource} with a built-in connection pool.
+ *
+ * <p>Connections handed out by {@link #getConnection()} are logical connections backed by pooled
+ * {@link BigtableConnection}s; closing them returns the physical connection to the pool. The pool
+ * is pre-filled with {@link #setInitialPoolSize initialPoolSize} connections, created in parallel,
+ * on first use. Idle connections are validated locally before being handed out, without a round
+ * trip to Bigtable, and at most {@link #setMaxIdle maxIdle} of them are kept.
+ *
+ * <p>The data source also implements {@link ConnectionPoolDataSource} so that it can be used with
+ * an external pool manager, in which case the built-in pool is bypassed.
+ */
+public class BigtableDataSource implements DataSource, ConnectionPoolDataSource, AutoCloseable {
+  private static final int MAX_PREFILL_THREADS = 8;
+  // Creates physical connections under a login timeout, and shuts down the physical connections
+  // discarded by all pools.
+  private static final ExecutorService BACKGROUND_EXECUTOR =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread thread = new Thread(r, "bigtable-jdbc-pool");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final PhysicalConnectionFactory connectionFactory;
+  private String url;
+  private Properties properties = new Properties();
+  private int initialPoolSize = 0;
+  private int maxPoolSize = 10;
+  private int maxIdle = 10;
+  private long connectionTimeoutMillis = 30_000;
+  private volatile int loginTimeout = 0;
+  private PrintWriter logWriter;
+
+  private final ConcurrentLinkedDeque<BigtablePooledConnection> idleConnections =
+      new ConcurrentLinkedDeque<>();
+  private final ConnectionEventListener poolListener = new PoolListener();
+  private Semaphore checkoutPermits;
+  private volatile boolean isInitialized = false;
+  private volatile boolean isClosed = false;
+
+  private final AtomicInteger totalConnections = new AtomicInteger();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicLong createdCount = new AtomicLong();
+  private final AtomicLong destroyedCount = new AtomicLong();
+  private final AtomicLong checkoutCount = new AtomicLong();
+  private final AtomicLong waitCount = new AtomicLong();
+  private final AtomicLong timeoutCount = new AtomicLong();
+
+  public BigtableDataSource() {
+    this(BigtableConnection::new);
+  }
+
+  public BigtableDataSource(String url) {
+    this();
+    this.url = url;
+  }
+
+  @VisibleForTesting
+  BigtableDataSource(PhysicalConnectionFactory connectionFactory) {
+    this.connectionFactory = connectionFactory;
+  }
+
+  /** Creates the physical connections managed by the pool. */
+  @VisibleForTesting
+  interface PhysicalConnectionFactory {
+    BigtableConnection create(String url, Properties info) throws SQLException;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  /** Sets the JDBC URL, e.g. {@code jdbc:bigtable:/projects/p/instances/i}. */
+  public void setUrl(String url) {
+    checkNotInitialized();
+    this.url = url;
+  }
+
+  public Properties getProperties() {
+    Properties copy = new Properties();
+    copy.putAll(properties);
+    return copy;
+  }
+
+  /** Sets the connection properties passed to every physical connection. */
+  public void setProperties(Properties properties) {
+    checkNotInitialized();
+    Properties copy = new Properties();
+    copy.putAll(properties);
+    this.properties = copy;
+  }
+
+  public int getInitialPoolSize() {
+    return initialPoolSize;
+  }
+
+  /** Sets the number of connections created, in parallel, when the pool is first used. */
+  public void setInitialPoolSize(int initialPoolSize) {
+    checkNotInitialized();
+    if (initialPoolSize < 0) {
+      throw new IllegalArgumentException("initialPoolSize must not be negative");
+    }
+    this.initialPoolSize = initialPoolSize;
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /** Sets the maximum number of connections that can be checked out at the same time. */
+  public void setMaxPoolSize(int maxPoolSize) {
+    checkNotInitialized();
+    if (maxPoolSize <= 0) {
+      throw new IllegalArgumentException("maxPoolSize must be positive");
+    }
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  public int getMaxIdle() {
+    return maxIdle;
+  }
+
+  /**
+   * Sets the maximum number of idle connections kept in the pool. Connections returned while the
+   * pool already holds this many idle connections are closed.
+   */
+  public void setMaxIdle(int maxIdle) {
+    checkNotInitialized();
+    if (maxIdle < 0) {
+      throw new IllegalArgumentException("maxIdle must not be negative");
+    }
+    this.maxIdle = maxIdle;
+  }
+
+  public long getConnectionTimeoutMillis() {
+    return connectionTimeoutMillis;
+  }
+
+  /**
+   * Sets how long {@link #getConnection()} waits for a connection when {@link #setMaxPoolSize
+   * maxPoolSize} connections are already checked out.
+   */
+  public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+    if (connectionTimeoutMillis < 0) {
+      throw new IllegalArgumentException("connectionTimeoutMillis must not be negative");
+    }
+    this.connectionTimeoutMillis = connectionTimeoutMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    checkClosed();
+    initialize();
+    checkoutCount.incrementAndGet();
+    if (!checkoutPermits.tryAcquire()) {
+      waitCount.incrementAndGet();
+      try {
+        if (!checkoutPermits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+          timeoutCount.incrementAndGet();
+          throw new SQLTimeoutException(
+              "Timed out after "
+                  + connectionTimeoutMillis
+                  + "ms waiting for a connection from the pool.");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("Interrupted while waiting for a connection from the pool.", e);
+      }
+    }
+
+    try {
+      BigtablePooledConnection pooledConnection;
+      while ((pooledConnection = idleConnections.pollFirst()) != null) {
+        idleCount.decrementAndGet();
+        if (pooledConnection.isUsable()) {
+          return pooledConnection.getConnection();
+        }
+        destroy(pooledConnection);
+      }
+      return createPooledConnection().getConnection();
+    } catch (SQLException | RuntimeException e) {
+      checkoutPermits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * User name and password authentication is not supported, credentials are configured through the
+   * connection properties instead.
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException(
+        "getConnection with username and password is not supported");
+  }
+
+  /** Returns a new, unpooled physical connection for use by an external pool manager. */
+  @Override
+  public PooledConnection getPooledConnection() throws SQLException {
+    checkClosed();
+    return new BigtablePooledConnection(createPhysicalConnection());
+  }
+
+  @Override
+  public PooledConnection getPooledConnection(String user, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException(
+        "getPooledConnection with username and password is not supported");
+  }
+
+  /** Returns a snapshot of the pool statistics. */
+  public PoolStatistics getPoolStatistics() {
+    return new PoolStatistics(
+        totalConnections.get(),
+        idleCount.get(),
+        checkoutPermits == null ? 0 : checkoutPermits.getQueueLength(),
+        createdCount.get(),
+        destroyedCount.get(),
+        checkoutCount.get(),
+        waitCount.get(),
+        timeoutCount.get());
+  }
+
+  /**
+   * Closes the idle connections and the pool. Connections that are checked out are closed when
+   * they are returned.
+   */
+  @Override
+  public void close() {
+    isClosed = true;
+    destroyIdleConnections();
+  }
+
+  public boolean isClosed() {
+    return isClosed;
+  }
+
+  private synchronized void initialize() throws SQLException {
+    if (isInitialized) {
+      return;
+    }
+    if (url == null) {
+      throw new SQLException("The url of the BigtableDataSource is not set.");
+    }
+    checkoutPermits = new Semaphore(maxPoolSize, true);
+    prefill();
+    isInitialized = true;
+  }
+
+  private void prefill() throws SQLException {
+    int count = Math.min(initialPoolSize, maxIdle);
+    if (count == 0) {
+      return;
+    }
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(count, MAX_PREFILL_THREADS),
+            r -> {
+              Thread thread = new Thread(r, "bigtable-jdbc-pool-prefill");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      List<Future<BigtablePooledConnection>> futures = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        futures.add(executor.submit(this::createPooledConnection));
+      }
+      SQLException failure = null;
+      for (Future<BigtablePooledConnection> future : futures) {
+        try {
+          BigtablePooledConnection pooledConnection = future.get();
+          idleConnections.offerLast(pooledConnection);
+          idleCount.incrementAndGet();
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure =
+                e.getCause() instanceof SQLException
+                    ? (SQLException) e.getCause()
+                    : new SQLException("Failed to pre-fill the connection pool", e.getCause());
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          failure = new SQLException("Interrupted while pre-filling the connection pool", e);
+          break;
+        }
+      }
+      if (failure != null) {
+        destroyIdleConnections();
+        throw failure;
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private BigtablePooledConnection createPooledConnection() throws SQLException {
+    BigtablePooledConnection pooledConnection =
+        new BigtablePooledConnection(createPhysicalConnection());
+    pooledConnection.addConnectionEventListener(poolListener);
+    totalConnections.incrementAndGet();
+    createdCount.incrementAndGet();
+    return pooledConnection;
+  }
+
+  /**
+   * Creates a physical connection. With a {@link #setLoginTimeout login timeout}, the caller stops
+   * waiting after that many seconds, and a connection completed later is closed right away.
+   */
+  private BigtableConnection createPhysicalConnection() throws SQLException {
+    String url = this.url;
+    Properties info = getProperties();
+    int timeoutSeconds = loginTimeout;
+    if (timeoutSeconds <= 0) {
+      return connectionFactory.create(url, info);
+    }
+    Future<BigtableConnection> future =
+        BACKGROUND_EXECUTOR.submit(() -> connectionFactory.create(url, info));
+    try {
+      return future.get(timeoutSeconds, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      BACKGROUND_EXECUTOR.execute(() -> closeWhenCreated(future));
+      throw new SQLTimeoutException(
+          "Timed out after " + timeoutSeconds + "s connecting to Bigtable.", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      BACKGROUND_EXECUTOR.execute(() -> closeWhenCreated(future));
+      throw new SQLException("Interrupted while connecting to Bigtable.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SQLException("Failed to connect to Bigtable: " + cause.getMessage(), cause);
+    }
+  }
+
+  private static void closeWhenCreated(Future<BigtableConnection> future) {
+    try {
+      future.get().close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | SQLException e) {
+      // The connection failed or is discarded either way.
+    }
+  }
+
+  private void release(BigtablePooledConnection pooledConnection) {
+    try {
+      if (isClosed || !pooledConnection.isUsable()) {
+        destroy(pooledConnection);
+        return;
+      }
+      if (idleCount.incrementAndGet() > maxIdle) {
+        idleCount.decrementAndGet();
+        destroy(pooledConnection);
+        return;
+      }
+      // Most recently used connections are handed out first.
+      idleConnections.offerFirst(pooledConnection);
+      // close() may have drained the idle connections concurrently.
+      if (isClosed && idleConnections.remove(pooledConnection)) {
+        idleCount.decrementAndGet();
+        destroy(pooledConnection);
+      }
+    } finally {
+      checkoutPermits.release();
+    }
+  }
+
+  private void destroyIdleConnections() {
+    BigtablePooledConnection pooledConnection;
+    while ((pooledConnection = idleConnections.pollFirst()) != null) {
+      idleCount.decrementAndGet();
+      destroy(pooledConnection);
+    }
+  }
+
+  private void destroy(BigtablePooledConnection pooledConnection) {
+    pooledConnection.removeConnectionEventListener(poolListener);
+    totalConnections.decrementAndGet();
+    destroyedCount.incrementAndGet();
+    try {
+      // Channel shutdown runs in the background so that checkouts and returns never wait for it.
+      pooledConnection.abort(BACKGROUND_EXECUTOR);
+    } catch (SQLException e) {
+      // The connection is discarded either way.
+    }
+  }
+
+  private void checkClosed() throws SQLException {
+    if (isClosed) {
+      throw new SQLException("This DataSource is already closed.");
+    }
+  }
+
+  private void checkNotInitialized() {
+    if (isInitialized) {
+      throw new IllegalStateException("The pool configuration cannot change after first use.");
+    }
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return logWriter;
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    this.logWriter = out;
+  }
+
+  /**
+   * Sets how long creating a physical connection may take, in seconds, or 0 to wait as long as
+   * it takes. Connecting includes the validation query and the warm-up, if configured.
+   */
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    if (seconds < 0) {
+      throw new SQLException("loginTimeout must not be negative");
+    }
+    this.loginTimeout = seconds;
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return loginTimeout;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException("getParentLogger is not supported");
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    throw new SQLFeatureNotSupportedException("unwrap is not supported");
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    throw new SQLFeatureNotSupportedException("isWrapperFor is not supported");
+  }
+
+  private class PoolListener implements ConnectionEventListener {
+    @Override
+    public void connectionClosed(ConnectionEvent event) {
+      release((BigtablePooledConnection) event.getSource());
+    }
+
+    @Override
+    public void connectionErrorOccurred(ConnectionEvent event) {
+      // The logical connection stays checked out until the application closes it, at which point
+      // release() sees that the pooled connection is no longer usable and discards it.
+    }
+  }
+
+  /** A point-in-time snapshot of the pool counters. */
+  public static final class PoolStatistics {
+    private final int totalConnections;
+    private final int idleConnections;
+    private final int pendingThreads;
+    private final long createdConnections;
+    private final long destroyedConnections;
+    private final long checkouts;
+    private final long waitedCheckouts;
+    private final long timedOutCheckouts;
+
+    PoolStatistics(
+        int totalConnections,
+        int idleConnections,
+        int pendingThreads,
+        long createdConnections,
+        long destroyedConnections,
+        long checkouts,
+        long waitedCheckouts,
+        long timedOutCheckouts) {
+      this.totalConnections = totalConnections;
+      this.idleConnections = idleConnections;
+      this.pendingThreads = pendingThreads;
+      this.createdConnections = createdConnections;
+      this.destroyedConnections = destroyedConnections;
+      this.checkouts = checkouts;
+      this.waitedCheckouts = waitedCheckouts;
+      this.timedOutCheckouts = timedOutCheckouts;
+    }
+
+    /** Physical connections currently open, both idle and checked out. */
+    public int getTotalConnections() {
+      return totalConnections;
+    }
+
+    public int getIdleConnections() {
+      return idleConnections;
+    }
+
+    public int getActiveConnections() {
+      return Math.max(0, totalConnections - idleConnections);
+    }
+
+    /** Threads currently blocked waiting for a connection. */
+    public int getPendingThreads() {
+      return pendingThreads;
+    }
+
+    public long getCreatedConnections() {
+      return createdConnections;
+    }
+
+    public long getDestroyedConnections() {
+      return destroyedConnections;
+    }
+
+    public long getCheckouts() {
+      return checkouts;
+    }
+
+    /** Checkouts that had to wait because the pool was exhausted. */
+    public long getWaitedCheckouts() {
+      return waitedCheckouts;
+    }
+
+    public long getTimedOutCheckouts() {
+      return timedOutCheckouts;
+    }
+
+    @Override
+    public String toString() {
+      return "PoolStatistics{total="
+          + totalConnections
+          + ", idle="
+          + idleConnections
+          + ", pending="
+          + pendingThreads
+          + ", created="
+          + createdConnections
+          + ", destroyed="
+          + destroyedConnections
+          + ", checkouts="
+          + checkouts
+          + ", waited="
+          + waitedCheckouts
+          + ", timedOut="
+          + timedOutCheckouts
+          + "}";
+    }
+  }
+}
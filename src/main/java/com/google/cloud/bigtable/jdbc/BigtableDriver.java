@@ -16,6 +16,7 @@
 
 package com.google.cloud.bigtable.jdbc;
 
+import com.google.cloud.bigtable.jdbc.util.ConnectionProperty;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
@@ -81,14 +82,10 @@ public class BigtableDriver implements Driver {
 
   @Override
   public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
-    String[] supportedProps = new String[] {"app_profile_id", "universe_domain"};
+    ConnectionProperty[] supportedProps = ConnectionProperty.values();
     DriverPropertyInfo[] driverProps = new DriverPropertyInfo[supportedProps.length];
     for (int i = 0; i < supportedProps.length; i++) {
-      String propName = supportedProps[i];
-      DriverPropertyInfo dpi = new DriverPropertyInfo(propName, info.getProperty(propName));
-      dpi.required = false;
-      dpi.description = "Property for " + propName;
-      driverProps[i] = dpi;
+      driverProps[i] = supportedProps[i].toDriverPropertyInfo(info);
     }
     return driverProps;
   }
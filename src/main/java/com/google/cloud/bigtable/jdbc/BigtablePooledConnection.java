@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEventListener;
+
+/**
+ * A {@link PooledConnection} wrapping a physical {@link BigtableConnection}.
+ *
+ * <p>{@link #getConnection()} hands out a logical connection. Closing the logical connection
+ * closes the statements created through it and notifies the registered {@link
+ * ConnectionEventListener}s, but leaves the physical connection open so that it can be reused.
+ */
+public class BigtablePooledConnection implements PooledConnection {
+  private final BigtableConnection physicalConnection;
+  private final List<ConnectionEventListener> connectionEventListeners =
+      new CopyOnWriteArrayList<>();
+  private final List<StatementEventListener> statementEventListeners =
+      new CopyOnWriteArrayList<>();
+  private LogicalConnectionHandler currentHandler;
+  private volatile boolean isClosed = false;
+  private volatile boolean isBroken = false;
+
+  public BigtablePooledConnection(BigtableConnection physicalConnection) {
+    this.physicalConnection = physicalConnection;
+  }
+
+  /** Returns the physical connection backing this pooled connection. */
+  BigtableConnection getPhysicalConnection() {
+    return physicalConnection;
+  }
+
+  /**
+   * Returns true if the physical connection can be handed out again. This check is local and does
+   * not make a round trip to Bigtable.
+   */
+  boolean isUsable() {
+    try {
+      return !isClosed && !isBroken && !physicalConnection.isClosed();
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns a new logical connection. Any logical connection previously handed out by this pooled
+   * connection is closed first.
+   */
+  @Override
+  public synchronized Connection getConnection() throws SQLException {
+    if (isClosed) {
+      throw new SQLException("This PooledConnection is already closed.");
+    }
+    if (currentHandler != null) {
+      currentHandler.closeLogical();
+    }
+    physicalConnection.clearWarnings();
+    // Settings of the previous borrower do not carry over.
+    physicalConnection.resetNetworkTimeout();
+    currentHandler = new LogicalConnectionHandler();
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, currentHandler);
+  }
+
+  @Override
+  public synchronized void close() throws SQLException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    if (currentHandler != null) {
+      currentHandler.closeLogical();
+      currentHandler = null;
+    }
+    physicalConnection.close();
+  }
+
+  /**
+   * Closes this pooled connection like {@link #close()}, but shuts the physical connection down on
+   * {@code executor} so that the caller does not wait for it.
+   */
+  synchronized void abort(Executor executor) throws SQLException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    if (currentHandler != null) {
+      currentHandler.closeLogical();
+      currentHandler = null;
+    }
+    physicalConnection.abort(executor);
+  }
+
+  @Override
+  public void addConnectionEventListener(ConnectionEventListener listener) {
+    connectionEventListeners.add(listener);
+  }
+
+  @Override
+  public void removeConnectionEventListener(ConnectionEventListener listener) {
+    connectionEventListeners.remove(listener);
+  }
+
+  /**
+   * Statement pooling is not implemented, so registered listeners are never notified. They are
+   * still recorded to satisfy the {@link PooledConnection} contract.
+   */
+  @Override
+  public void addStatementEventListener(StatementEventListener listener) {
+    statementEventListeners.add(listener);
+  }
+
+  @Override
+  public void removeStatementEventListener(StatementEventListener listener) {
+    statementEventListeners.remove(listener);
+  }
+
+  private void fireConnectionClosed() {
+    ConnectionEvent event = new ConnectionEvent(this);
+    for (ConnectionEventListener listener : connectionEventListeners) {
+      listener.connectionClosed(event);
+    }
+  }
+
+  private void fireConnectionErrorOccurred(SQLException e) {
+    isBroken = true;
+    ConnectionEvent event = new ConnectionEvent(this, e);
+    for (ConnectionEventListener listener : connectionEventListeners) {
+      listener.connectionErrorOccurred(event);
+    }
+  }
+
+  /** Forwards calls on a logical connection to the physical connection until it is closed. */
+  private class LogicalConnectionHandler implements InvocationHandler {
+    // The open statements created through this handle; statements remove themselves on close.
+    private final Set<Statement> statements = new LinkedHashSet<>();
+    private boolean isLogicalClosed = false;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (method.getDeclaringClass() == Object.class) {
+        switch (name) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          default:
+            return "BigtablePooledConnection$LogicalConnection@"
+                + Integer.toHexString(System.identityHashCode(proxy));
+        }
+      }
+      if (name.equals("close")) {
+        boolean closedNow;
+        synchronized (BigtablePooledConnection.this) {
+          closedNow = markLogicalClosed();
+        }
+        if (closedNow) {
+          try {
+            closeStatements();
+          } finally {
+            // Listeners typically hand the connection back to a pool, so notify them without
+            // holding the lock, and even if a statement failed to close.
+            fireConnectionClosed();
+          }
+        }
+        return null;
+      }
+      synchronized (BigtablePooledConnection.this) {
+        switch (name) {
+          case "isClosed":
+            return isLogicalClosed || physicalConnection.isClosed();
+          case "isValid":
+            if (isLogicalClosed) {
+              return false;
+            }
+            break;
+          default:
+            if (isLogicalClosed) {
+              throw new SQLException("This Connection is already closed.");
+            }
+        }
+      }
+
+      Object result;
+      try {
+        result = method.invoke(physicalConnection, args);
+      } catch (InvocationTargetException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof SQLException && isFatal((SQLException) cause)) {
+          fireConnectionErrorOccurred((SQLException) cause);
+        }
+        throw cause;
+      }
+      if (result instanceof Statement) {
+        Statement statement = (Statement) result;
+        synchronized (BigtablePooledConnection.this) {
+          statements.add(statement);
+        }
+        if (statement instanceof BigtableStatement) {
+          // Closing or aborting the statement's connection must not reach the physical one.
+          ((BigtableStatement) statement).setOwner((Connection) proxy);
+          ((BigtableStatement) statement).setCloseListener(this::statementClosed);
+        }
+      }
+      return result;
+    }
+
+    private void statementClosed(BigtableStatement statement) {
+      synchronized (BigtablePooledConnection.this) {
+        statements.remove(statement);
+      }
+    }
+
+    // Guarded by the enclosing pooled connection. Returns true if this call closed the handle.
+    private boolean closeLogical() throws SQLException {
+      if (!markLogicalClosed()) {
+        return false;
+      }
+      closeStatements();
+      return true;
+    }
+
+    // Guarded by the enclosing pooled connection. Returns true if this call closed the handle.
+    private boolean markLogicalClosed() {
+      if (isLogicalClosed) {
+        return false;
+      }
+      isLogicalClosed = true;
+      if (currentHandler == this) {
+        currentHandler = null;
+      }
+      return true;
+    }
+
+    // Closes every statement, and throws the first failure once all of them were closed.
+    private void closeStatements() throws SQLException {
+      List<Statement> toClose;
+      synchronized (BigtablePooledConnection.this) {
+        toClose = new ArrayList<>(statements);
+        statements.clear();
+      }
+      SQLException failure = null;
+      for (Statement statement : toClose) {
+        try {
+          statement.close();
+        } catch (SQLException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    private boolean isFatal(SQLException e) throws SQLException {
+      String sqlState = e.getSQLState();
+      return (sqlState != null && sqlState.startsWith("08")) || physicalConnection.isClosed();
+    }
+  }
+}
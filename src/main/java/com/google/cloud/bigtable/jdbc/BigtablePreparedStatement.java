@@ -17,16 +17,18 @@
 package com.google.cloud.bigtable.jdbc;
 
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
-import com.google.cloud.bigtable.data.v2.models.sql.BoundStatement;
+import com.google.cloud.bigtable.data.v2.internal.PreparedStatementImpl;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSetMetadata;
 import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
-import com.google.cloud.bigtable.jdbc.util.Parameter;
 import com.google.cloud.bigtable.jdbc.util.SqlParser;
+import com.google.cloud.bigtable.jdbc.util.SqlTemplate;
 import com.google.cloud.bigtable.jdbc.util.SqlTypeEnum;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
@@ -48,8 +50,10 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class BigtablePreparedStatement extends BigtableStatement implements PreparedStatement {
@@ -58,14 +62,24 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
       null;
   protected boolean isCached = false;
   protected String cachedSql = null;
-
-  protected final Map<Integer, Parameter> parameters = new HashMap<>();
-  protected static final String PARAM_PREFIX = "param";
+  protected Map<String, SqlType<?>> cachedParameterTypes = null;
+  // The max rows pushed down into cachedSql.
+  private long cachedMaxRows = 0;
+
+  private final ParameterSlots parameters;
+  private final int placeholderCount;
+  // The parameter sets added with addBatch(), in order.
+  private final List<ParameterSlots> batch = new ArrayList<>();
+  // The results of the last executeBatch(), null if the last execution was not a batch.
+  private BatchExecution<BigtableResultSet> batchResults;
+  protected static final String PARAM_PREFIX = ParameterSlots.PARAM_PREFIX;
 
   public BigtablePreparedStatement(
       BigtableConnection connection, String sql, BigtableDataClient client) {
     super(connection, client);
     this.sql = sql;
+    this.placeholderCount = sql == null ? 0 : SqlTemplate.of(sql).getPlaceholderCount();
+    this.parameters = new ParameterSlots(placeholderCount);
   }
 
   @Override
@@ -92,61 +106,55 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
         "This method cannot be called on a PreparedStatement.");
   }
 
-  private String getParamName(int parameterIndex) {
-    return PARAM_PREFIX + parameterIndex;
-  }
-
-  private SqlType<?> mapToSqlType(String type) {
-    return SqlTypeEnum.fromLabel(type).getSqlType();
+  private void setParameter(int parameterIndex, SqlTypeEnum type, Object value)
+      throws SQLException {
+    checkParameter(parameterIndex, type);
+    parameters.setObject(parameterIndex, type, value);
   }
 
-  private void setParameter(int parameterIndex, String type, Object value) throws SQLException {
-    Parameter existing = parameters.get(parameterIndex);
-
-    if (isCached && existing != null && !existing.getTypeLabel().equals(type)) {
+  // Checks that a parameter of the given type can be set at parameterIndex.
+  private void checkParameter(int parameterIndex, SqlTypeEnum type) throws SQLException {
+    if (parameterIndex < 1) {
+      throw new SQLException("Invalid parameter index: " + parameterIndex);
+    }
+    SqlTypeEnum existing = parameters.getType(parameterIndex);
+    if (isCached && existing != null && existing != type) {
       throw new SQLException(
           "Cannot change parameter type after statement is cached. "
               + "Expected: "
-              + existing.getTypeLabel()
+              + existing
               + ", got: "
               + type);
     }
-    try {
-      SqlTypeEnum.fromLabel(type);
-      parameters.put(parameterIndex, new Parameter(type, value));
-    } catch (IllegalArgumentException e) {
-      throw new SQLException("Unsupported SQL type: " + type, e);
-    }
   }
 
-  private SqlType sqlTypeToTypeLabel(int sqlType) throws SQLException {
+  // Returns the parameter type of a null of the JDBC type sqlType.
+  private static SqlTypeEnum nullType(int sqlType) throws SQLException {
     switch (sqlType) {
       case Types.INTEGER:
       case Types.SMALLINT:
       case Types.TINYINT:
       case Types.BIGINT:
-        return SqlType.int64();
+        return SqlTypeEnum.INT;
       case Types.BOOLEAN:
       case Types.BIT:
-        return SqlType.bool();
+        return SqlTypeEnum.BOOL;
       case Types.VARCHAR:
       case Types.CHAR:
       case Types.LONGVARCHAR:
-        return SqlType.string();
+        return SqlTypeEnum.STRING;
       case Types.DOUBLE:
       case Types.FLOAT:
       case Types.REAL:
-        return SqlType.float64();
+        return SqlTypeEnum.DOUBLE;
       case Types.DATE:
-        return SqlType.date();
+        return SqlTypeEnum.DATE;
       case Types.TIMESTAMP:
-        return SqlType.timestamp();
+        return SqlTypeEnum.TIMESTAMP;
       case Types.BINARY:
       case Types.VARBINARY:
       case Types.LONGVARBINARY:
-        return SqlType.bytes();
-      case Types.JAVA_OBJECT:
-        return SqlType.struct();
+        return SqlTypeEnum.BYTES;
       default:
         throw new SQLException("Unsupported SQL type: " + sqlType);
     }
@@ -155,46 +163,57 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
   @Override
   public ResultSet executeQuery() throws SQLException {
     checkClosed();
+    closeBatchResults();
+    closeResultSets();
+    QueryExecution execution = startExecution();
     try {
-      com.google.cloud.bigtable.data.v2.models.sql.ResultSet resultSet = prepareQuery();
-      this.resultSets.clear();
-      this.resultSets.add(new BigtableResultSet(resultSet));
+      BoundQuery query = execution.call(this::prepareQuery);
+      com.google.cloud.bigtable.data.v2.models.sql.ResultSet resultSet =
+          execution.call(() -> execute(query));
+      this.resultSets.add(createResultSet(resultSet, execution, query));
       this.currentResultIndex = 0;
       return this.resultSets.get(0);
     } catch (Exception e) {
+      if (execution.isAborted() && e instanceof SQLException) {
+        throw (SQLException) e;
+      }
       throw new SQLException("Failed to execute query: " + e.getMessage(), e);
     }
   }
 
-  private com.google.cloud.bigtable.data.v2.models.sql.ResultSet prepareQuery()
-      throws SQLException {
-    if (!isCached) {
-      cachedSql = SqlParser.replacePlaceholdersWithNamedParams(sql, parameters.size());
-
-      Map<String, SqlType<?>> parameterTypes = new HashMap<>();
-      for (Map.Entry<Integer, Parameter> entry : parameters.entrySet()) {
-        String paramName = getParamName(entry.getKey());
-        String type = entry.getValue().getTypeLabel();
-        parameterTypes.put(paramName, mapToSqlType(type));
-      }
+  private BoundQuery prepareQuery() throws SQLException {
+    // The values are copied so that a re-execution binds the same ones; the copy is reused while
+    // no parameter changes.
+    return prepareQuery(parameters.snapshot());
+  }
 
-      cachedPreparedStatement = client.prepareStatement(cachedSql, parameterTypes);
+  private BoundQuery prepareQuery(ParameterSlots values) throws SQLException {
+    if (!isCached || cachedMaxRows != maxRows) {
+      cachedSql = limitRows(SqlParser.replacePlaceholdersWithNamedParams(sql, values.size()));
+      cachedMaxRows = maxRows;
+      // Immutable, so that cache lookups on later executions do not copy it.
+      cachedParameterTypes = values.parameterTypes();
+      cachedPreparedStatement = prepare(cachedSql, cachedParameterTypes);
       isCached = true;
+    } else {
+      // Picks up a prepared query refreshed in the background.
+      cachedPreparedStatement =
+          latestPrepared(cachedSql, cachedParameterTypes, cachedPreparedStatement);
     }
 
     if (cachedPreparedStatement == null) {
       throw new SQLException("Failed to prepare statement: " + sql);
     }
-    BoundStatement.Builder bound = cachedPreparedStatement.bind();
-
-    for (Map.Entry<Integer, Parameter> entry : parameters.entrySet()) {
-      String paramName = getParamName(entry.getKey());
-      String type = entry.getValue().getTypeLabel();
-      Object value = entry.getValue().getValue();
+    return new BoundQuery(cachedSql, cachedParameterTypes, cachedPreparedStatement, values::bindTo);
+  }
 
-      SqlTypeEnum.fromLabel(type).bind(bound, paramName, value);
-    }
-    return client.executeQuery(bound.build());
+  @Override
+  protected com.google.cloud.bigtable.data.v2.models.sql.ResultSet executeReprepared(
+      BoundQuery query) {
+    com.google.cloud.bigtable.data.v2.models.sql.ResultSet resultSet =
+        super.executeReprepared(query);
+    cachedPreparedStatement = query.getPreparedStatement();
+    return resultSet;
   }
 
   @Override
@@ -205,50 +224,50 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
   @Override
   public void setNull(int parameterIndex, int sqlType) throws SQLException {
     checkClosed();
-    SqlType type = sqlTypeToTypeLabel(sqlType);
-    setParameter(parameterIndex, type.toString(), null);
+    setParameter(parameterIndex, nullType(sqlType), null);
   }
 
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "bool", x);
+    checkParameter(parameterIndex, SqlTypeEnum.BOOL);
+    parameters.setBoolean(parameterIndex, x);
   }
 
   @Override
   public void setByte(int parameterIndex, byte x) throws SQLException {
-    checkClosed();
-    setParameter(parameterIndex, "int", (long) x);
+    setLong(parameterIndex, x);
   }
 
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException {
-    checkClosed();
-    setParameter(parameterIndex, "int", (long) x);
+    setLong(parameterIndex, x);
   }
 
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
-    checkClosed();
-    setParameter(parameterIndex, "int", x);
+    setLong(parameterIndex, x);
   }
 
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "int", x);
+    checkParameter(parameterIndex, SqlTypeEnum.INT);
+    parameters.setLong(parameterIndex, x);
   }
 
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "float", x);
+    checkParameter(parameterIndex, SqlTypeEnum.FLOAT);
+    parameters.setFloat(parameterIndex, x);
   }
 
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "double", x);
+    checkParameter(parameterIndex, SqlTypeEnum.DOUBLE);
+    parameters.setDouble(parameterIndex, x);
   }
 
   @Override
@@ -259,19 +278,19 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
   @Override
   public void setString(int parameterIndex, String x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "string", x);
+    setParameter(parameterIndex, SqlTypeEnum.STRING, x);
   }
 
   @Override
   public void setBytes(int parameterIndex, byte[] x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "bytes", x);
+    setParameter(parameterIndex, SqlTypeEnum.BYTES, x);
   }
 
   @Override
   public void setDate(int parameterIndex, Date x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "date", com.google.cloud.Date.fromJavaUtilDate(x));
+    setParameter(parameterIndex, SqlTypeEnum.DATE, com.google.cloud.Date.fromJavaUtilDate(x));
   }
 
   @Override
@@ -282,7 +301,7 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
   @Override
   public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "timestamp", x.toInstant());
+    setParameter(parameterIndex, SqlTypeEnum.TIMESTAMP, x.toInstant());
   }
 
   @Override
@@ -324,21 +343,191 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
       throw new SQLException("No SQL statement set.");
     }
 
-    String trimmedSql = sql.trim().toLowerCase();
+    // Shares the timeout, cancellation and stale-plan retry of executeQuery().
+    executeQuery();
+    return true;
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    checkClosed();
+    batch.add(parameters.snapshot());
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    checkClosed();
+    batch.clear();
+  }
+
+  /**
+   * Executes the query once for each parameter set added with {@link #addBatch()}, all against
+   * one prepared query. At most {@code batch_max_in_flight} queries run at the same time, and the
+   * query timeout applies to the whole batch.
+   *
+   * <p>The result sets are returned in order by {@link #getResultSet()} and {@link
+   * #getMoreResults()}. Closing a result set, or moving past it, starts the next pending query.
+   *
+   * @return {@link java.sql.Statement#SUCCESS_NO_INFO} for each parameter set.
+   */
+  @Override
+  public int[] executeBatch() throws SQLException {
+    checkClosed();
+    closeBatchResults();
+    List<ParameterSlots> values = takeBatch();
+    closeResultSets();
+    if (values.isEmpty()) {
+      return new int[0];
+    }
+    QueryExecution execution = startExecution();
+    List<BoundQuery> queries;
     try {
-      com.google.cloud.bigtable.data.v2.models.sql.ResultSet bigtableResultSet = prepareQuery();
-      resultSets.clear();
-      resultSets.add(new BigtableResultSet(bigtableResultSet));
-      currentResultIndex = 0;
-      return true;
-    } catch (Exception e) {
-      throw new SQLException("Failed to execute query: " + e.getMessage(), e);
+      queries = execution.call(() -> prepareBatch(values));
+    } catch (SQLException | RuntimeException e) {
+      throw new BatchUpdateException("Failed to execute batch: " + e.getMessage(), new int[0], e);
+    }
+    batchResults =
+        new BatchExecution<>(
+            queries.size(),
+            batchMaxInFlight(),
+            execution,
+            (index, queryExecution) -> {
+              BoundQuery query = queries.get(index);
+              return createResultSet(
+                  queryExecution.call(() -> execute(query)), queryExecution, query);
+            });
+    batchResults.start();
+    currentResultIndex = 0;
+    int[] updateCounts = new int[values.size()];
+    Arrays.fill(updateCounts, SUCCESS_NO_INFO);
+    return updateCounts;
+  }
+
+  /**
+   * Executes the batch like {@link #executeBatch()}, but returns the rows of all its queries as
+   * one result set, in the order the parameter sets were added. The result set is forward only,
+   * whatever the type of this statement.
+   */
+  public ResultSet executeBatchQuery() throws SQLException {
+    checkClosed();
+    closeBatchResults();
+    List<ParameterSlots> values = takeBatch();
+    closeResultSets();
+    if (values.isEmpty()) {
+      throw new SQLException("No parameter sets were added to the batch.");
+    }
+    QueryExecution execution = startExecution();
+    List<BoundQuery> queries = execution.call(() -> prepareBatch(values));
+    BatchExecution<com.google.cloud.bigtable.data.v2.models.sql.ResultSet> streams =
+        new BatchExecution<>(
+            queries.size(),
+            batchMaxInFlight(),
+            execution,
+            (index, queryExecution) -> queryExecution.call(() -> execute(queries.get(index))));
+    streams.start();
+    BigtableResultSet resultSet;
+    try {
+      resultSet = new BigtableResultSet(streams.get(0));
+    } catch (SQLException e) {
+      streams.close();
+      throw e;
+    }
+    resultSet.setQueryExecution(execution);
+    applyFetchSize(resultSet);
+    resultSet.setMaxRows(maxRows);
+    resultSet.setContinuation(
+        new BigtableResultSet.StreamContinuation() {
+          private int index = 0;
+
+          @Override
+          public com.google.cloud.bigtable.data.v2.models.sql.ResultSet next()
+              throws SQLException {
+            streams.done(index);
+            index++;
+            return index < streams.size() ? streams.get(index) : null;
+          }
+        });
+    if (connection != null) {
+      resultSet.setFirstResponseListener(connection::recordSuccessfulRpc);
+    }
+    resultSets.add(resultSet);
+    currentResultIndex = 0;
+    return resultSet;
+  }
+
+  private List<ParameterSlots> takeBatch() {
+    List<ParameterSlots> values = new ArrayList<>(batch);
+    batch.clear();
+    return values;
+  }
+
+  // Prepares the query once for the parameter sets of a batch, which must all have the same types.
+  private List<BoundQuery> prepareBatch(List<ParameterSlots> values) throws SQLException {
+    ParameterSlots first = values.get(0);
+    for (ParameterSlots slots : values) {
+      if (!first.hasSameTypes(slots)) {
+        throw new SQLException("All parameter sets of a batch must have the same types.");
+      }
+    }
+    if (isCached && !first.parameterTypes().equals(cachedParameterTypes)) {
+      // The parameters were cleared and set with other types before the batch was executed.
+      isCached = false;
+    }
+    List<BoundQuery> queries = new ArrayList<>(values.size());
+    for (ParameterSlots slots : values) {
+      queries.add(prepareQuery(slots));
+    }
+    return queries;
+  }
+
+  private int batchMaxInFlight() {
+    return connection == null
+        ? BatchExecution.DEFAULT_MAX_IN_FLIGHT
+        : connection.getBatchMaxInFlight();
+  }
+
+  private void closeBatchResults() {
+    if (batchResults != null) {
+      batchResults.close();
+      batchResults = null;
     }
   }
 
   @Override
-  public void addBatch() throws SQLException {
-    throw new SQLFeatureNotSupportedException("addBatch is not supported");
+  public ResultSet getResultSet() throws SQLException {
+    checkClosed();
+    if (batchResults == null) {
+      return super.getResultSet();
+    }
+    return currentResultIndex >= 0 && currentResultIndex < batchResults.size()
+        ? batchResults.get(currentResultIndex)
+        : null;
+  }
+
+  @Override
+  public boolean getMoreResults() throws SQLException {
+    checkClosed();
+    if (batchResults == null) {
+      return super.getMoreResults();
+    }
+    if (currentResultIndex >= 0 && currentResultIndex < batchResults.size()) {
+      // Closing the current result set lets the next pending query start.
+      try {
+        batchResults.get(currentResultIndex).close();
+      } catch (SQLException e) {
+        // The query failed to start, so there is nothing to close.
+      }
+      currentResultIndex++;
+    }
+    return currentResultIndex < batchResults.size();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (!isClosed) {
+      closeBatchResults();
+    }
+    super.close();
   }
 
   @Override
@@ -372,20 +561,67 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
     SqlTypeEnum elementEnum = SqlTypeEnum.fromJdbcType(x.getBaseType());
     SqlType<?> elementType = elementEnum.getSqlType();
     SqlType.Array<?> arrayType = SqlType.arrayOf(elementType);
-    String arrayTypeLabel = null;
+    SqlTypeEnum arrayTypeEnum = null;
     Object[] array = (Object[]) x.getArray();
 
     for (SqlTypeEnum e : SqlTypeEnum.values()) {
       if (e.getSqlType().equals(arrayType)) {
-        arrayTypeLabel = e.name();
+        arrayTypeEnum = e;
       }
     }
-    setParameter(parameterIndex, arrayTypeLabel, array);
+    if (arrayTypeEnum == null) {
+      throw new SQLException("Unsupported SQL type: " + arrayType);
+    }
+    setParameter(parameterIndex, arrayTypeEnum, array);
   }
 
+  /**
+   * Returns the columns of the query's results, as described by Bigtable when it prepared the
+   * query. No query is executed; the query is prepared if the connection has not prepared it yet.
+   *
+   * <p>Bigtable prepares queries for the types of their parameters, so all parameters must be set.
+   *
+   * @return the result columns, or null if not all parameters are set or the prepared query does
+   *     not expose its columns.
+   */
   @Override
   public ResultSetMetaData getMetaData() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getMetaData is not supported");
+    checkClosed();
+    if (sql == null || sql.trim().isEmpty()) {
+      throw new SQLException("No SQL statement set.");
+    }
+    if (parameters.size() < placeholderCount) {
+      return null;
+    }
+    QueryExecution execution = startExecution();
+    try {
+      ResultSetMetadata metadata = execution.call(() -> describe(execution));
+      return metadata == null ? null : new BigtableResultSetMetaData(metadata.getColumns());
+    } catch (SQLException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SQLException("Failed to describe query: " + e.getMessage(), e);
+    } finally {
+      execution.finish();
+    }
+  }
+
+  /**
+   * Reads the result columns from the prepare response. The public client API does not expose
+   * them before a query is executed, so this relies on the {@code @InternalApi} {@link
+   * PreparedStatementImpl} and returns null for any other implementation. The response may still
+   * be in flight while the query is being re-prepared, so the wait is bounded by {@code
+   * execution}'s timeout and ends when it is cancelled.
+   */
+  private ResultSetMetadata describe(QueryExecution execution) throws Exception {
+    com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement prepared =
+        prepareQuery().getPreparedStatement();
+    if (!(prepared instanceof PreparedStatementImpl)) {
+      return null;
+    }
+    return execution
+        .await(((PreparedStatementImpl) prepared).getLatestPrepareResponse().prepareFuture())
+        .resultSetMetadata();
   }
 
   @Override
@@ -401,7 +637,7 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
     com.google.cloud.Date cloudDate =
         com.google.cloud.Date.fromYearMonthDay(
             localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth());
-    setParameter(parameterIndex, "date", cloudDate);
+    setParameter(parameterIndex, SqlTypeEnum.DATE, cloudDate);
   }
 
   @Override
@@ -420,14 +656,13 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
       instant = x.toInstant();
     }
 
-    setParameter(parameterIndex, "timestamp", instant);
+    setParameter(parameterIndex, SqlTypeEnum.TIMESTAMP, instant);
   }
 
   @Override
   public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
     checkClosed();
-    SqlType type = sqlTypeToTypeLabel(sqlType);
-    setParameter(parameterIndex, type.toString(), null);
+    setParameter(parameterIndex, nullType(sqlType), null);
   }
 
   @Override
@@ -440,7 +675,7 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
     return new ParameterMetaData() {
       @Override
       public int getParameterCount() throws SQLException {
-        return parameters.size();
+        return Math.max(parameters.size(), placeholderCount);
       }
 
       @Override
@@ -450,14 +685,11 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
 
       @Override
       public boolean isSigned(int param) throws SQLException {
-        Parameter parameter = parameters.get(param);
-        if (parameter == null) {
+        SqlTypeEnum type = parameters.getType(param);
+        if (type == null) {
           throw new SQLException("Parameter not found: " + param);
         }
 
-        String sqlType = parameter.getTypeLabel();
-        SqlTypeEnum type = SqlTypeEnum.fromLabel(sqlType);
-
         switch (type) {
           case INT:
           case FLOAT:
@@ -472,14 +704,11 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
       public int getPrecision(int param) throws SQLException {
         checkClosed();
 
-        Parameter parameter = parameters.get(param);
-        if (parameter == null) {
+        SqlTypeEnum type = parameters.getType(param);
+        if (type == null) {
           throw new SQLException("Parameter not found: " + param);
         }
 
-        String sqlTypeLabel = parameter.getTypeLabel();
-        SqlTypeEnum type = SqlTypeEnum.fromLabel(sqlTypeLabel);
-
         switch (type) {
           case INT:
           case DATE:
@@ -502,14 +731,11 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
       public int getScale(int param) throws SQLException {
         checkClosed();
 
-        Parameter parameter = parameters.get(param);
-        if (parameter == null) {
+        SqlTypeEnum type = parameters.getType(param);
+        if (type == null) {
           throw new SQLException("Parameter not found: " + param);
         }
 
-        String sqlType = parameter.getTypeLabel();
-        SqlTypeEnum type = SqlTypeEnum.fromLabel(sqlType);
-
         switch (type) {
           case FLOAT:
             return 7;
@@ -522,30 +748,29 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
 
       @Override
       public int getParameterType(int param) throws SQLException {
-        Parameter parameter = parameters.get(param);
-        if (parameter == null) {
+        SqlTypeEnum type = parameters.getType(param);
+        if (type == null) {
           throw new SQLException("Parameter not found: " + param);
         }
-        return SqlTypeEnum.fromLabel(parameter.getTypeLabel()).getSqlTypeCode();
+        return type.getSqlTypeCode();
       }
 
       @Override
       public String getParameterTypeName(int param) throws SQLException {
-        Parameter parameter = parameters.get(param);
-        if (parameter == null) {
+        SqlTypeEnum type = parameters.getType(param);
+        if (type == null) {
           throw new SQLException("Parameter not found: " + param);
         }
-        SqlType<?> sqlType = SqlTypeEnum.fromLabel(parameter.getTypeLabel()).getSqlType();
-        return sqlType.toString();
+        return type.getSqlType().toString();
       }
 
       @Override
       public String getParameterClassName(int param) throws SQLException {
-        Parameter parameter = parameters.get(param);
-        if (parameter == null) {
+        SqlTypeEnum type = parameters.getType(param);
+        if (type == null) {
           throw new SQLException("Parameter not found: " + param);
         }
-        return SqlTypeEnum.fromLabel(parameter.getTypeLabel()).getJavaClassName();
+        return type.getJavaClassName();
       }
 
       @Override
@@ -573,7 +798,7 @@ public class BigtablePreparedStatement extends BigtableStatement implements Prep
   @Override
   public void setNString(int parameterIndex, String value) throws SQLException {
     checkClosed();
-    setParameter(parameterIndex, "string", value);
+    setParameter(parameterIndex, SqlTypeEnum.STRING, value);
   }
 
   @Override
@@ -19,10 +19,13 @@ package com.google.cloud.bigtable.jdbc;
 import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
 import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
 import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.protobuf.ByteString;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -40,29 +43,174 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class BigtableResultSet implements java.sql.ResultSet {
   // Bigtable data result set is 0 index.
-  private final ResultSet btDataResultSet;
+  // Replaced once if the query is re-executed after a stale prepared query, and read by the
+  // thread cancelling the execution.
+  private volatile ResultSet btDataResultSet;
   private List<Map<String, Object>> rows;
   private int currentRow = -1;
   private boolean lastValueWasNull = false;
   private boolean hasMoved = false;
   private boolean isAfterLast = false;
   private boolean closed = false;
+  // Notified once, when the first response of the stream has been received.
+  private Runnable firstResponseListener;
+  // The execution that produced this result set, null if it has no deadline or cancellation.
+  private QueryExecution execution;
+  // Re-executes the query with a new prepared query, null once the first row has been read.
+  private Supplier<ResultSet> stalePlanRetry;
+  // Supplies the streams read after this one is exhausted, null if there are none.
+  private StreamContinuation continuation;
+  // The columns of the current stream and their metadata, built on first use.
+  private List<ColumnMetadata> columns;
+  private BigtableResultSetMetaData metaData;
+  // 0-based column indexes by label, filled in as labels are looked up.
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+  // The converter used by getObject(int, Class) for each column, and the class it converts to.
+  private ValueConverters.Converter[] converters;
+  private Class<?>[] converterTargets;
+  // Reused by nextBatch().
+  private RowBatch rowBatch;
+  // Rows read ahead of the application, 0 to read the stream directly.
+  private int fetchSize = 0;
+  // The stream as returned by the client, before it is wrapped by readAhead and scrollRows.
+  private ResultSet sourceStream;
+  // Buffers the current stream when fetchSize is above 1.
+  private ReadAheadBuffer readAhead;
+  // The rows of a TYPE_SCROLL_INSENSITIVE result set, null if it is forward only.
+  private ScrollableRows scrollRows;
+  // The heap used by scrollRows before rows are spilled to disk, -1 if it is forward only.
+  private long scrollMemoryLimitBytes = -1;
+  // The maximum number of rows returned, 0 for no limit, and the number returned so far.
+  private long maxRows = 0;
+  private long rowsReturned = 0;
 
   public BigtableResultSet(ResultSet bigtableResultSet) {
     this.btDataResultSet = bigtableResultSet;
+    this.sourceStream = bigtableResultSet;
   }
 
   public BigtableResultSet(ResultSet bigtableResultSet, List<Map<String, Object>> rows) {
     this.btDataResultSet = bigtableResultSet;
+    this.sourceStream = bigtableResultSet;
     this.rows = rows;
     this.currentRow = -1;
   }
 
+  /** Sets a callback run once the first call to {@link #next()} returns from the server. */
+  void setFirstResponseListener(Runnable firstResponseListener) {
+    this.firstResponseListener = firstResponseListener;
+  }
+
+  /**
+   * Ties this result set to {@code execution}: the stream is cancelled when the execution is
+   * cancelled or times out, and the execution ends when the stream is exhausted or closed.
+   */
+  void setQueryExecution(QueryExecution execution) {
+    this.execution = execution;
+    execution.onEnd(this::cancelStream);
+  }
+
+  /**
+   * Sets how to re-execute the query if the stream fails because its prepared query is stale.
+   * The query is re-executed at most once, and only before the first row is returned.
+   */
+  void setStalePlanRetry(Supplier<ResultSet> stalePlanRetry) {
+    this.stalePlanRetry = stalePlanRetry;
+  }
+
+  /**
+   * Sets the streams that continue this result set: once a stream is exhausted, rows are read from
+   * the next one, until {@code continuation} returns null. All streams must have the same columns.
+   */
+  void setContinuation(StreamContinuation continuation) {
+    this.continuation = continuation;
+  }
+
+  /**
+   * Makes this result set {@code TYPE_SCROLL_INSENSITIVE}: rows are kept as they are read, in
+   * about {@code memoryLimitBytes} of heap and then in a temporary file, so that the cursor can
+   * move back. Must be called before the cursor moves, and not together with a continuation.
+   */
+  void setScrollable(long memoryLimitBytes) {
+    scrollMemoryLimitBytes = memoryLimitBytes;
+    wrapStream();
+  }
+
+  /**
+   * Returns at most {@code maxRows} rows, 0 for no limit. Once the limit is reached, the stream is
+   * cancelled instead of being read further.
+   */
+  void setMaxRows(long maxRows) {
+    this.maxRows = maxRows;
+    if (scrollRows != null) {
+      scrollRows.setMaxRows(maxRows);
+    }
+  }
+
+  private void cancelStream() {
+    try {
+      if (btDataResultSet != null) {
+        btDataResultSet.close();
+      }
+    } catch (Exception ignored) {
+      // The stream is already closed.
+    }
+  }
+
+  List<ColumnMetadata> columns() {
+    if (columns == null) {
+      columns = btDataResultSet.getMetadata().getColumns();
+    }
+    return columns;
+  }
+
+  // Returns the 0-based index of the column labeled columnLabel, looking each label up once.
+  private int columnIndex(String columnLabel) {
+    Integer index = columnIndexes.get(columnLabel);
+    if (index == null) {
+      index = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+      columnIndexes.put(columnLabel, index);
+    }
+    return index;
+  }
+
+  // Switches to another stream, whose columns are looked up again.
+  private void replaceStream(ResultSet stream) {
+    sourceStream = stream;
+    wrapStream();
+    columns = null;
+    metaData = null;
+    columnIndexes.clear();
+    converters = null;
+    converterTargets = null;
+  }
+
+  // Reads the source stream through the read-ahead buffer and the scrollable rows, if enabled.
+  private void wrapStream() {
+    ResultSet stream = sourceStream;
+    readAhead = null;
+    scrollRows = null;
+    if (stream != null && fetchSize > 1) {
+      readAhead = new ReadAheadBuffer(stream, fetchSize);
+      stream = readAhead.asResultSet();
+    }
+    if (stream != null && scrollMemoryLimitBytes >= 0) {
+      scrollRows = new ScrollableRows(stream, scrollMemoryLimitBytes);
+      scrollRows.setMaxRows(maxRows);
+      stream = scrollRows.asResultSet();
+    }
+    btDataResultSet = stream;
+  }
+
   private int toBigtableDataResultSetIndex(int oneIndex) {
     return oneIndex - 1;
   }
@@ -71,11 +219,12 @@ public class BigtableResultSet implements java.sql.ResultSet {
     return zeroBasedIndex + 1;
   }
 
-  private Object getTypedValue(ResultSet resultSet, ColumnMetadata column) throws SQLException {
-    String columnName = column.name();
+  // Reads the value at the 0-based columnIndex, which has the metadata column.
+  private Object getTypedValue(ResultSet resultSet, int columnIndex, ColumnMetadata column)
+      throws SQLException {
     Object value;
 
-    if (resultSet.isNull(columnName)) {
+    if (resultSet.isNull(columnIndex)) {
       lastValueWasNull = true;
       return null;
     } else {
@@ -84,45 +233,45 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
     switch (column.type().getCode()) {
       case STRING:
-        value = resultSet.getString(columnName);
+        value = resultSet.getString(columnIndex);
         break;
       case INT64:
-        value = resultSet.getLong(columnName);
+        value = resultSet.getLong(columnIndex);
         break;
       case FLOAT64:
-        value = resultSet.getDouble(columnName);
+        value = resultSet.getDouble(columnIndex);
         break;
       case FLOAT32:
-        value = resultSet.getFloat(columnName);
+        value = resultSet.getFloat(columnIndex);
         break;
       case BOOL:
-        value = resultSet.getBoolean(columnName);
+        value = resultSet.getBoolean(columnIndex);
         break;
       case BYTES:
-        value = resultSet.getBytes(columnName);
+        value = resultSet.getBytes(columnIndex);
         break;
       case STRUCT:
-        value = resultSet.getStruct(columnName);
+        value = resultSet.getStruct(columnIndex);
         break;
       case DATE:
-        value = resultSet.getDate(columnName);
+        value = resultSet.getDate(columnIndex);
         break;
       case ARRAY:
         SqlType<?> columnType1 = column.type();
         if (columnType1 instanceof SqlType.Array<?>) {
           SqlType<?> elementType = ((SqlType.Array<?>) columnType1).getElementType();
-          value = resultSet.getList(columnName, SqlType.arrayOf(elementType));
+          value = resultSet.getList(columnIndex, SqlType.arrayOf(elementType));
         } else {
           throw new SQLException("Expected ARRAY type but got: " + columnType1);
         }
         break;
       case TIMESTAMP:
-        value = resultSet.getTimestamp(columnName);
+        value = resultSet.getTimestamp(columnIndex);
         break;
       case MAP:
         if (column.type() instanceof SqlType.Map) {
           SqlType.Map<Object, Object> mapType = (SqlType.Map<Object, Object>) column.type();
-          value = resultSet.getMap(columnName, mapType);
+          value = resultSet.getMap(columnIndex, mapType);
         } else {
           throw new SQLException("Expected MAP type but got: " + column.type().getCode());
         }
@@ -144,11 +293,68 @@ public class BigtableResultSet implements java.sql.ResultSet {
   public boolean next() throws SQLException {
     checkClosed();
     hasMoved = true;
-    boolean hasNext = btDataResultSet.next();
+    boolean hasNext;
+    if (maxRows > 0 && rowsReturned >= maxRows && scrollRows == null) {
+      // The stream was cancelled when the last row was returned.
+      hasNext = false;
+    } else {
+      hasNext = nextFromStream();
+    }
+    while (!hasNext && continuation != null) {
+      ResultSet nextStream = continuation.next();
+      if (nextStream == null) {
+        continuation = null;
+      } else {
+        cancelStream();
+        replaceStream(nextStream);
+        hasNext = nextFromStream();
+      }
+    }
+    if (!hasNext && execution != null) {
+      execution.finish();
+    }
+    if (firstResponseListener != null) {
+      firstResponseListener.run();
+      firstResponseListener = null;
+    }
+    if (hasNext) {
+      rowsReturned++;
+      if (maxRows > 0 && rowsReturned >= maxRows && scrollRows == null) {
+        // No further row is needed. The values of the current row stay readable.
+        cancelStream();
+        continuation = null;
+      }
+    }
     isAfterLast = !hasNext;
     return hasNext;
   }
 
+  private boolean nextFromStream() throws SQLException {
+    return moveInStream(() -> btDataResultSet.next());
+  }
+
+  // Runs a move of the cursor that reads the stream, re-executing a stale query once.
+  private boolean moveInStream(BooleanSupplier move) throws SQLException {
+    while (true) {
+      try {
+        boolean moved = move.getAsBoolean();
+        stalePlanRetry = null;
+        return moved;
+      } catch (RuntimeException e) {
+        if (execution != null && execution.isAborted()) {
+          throw execution.toSQLException(e);
+        }
+        if (stalePlanRetry == null || !PreparedQueryCache.isStalePlanError(e)) {
+          throw e;
+        }
+        Supplier<ResultSet> retry = stalePlanRetry;
+        stalePlanRetry = null;
+        cancelStream();
+        replaceStream(execution == null ? retry.get() : execution.call(retry::get));
+      }
+    }
+  }
+
   @Override
   public void close() throws SQLException {
     if (closed) {
@@ -156,12 +362,12 @@ public class BigtableResultSet implements java.sql.ResultSet {
     }
     closed = true;
 
-    try {
-      if (btDataResultSet != null) {
-        btDataResultSet.close();
-      }
-    } catch (Exception ignored) {
-
+    cancelStream();
+    if (scrollRows != null) {
+      scrollRows.release();
+    }
+    if (execution != null) {
+      execution.finish();
     }
   }
 
@@ -297,6 +503,15 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public byte[] getBytes(int columnIndex) throws SQLException {
+    ByteString bytes = getByteString(columnIndex);
+    return bytes == null ? null : bytes.toByteArray();
+  }
+
+  /**
+   * Returns the value of a BYTES column as received, without copying it, or null. Prefer it, or
+   * {@link #getByteBuffer(int)}, to {@link #getBytes(int)} for large values.
+   */
+  public ByteString getByteString(int columnIndex) throws SQLException {
     checkClosed();
 
     int bigtableDataResultSetIndex = toBigtableDataResultSetIndex(columnIndex);
@@ -307,7 +522,23 @@ public class BigtableResultSet implements java.sql.ResultSet {
     }
 
     lastValueWasNull = false;
-    return btDataResultSet.getBytes(bigtableDataResultSetIndex).toByteArray();
+    return btDataResultSet.getBytes(bigtableDataResultSetIndex);
+  }
+
+  public ByteString getByteString(String columnLabel) throws SQLException {
+    checkClosed();
+    return getByteString(toJDBCResultSetIndex(columnIndex(columnLabel)));
+  }
+
+  /** Returns a read-only view of the value of a BYTES column, without copying it, or null. */
+  public ByteBuffer getByteBuffer(int columnIndex) throws SQLException {
+    ByteString bytes = getByteString(columnIndex);
+    return bytes == null ? null : bytes.asReadOnlyByteBuffer();
+  }
+
+  public ByteBuffer getByteBuffer(String columnLabel) throws SQLException {
+    checkClosed();
+    return getByteBuffer(toJDBCResultSetIndex(columnIndex(columnLabel)));
   }
 
   @Override
@@ -360,14 +591,15 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public InputStream getBinaryStream(int columnIndex) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getBinaryStream is not supported");
+    ByteString bytes = getByteString(columnIndex);
+    return bytes == null ? null : bytes.newInput();
   }
 
   @Override
   public String getString(String columnLabel) throws SQLException {
     checkClosed();
     try {
-      int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+      int zeroBasedIndex = columnIndex(columnLabel);
       int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
       String value = getString(columnIndex);
       lastValueWasNull = (value == null);
@@ -380,7 +612,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public boolean getBoolean(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getBoolean(columnIndex);
   }
@@ -388,7 +620,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public byte getByte(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getByte(columnIndex);
   }
@@ -396,7 +628,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public short getShort(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getShort(columnIndex);
   }
@@ -404,7 +636,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public int getInt(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getInt(columnIndex);
   }
@@ -412,7 +644,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public long getLong(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getLong(columnIndex);
   }
@@ -420,7 +652,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public float getFloat(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getFloat(columnIndex);
   }
@@ -428,7 +660,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public double getDouble(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getDouble(columnIndex);
   }
@@ -441,7 +673,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public byte[] getBytes(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getBytes(columnIndex);
   }
@@ -449,7 +681,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public Date getDate(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getDate(columnIndex);
   }
@@ -462,7 +694,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public Timestamp getTimestamp(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
     return getTimestamp(columnIndex);
   }
@@ -479,7 +711,8 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public InputStream getBinaryStream(String columnLabel) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getBinaryStream is not supported");
+    checkClosed();
+    return getBinaryStream(toJDBCResultSetIndex(columnIndex(columnLabel)));
   }
 
   @Override
@@ -497,7 +730,10 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public ResultSetMetaData getMetaData() throws SQLException {
-    return new BigtableResultSetMetaData(btDataResultSet.getMetadata().getColumns());
+    if (metaData == null) {
+      metaData = new BigtableResultSetMetaData(columns());
+    }
+    return metaData;
   }
 
   @Override
@@ -508,18 +744,17 @@ public class BigtableResultSet implements java.sql.ResultSet {
     }
     int zeroBasedIndex = toBigtableDataResultSetIndex(columnIndex);
 
-    if (zeroBasedIndex < 0 || zeroBasedIndex >= btDataResultSet.getMetadata().getColumns().size()) {
+    List<ColumnMetadata> columns = columns();
+    if (zeroBasedIndex < 0 || zeroBasedIndex >= columns.size()) {
       throw new SQLException("Invalid column index: " + columnIndex);
     }
-
-    ColumnMetadata column = btDataResultSet.getMetadata().getColumns().get(zeroBasedIndex);
-    return getTypedValue(btDataResultSet, column);
+    return getTypedValue(btDataResultSet, zeroBasedIndex, columns.get(zeroBasedIndex));
   }
 
   @Override
   public Object getObject(String columnLabel) throws SQLException {
     checkClosed();
-    int zeroBasedIndex = btDataResultSet.getMetadata().getColumnIndex(columnLabel);
+    int zeroBasedIndex = columnIndex(columnLabel);
     int columnIndex = toJDBCResultSetIndex(zeroBasedIndex);
 
     return getObject(columnIndex);
@@ -529,7 +764,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
   public int findColumn(String columnLabel) throws SQLException {
     checkClosed();
     try {
-      return toJDBCResultSetIndex(btDataResultSet.getMetadata().getColumnIndex(columnLabel));
+      return toJDBCResultSetIndex(columnIndex(columnLabel));
     } catch (RuntimeException e) {
       throw new SQLException("Column not found: " + columnLabel);
     }
@@ -537,12 +772,14 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public Reader getCharacterStream(int columnIndex) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getCharacterStream is not supported");
+    String value = getString(columnIndex);
+    return value == null ? null : new StringReader(value);
   }
 
   @Override
   public Reader getCharacterStream(String columnLabel) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getCharacterStream is not supported");
+    checkClosed();
+    return getCharacterStream(toJDBCResultSetIndex(columnIndex(columnLabel)));
   }
 
   @Override
@@ -558,63 +795,91 @@ public class BigtableResultSet implements java.sql.ResultSet {
   @Override
   public boolean isBeforeFirst() throws SQLException {
     checkClosed();
+    if (scrollRows != null) {
+      return moveInStream(() -> scrollRows.isBeforeFirst());
+    }
     return !hasMoved;
   }
 
   @Override
   public boolean isAfterLast() throws SQLException {
     checkClosed();
+    if (scrollRows != null) {
+      return moveInStream(() -> scrollRows.isAfterLast());
+    }
     return isAfterLast;
   }
 
   @Override
   public boolean isFirst() throws SQLException {
-    throw new SQLFeatureNotSupportedException("isFirst is not supported");
+    return scroll("isFirst", ScrollableRows::isFirst);
   }
 
   @Override
   public boolean isLast() throws SQLException {
-    throw new SQLFeatureNotSupportedException("isLast is not supported");
+    return scroll("isLast", ScrollableRows::isLast);
   }
 
   @Override
   public void beforeFirst() throws SQLException {
-    throw new SQLFeatureNotSupportedException("beforeFirst is not supported");
+    scroll("beforeFirst", rows -> rows.moveTo(0));
   }
 
   @Override
   public void afterLast() throws SQLException {
-    throw new SQLFeatureNotSupportedException("afterLast is not supported");
+    scroll(
+        "afterLast",
+        rows -> {
+          rows.afterLast();
+          return false;
+        });
   }
 
   @Override
   public boolean first() throws SQLException {
-    throw new SQLFeatureNotSupportedException("first is not supported");
+    return scroll("first", rows -> rows.moveTo(1));
   }
 
   @Override
   public boolean last() throws SQLException {
-    throw new SQLFeatureNotSupportedException("last is not supported");
+    return scroll("last", ScrollableRows::last);
   }
 
   @Override
   public int getRow() throws SQLException {
-    return 0;
+    checkClosed();
+    return scrollRows == null ? 0 : scrollRows.getRow();
   }
 
   @Override
   public boolean absolute(int row) throws SQLException {
-    throw new SQLFeatureNotSupportedException("absolute is not supported");
+    return scroll("absolute", rows -> rows.absolute(row));
   }
 
   @Override
   public boolean relative(int rows) throws SQLException {
-    throw new SQLFeatureNotSupportedException("relative is not supported");
+    return scroll("relative", scrollable -> scrollable.relative(rows));
   }
 
   @Override
   public boolean previous() throws SQLException {
-    throw new SQLFeatureNotSupportedException("previous is not supported");
+    return scroll("previous", rows -> rows.relative(-1));
+  }
+
+  // Runs an operation that is only supported by scrollable result sets.
+  private boolean scroll(String operation, Predicate<ScrollableRows> move) throws SQLException {
+    checkClosed();
+    if (scrollRows == null) {
+      throw new SQLFeatureNotSupportedException(
+          operation + " is not supported by TYPE_FORWARD_ONLY result sets");
+    }
+    hasMoved = true;
+    boolean moved = moveInStream(() -> move.test(scrollRows));
+    if (firstResponseListener != null) {
+      firstResponseListener.run();
+      firstResponseListener = null;
+    }
+    return moved;
   }
 
   @Override
@@ -627,19 +892,35 @@ public class BigtableResultSet implements java.sql.ResultSet {
     throw new SQLFeatureNotSupportedException("getFetchDirection is not supported");
   }
 
+  /**
+   * Sets how many rows are read ahead of the application, on a background thread. With 0 or 1,
+   * rows are read from the stream as {@link #next()} is called. Read-ahead starts only if it is
+   * enabled before the first call to {@code next()}; afterwards, the size of the buffer changes.
+   */
   @Override
   public void setFetchSize(int rows) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setFetchSize is not supported");
+    checkClosed();
+    if (rows < 0) {
+      throw new SQLException("Invalid fetch size: " + rows);
+    }
+    fetchSize = rows;
+    if (readAhead != null) {
+      readAhead.setCapacity(rows);
+    } else if (rows > 1 && !hasMoved && (scrollRows == null || !scrollRows.servesCopies())) {
+      wrapStream();
+    }
   }
 
   @Override
   public int getFetchSize() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getFetchSize is not supported");
+    checkClosed();
+    return fetchSize;
   }
 
   @Override
   public int getType() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getType is not supported");
+    checkClosed();
+    return scrollRows == null ? TYPE_FORWARD_ONLY : TYPE_SCROLL_INSENSITIVE;
   }
 
   @Override
@@ -906,7 +1187,8 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public Blob getBlob(int columnIndex) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getBlob is not supported");
+    ByteString bytes = getByteString(columnIndex);
+    return bytes == null ? null : new BigtableBlob(bytes);
   }
 
   @Override
@@ -916,7 +1198,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public Array getArray(int columnIndex) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getArray is not supported");
+    return getObject(columnIndex, Array.class);
   }
 
   @Override
@@ -931,7 +1213,8 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public Blob getBlob(String columnLabel) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getBlob is not supported");
+    checkClosed();
+    return getBlob(toJDBCResultSetIndex(columnIndex(columnLabel)));
   }
 
   @Override
@@ -941,7 +1224,7 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public Array getArray(String columnLabel) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getArray is not supported");
+    return getObject(columnLabel, Array.class);
   }
 
   @Override
@@ -1272,21 +1555,114 @@ public class BigtableResultSet implements java.sql.ResultSet {
 
   @Override
   public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
-    throw new SQLFeatureNotSupportedException("getObject is not supported");
+    checkClosed();
+    if (type == null) {
+      throw new SQLException("type must not be null");
+    }
+    int zeroBasedIndex = toBigtableDataResultSetIndex(columnIndex);
+    ValueConverters.Converter converter = converter(zeroBasedIndex, type);
+    if (converter == null) {
+      // Other classes are served if the value of getObject is one of them.
+      Object value = getObject(columnIndex);
+      if (value == null || type.isInstance(value)) {
+        return type.cast(value);
+      }
+      SqlType<?> columnType = columns().get(zeroBasedIndex).type();
+      throw new SQLException(
+          "Cannot convert column " + columnIndex + " of type " + columnType + " to " + type);
+    }
+    if (btDataResultSet.isNull(zeroBasedIndex)) {
+      lastValueWasNull = true;
+      return null;
+    }
+    lastValueWasNull = false;
+    try {
+      return type.cast(converter.convert(btDataResultSet, zeroBasedIndex));
+    } catch (ArithmeticException | IllegalArgumentException e) {
+      throw new SQLException(
+          "Cannot read column " + columnIndex + " as " + type.getName() + ": " + e.getMessage(),
+          e);
+    }
+  }
+
+  // Returns the converter of the column at zeroBasedIndex to type, looking it up once per class.
+  private ValueConverters.Converter converter(int zeroBasedIndex, Class<?> type)
+      throws SQLException {
+    List<ColumnMetadata> columns = columns();
+    if (zeroBasedIndex < 0 || zeroBasedIndex >= columns.size()) {
+      throw new SQLException("Invalid column index: " + toJDBCResultSetIndex(zeroBasedIndex));
+    }
+    if (converters == null) {
+      converters = new ValueConverters.Converter[columns.size()];
+      converterTargets = new Class<?>[columns.size()];
+    }
+    if (converterTargets[zeroBasedIndex] != type) {
+      converters[zeroBasedIndex] = ValueConverters.of(columns.get(zeroBasedIndex).type(), type);
+      converterTargets[zeroBasedIndex] = type;
+    }
+    return converters[zeroBasedIndex];
   }
 
   @Override
   public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-    throw new SQLFeatureNotSupportedException(" is not supported");
+    checkClosed();
+    return getObject(toJDBCResultSetIndex(columnIndex(columnLabel)), type);
+  }
+
+  /**
+   * Reads up to {@code maxRows} rows into a batch stored by column, for consumers that process
+   * many rows at a time. The result set is positioned on the last row read.
+   *
+   * <p>The returned batch is reused by the next call, which overwrites its contents.
+   *
+   * @return the rows read; a batch with no rows once the result set is exhausted.
+   */
+  public RowBatch nextBatch(int maxRows) throws SQLException {
+    checkClosed();
+    if (maxRows < 1) {
+      throw new SQLException("Invalid batch size: " + maxRows);
+    }
+    if (rowBatch != null) {
+      rowBatch.reset(maxRows);
+    }
+    int rows = 0;
+    while (rows < maxRows && next()) {
+      if (rowBatch == null || (rows == 0 && !rowBatch.hasColumns(columns()))) {
+        // The first batch, or the result set moved to another stream since the last one.
+        rowBatch = new RowBatch(columns());
+        rowBatch.reset(maxRows);
+      }
+      rowBatch.readRow(btDataResultSet);
+      rows++;
+    }
+    if (rowBatch == null) {
+      rowBatch = new RowBatch(columns());
+    }
+    return rowBatch;
+  }
+
+  /** Returns the stream, positioned on the current row, for readers of whole rows. */
+  ResultSet currentStream() throws SQLException {
+    checkClosed();
+    return btDataResultSet;
   }
 
   @Override
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    throw new SQLFeatureNotSupportedException("unwrap is not supported");
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    throw new SQLException("Cannot unwrap to " + iface.getName());
   }
 
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException {
-    throw new SQLFeatureNotSupportedException("isWrapperFor is not supported");
+    return iface.isInstance(this);
+  }
+
+  /** Supplies the streams that continue a result set. */
+  interface StreamContinuation {
+    /** Returns the next stream, or null if there are no more. */
+    ResultSet next() throws SQLException;
   }
 }
@@ -27,10 +27,24 @@ import java.util.List;
 
 public class BigtableResultSetMetaData implements ResultSetMetaData {
   private final List<ColumnMetadata> columns;
+  // The types of the columns, resolved once. A null SqlTypeEnum marks a type it does not cover.
+  private final BigtableColumnType[] columnTypes;
+  private final SqlTypeEnum[] typeEnums;
   private static final int DEFAULT_COL_DISPLAY_SIZE_FOR_VARIABLE_LENGTH_COLS = 50;
 
   public BigtableResultSetMetaData(List<ColumnMetadata> columns) {
     this.columns = columns;
+    this.columnTypes = new BigtableColumnType[columns.size()];
+    this.typeEnums = new SqlTypeEnum[columns.size()];
+    for (int i = 0; i < columnTypes.length; i++) {
+      SqlType<?> type = columns.get(i).type();
+      columnTypes[i] = BigtableColumnType.fromSqlType(type);
+      try {
+        typeEnums[i] = SqlTypeEnum.fromSqlType(type);
+      } catch (IllegalArgumentException e) {
+        typeEnums[i] = null;
+      }
+    }
   }
 
   @Override
@@ -48,8 +62,7 @@ public class BigtableResultSetMetaData implements ResultSetMetaData {
     if (column < 1 || column > columns.size()) {
       throw new SQLException("Invalid column index: " + column);
     }
-    SqlType<?> type = columns.get(column - 1).type();
-    return SqlType.string().equals(type);
+    return columnTypes[column - 1] == BigtableColumnType.STRING;
   }
 
   @Override
@@ -73,10 +86,8 @@ public class BigtableResultSetMetaData implements ResultSetMetaData {
       throw new SQLException("Invalid column index: " + column);
     }
 
-    SqlTypeEnum typeEnum;
-    try {
-      typeEnum = SqlTypeEnum.fromSqlType(columns.get(column - 1).type());
-    } catch (IllegalArgumentException e) {
+    SqlTypeEnum typeEnum = typeEnums[column - 1];
+    if (typeEnum == null) {
       return false;
     }
 
@@ -187,8 +198,7 @@ public class BigtableResultSetMetaData implements ResultSetMetaData {
 
   @Override
   public int getColumnType(int column) throws SQLException {
-    BigtableColumnType type = BigtableColumnType.fromSqlType(columns.get(column - 1).type());
-    return type.getSqlTypeCode();
+    return columnTypes[column - 1].getSqlTypeCode();
   }
 
   @Override
@@ -213,8 +223,7 @@ public class BigtableResultSetMetaData implements ResultSetMetaData {
 
   @Override
   public String getColumnClassName(int column) throws SQLException {
-    BigtableColumnType type = BigtableColumnType.fromSqlType(columns.get(column - 1).type());
-    return type.getJavaClassName();
+    return columnTypes[column - 1].getJavaClassName();
   }
 
   @Override
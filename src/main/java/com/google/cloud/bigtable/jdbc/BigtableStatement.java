@@ -16,8 +16,14 @@
 
 package com.google.cloud.bigtable.jdbc;
 
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
 import com.google.cloud.bigtable.data.v2.models.sql.BoundStatement;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.jdbc.util.Parameter;
+import com.google.cloud.bigtable.jdbc.util.SqlParser;
+import com.google.cloud.bigtable.jdbc.util.SqlTypeEnum;
 import com.google.common.collect.ImmutableMap;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -26,7 +32,11 @@ import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class BigtableStatement implements Statement {
   protected final BigtableConnection connection;
@@ -34,27 +44,211 @@ public class BigtableStatement implements Statement {
   protected boolean isClosed = false;
   protected int currentResultIndex = -1;
   protected final List<ResultSet> resultSets = new ArrayList<>();
+  protected int queryTimeoutSeconds;
+  protected int fetchSize = 0;
+  // The maximum number of rows of a result set, 0 for no limit.
+  protected long maxRows = 0;
+  protected int resultSetType = java.sql.ResultSet.TYPE_FORWARD_ONLY;
+  // The latest execution, cancelled by cancel() from any thread.
+  private volatile QueryExecution activeExecution;
+  // Notified once when this statement is closed, for example by a pooled logical connection.
+  private volatile Consumer<BigtableStatement> closeListener;
+  // The connection handed out to the application, if it is not the physical connection.
+  private volatile Connection owner;
 
   public BigtableStatement(BigtableConnection connection, BigtableDataClient client) {
     this.connection = connection;
     this.client = client;
+    this.queryTimeoutSeconds = connection == null ? 0 : connection.getDefaultQueryTimeout();
   }
 
   @Override
   public ResultSet executeQuery(String sql) throws SQLException {
     checkClosed();
-    com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement preparedStatement =
-        client.prepareStatement(sql, ImmutableMap.of());
-    BoundStatement boundStatement = preparedStatement.bind().build();
-
+    closeResultSets();
+    QueryExecution execution = startExecution();
+    BoundQuery query = execution.call(() -> bind(limitRows(sql)));
     com.google.cloud.bigtable.data.v2.models.sql.ResultSet resultSet =
-        client.executeQuery(boundStatement);
-    this.resultSets.clear();
-    this.resultSets.add(new BigtableResultSet(resultSet));
+        execution.call(() -> execute(query));
+    this.resultSets.add(createResultSet(resultSet, execution, query));
     this.currentResultIndex = 0;
     return this.resultSets.get(0);
   }
 
+  /**
+   * Prepares and binds {@code sql}. With {@code auto_parameterize}, its literals are bound as
+   * parameters of the normalized query instead, unless Bigtable refuses to prepare that query, for
+   * example because a string literal is compared to a BYTES column.
+   */
+  private BoundQuery bind(String sql) {
+    PreparedQueryCache cache = connection == null ? null : connection.getPreparedQueryCache();
+    if (cache != null && connection.isAutoParameterize()) {
+      SqlParser.ParameterizedSql parameterized = SqlParser.parameterizeLiterals(sql);
+      Map<String, Parameter> parameters = parameterized.getParameters();
+      if (!parameters.isEmpty() && !cache.isRejected(parameterized.getSql())) {
+        Map<String, SqlType<?>> parameterTypes = new LinkedHashMap<>();
+        for (Map.Entry<String, Parameter> entry : parameters.entrySet()) {
+          parameterTypes.put(
+              entry.getKey(), SqlTypeEnum.fromLabel(entry.getValue().getTypeLabel()).getSqlType());
+        }
+        try {
+          return new BoundQuery(
+              parameterized.getSql(),
+              parameterTypes,
+              prepare(parameterized.getSql(), parameterTypes),
+              bound -> {
+                for (Map.Entry<String, Parameter> entry : parameters.entrySet()) {
+                  Parameter parameter = entry.getValue();
+                  SqlTypeEnum.fromLabel(parameter.getTypeLabel())
+                      .bind(bound, entry.getKey(), parameter.getValue());
+                }
+              });
+        } catch (ApiException e) {
+          if (e.getStatusCode().getCode() != StatusCode.Code.INVALID_ARGUMENT) {
+            throw e;
+          }
+          cache.markRejected(parameterized.getSql());
+        }
+      }
+    }
+    return new BoundQuery(sql, ImmutableMap.of(), prepare(sql, ImmutableMap.of()), bound -> {});
+  }
+
+  /**
+   * Executes {@code query}. If Bigtable reports that its prepared query is stale, because it
+   * expired or the schema changed, the query is prepared again and retried once.
+   */
+  protected com.google.cloud.bigtable.data.v2.models.sql.ResultSet execute(BoundQuery query) {
+    try {
+      return client.executeQuery(query.bind());
+    } catch (ApiException e) {
+      if (!PreparedQueryCache.isStalePlanError(e)) {
+        throw e;
+      }
+      return executeReprepared(query);
+    }
+  }
+
+  /** Replaces the stale prepared query of {@code query} by a new one and executes it. */
+  protected com.google.cloud.bigtable.data.v2.models.sql.ResultSet executeReprepared(
+      BoundQuery query) {
+    PreparedQueryCache cache = connection == null ? null : connection.getPreparedQueryCache();
+    if (cache != null) {
+      cache.invalidate(query.sql, query.parameterTypes, query.preparedStatement);
+    }
+    query.preparedStatement = prepare(query.sql, query.parameterTypes);
+    return client.executeQuery(query.bind());
+  }
+
+  /**
+   * Returns the prepared query the connection's cache currently holds for {@code sql}, which may
+   * have been refreshed since {@code current} was prepared, or {@code current} if it has none.
+   */
+  protected com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement latestPrepared(
+      String sql,
+      Map<String, SqlType<?>> parameterTypes,
+      com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement current) {
+    PreparedQueryCache cache = connection == null ? null : connection.getPreparedQueryCache();
+    com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement latest =
+        cache == null ? null : cache.peek(sql, parameterTypes);
+    return latest == null ? current : latest;
+  }
+
+  /**
+   * Starts a query execution bounded by the query timeout of this statement and the network
+   * timeout of the connection, whichever is shorter.
+   */
+  protected QueryExecution startExecution() {
+    long timeoutMillis = TimeUnit.SECONDS.toMillis(queryTimeoutSeconds);
+    int networkTimeoutMillis = connection == null ? 0 : connection.getNetworkTimeoutMillis();
+    if (networkTimeoutMillis > 0 && (timeoutMillis == 0 || networkTimeoutMillis < timeoutMillis)) {
+      timeoutMillis = networkTimeoutMillis;
+    }
+    QueryExecution execution = QueryExecution.start(timeoutMillis);
+    activeExecution = execution;
+    return execution;
+  }
+
+  /**
+   * Returns the prepared query for {@code sql}, taking it from the connection's prepared-query
+   * cache when it is there and adding it to the cache otherwise.
+   */
+  protected com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement prepare(
+      String sql, Map<String, SqlType<?>> parameterTypes) {
+    PreparedQueryCache cache = connection == null ? null : connection.getPreparedQueryCache();
+    if (cache != null) {
+      com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement cached =
+          cache.get(sql, parameterTypes);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement prepared =
+        client.prepareStatement(sql, parameterTypes);
+    if (cache != null && prepared != null) {
+      cache.put(sql, parameterTypes, prepared);
+    }
+    return prepared;
+  }
+
+  /**
+   * Wraps a Bigtable result set, reporting its first response to the connection as liveness and
+   * cancelling its stream with {@code execution}. If the stream fails with a stale prepared query
+   * before its first row, {@code query} is prepared again and re-executed once.
+   */
+  protected BigtableResultSet createResultSet(
+      com.google.cloud.bigtable.data.v2.models.sql.ResultSet resultSet,
+      QueryExecution execution,
+      BoundQuery query) {
+    BigtableResultSet bigtableResultSet = new BigtableResultSet(resultSet);
+    bigtableResultSet.setQueryExecution(execution);
+    bigtableResultSet.setStalePlanRetry(() -> executeReprepared(query));
+    applyResultSetType(bigtableResultSet);
+    applyFetchSize(bigtableResultSet);
+    bigtableResultSet.setMaxRows(maxRows);
+    if (connection != null) {
+      bigtableResultSet.setFirstResponseListener(connection::recordSuccessfulRpc);
+    }
+    return bigtableResultSet;
+  }
+
+  /**
+   * Returns {@code sql} limited to the max rows of this statement by a LIMIT clause, if it has a
+   * limit and one can be added safely. The limit is enforced by the result set either way.
+   */
+  protected String limitRows(String sql) {
+    if (maxRows <= 0) {
+      return sql;
+    }
+    String limited = SqlParser.withLimit(sql, maxRows);
+    return limited == null ? sql : limited;
+  }
+
+  /** Sets the type of the result sets of this statement, as passed to the connection. */
+  void setResultSetType(int resultSetType) {
+    this.resultSetType = resultSetType;
+  }
+
+  /** Makes {@code resultSet} scrollable if this statement creates scrollable result sets. */
+  protected void applyResultSetType(BigtableResultSet resultSet) {
+    if (resultSetType == java.sql.ResultSet.TYPE_SCROLL_INSENSITIVE) {
+      long memoryLimitBytes = connection == null ? 0 : connection.getScrollMemoryLimitBytes();
+      resultSet.setScrollable(
+          memoryLimitBytes > 0 ? memoryLimitBytes : RowStore.DEFAULT_MEMORY_LIMIT_BYTES);
+    }
+  }
+
+  /** Gives {@code resultSet} the fetch size of this statement, which enables read-ahead. */
+  protected void applyFetchSize(BigtableResultSet resultSet) {
+    if (fetchSize > 1) {
+      try {
+        resultSet.setFetchSize(fetchSize);
+      } catch (SQLException e) {
+        // Only thrown by a closed result set.
+      }
+    }
+  }
+
   protected void checkClosed() throws SQLException {
     if (isClosed) {
       throw new SQLException("This Statement is already closed.");
@@ -69,14 +263,44 @@ public class BigtableStatement implements Statement {
   @Override
   public void close() throws SQLException {
     if (!isClosed) {
-      for (ResultSet rs : this.resultSets) {
-        rs.close();
+      abortExecution();
+      if (connection != null) {
+        connection.statementClosed(this);
       }
-      this.resultSets.clear();
+      closeResultSets();
       isClosed = true;
+      Consumer<BigtableStatement> listener = closeListener;
+      if (listener != null) {
+        listener.accept(this);
+      }
     }
   }
 
+  /**
+   * Closes the result sets of the previous execution, which releases their streams, read-ahead
+   * threads and spill files, before they are replaced.
+   */
+  protected void closeResultSets() throws SQLException {
+    for (ResultSet rs : this.resultSets) {
+      rs.close();
+    }
+    this.resultSets.clear();
+    this.currentResultIndex = -1;
+  }
+
+  /** Sets the listener notified when this statement is closed. */
+  void setCloseListener(Consumer<BigtableStatement> listener) {
+    this.closeListener = listener;
+  }
+
+  /**
+   * Sets the connection returned by {@link #getConnection()}, for statements created through a
+   * logical connection that wraps {@link #connection}.
+   */
+  void setOwner(Connection owner) {
+    this.owner = owner;
+  }
+
   @Override
   public int getMaxFieldSize() throws SQLException {
     throw new SQLFeatureNotSupportedException("getMaxFieldSize is not supported");
@@ -89,12 +313,18 @@ public class BigtableStatement implements Statement {
 
   @Override
   public int getMaxRows() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getMaxRows is not supported");
+    checkClosed();
+    return (int) Math.min(maxRows, Integer.MAX_VALUE);
   }
 
+  /**
+   * Limits the result sets of this statement to {@code max} rows, 0 for no limit. Where it is
+   * safe, the limit is added to the query as a LIMIT clause; otherwise the stream is cancelled
+   * once the limit is reached.
+   */
   @Override
   public void setMaxRows(int max) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setMaxRows is not supported");
+    setLargeMaxRows(max);
   }
 
   @Override
@@ -104,17 +334,41 @@ public class BigtableStatement implements Statement {
 
   @Override
   public int getQueryTimeout() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getQueryTimeout is not supported");
+    checkClosed();
+    return queryTimeoutSeconds;
   }
 
+  /**
+   * Sets the deadline of the queries executed by this statement, covering both preparing the query
+   * and reading its results. When it expires the query stream is cancelled and the call waiting on
+   * it throws {@link java.sql.SQLTimeoutException}. Zero means no limit.
+   */
   @Override
   public void setQueryTimeout(int seconds) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setQueryTimeout is not supported");
+    checkClosed();
+    if (seconds < 0) {
+      throw new SQLException("Query timeout must be >= 0, got: " + seconds);
+    }
+    this.queryTimeoutSeconds = seconds;
   }
 
+  /**
+   * Cancels the query currently executed by this statement, including its server stream. The
+   * thread waiting on the query gets an {@link SQLException} with SQLState {@value
+   * QueryExecution#CANCELLED_SQL_STATE}. This method may be called from any thread.
+   */
   @Override
   public void cancel() throws SQLException {
-    throw new SQLFeatureNotSupportedException("cancel is not supported");
+    checkClosed();
+    abortExecution();
+  }
+
+  /** Cancels the current query, if any. */
+  void abortExecution() {
+    QueryExecution execution = activeExecution;
+    if (execution != null) {
+      execution.cancel();
+    }
   }
 
   @Override
@@ -171,14 +425,23 @@ public class BigtableStatement implements Statement {
     throw new SQLFeatureNotSupportedException("getFetchDirection is not supported");
   }
 
+  /**
+   * Sets how many rows the result sets of this statement read ahead of the application, on a
+   * background thread. 0, the default, reads rows from the stream as they are requested.
+   */
   @Override
   public void setFetchSize(int rows) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setFetchSize is not supported");
+    checkClosed();
+    if (rows < 0) {
+      throw new SQLException("Invalid fetch size: " + rows);
+    }
+    fetchSize = rows;
   }
 
   @Override
   public int getFetchSize() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getFetchSize is not supported");
+    checkClosed();
+    return fetchSize;
   }
 
   @Override
@@ -188,7 +451,8 @@ public class BigtableStatement implements Statement {
 
   @Override
   public int getResultSetType() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getResultSetType is not supported");
+    checkClosed();
+    return resultSetType;
   }
 
   @Override
@@ -209,7 +473,8 @@ public class BigtableStatement implements Statement {
   @Override
   public Connection getConnection() throws SQLException {
     checkClosed();
-    return this.connection;
+    Connection owner = this.owner;
+    return owner != null ? owner : this.connection;
   }
 
   @Override
@@ -289,16 +554,50 @@ public class BigtableStatement implements Statement {
 
   @Override
   public long getLargeMaxRows() throws SQLException {
-    throw new SQLFeatureNotSupportedException("getLargeMaxRows is not supported");
+    checkClosed();
+    return maxRows;
   }
 
   @Override
   public void setLargeMaxRows(long max) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setLargeMaxRows is not supported");
+    checkClosed();
+    if (max < 0) {
+      throw new SQLException("Invalid max rows: " + max);
+    }
+    maxRows = max;
   }
 
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException {
     throw new SQLFeatureNotSupportedException("isWrapperFor is not supported");
   }
+
+  /** A prepared query and the parameter values bound to it on each execution. */
+  protected static final class BoundQuery {
+    private final String sql;
+    private final Map<String, SqlType<?>> parameterTypes;
+    private final Consumer<BoundStatement.Builder> binder;
+    private com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement preparedStatement;
+
+    BoundQuery(
+        String sql,
+        Map<String, SqlType<?>> parameterTypes,
+        com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement preparedStatement,
+        Consumer<BoundStatement.Builder> binder) {
+      this.sql = sql;
+      this.parameterTypes = parameterTypes;
+      this.preparedStatement = preparedStatement;
+      this.binder = binder;
+    }
+
+    com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement getPreparedStatement() {
+      return preparedStatement;
+    }
+
+    private BoundStatement bind() {
+      BoundStatement.Builder bound = preparedStatement.bind();
+      binder.accept(bound);
+      return bound.build();
+    }
+  }
 }
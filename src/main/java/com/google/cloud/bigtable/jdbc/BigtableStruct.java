@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link java.sql.Struct} over a STRUCT value of the client, whose fields are only read when
+ * {@link #getAttributes()} is called. Attributes have the classes returned by {@code getObject},
+ * except for nested STRUCT values, which are wrapped too.
+ */
+final class BigtableStruct implements java.sql.Struct {
+  private final Struct struct;
+  private final SqlType.Struct type;
+
+  BigtableStruct(Struct struct, SqlType.Struct type) {
+    this.struct = struct;
+    this.type = type;
+  }
+
+  @Override
+  public String getSQLTypeName() {
+    return BigtableColumnType.STRUCT.name();
+  }
+
+  @Override
+  public Object[] getAttributes() {
+    List<? extends SqlType.Struct.Field> fields = type.getFields();
+    Object[] attributes = new Object[fields.size()];
+    for (int i = 0; i < attributes.length; i++) {
+      attributes[i] = getAttribute(i);
+    }
+    return attributes;
+  }
+
+  /** Reads the field at {@code index}, from 0, without reading the other fields. */
+  Object getAttribute(int index) {
+    SqlType<?> fieldType = type.getType(index);
+    Object value = BufferedResultSet.readValue(struct, index, fieldType);
+    if (value instanceof Struct) {
+      return new BigtableStruct((Struct) value, (SqlType.Struct) fieldType);
+    }
+    return value;
+  }
+
+  @Override
+  public Object[] getAttributes(Map<String, Class<?>> map) throws SQLException {
+    if (map != null && !map.isEmpty()) {
+      throw new SQLFeatureNotSupportedException("Type maps are not supported");
+    }
+    return getAttributes();
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.Date;
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSetMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.protobuf.AbstractMessage;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.ProtocolMessageEnum;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A stream whose rows are copied out of it before they are read.
+ *
+ * <p>The index and name based getters are served from the current copied row, so callers read the
+ * same way whether rows are copied or not. Other calls, and getters called before rows are copied,
+ * go to the stream.
+ */
+abstract class BufferedResultSet implements ResultSet {
+  private static final Set<SqlType.Code> COPYABLE_TYPES =
+      EnumSet.of(
+          SqlType.Code.STRING,
+          SqlType.Code.BYTES,
+          SqlType.Code.INT64,
+          SqlType.Code.FLOAT32,
+          SqlType.Code.FLOAT64,
+          SqlType.Code.BOOL,
+          SqlType.Code.TIMESTAMP,
+          SqlType.Code.DATE,
+          SqlType.Code.STRUCT,
+          SqlType.Code.ARRAY,
+          SqlType.Code.MAP);
+
+  protected final ResultSet stream;
+  // The values of the current row by column index, null if there is no current row.
+  protected Object[] currentRow;
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+  BufferedResultSet(ResultSet stream) {
+    this.stream = stream;
+  }
+
+  /** Returns the stream as read through the copied rows. */
+  ResultSet asResultSet() {
+    return this;
+  }
+
+  /** Returns true if getters read the copied rows, false if they still go to the stream. */
+  abstract boolean servesCopies();
+
+  /** Returns true if the values of all {@code columns} can be copied. */
+  static boolean isCopyable(List<ColumnMetadata> columns) {
+    for (ColumnMetadata column : columns) {
+      if (column.type() == null || !COPYABLE_TYPES.contains(column.type().getCode())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Reads the value of {@code column}, of {@code type}, from the current row of {@code reader}. */
+  @SuppressWarnings("unchecked")
+  static Object readValue(StructReader reader, int column, SqlType<?> type) {
+    if (reader.isNull(column) || type == null) {
+      return null;
+    }
+    switch (type.getCode()) {
+      case STRING:
+        return reader.getString(column);
+      case BYTES:
+        return reader.getBytes(column);
+      case INT64:
+        return reader.getLong(column);
+      case FLOAT32:
+        return reader.getFloat(column);
+      case FLOAT64:
+        return reader.getDouble(column);
+      case BOOL:
+        return reader.getBoolean(column);
+      case TIMESTAMP:
+        return reader.getTimestamp(column);
+      case DATE:
+        return reader.getDate(column);
+      case STRUCT:
+        return reader.getStruct(column);
+      case ARRAY:
+        return reader.getList(column, (SqlType.Array<Object>) type);
+      case MAP:
+        return reader.getMap(column, (SqlType.Map<Object, Object>) type);
+      default:
+        return null;
+    }
+  }
+
+  /** Copies the values of the current row of {@code reader}. */
+  static Object[] copyRow(StructReader reader, List<ColumnMetadata> columns) {
+    Object[] row = new Object[columns.size()];
+    for (int i = 0; i < row.length; i++) {
+      row[i] = readValue(reader, i, columns.get(i).type());
+    }
+    return row;
+  }
+
+  @Override
+  public ResultSetMetadata getMetadata() {
+    return stream.getMetadata();
+  }
+
+  @Override
+  public boolean isNull(int columnIndex) {
+    return servesCopies() ? value(columnIndex) == null : stream.isNull(columnIndex);
+  }
+
+  @Override
+  public boolean isNull(String columnName) {
+    return servesCopies() ? value(columnName) == null : stream.isNull(columnName);
+  }
+
+  @Override
+  public ByteString getBytes(int columnIndex) {
+    return servesCopies() ? (ByteString) value(columnIndex) : stream.getBytes(columnIndex);
+  }
+
+  @Override
+  public ByteString getBytes(String columnName) {
+    return servesCopies() ? (ByteString) value(columnName) : stream.getBytes(columnName);
+  }
+
+  @Override
+  public String getString(int columnIndex) {
+    return servesCopies() ? (String) value(columnIndex) : stream.getString(columnIndex);
+  }
+
+  @Override
+  public String getString(String columnName) {
+    return servesCopies() ? (String) value(columnName) : stream.getString(columnName);
+  }
+
+  @Override
+  public long getLong(int columnIndex) {
+    return servesCopies() ? (Long) value(columnIndex) : stream.getLong(columnIndex);
+  }
+
+  @Override
+  public long getLong(String columnName) {
+    return servesCopies() ? (Long) value(columnName) : stream.getLong(columnName);
+  }
+
+  @Override
+  public double getDouble(int columnIndex) {
+    return servesCopies() ? (Double) value(columnIndex) : stream.getDouble(columnIndex);
+  }
+
+  @Override
+  public double getDouble(String columnName) {
+    return servesCopies() ? (Double) value(columnName) : stream.getDouble(columnName);
+  }
+
+  @Override
+  public float getFloat(int columnIndex) {
+    return servesCopies() ? (Float) value(columnIndex) : stream.getFloat(columnIndex);
+  }
+
+  @Override
+  public float getFloat(String columnName) {
+    return servesCopies() ? (Float) value(columnName) : stream.getFloat(columnName);
+  }
+
+  @Override
+  public boolean getBoolean(int columnIndex) {
+    return servesCopies() ? (Boolean) value(columnIndex) : stream.getBoolean(columnIndex);
+  }
+
+  @Override
+  public boolean getBoolean(String columnName) {
+    return servesCopies() ? (Boolean) value(columnName) : stream.getBoolean(columnName);
+  }
+
+  @Override
+  public Instant getTimestamp(int columnIndex) {
+    return servesCopies() ? (Instant) value(columnIndex) : stream.getTimestamp(columnIndex);
+  }
+
+  @Override
+  public Instant getTimestamp(String columnName) {
+    return servesCopies() ? (Instant) value(columnName) : stream.getTimestamp(columnName);
+  }
+
+  @Override
+  public Date getDate(int columnIndex) {
+    return servesCopies() ? (Date) value(columnIndex) : stream.getDate(columnIndex);
+  }
+
+  @Override
+  public Date getDate(String columnName) {
+    return servesCopies() ? (Date) value(columnName) : stream.getDate(columnName);
+  }
+
+  @Override
+  public Struct getStruct(int columnIndex) {
+    return servesCopies() ? (Struct) value(columnIndex) : stream.getStruct(columnIndex);
+  }
+
+  @Override
+  public Struct getStruct(String columnName) {
+    return servesCopies() ? (Struct) value(columnName) : stream.getStruct(columnName);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ElemType> List<ElemType> getList(int columnIndex, SqlType.Array<ElemType> arrayType) {
+    return servesCopies()
+        ? (List<ElemType>) value(columnIndex)
+        : stream.getList(columnIndex, arrayType);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ElemType> List<ElemType> getList(String columnName, SqlType.Array<ElemType> arrayType) {
+    return servesCopies()
+        ? (List<ElemType>) value(columnName)
+        : stream.getList(columnName, arrayType);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> Map<K, V> getMap(int columnIndex, SqlType.Map<K, V> mapType) {
+    return servesCopies() ? (Map<K, V>) value(columnIndex) : stream.getMap(columnIndex, mapType);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> Map<K, V> getMap(String columnName, SqlType.Map<K, V> mapType) {
+    return servesCopies() ? (Map<K, V>) value(columnName) : stream.getMap(columnName, mapType);
+  }
+
+  // Copied rows have no proto columns, so proto values are only read from the stream.
+
+  @Override
+  public <MsgType extends AbstractMessage> MsgType getProtoMessage(
+      int columnIndex, MsgType message) {
+    checkNotCopied();
+    return stream.getProtoMessage(columnIndex, message);
+  }
+
+  @Override
+  public <MsgType extends AbstractMessage> MsgType getProtoMessage(
+      String columnName, MsgType message) {
+    checkNotCopied();
+    return stream.getProtoMessage(columnName, message);
+  }
+
+  @Override
+  public <EnumType extends ProtocolMessageEnum> EnumType getProtoEnum(
+      int columnIndex, Function<Integer, EnumType> forNumber) {
+    checkNotCopied();
+    return stream.getProtoEnum(columnIndex, forNumber);
+  }
+
+  @Override
+  public <EnumType extends ProtocolMessageEnum> EnumType getProtoEnum(
+      String columnName, Function<Integer, EnumType> forNumber) {
+    checkNotCopied();
+    return stream.getProtoEnum(columnName, forNumber);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "(" + stream + ")";
+  }
+
+  private void checkNotCopied() {
+    if (servesCopies()) {
+      throw new IllegalStateException("Copied rows have no proto columns.");
+    }
+  }
+
+  private Object value(int column) {
+    if (currentRow == null) {
+      throw new IllegalStateException("No current row.");
+    }
+    return currentRow[column];
+  }
+
+  private Object value(String label) {
+    Integer index = columnIndexes.get(label);
+    if (index == null) {
+      index = stream.getMetadata().getColumnIndex(label);
+      columnIndexes.put(label, index);
+    }
+    return value(index);
+  }
+}
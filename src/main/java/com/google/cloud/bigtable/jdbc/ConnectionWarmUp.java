@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.jdbc.client.IBigtableClientFactory;
+import com.google.cloud.bigtable.jdbc.util.ConnectionProperty;
+import com.google.cloud.bigtable.jdbc.util.SqlTemplate;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Warms up a new connection: fetches the auth token and prepares a configured list of queries
+ * concurrently into the connection's {@link PreparedQueryCache}, so that the first real queries do
+ * not pay for them. The client primes its channel pool when it is created.
+ */
+final class ConnectionWarmUp {
+  private static final int MAX_CONCURRENT_PREPARES = 8;
+  private static final Map<String, SqlType<?>> NO_PARAMETERS = ImmutableMap.of();
+
+  private ConnectionWarmUp() {}
+
+  /** Returns true if warm-up is enabled in {@code properties}. */
+  static boolean isEnabled(Properties properties) throws SQLException {
+    String value = ConnectionProperty.WARMUP.get(properties);
+    if (value.equalsIgnoreCase("true")) {
+      return true;
+    }
+    if (value.equalsIgnoreCase("false")) {
+      return false;
+    }
+    throw new SQLException("Invalid value for warmup: " + value);
+  }
+
+  /**
+   * Returns the queries listed in the {@code warmup_queries} property and the {@code
+   * warmup_queries_resource} classpath resource or file.
+   */
+  static List<String> loadQueries(Properties properties) throws SQLException {
+    List<String> queries = new ArrayList<>();
+    String inline = ConnectionProperty.WARMUP_QUERIES.get(properties);
+    if (inline != null) {
+      queries.addAll(splitQueries(inline));
+    }
+    String resource = ConnectionProperty.WARMUP_QUERIES_RESOURCE.get(properties);
+    if (resource != null) {
+      queries.addAll(splitQueries(readResource(resource)));
+    }
+    return queries;
+  }
+
+  /**
+   * Splits {@code text} into statements separated by semicolons outside of quotes and comments.
+   * Comments before and after a statement are dropped, and so are statements with nothing else.
+   */
+  static List<String> splitQueries(String text) {
+    SqlTemplate template = SqlTemplate.of(text);
+    List<SqlTemplate.Span> spans = template.getSpans();
+    List<String> queries = new ArrayList<>();
+    int spanIndex = 0;
+    int start = 0;
+    List<Integer> ends = new ArrayList<>(template.getSeparatorOffsets());
+    ends.add(text.length());
+    for (int end : ends) {
+      // Skips the whitespace and the comments before the statement.
+      while (true) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+          start++;
+        }
+        while (spanIndex < spans.size() && spans.get(spanIndex).getEnd() <= start) {
+          spanIndex++;
+        }
+        if (spanIndex < spans.size()
+            && spans.get(spanIndex).getStart() == start
+            && spans.get(spanIndex).getType() == SqlTemplate.Span.Type.COMMENT) {
+          start = spans.get(spanIndex).getEnd();
+        } else {
+          break;
+        }
+      }
+      // Skips the whitespace and the comments after it.
+      int queryEnd = end;
+      int lastSpan = spanIndex;
+      while (lastSpan < spans.size() && spans.get(lastSpan).getEnd() <= end) {
+        lastSpan++;
+      }
+      while (true) {
+        while (queryEnd > start && Character.isWhitespace(text.charAt(queryEnd - 1))) {
+          queryEnd--;
+        }
+        if (lastSpan > spanIndex
+            && spans.get(lastSpan - 1).getEnd() >= queryEnd
+            && spans.get(lastSpan - 1).getType() == SqlTemplate.Span.Type.COMMENT) {
+          queryEnd = spans.get(--lastSpan).getStart();
+        } else {
+          break;
+        }
+      }
+      if (queryEnd > start) {
+        queries.add(text.substring(start, queryEnd));
+      }
+      start = end + 1;
+    }
+    return queries;
+  }
+
+  private static String readResource(String resource) throws SQLException {
+    try {
+      ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+      if (classLoader == null) {
+        classLoader = ConnectionWarmUp.class.getClassLoader();
+      }
+      try (InputStream in = classLoader.getResourceAsStream(resource)) {
+        if (in != null) {
+          return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+        }
+      }
+      Path path = Paths.get(resource);
+      if (Files.isRegularFile(path)) {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+      }
+    } catch (IOException | RuntimeException e) {
+      throw new SQLException("Failed to read warm-up queries from " + resource, e);
+    }
+    throw new SQLException("Warm-up queries resource not found: " + resource);
+  }
+
+  /**
+   * Runs the warm-up and blocks until it completes. Failures do not fail the connection, they are
+   * returned as warnings.
+   */
+  static List<SQLWarning> run(
+      BigtableDataClient client,
+      IBigtableClientFactory clientFactory,
+      List<String> queries,
+      PreparedQueryCache cache,
+      ExecutorService executor) {
+    List<SQLWarning> warnings = Collections.synchronizedList(new ArrayList<>());
+    if (clientFactory != null) {
+      try {
+        clientFactory.prefetchCredentials();
+      } catch (IOException | RuntimeException e) {
+        warnings.add(new SQLWarning("Warm-up failed to fetch credentials: " + e.getMessage(), e));
+      }
+    }
+
+    Queue<String> pending = new ConcurrentLinkedQueue<>(queries);
+    List<Future<?>> workers = new ArrayList<>();
+    for (int i = 0; i < Math.min(queries.size(), MAX_CONCURRENT_PREPARES); i++) {
+      workers.add(
+          executor.submit(
+              () -> {
+                String sql;
+                while ((sql = pending.poll()) != null) {
+                  SqlTemplate template = SqlTemplate.of(sql);
+                  if (template.getPlaceholderCount() > 0) {
+                    // Prepared queries are cached by parameter types, which are only known once
+                    // the application binds values.
+                    warnings.add(
+                        new SQLWarning(
+                            "Warm-up skipped \""
+                                + sql
+                                + "\": the types of its parameters are not known"));
+                    continue;
+                  }
+                  // Keyed like the prepared statements of the connection.
+                  String namedParamsSql = template.toNamedParams(0);
+                  try {
+                    PreparedStatement prepared =
+                        client.prepareStatement(namedParamsSql, NO_PARAMETERS);
+                    if (prepared != null) {
+                      cache.put(namedParamsSql, NO_PARAMETERS, prepared);
+                    }
+                  } catch (RuntimeException e) {
+                    warnings.add(
+                        new SQLWarning(
+                            "Warm-up failed to prepare \"" + sql + "\": " + e.getMessage(), e));
+                  }
+                }
+              }));
+    }
+    for (Future<?> worker : workers) {
+      try {
+        worker.get();
+      } catch (ExecutionException e) {
+        warnings.add(new SQLWarning("Warm-up failed: " + e.getCause().getMessage(), e));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        warnings.add(new SQLWarning("Warm-up was interrupted", e));
+        break;
+      }
+    }
+    return warnings;
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.models.sql.BoundStatement;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.jdbc.util.SqlTypeEnum;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+
+/**
+ * The parameter values of a prepared statement, stored densely by 1-based parameter index.
+ *
+ * <p>INT64, BOOL, FLOAT32 and FLOAT64 values are kept in primitive arrays, so setting them does not
+ * allocate, and each slot keeps its resolved {@link SqlTypeEnum}, so binding needs neither type
+ * label lookups nor building parameter names.
+ */
+final class ParameterSlots {
+  static final String PARAM_PREFIX = "param";
+  private static final String[] NAMES = new String[65];
+
+  static {
+    for (int i = 1; i < NAMES.length; i++) {
+      NAMES[i] = PARAM_PREFIX + i;
+    }
+  }
+
+  // Indexed by parameter index; index 0 is unused. A null type marks an unset parameter.
+  private SqlTypeEnum[] types;
+  private long[] longValues;
+  private double[] doubleValues;
+  private Object[] objectValues;
+  // True where the value is held in longValues or doubleValues.
+  private boolean[] primitive;
+  private int size = 0;
+  // A copy of the current values, reused by snapshot() until a value changes.
+  private ParameterSlots snapshot;
+
+  /** Creates slots for {@code capacity} parameters; more are added when needed. */
+  ParameterSlots(int capacity) {
+    int length = capacity + 1;
+    types = new SqlTypeEnum[length];
+    longValues = new long[length];
+    doubleValues = new double[length];
+    objectValues = new Object[length];
+    primitive = new boolean[length];
+  }
+
+  /** Returns the name of the parameter bound for the placeholder at {@code index}. */
+  static String name(int index) {
+    return index < NAMES.length ? NAMES[index] : PARAM_PREFIX + index;
+  }
+
+  void setLong(int index, long value) {
+    prepareSlot(index, SqlTypeEnum.INT, true);
+    longValues[index] = value;
+  }
+
+  void setBoolean(int index, boolean value) {
+    prepareSlot(index, SqlTypeEnum.BOOL, true);
+    longValues[index] = value ? 1 : 0;
+  }
+
+  void setDouble(int index, double value) {
+    prepareSlot(index, SqlTypeEnum.DOUBLE, true);
+    doubleValues[index] = value;
+  }
+
+  void setFloat(int index, float value) {
+    prepareSlot(index, SqlTypeEnum.FLOAT, true);
+    doubleValues[index] = value;
+  }
+
+  void setObject(int index, SqlTypeEnum type, Object value) {
+    prepareSlot(index, type, false);
+    objectValues[index] = value;
+  }
+
+  // Marks the slot at index as set with type, growing the arrays if needed.
+  private void prepareSlot(int index, SqlTypeEnum type, boolean isPrimitive) {
+    snapshot = null;
+    if (index >= types.length) {
+      int length = Math.max(index + 1, types.length * 2);
+      types = Arrays.copyOf(types, length);
+      longValues = Arrays.copyOf(longValues, length);
+      doubleValues = Arrays.copyOf(doubleValues, length);
+      objectValues = Arrays.copyOf(objectValues, length);
+      primitive = Arrays.copyOf(primitive, length);
+    }
+    if (types[index] == null) {
+      size++;
+    }
+    types[index] = type;
+    primitive[index] = isPrimitive;
+    objectValues[index] = null;
+  }
+
+  /** Returns the type of the parameter at {@code index}, or null if it is not set. */
+  SqlTypeEnum getType(int index) {
+    return index > 0 && index < types.length ? types[index] : null;
+  }
+
+  /** Returns the value of the parameter at {@code index}, boxed. */
+  Object getValue(int index) {
+    if (!primitive[index]) {
+      return objectValues[index];
+    }
+    switch (types[index]) {
+      case INT:
+        return longValues[index];
+      case BOOL:
+        return longValues[index] != 0;
+      case FLOAT:
+        return (float) doubleValues[index];
+      default:
+        return doubleValues[index];
+    }
+  }
+
+  /** Returns the number of parameters set. */
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    snapshot = null;
+    Arrays.fill(types, null);
+    Arrays.fill(objectValues, null);
+    size = 0;
+  }
+
+  /** Returns the parameter types by name, as prepared on the server. */
+  ImmutableMap<String, SqlType<?>> parameterTypes() {
+    ImmutableMap.Builder<String, SqlType<?>> parameterTypes = ImmutableMap.builder();
+    for (int index = 1; index < types.length; index++) {
+      if (types[index] != null) {
+        parameterTypes.put(name(index), types[index].getSqlType());
+      }
+    }
+    return parameterTypes.build();
+  }
+
+  /** Returns true if {@code other} has the same parameters set, with the same types. */
+  boolean hasSameTypes(ParameterSlots other) {
+    int length = Math.max(types.length, other.types.length);
+    for (int index = 1; index < length; index++) {
+      if (getType(index) != other.getType(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a copy of these slots, unaffected by later changes. The copy is shared by the calls
+   * made while no value changes, so executing again with the same values does not copy them. It
+   * must not be modified.
+   */
+  ParameterSlots snapshot() {
+    if (snapshot == null) {
+      snapshot = copy();
+    }
+    return snapshot;
+  }
+
+  /** Returns a copy of these slots, unaffected by later changes. */
+  ParameterSlots copy() {
+    ParameterSlots copy = new ParameterSlots(0);
+    copy.types = types.clone();
+    copy.longValues = longValues.clone();
+    copy.doubleValues = doubleValues.clone();
+    copy.objectValues = objectValues.clone();
+    copy.primitive = primitive.clone();
+    copy.size = size;
+    return copy;
+  }
+
+  /** Binds the parameters that are set to {@code bound}. */
+  void bindTo(BoundStatement.Builder bound) {
+    for (int index = 1; index < types.length; index++) {
+      SqlTypeEnum type = types[index];
+      if (type == null) {
+        continue;
+      }
+      String name = name(index);
+      if (!primitive[index]) {
+        type.bind(bound, name, objectValues[index]);
+        continue;
+      }
+      switch (type) {
+        case INT:
+          bound.setLongParam(name, longValues[index]);
+          break;
+        case BOOL:
+          bound.setBooleanParam(name, longValues[index] != 0);
+          break;
+        case FLOAT:
+          bound.setFloatParam(name, (float) doubleValues[index]);
+          break;
+        default:
+          bound.setDoubleParam(name, doubleValues[index]);
+          break;
+      }
+    }
+  }
+}
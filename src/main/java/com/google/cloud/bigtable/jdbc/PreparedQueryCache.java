@@ -0,0 +1,313 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Prepared queries of a connection, keyed by the SQL sent to Bigtable and the types of its
+ * parameters. Statements look queries up here before preparing them.
+ *
+ * <p>The cache is bounded both by its number of entries and by an estimate of their memory, and
+ * evicts the least recently used entries first.
+ *
+ * <p>Prepared queries expire on the server. Once refreshing is started, an entry that is used after
+ * it reached the refresh age is prepared again in the background while the current query keeps
+ * being served, so queries in steady use never wait for a prepare.
+ */
+final class PreparedQueryCache {
+  static final int DEFAULT_MAX_ENTRIES = 256;
+  static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+  static final long DEFAULT_REFRESH_AFTER_MILLIS = TimeUnit.MINUTES.toMillis(30);
+  // Delay before a failed background refresh is attempted again.
+  static final long REFRESH_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  // Rough size of the prepared query handle and result metadata held by the client per entry.
+  private static final int ENTRY_OVERHEAD_BYTES = 1024;
+  private static final int PARAMETER_OVERHEAD_BYTES = 64;
+  static final int MAX_REJECTED_QUERIES = 256;
+
+  private final int maxEntries;
+  private final long maxBytes;
+  private final long refreshAfterNanos;
+  // Guarded by this. Access order puts the least recently used entry first.
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes = 0;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder refreshes = new LongAdder();
+  // Guarded by this. Both null until refreshing is started.
+  private BiFunction<String, Map<String, SqlType<?>>, PreparedStatement> preparer;
+  private Executor refreshExecutor;
+  // Guarded by this. Normalized queries Bigtable refused to prepare, oldest first.
+  private final Set<String> rejectedQueries =
+      Collections.newSetFromMap(
+          new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+              return size() > MAX_REJECTED_QUERIES;
+            }
+          });
+
+  PreparedQueryCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES, DEFAULT_REFRESH_AFTER_MILLIS);
+  }
+
+  /** Creates a cache holding at most {@code maxEntries} entries and about {@code maxBytes}. */
+  PreparedQueryCache(int maxEntries, long maxBytes) {
+    this(maxEntries, maxBytes, DEFAULT_REFRESH_AFTER_MILLIS);
+  }
+
+  /**
+   * Creates a cache holding at most {@code maxEntries} entries and about {@code maxBytes}, whose
+   * entries are refreshed when used after {@code refreshAfterMillis}, or never if it is 0.
+   */
+  PreparedQueryCache(int maxEntries, long maxBytes, long refreshAfterMillis) {
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+    this.refreshAfterNanos = TimeUnit.MILLISECONDS.toNanos(refreshAfterMillis);
+  }
+
+  /** Starts refreshing entries with {@code preparer}, which runs on {@code executor}. */
+  synchronized void startRefreshing(
+      BiFunction<String, Map<String, SqlType<?>>, PreparedStatement> preparer,
+      Executor executor) {
+    this.preparer = preparer;
+    this.refreshExecutor = executor;
+  }
+
+  /** Stops refreshing entries. Refreshes already running complete. */
+  synchronized void stopRefreshing() {
+    this.preparer = null;
+    this.refreshExecutor = null;
+  }
+
+  /** Returns the prepared query for {@code sql} and {@code parameterTypes}, or null. */
+  PreparedStatement get(String sql, Map<String, SqlType<?>> parameterTypes) {
+    PreparedStatement preparedStatement = peek(sql, parameterTypes);
+    if (preparedStatement == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return preparedStatement;
+  }
+
+  /**
+   * Returns the latest prepared query for {@code sql} and {@code parameterTypes}, or null, without
+   * counting a hit or a miss. Statements holding on to a prepared query use this to pick up
+   * refreshed ones.
+   */
+  PreparedStatement peek(String sql, Map<String, SqlType<?>> parameterTypes) {
+    Key key = new Key(sql, parameterTypes);
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      refreshIfDue(key, entry);
+      return entry.preparedStatement;
+    }
+  }
+
+  /**
+   * Removes the entry for {@code sql} and {@code parameterTypes} if it still holds {@code
+   * staleStatement}, which Bigtable reported as expired or invalid.
+   */
+  synchronized void invalidate(
+      String sql, Map<String, SqlType<?>> parameterTypes, PreparedStatement staleStatement) {
+    Key key = new Key(sql, parameterTypes);
+    Entry entry = entries.get(key);
+    if (entry != null && entry.preparedStatement == staleStatement) {
+      entries.remove(key);
+      bytes -= entry.bytes;
+    }
+  }
+
+  // Guarded by this.
+  private void refreshIfDue(Key key, Entry entry) {
+    if (preparer == null
+        || refreshAfterNanos <= 0
+        || entry.refreshing
+        || System.nanoTime() - entry.refreshAtNanos < 0) {
+      return;
+    }
+    BiFunction<String, Map<String, SqlType<?>>, PreparedStatement> refreshPreparer = preparer;
+    entry.refreshing = true;
+    try {
+      refreshExecutor.execute(() -> refresh(key, entry, refreshPreparer));
+    } catch (RejectedExecutionException e) {
+      entry.refreshing = false;
+    }
+  }
+
+  private void refresh(
+      Key key,
+      Entry entry,
+      BiFunction<String, Map<String, SqlType<?>>, PreparedStatement> refreshPreparer) {
+    PreparedStatement refreshed = null;
+    try {
+      refreshed = refreshPreparer.apply(key.sql, key.parameterTypes);
+    } catch (RuntimeException e) {
+      // The current prepared query is kept; if it has expired, the statement prepares it again.
+    }
+    synchronized (this) {
+      entry.refreshing = false;
+      if (refreshed != null) {
+        entry.preparedStatement = refreshed;
+        entry.refreshAtNanos = System.nanoTime() + refreshAfterNanos;
+        refreshes.increment();
+      } else {
+        entry.refreshAtNanos =
+            System.nanoTime()
+                + Math.min(
+                    refreshAfterNanos, TimeUnit.MILLISECONDS.toNanos(REFRESH_RETRY_DELAY_MILLIS));
+      }
+    }
+  }
+
+  /**
+   * Returns true if {@code error} reports that a prepared query can no longer be used, because it
+   * expired or the schema it was prepared against changed.
+   */
+  static boolean isStalePlanError(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ApiException
+          && ((ApiException) cause).getStatusCode().getCode()
+              == StatusCode.Code.FAILED_PRECONDITION) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  void put(
+      String sql, Map<String, SqlType<?>> parameterTypes, PreparedStatement preparedStatement) {
+    if (maxEntries <= 0) {
+      return;
+    }
+    Key key = new Key(sql, parameterTypes);
+    Entry entry =
+        new Entry(preparedStatement, estimateBytes(key), System.nanoTime() + refreshAfterNanos);
+    synchronized (this) {
+      Entry previous = entries.put(key, entry);
+      if (previous != null) {
+        bytes -= previous.bytes;
+      }
+      bytes += entry.bytes;
+      Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+      while ((entries.size() > maxEntries || bytes > maxBytes) && leastRecentlyUsed.hasNext()) {
+        bytes -= leastRecentlyUsed.next().bytes;
+        leastRecentlyUsed.remove();
+        evictions.increment();
+      }
+    }
+  }
+
+  /**
+   * Records that Bigtable refused to prepare {@code sql}, so that statements stop trying it. The
+   * most recent {@value #MAX_REJECTED_QUERIES} queries are remembered.
+   */
+  synchronized void markRejected(String sql) {
+    rejectedQueries.add(sql);
+  }
+
+  /** Returns true if {@link #markRejected} was called for {@code sql}. */
+  synchronized boolean isRejected(String sql) {
+    return rejectedQueries.contains(sql);
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  BigtableConnection.PreparedQueryCacheStatistics getStatistics() {
+    int size;
+    long estimatedBytes;
+    synchronized (this) {
+      size = entries.size();
+      estimatedBytes = bytes;
+    }
+    return new BigtableConnection.PreparedQueryCacheStatistics(
+        size, estimatedBytes, hits.sum(), misses.sum(), evictions.sum(), refreshes.sum());
+  }
+
+  private static long estimateBytes(Key key) {
+    long estimate = ENTRY_OVERHEAD_BYTES + 2L * key.sql.length();
+    for (String name : key.parameterTypes.keySet()) {
+      estimate += PARAMETER_OVERHEAD_BYTES + 2L * name.length();
+    }
+    return estimate;
+  }
+
+  // The mutable fields are guarded by the cache.
+  private static final class Entry {
+    private PreparedStatement preparedStatement;
+    private final long bytes;
+    // System.nanoTime() from which the entry is refreshed when it is used.
+    private long refreshAtNanos;
+    private boolean refreshing = false;
+
+    private Entry(PreparedStatement preparedStatement, long bytes, long refreshAtNanos) {
+      this.preparedStatement = preparedStatement;
+      this.bytes = bytes;
+      this.refreshAtNanos = refreshAtNanos;
+    }
+  }
+
+  private static final class Key {
+    private final String sql;
+    private final Map<String, SqlType<?>> parameterTypes;
+
+    private Key(String sql, Map<String, SqlType<?>> parameterTypes) {
+      this.sql = sql;
+      this.parameterTypes = ImmutableMap.copyOf(parameterTypes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return sql.equals(that.sql) && parameterTypes.equals(that.parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sql, parameterTypes);
+    }
+  }
+}
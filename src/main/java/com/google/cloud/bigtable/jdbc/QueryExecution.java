@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Context;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The deadline and cancellation of one query execution.
+ *
+ * <p>The prepare and execute RPCs are started in a cancellable gRPC {@link Context}, so they carry
+ * the query deadline to the server and are cancelled together with the execution, from any thread.
+ * The execution ends when its result set is exhausted or closed.
+ */
+final class QueryExecution {
+  /** The SQLState of a query cancelled by {@link java.sql.Statement#cancel()}. */
+  static final String CANCELLED_SQL_STATE = "HY008";
+
+  // Enforces the deadlines of all queries. Timer tasks are removed as soon as a query finishes.
+  private static final ScheduledExecutorService DEADLINE_TIMER = createDeadlineTimer();
+
+  private final Context.CancellableContext context;
+  private final long timeoutMillis;
+
+  private QueryExecution(Context.CancellableContext context, long timeoutMillis) {
+    this.context = context;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  /** Starts an execution that times out after {@code timeoutMillis}, or never if it is 0. */
+  static QueryExecution start(long timeoutMillis) {
+    Context.CancellableContext context =
+        timeoutMillis > 0
+            ? Context.current()
+                .withDeadlineAfter(timeoutMillis, TimeUnit.MILLISECONDS, DEADLINE_TIMER)
+            : Context.current().withCancellation();
+    return new QueryExecution(context, timeoutMillis);
+  }
+
+  /**
+   * Starts an execution that is cancelled and times out together with this one, but that can
+   * finish on its own.
+   */
+  QueryExecution startChild() {
+    return new QueryExecution(context.withCancellation(), timeoutMillis);
+  }
+
+  private static ScheduledExecutorService createDeadlineTimer() {
+    ScheduledThreadPoolExecutor timer =
+        new ScheduledThreadPoolExecutor(
+            1,
+            r -> {
+              Thread thread = new Thread(r, "bigtable-jdbc-query-timeout");
+              thread.setDaemon(true);
+              return thread;
+            });
+    timer.setRemoveOnCancelPolicy(true);
+    return timer;
+  }
+
+  /**
+   * Runs {@code call} so that the RPCs it starts belong to this execution. If the execution was
+   * cancelled or timed out, the failure is reported as such.
+   */
+  <T> T call(Callable<T> call) throws SQLException {
+    try {
+      return context.call(call);
+    } catch (Exception e) {
+      if (isAborted()) {
+        throw toSQLException(e);
+      }
+      finish();
+      if (e instanceof SQLException) {
+        throw (SQLException) e;
+      }
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      throw new SQLException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Waits for {@code future}, which may be shared with other executions, until it completes or
+   * this execution is cancelled or times out. In the latter case the future is left running and
+   * the wait fails with a {@link CancellationException}.
+   */
+  <T> T await(ApiFuture<T> future) throws Exception {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    ApiFutures.addCallback(
+        future,
+        new ApiFutureCallback<T>() {
+          @Override
+          public void onSuccess(T value) {
+            result.complete(value);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            result.completeExceptionally(t);
+          }
+        },
+        MoreExecutors.directExecutor());
+    Context.CancellationListener onCancel =
+        c -> result.completeExceptionally(new CancellationException("The query was cancelled."));
+    context.addListener(onCancel, MoreExecutors.directExecutor());
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    } finally {
+      context.removeListener(onCancel);
+    }
+  }
+
+  /** Registers {@code listener} to run when the execution is cancelled, times out or finishes. */
+  void onEnd(Runnable listener) {
+    context.addListener(c -> listener.run(), Runnable::run);
+  }
+
+  /** Cancels the RPCs of this execution. */
+  void cancel() {
+    context.cancel(new CancellationException("The query was cancelled."));
+  }
+
+  /** Releases the deadline of a completed execution. */
+  void finish() {
+    context.cancel(null);
+  }
+
+  /** Returns true if the execution was cancelled or timed out before it finished. */
+  boolean isAborted() {
+    return context.cancellationCause() != null;
+  }
+
+  /** Describes why the execution was aborted, with {@code cause} as the observed failure. */
+  SQLException toSQLException(Throwable cause) {
+    if (context.cancellationCause() instanceof TimeoutException) {
+      return new SQLTimeoutException(
+          "The query timed out after " + timeoutMillis + " ms.", cause);
+    }
+    return new SQLException("The query was cancelled.", CANCELLED_SQL_STATE, cause);
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the rows of a stream ahead of the application, on a background thread, into a buffer of
+ * at most {@code capacity} rows.
+ *
+ * <p>The producer copies the values of each row out of the stream and stops pulling from it while
+ * the buffer is full, so the gRPC flow control still applies. Streams with columns of types that
+ * cannot be copied are read directly.
+ */
+final class ReadAheadBuffer extends BufferedResultSet {
+  // Marks the end of the stream in the buffer.
+  private static final Object END = new Object();
+
+  // Producers block while their buffer is full, so each needs its own thread. Beyond this many
+  // streams read ahead at once, streams are read directly instead.
+  private static final int MAX_PRODUCERS = 64;
+
+  private static final ExecutorService PRODUCERS =
+      new ThreadPoolExecutor(
+          0,
+          MAX_PRODUCERS,
+          60,
+          TimeUnit.SECONDS,
+          new SynchronousQueue<>(),
+          r -> {
+            Thread thread = new Thread(r, "bigtable-jdbc-read-ahead");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Guarded by this. Holds copied rows, then END or the RuntimeException that failed the stream.
+  private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+  private int capacity;
+  private boolean closed = false;
+  // Only used by the consumer thread.
+  private boolean started = false;
+  private boolean direct = false;
+  private List<ColumnMetadata> columns;
+
+  ReadAheadBuffer(ResultSet stream, int capacity) {
+    super(stream);
+    this.capacity = Math.max(capacity, 1);
+  }
+
+  /** Changes how many rows may be buffered; rows already buffered are kept. */
+  synchronized void setCapacity(int capacity) {
+    this.capacity = Math.max(capacity, 1);
+    notifyAll();
+  }
+
+  @Override
+  boolean servesCopies() {
+    return started && !direct;
+  }
+
+  @Override
+  public boolean next() {
+    if (!started) {
+      started = true;
+      columns = stream.getMetadata().getColumns();
+      direct = !isCopyable(columns);
+      if (!direct) {
+        try {
+          PRODUCERS.execute(this::produce);
+        } catch (RejectedExecutionException e) {
+          direct = true;
+        }
+      }
+    }
+    if (direct) {
+      return stream.next();
+    }
+    Object row = take();
+    if (row == END) {
+      currentRow = null;
+      return false;
+    }
+    if (row instanceof RuntimeException) {
+      currentRow = null;
+      throw (RuntimeException) row;
+    }
+    currentRow = (Object[]) row;
+    return true;
+  }
+
+  // Takes the next row, leaving END and failures in place so that they are reported again.
+  private synchronized Object take() {
+    while (buffer.isEmpty() && !closed) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while waiting for a row.");
+      }
+    }
+    if (closed) {
+      throw new CancellationException("The stream was closed.");
+    }
+    Object row = buffer.peek();
+    if (row instanceof Object[]) {
+      buffer.poll();
+      notifyAll();
+    }
+    return row;
+  }
+
+  // Adds a row once there is room, or returns false if the buffer was closed.
+  private synchronized boolean put(Object row, boolean bounded) {
+    while (bounded && !closed && buffer.size() >= capacity) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    if (closed) {
+      return false;
+    }
+    buffer.add(row);
+    notifyAll();
+    return true;
+  }
+
+  private void produce() {
+    boolean ended = false;
+    try {
+      Object end = END;
+      try {
+        while (stream.next()) {
+          if (!put(copyRow(stream, columns), true)) {
+            ended = true;
+            return;
+          }
+        }
+      } catch (RuntimeException e) {
+        end = e;
+      }
+      put(end, false);
+      ended = true;
+    } finally {
+      if (!ended) {
+        // An Error escaped: the consumer fails instead of waiting for rows forever.
+        discard();
+      }
+    }
+  }
+
+  private synchronized void discard() {
+    closed = true;
+    buffer.clear();
+    notifyAll();
+  }
+
+  @Override
+  public void close() {
+    discard();
+    // Cancels the stream, which stops a producer waiting on it.
+    stream.close();
+  }
+}
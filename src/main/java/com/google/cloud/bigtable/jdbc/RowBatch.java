@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of rows stored by column, filled by {@link BigtableResultSet#nextBatch(int)}.
+ *
+ * <p>INT64, FLOAT32, FLOAT64 and BOOL columns are stored in primitive arrays, STRING columns as
+ * codes into a dictionary of the distinct values of the batch, and BYTES columns as the {@link
+ * ByteString}s of the rows, without copying. Columns of other types hold the values as {@link
+ * BigtableResultSet#getObject(int)} returns them. Nulls are tracked in a bitmap per column.
+ *
+ * <p>The arrays are reused by the next call to {@code nextBatch}, and may be longer than the
+ * number of rows of the batch.
+ */
+public final class RowBatch {
+  private final List<ColumnMetadata> columnMetadata;
+  private final Column[] columns;
+  private int rowCount = 0;
+
+  RowBatch(List<ColumnMetadata> columnMetadata) {
+    this.columnMetadata = columnMetadata;
+    this.columns = new Column[columnMetadata.size()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = new Column(columnMetadata.get(i));
+    }
+  }
+
+  /** Returns true if this batch was built for {@code columnMetadata}. */
+  boolean hasColumns(List<ColumnMetadata> columnMetadata) {
+    return this.columnMetadata == columnMetadata;
+  }
+
+  /** Empties the batch, making room for {@code capacity} rows. */
+  void reset(int capacity) {
+    rowCount = 0;
+    for (Column column : columns) {
+      column.reset(capacity);
+    }
+  }
+
+  /** Appends the current row of {@code reader}. */
+  void readRow(StructReader reader) {
+    for (int i = 0; i < columns.length; i++) {
+      columns[i].read(reader, i, rowCount);
+    }
+    rowCount++;
+  }
+
+  /** Returns the number of rows in the batch; 0 once the result set is exhausted. */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  /** Returns the column at {@code columnIndex}, starting at 1 like JDBC column indexes. */
+  public Column getColumn(int columnIndex) {
+    if (columnIndex < 1 || columnIndex > columns.length) {
+      throw new IndexOutOfBoundsException("Invalid column index: " + columnIndex);
+    }
+    return columns[columnIndex - 1];
+  }
+
+  /** The values of one column of a batch, indexed by row from 0. */
+  public static final class Column {
+    private final String name;
+    private final SqlType<?> type;
+    private final SqlType.Code code;
+    private final BitSet nulls = new BitSet();
+    // Only the storage of the column's type is allocated.
+    private long[] longs;
+    private double[] doubles;
+    private boolean[] booleans;
+    private int[] codes;
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+    private Object[] objects;
+
+    private Column(ColumnMetadata metadata) {
+      this.name = metadata.name();
+      this.type = metadata.type();
+      this.code = type == null ? null : type.getCode();
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public SqlType<?> getType() {
+      return type;
+    }
+
+    public boolean isNull(int row) {
+      return nulls.get(row);
+    }
+
+    /** Returns the values of an INT64 column, or null for other types. */
+    public long[] getLongs() {
+      return longs;
+    }
+
+    /** Returns the values of a FLOAT32 or FLOAT64 column, or null for other types. */
+    public double[] getDoubles() {
+      return doubles;
+    }
+
+    /** Returns the values of a BOOL column, or null for other types. */
+    public boolean[] getBooleans() {
+      return booleans;
+    }
+
+    /**
+     * Returns the dictionary codes of a STRING column, or null for other types. A code is an index
+     * into {@link #getDictionary()}.
+     */
+    public int[] getDictionaryCodes() {
+      return codes;
+    }
+
+    /** Returns the distinct values of a STRING column in this batch. */
+    public List<String> getDictionary() {
+      return Collections.unmodifiableList(dictionary);
+    }
+
+    /** Returns the value of a STRING column at {@code row}, or null. */
+    public String getString(int row) {
+      return codes == null || nulls.get(row) ? null : dictionary.get(codes[row]);
+    }
+
+    /** Returns the value of a BYTES column at {@code row}, or null. */
+    public ByteString getBytes(int row) {
+      return code == SqlType.Code.BYTES ? (ByteString) objects[row] : null;
+    }
+
+    /**
+     * Returns the value at {@code row} of a column of any type, boxed, or null. Prefer the typed
+     * arrays for primitive columns.
+     */
+    public Object getObject(int row) {
+      if (nulls.get(row)) {
+        return null;
+      }
+      if (longs != null) {
+        return longs[row];
+      }
+      if (doubles != null) {
+        return code == SqlType.Code.FLOAT32 ? (Object) (float) doubles[row] : doubles[row];
+      }
+      if (booleans != null) {
+        return booleans[row];
+      }
+      if (codes != null) {
+        return dictionary.get(codes[row]);
+      }
+      return objects[row];
+    }
+
+    private void reset(int capacity) {
+      nulls.clear();
+      dictionary.clear();
+      dictionaryCodes.clear();
+      if (code == null) {
+        objects = grow(objects, capacity);
+        return;
+      }
+      switch (code) {
+        case INT64:
+          longs = longs != null && longs.length >= capacity ? longs : new long[capacity];
+          break;
+        case FLOAT32:
+        case FLOAT64:
+          doubles = doubles != null && doubles.length >= capacity ? doubles : new double[capacity];
+          break;
+        case BOOL:
+          booleans =
+              booleans != null && booleans.length >= capacity ? booleans : new boolean[capacity];
+          break;
+        case STRING:
+          codes = codes != null && codes.length >= capacity ? codes : new int[capacity];
+          break;
+        default:
+          objects = grow(objects, capacity);
+          break;
+      }
+    }
+
+    private static Object[] grow(Object[] objects, int capacity) {
+      return objects != null && objects.length >= capacity ? objects : new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    private void read(StructReader reader, int column, int row) {
+      if (reader.isNull(column)) {
+        nulls.set(row);
+        if (objects != null) {
+          objects[row] = null;
+        }
+        return;
+      }
+      if (code == null) {
+        objects[row] = null;
+        return;
+      }
+      switch (code) {
+        case INT64:
+          longs[row] = reader.getLong(column);
+          break;
+        case FLOAT32:
+          doubles[row] = reader.getFloat(column);
+          break;
+        case FLOAT64:
+          doubles[row] = reader.getDouble(column);
+          break;
+        case BOOL:
+          booleans[row] = reader.getBoolean(column);
+          break;
+        case STRING:
+          codes[row] = encode(reader.getString(column));
+          break;
+        case BYTES:
+          objects[row] = reader.getBytes(column);
+          break;
+        case TIMESTAMP:
+          objects[row] = reader.getTimestamp(column);
+          break;
+        case DATE:
+          objects[row] = reader.getDate(column);
+          break;
+        case STRUCT:
+          objects[row] = reader.getStruct(column);
+          break;
+        case ARRAY:
+          objects[row] = reader.getList(column, (SqlType.Array<Object>) type);
+          break;
+        case MAP:
+          objects[row] = reader.getMap(column, (SqlType.Map<Object, Object>) type);
+          break;
+        default:
+          objects[row] = null;
+          break;
+      }
+    }
+
+    private int encode(String value) {
+      Integer existing = dictionaryCodes.get(value);
+      if (existing != null) {
+        return existing;
+      }
+      int newCode = dictionary.size();
+      dictionary.add(value);
+      dictionaryCodes.put(value, newCode);
+      return newCode;
+    }
+  }
+}
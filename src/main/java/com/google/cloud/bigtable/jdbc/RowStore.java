@@ -0,0 +1,450 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.Date;
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An append-only store of the rows of a result set, read back by index.
+ *
+ * <p>Rows are encoded into a compact binary form as they are added. The most recent rows are kept
+ * in a heap buffer of about {@code memoryLimitBytes}; once it is full, it is appended to a
+ * memory-mapped temporary file, which is deleted when the store is closed. An index
+ * of row offsets locates each row in either. STRUCT values are not encoded and stay on the heap;
+ * their estimated size counts toward the limit, and adding a row fails once they alone exceed it.
+ */
+final class RowStore {
+  static final long DEFAULT_MEMORY_LIMIT_BYTES = 64L << 20;
+  // Keeps the heap buffer, which may exceed the limit by one row, within the size of an array.
+  static final long MAX_MEMORY_LIMIT_BYTES = 1L << 30;
+  static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+  private static final int MAX_BUFFER_BYTES = Integer.MAX_VALUE - 8;
+  // The estimated heap size of a value whose fields are not known.
+  private static final int HEAP_VALUE_BYTES = 64;
+
+  private static final byte NULL = 0;
+  private static final byte VALUE = 1;
+  private static final byte HEAP_VALUE = 2;
+
+  private final List<ColumnMetadata> columns;
+  private final long memoryLimitBytes;
+  private final int segmentBytes;
+  // The offset of each row, in the spilled bytes followed by the bytes of the tail.
+  private long[] offsets = new long[1024];
+  private int size = 0;
+  private long spilledBytes = 0;
+  // The encoded rows that were not spilled yet.
+  private ByteBuffer tail = ByteBuffer.allocate(4096);
+  // Values that are not encoded, referenced by their index, and their estimated size.
+  private final List<Object> heapValues = new ArrayList<>();
+  private long heapBytes = 0;
+  // The spill file, mapped in segments of segmentBytes.
+  private Path path;
+  private FileChannel file;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private boolean closed = false;
+
+  RowStore(List<ColumnMetadata> columns, long memoryLimitBytes) {
+    this(columns, memoryLimitBytes, DEFAULT_SEGMENT_BYTES);
+  }
+
+  RowStore(List<ColumnMetadata> columns, long memoryLimitBytes, int segmentBytes) {
+    this.columns = columns;
+    this.memoryLimitBytes = Math.min(memoryLimitBytes, MAX_MEMORY_LIMIT_BYTES);
+    this.segmentBytes = segmentBytes;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Appends the current row of {@code reader}.
+   *
+   * @throws IllegalStateException if the values kept on the heap exceed the memory limit.
+   */
+  synchronized void add(StructReader reader) {
+    checkNotClosed();
+    if (size == offsets.length) {
+      offsets = Arrays.copyOf(offsets, size * 2);
+    }
+    offsets[size] = spilledBytes + tail.position();
+    for (int i = 0; i < columns.size(); i++) {
+      SqlType<?> type = columns.get(i).type();
+      write(type, BufferedResultSet.readValue(reader, i, type));
+    }
+    size++;
+    if (tail.position() + heapBytes > memoryLimitBytes) {
+      spill();
+    }
+    if (heapBytes > memoryLimitBytes) {
+      throw new IllegalStateException(
+          "The STRUCT values of the rows exceed the scroll memory limit of "
+              + memoryLimitBytes
+              + " bytes.");
+    }
+  }
+
+  /** Returns the values of row {@code index}, from 0. */
+  synchronized Object[] get(int index) {
+    checkNotClosed();
+    long start = offsets[index];
+    ByteBuffer in;
+    if (start >= spilledBytes) {
+      in = tail.duplicate();
+      ((Buffer) in).flip();
+      ((Buffer) in).position((int) (start - spilledBytes));
+    } else {
+      long end = index + 1 < size ? Math.min(offsets[index + 1], spilledBytes) : spilledBytes;
+      in = readSpilled(start, (int) (end - start));
+    }
+    Object[] row = new Object[columns.size()];
+    for (int i = 0; i < row.length; i++) {
+      row[i] = read(columns.get(i).type(), in);
+    }
+    return row;
+  }
+
+  /**
+   * Releases the buffered rows and deletes the spill file. The mapped segments are released by
+   * the garbage collector once they are no longer referenced.
+   */
+  synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    segments.clear();
+    heapValues.clear();
+    tail = ByteBuffer.allocate(0);
+    if (file != null) {
+      try {
+        file.close();
+        Files.deleteIfExists(path);
+      } catch (IOException ignored) {
+        // Best effort: the file lives in the temp directory.
+      }
+      file = null;
+    }
+  }
+
+  /** Returns the spill file, or null if no row was spilled. */
+  @VisibleForTesting
+  synchronized Path spillFile() {
+    return path;
+  }
+
+  private void checkNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("The rows were released.");
+    }
+  }
+
+  private ByteBuffer readSpilled(long start, int length) {
+    int segment = (int) (start / segmentBytes);
+    int offset = (int) (start % segmentBytes);
+    if (offset + length <= segmentBytes) {
+      ByteBuffer in = ((ByteBuffer) segments.get(segment)).duplicate();
+      ((Buffer) in).limit(offset + length);
+      ((Buffer) in).position(offset);
+      return in;
+    }
+    // The row straddles segments.
+    byte[] bytes = new byte[length];
+    int copied = 0;
+    while (copied < length) {
+      ByteBuffer in = ((ByteBuffer) segments.get(segment)).duplicate();
+      ((Buffer) in).position(offset);
+      int n = Math.min(in.remaining(), length - copied);
+      in.get(bytes, copied, n);
+      copied += n;
+      segment++;
+      offset = 0;
+    }
+    return ByteBuffer.wrap(bytes);
+  }
+
+  private void spill() {
+    try {
+      if (file == null) {
+        path = Files.createTempFile("bigtable-jdbc-rows-", ".bin");
+        file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      }
+      ((Buffer) tail).flip();
+      while (tail.hasRemaining()) {
+        int segment = (int) (spilledBytes / segmentBytes);
+        while (segments.size() <= segment) {
+          segments.add(
+              file.map(
+                  FileChannel.MapMode.READ_WRITE,
+                  (long) segments.size() * segmentBytes,
+                  segmentBytes));
+        }
+        ByteBuffer out = ((ByteBuffer) segments.get(segment)).duplicate();
+        ((Buffer) out).position((int) (spilledBytes % segmentBytes));
+        int n = Math.min(out.remaining(), tail.remaining());
+        ByteBuffer chunk = tail.duplicate();
+        ((Buffer) chunk).limit(tail.position() + n);
+        out.put(chunk);
+        ((Buffer) tail).position(tail.position() + n);
+        spilledBytes += n;
+      }
+      ((Buffer) tail).clear();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to spill rows to disk: " + e.getMessage(), e);
+    }
+  }
+
+  private void ensure(int bytes) {
+    if (tail.remaining() < bytes) {
+      long needed = (long) tail.position() + bytes;
+      if (needed > MAX_BUFFER_BYTES) {
+        throw new IllegalStateException("A row is too large to be kept for scrolling.");
+      }
+      ByteBuffer grown =
+          ByteBuffer.allocate(
+              (int) Math.min(Math.max(tail.capacity() * 2L, needed), MAX_BUFFER_BYTES));
+      ((Buffer) tail).flip();
+      grown.put(tail);
+      tail = grown;
+    }
+  }
+
+  private void write(SqlType<?> type, Object value) {
+    ensure(1);
+    if (value == null) {
+      tail.put(NULL);
+      return;
+    }
+    if (type == null) {
+      writeHeapValue(type, value);
+      return;
+    }
+    switch (type.getCode()) {
+      case STRING:
+        writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        break;
+      case BYTES:
+        ByteString bytes = (ByteString) value;
+        tail.put(VALUE);
+        ensure(4 + bytes.size());
+        tail.putInt(bytes.size());
+        bytes.copyTo(tail);
+        break;
+      case INT64:
+        tail.put(VALUE);
+        ensure(8);
+        tail.putLong((Long) value);
+        break;
+      case FLOAT32:
+        tail.put(VALUE);
+        ensure(4);
+        tail.putFloat((Float) value);
+        break;
+      case FLOAT64:
+        tail.put(VALUE);
+        ensure(8);
+        tail.putDouble((Double) value);
+        break;
+      case BOOL:
+        tail.put(VALUE);
+        ensure(1);
+        tail.put((Boolean) value ? (byte) 1 : 0);
+        break;
+      case TIMESTAMP:
+        Instant instant = (Instant) value;
+        tail.put(VALUE);
+        ensure(12);
+        tail.putLong(instant.getEpochSecond());
+        tail.putInt(instant.getNano());
+        break;
+      case DATE:
+        Date date = (Date) value;
+        tail.put(VALUE);
+        ensure(12);
+        tail.putInt(date.getYear());
+        tail.putInt(date.getMonth());
+        tail.putInt(date.getDayOfMonth());
+        break;
+      case ARRAY:
+        List<?> list = (List<?>) value;
+        SqlType<?> elementType = ((SqlType.Array<?>) type).getElementType();
+        tail.put(VALUE);
+        ensure(4);
+        tail.putInt(list.size());
+        for (Object element : list) {
+          write(elementType, element);
+        }
+        break;
+      case MAP:
+        Map<?, ?> map = (Map<?, ?>) value;
+        SqlType.Map<?, ?> mapType = (SqlType.Map<?, ?>) type;
+        tail.put(VALUE);
+        ensure(4);
+        tail.putInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          write(mapType.getKeyType(), entry.getKey());
+          write(mapType.getValueType(), entry.getValue());
+        }
+        break;
+      default:
+        writeHeapValue(type, value);
+        break;
+    }
+  }
+
+  private void writeBytes(byte[] bytes) {
+    tail.put(VALUE);
+    ensure(4 + bytes.length);
+    tail.putInt(bytes.length);
+    tail.put(bytes);
+  }
+
+  private void writeHeapValue(SqlType<?> type, Object value) {
+    tail.put(HEAP_VALUE);
+    ensure(4);
+    tail.putInt(heapValues.size());
+    heapValues.add(value);
+    heapBytes += estimateHeapBytes(type, value);
+  }
+
+  // Estimates the heap size of a decoded value, walking the fields of STRUCT values when known.
+  private static long estimateHeapBytes(SqlType<?> type, Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return 40 + 2L * ((String) value).length();
+    }
+    if (value instanceof ByteString) {
+      return 40 + ((ByteString) value).size();
+    }
+    if (value instanceof List) {
+      SqlType<?> elementType =
+          type instanceof SqlType.Array ? ((SqlType.Array<?>) type).getElementType() : null;
+      long bytes = HEAP_VALUE_BYTES;
+      for (Object element : (List<?>) value) {
+        bytes += estimateHeapBytes(elementType, element);
+      }
+      return bytes;
+    }
+    if (value instanceof Map) {
+      SqlType.Map<?, ?> mapType = type instanceof SqlType.Map ? (SqlType.Map<?, ?>) type : null;
+      long bytes = HEAP_VALUE_BYTES;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        bytes += estimateHeapBytes(mapType == null ? null : mapType.getKeyType(), entry.getKey());
+        bytes +=
+            estimateHeapBytes(mapType == null ? null : mapType.getValueType(), entry.getValue());
+      }
+      return bytes;
+    }
+    if (value instanceof Struct && type instanceof SqlType.Struct) {
+      List<? extends SqlType.Struct.Field> fields;
+      try {
+        fields = ((SqlType.Struct) type).getFields();
+      } catch (UnsupportedOperationException e) {
+        // A struct type without a schema.
+        return HEAP_VALUE_BYTES;
+      }
+      long bytes = HEAP_VALUE_BYTES;
+      for (int i = 0; i < fields.size(); i++) {
+        SqlType<?> fieldType = fields.get(i).type();
+        bytes +=
+            estimateHeapBytes(
+                fieldType, BufferedResultSet.readValue((Struct) value, i, fieldType));
+      }
+      return bytes;
+    }
+    return HEAP_VALUE_BYTES;
+  }
+
+  private Object read(SqlType<?> type, ByteBuffer in) {
+    byte tag = in.get();
+    if (tag == NULL) {
+      return null;
+    }
+    if (tag == HEAP_VALUE) {
+      return heapValues.get(in.getInt());
+    }
+    switch (type.getCode()) {
+      case STRING:
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+      case BYTES:
+        return ByteString.copyFrom(readBytes(in));
+      case INT64:
+        return in.getLong();
+      case FLOAT32:
+        return in.getFloat();
+      case FLOAT64:
+        return in.getDouble();
+      case BOOL:
+        return in.get() != 0;
+      case TIMESTAMP:
+        return Instant.ofEpochSecond(in.getLong(), in.getInt());
+      case DATE:
+        return Date.fromYearMonthDay(in.getInt(), in.getInt(), in.getInt());
+      case ARRAY:
+        SqlType<?> elementType = ((SqlType.Array<?>) type).getElementType();
+        int length = in.getInt();
+        List<Object> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+          list.add(read(elementType, in));
+        }
+        return Collections.unmodifiableList(list);
+      case MAP:
+        SqlType.Map<?, ?> mapType = (SqlType.Map<?, ?>) type;
+        int entries = in.getInt();
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+          Object key = read(mapType.getKeyType(), in);
+          map.put(key, read(mapType.getValueType(), in));
+        }
+        return Collections.unmodifiableMap(map);
+      default:
+        throw new IllegalStateException("Unexpected encoded value of type " + type.getCode());
+    }
+  }
+
+  private static byte[] readBytes(ByteBuffer in) {
+    byte[] bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return bytes;
+  }
+}
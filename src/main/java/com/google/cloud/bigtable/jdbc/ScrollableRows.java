@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
+
+/**
+ * The rows of a scroll-insensitive result set.
+ *
+ * <p>Rows are read from the stream only as far as the cursor moves, and kept in a {@link RowStore}
+ * so that the cursor can move back to them. Positions follow JDBC: rows are numbered from 1, 0 is
+ * before the first row and {@code size + 1} after the last one.
+ */
+final class ScrollableRows extends BufferedResultSet {
+  private final long memoryLimitBytes;
+  // The maximum number of rows read from the stream, 0 for no limit.
+  private long maxRows = 0;
+  private RowStore rows;
+  private boolean exhausted = false;
+  private int position = 0;
+
+  ScrollableRows(ResultSet stream, long memoryLimitBytes) {
+    super(stream);
+    this.memoryLimitBytes = memoryLimitBytes;
+  }
+
+  /** Stops reading the stream after {@code maxRows} rows, 0 for no limit. */
+  void setMaxRows(long maxRows) {
+    this.maxRows = maxRows;
+  }
+
+  @Override
+  boolean servesCopies() {
+    return rows != null;
+  }
+
+  @Override
+  public boolean next() {
+    return moveTo(position + 1);
+  }
+
+  /** Moves to {@code row}, counted from the end if it is negative. */
+  boolean absolute(int row) {
+    if (row >= 0) {
+      return moveTo(row);
+    }
+    fetchAll();
+    return moveTo(Math.max(rows.size() + 1 + row, 0));
+  }
+
+  boolean relative(int offset) {
+    return moveTo(Math.max(position + offset, 0));
+  }
+
+  boolean last() {
+    fetchAll();
+    return moveTo(rows.size());
+  }
+
+  void afterLast() {
+    fetchAll();
+    moveTo(rows.size() + 1);
+  }
+
+  boolean isBeforeFirst() {
+    return position == 0 && fetch(1);
+  }
+
+  boolean isAfterLast() {
+    fetch(position);
+    return position > rows.size() && rows.size() > 0;
+  }
+
+  boolean isFirst() {
+    return position == 1 && currentRow != null;
+  }
+
+  boolean isLast() {
+    return currentRow != null && !fetch(position + 1);
+  }
+
+  /** Returns the current row number, or 0 if there is no current row. */
+  int getRow() {
+    return currentRow == null ? 0 : position;
+  }
+
+  /** Moves to row {@code row}, reading the stream up to it, and returns true if it exists. */
+  boolean moveTo(int row) {
+    boolean exists = row > 0 && fetch(row);
+    if (exists) {
+      position = row;
+      currentRow = rows.get(row - 1);
+    } else {
+      position = row > 0 ? rows.size() + 1 : 0;
+      currentRow = null;
+    }
+    return exists;
+  }
+
+  // Reads the stream until it has `count` rows or is exhausted, and returns true if it has them.
+  private boolean fetch(int count) {
+    if (rows == null) {
+      rows = new RowStore(stream.getMetadata().getColumns(), memoryLimitBytes);
+    }
+    while (rows.size() < count && !exhausted) {
+      if (maxRows > 0 && rows.size() >= maxRows) {
+        // The remaining rows are not needed.
+        exhausted = true;
+        stream.close();
+      } else if (stream.next()) {
+        rows.add(stream);
+      } else {
+        exhausted = true;
+      }
+    }
+    return rows.size() >= count;
+  }
+
+  private void fetchAll() {
+    fetch(Integer.MAX_VALUE);
+  }
+
+  // Only closes the stream: the rows read so far stay available once the execution ends.
+  @Override
+  public void close() {
+    stream.close();
+  }
+
+  /** Closes the stream and releases the rows. */
+  void release() {
+    close();
+    if (rows != null) {
+      rows.close();
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.protobuf.ByteString;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converters that read the non-null value of a column as a given Java class, for {@code
+ * getObject(int, Class)}.
+ *
+ * <p>Converters are looked up once per column and class, from a table keyed by the type of the
+ * column, so that reading a value is a single call on the underlying reader.
+ */
+final class ValueConverters {
+  /** Reads the value of column {@code index} of the current row. */
+  @FunctionalInterface
+  interface Converter {
+    Object convert(StructReader reader, int index);
+  }
+
+  private static final Map<SqlType.Code, Map<Class<?>, Converter>> CONVERTERS =
+      new EnumMap<>(SqlType.Code.class);
+
+  static {
+    Map<Class<?>, Converter> timestamp = new HashMap<>();
+    timestamp.put(Instant.class, StructReader::getTimestamp);
+    timestamp.put(OffsetDateTime.class, (r, i) -> r.getTimestamp(i).atOffset(ZoneOffset.UTC));
+    timestamp.put(Long.class, (r, i) -> toEpochMicros(r.getTimestamp(i)));
+    timestamp.put(Timestamp.class, (r, i) -> Timestamp.from(r.getTimestamp(i)));
+    CONVERTERS.put(SqlType.Code.TIMESTAMP, timestamp);
+
+    Map<Class<?>, Converter> date = new HashMap<>();
+    date.put(com.google.cloud.Date.class, StructReader::getDate);
+    date.put(LocalDate.class, (r, i) -> toLocalDate(r.getDate(i)));
+    date.put(java.sql.Date.class, (r, i) -> java.sql.Date.valueOf(toLocalDate(r.getDate(i))));
+    CONVERTERS.put(SqlType.Code.DATE, date);
+
+    Map<Class<?>, Converter> int64 = new HashMap<>();
+    int64.put(Long.class, StructReader::getLong);
+    int64.put(Integer.class, (r, i) -> Math.toIntExact(r.getLong(i)));
+    CONVERTERS.put(SqlType.Code.INT64, int64);
+
+    Map<Class<?>, Converter> float64 = new HashMap<>();
+    float64.put(Double.class, StructReader::getDouble);
+    CONVERTERS.put(SqlType.Code.FLOAT64, float64);
+
+    Map<Class<?>, Converter> float32 = new HashMap<>();
+    float32.put(Float.class, StructReader::getFloat);
+    float32.put(Double.class, (r, i) -> (double) r.getFloat(i));
+    CONVERTERS.put(SqlType.Code.FLOAT32, float32);
+
+    Map<Class<?>, Converter> bool = new HashMap<>();
+    bool.put(Boolean.class, StructReader::getBoolean);
+    CONVERTERS.put(SqlType.Code.BOOL, bool);
+
+    Map<Class<?>, Converter> string = new HashMap<>();
+    string.put(String.class, StructReader::getString);
+    CONVERTERS.put(SqlType.Code.STRING, string);
+
+    Map<Class<?>, Converter> bytes = new HashMap<>();
+    bytes.put(ByteString.class, StructReader::getBytes);
+    bytes.put(byte[].class, (r, i) -> r.getBytes(i).toByteArray());
+    CONVERTERS.put(SqlType.Code.BYTES, bytes);
+  }
+
+  private ValueConverters() {}
+
+  /** Returns the converter of values of {@code type} to {@code target}, or null if none. */
+  static Converter of(SqlType<?> type, Class<?> target) {
+    if (type == null) {
+      return null;
+    }
+    switch (type.getCode()) {
+      case ARRAY:
+        return arrayConverter((SqlType.Array<?>) type, target);
+      case STRUCT:
+        if (target == java.sql.Struct.class) {
+          return (r, i) -> new BigtableStruct(r.getStruct(i), (SqlType.Struct) type);
+        }
+        return null;
+      default:
+        Map<Class<?>, Converter> converters = CONVERTERS.get(type.getCode());
+        return converters == null ? null : converters.get(target);
+    }
+  }
+
+  // The converters of ARRAY values depend on their element type.
+  private static Converter arrayConverter(SqlType.Array<?> type, Class<?> target) {
+    SqlType<?> elementType = type.getElementType();
+    SqlType.Code elementCode = elementType == null ? null : elementType.getCode();
+    if (target == java.sql.Array.class) {
+      return (r, i) -> new BigtableArray(elementType, r.getList(i, type));
+    }
+    if (target == long[].class && elementCode == SqlType.Code.INT64) {
+      return (r, i) -> BigtableArray.toLongArray(r.getList(i, type));
+    }
+    if (target == double[].class && elementCode == SqlType.Code.FLOAT64) {
+      return (r, i) -> BigtableArray.toDoubleArray(r.getList(i, type));
+    }
+    return null;
+  }
+
+  /** Returns the microseconds since the epoch of {@code instant}. */
+  static long toEpochMicros(Instant instant) {
+    return Math.addExact(
+        Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+  }
+
+  private static LocalDate toLocalDate(com.google.cloud.Date date) {
+    return LocalDate.of(date.getYear(), date.getMonth(), date.getDayOfMonth());
+  }
+}
@@ -22,19 +22,34 @@ import com.google.auth.Credentials;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
 import com.google.cloud.bigtable.data.v2.BigtableDataSettings;
-import com.google.cloud.bigtable.data.v2.stub.metrics.NoopMetricsProvider;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
 
 public class BigtableClientFactoryImpl implements IBigtableClientFactory {
   private Credentials credentials;
+  // Identifies where the credentials come from so that connections using the same credentials
+  // can share a client. Explicitly provided credentials are identified by the instance itself.
+  private Object credentialsIdentity = "adc";
+  private TransportOptions transportOptions = TransportOptions.fromProperties(new Properties());
+  private MetricsOptions metricsOptions = MetricsOptions.fromProperties(new Properties());
+  // The cached credentials retained by each open client, released when the client is closed.
+  private final Map<BigtableDataClient, GoogleCredentials> retainedCredentials =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+  // The dedicated gRPC executor of each open client, shut down when the client is closed.
+  private final Map<BigtableDataClient, ExecutorService> clientExecutors =
+      Collections.synchronizedMap(new IdentityHashMap<>());
 
   @VisibleForTesting
   static final List<String> SCOPES =
@@ -46,15 +61,20 @@ public class BigtableClientFactoryImpl implements IBigtableClientFactory {
   public BigtableClientFactoryImpl() {}
 
   public BigtableClientFactoryImpl(Properties info) {
+    this.transportOptions = TransportOptions.fromProperties(info);
+    this.metricsOptions = MetricsOptions.fromProperties(info);
     try {
+      // Credentials are parsed once per process and shared, so connecting again with the same
+      // credentials neither reads the key file nor waits for a new access token.
       if (info.containsKey("credential_json")) {
-        this.credentials =
-            createGoogleCredentialsFromJsonFileContent(info.getProperty("credential_json"));
+        String json = info.getProperty("credential_json");
+        this.credentials = CredentialsCache.getInstance().getFromJson(json, SCOPES);
+        this.credentialsIdentity =
+            "json:" + Hashing.sha256().hashString(json, StandardCharsets.UTF_8);
       } else if (info.containsKey("credential_file_path")) {
-        this.credentials =
-            GoogleCredentials.fromStream(
-                    Files.newInputStream(Paths.get(info.getProperty("credential_file_path"))))
-                .createScoped(SCOPES);
+        Path path = Paths.get(info.getProperty("credential_file_path"));
+        this.credentials = CredentialsCache.getInstance().getFromFile(path, SCOPES);
+        this.credentialsIdentity = "file:" + path.toAbsolutePath().normalize();
       }
     } catch (IOException e) {
       throw new IllegalArgumentException("Failed to load credentials", e);
@@ -70,6 +90,12 @@ public class BigtableClientFactoryImpl implements IBigtableClientFactory {
 
   public BigtableClientFactoryImpl(Credentials credentials) {
     this.credentials = credentials;
+    this.credentialsIdentity = credentials;
+  }
+
+  @Override
+  public Object getClientIdentity() {
+    return Arrays.asList(credentialsIdentity, transportOptions, metricsOptions.clientIdentity());
   }
 
   private synchronized Credentials getCredentials() throws IOException {
@@ -79,16 +105,22 @@ public class BigtableClientFactoryImpl implements IBigtableClientFactory {
     return credentials;
   }
 
+  @Override
+  public void prefetchCredentials() throws IOException {
+    getCredentials().getRequestMetadata();
+  }
+
   protected Credentials loadDefaultCredentials() throws IOException {
-    return GoogleCredentials.getApplicationDefault();
+    return CredentialsCache.getInstance().getApplicationDefault();
   }
 
   public BigtableDataClient createBigtableDataClient(
       String projectId, String instanceId, String appProfileId, String universeDomain)
       throws IOException {
+    Credentials clientCredentials = getCredentials();
     BigtableDataSettings.Builder builder =
         BigtableDataSettings.newBuilder()
-            .setCredentialsProvider(FixedCredentialsProvider.create(getCredentials()));
+            .setCredentialsProvider(FixedCredentialsProvider.create(clientCredentials));
 
     builder.setProjectId(projectId).setInstanceId(instanceId);
 
@@ -100,17 +132,50 @@ public class BigtableClientFactoryImpl implements IBigtableClientFactory {
       builder.stubSettings().setUniverseDomain(universeDomain);
     }
 
-    // Disable CSM and internal metrics to avoid OpenTelemetry dependencies which can cause
-    // connection hangs in some environments (e.g. Looker connector).
     builder
         .stubSettings()
-        .setHeaderProvider(FixedHeaderProvider.create("user-agent", "bigtable-jdbc/1.0.0"))
-        .setMetricsProvider(NoopMetricsProvider.INSTANCE);
-
-    // Known issue: BigtableDataClient cannot now whether a connection is established unless
-    // a table name is specified. The check would leverage `sampleRowKeys(tableId)`, which will
-    // throw an exception if connection fails.
-    // For now, a connection will always be "valid" until a query is called.
-    return BigtableDataClient.create(builder.build());
+        .setHeaderProvider(FixedHeaderProvider.create("user-agent", "bigtable-jdbc/1.0.0"));
+
+    ExecutorService executor = transportOptions.applyTo(builder.stubSettings());
+    BigtableDataClient client;
+    try {
+      // CSM and internal metrics stay disabled unless requested, because their OpenTelemetry
+      // dependencies can cause connection hangs in some environments (e.g. Looker connector).
+      metricsOptions.applyTo(builder.stubSettings());
+
+      // Known issue: BigtableDataClient cannot now whether a connection is established unless
+      // a table name is specified. The check would leverage `sampleRowKeys(tableId)`, which will
+      // throw an exception if connection fails.
+      // For now, a connection will always be "valid" until a query is called.
+      client = BigtableDataClient.create(builder.build());
+    } catch (IOException | RuntimeException e) {
+      if (executor != null) {
+        executor.shutdown();
+      }
+      throw e;
+    }
+    if (executor != null) {
+      clientExecutors.put(client, executor);
+    }
+    // Keeps cached credentials refreshed in the background while the client is open.
+    if (credentialsIdentity instanceof String
+        && clientCredentials instanceof GoogleCredentials
+        && CredentialsCache.getInstance()
+            .retain((String) credentialsIdentity, (GoogleCredentials) clientCredentials)) {
+      retainedCredentials.put(client, (GoogleCredentials) clientCredentials);
+    }
+    return client;
+  }
+
+  @Override
+  public void clientClosed(BigtableDataClient client) {
+    GoogleCredentials retained = retainedCredentials.remove(client);
+    if (retained != null) {
+      CredentialsCache.getInstance().release((String) credentialsIdentity, retained);
+    }
+    ExecutorService executor = clientExecutors.remove(client);
+    if (executor != null) {
+      executor.shutdown();
+    }
   }
 }
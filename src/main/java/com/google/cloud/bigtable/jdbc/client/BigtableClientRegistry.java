@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide registry of {@link BigtableDataClient}s shared between connections.
+ *
+ * <p>Clients are keyed by project, instance, app profile, universe domain and the identity
+ * reported by {@link IBigtableClientFactory#getClientIdentity()}. Each {@link #acquire} hands out
+ * a {@link Lease} on the shared client; the client is closed when the last lease is released,
+ * optionally after an idle grace period so that a connection opened shortly afterwards can reuse
+ * the warmed channels.
+ */
+public final class BigtableClientRegistry {
+  private static final BigtableClientRegistry INSTANCE = new BigtableClientRegistry();
+
+  // Guarded by this.
+  private final Map<ClientKey, SharedClient> clients = new HashMap<>();
+  private ScheduledExecutorService idleCloser;
+
+  @VisibleForTesting
+  BigtableClientRegistry() {}
+
+  public static BigtableClientRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns a lease on the client for the given coordinates, creating the client through {@code
+   * factory} if no live client is registered for them.
+   *
+   * @param idleTimeoutMillis how long the client is kept open after its last lease is released. A
+   *     value of zero or less closes it immediately.
+   */
+  public Lease acquire(
+      IBigtableClientFactory factory,
+      String projectId,
+      String instanceId,
+      String appProfileId,
+      String universeDomain,
+      long idleTimeoutMillis)
+      throws IOException {
+    Object identity = factory.getClientIdentity();
+    ClientKey key =
+        new ClientKey(
+            projectId,
+            instanceId,
+            appProfileId,
+            universeDomain,
+            identity != null ? identity : factory);
+
+    SharedClient shared;
+    synchronized (this) {
+      shared = clients.computeIfAbsent(key, SharedClient::new);
+      shared.refCount++;
+      if (shared.pendingClose != null) {
+        shared.pendingClose.cancel(false);
+        shared.pendingClose = null;
+      }
+    }
+
+    try {
+      return new Lease(shared, shared.getOrCreate(factory), idleTimeoutMillis);
+    } catch (IOException | RuntimeException e) {
+      release(shared, 0);
+      throw e;
+    }
+  }
+
+  /** Returns the number of clients currently registered, including those idling before close. */
+  public synchronized int size() {
+    return clients.size();
+  }
+
+  private void release(SharedClient shared, long idleTimeoutMillis) {
+    synchronized (this) {
+      if (--shared.refCount > 0) {
+        return;
+      }
+      if (idleTimeoutMillis > 0 && shared.client != null) {
+        shared.pendingClose =
+            getIdleCloser()
+                .schedule(() -> closeIfIdle(shared), idleTimeoutMillis, TimeUnit.MILLISECONDS);
+        return;
+      }
+      clients.remove(shared.key);
+    }
+    shared.close();
+  }
+
+  private void closeIfIdle(SharedClient shared) {
+    synchronized (this) {
+      if (shared.refCount > 0 || clients.get(shared.key) != shared) {
+        return;
+      }
+      clients.remove(shared.key);
+      shared.pendingClose = null;
+    }
+    shared.close();
+  }
+
+  private synchronized ScheduledExecutorService getIdleCloser() {
+    if (idleCloser == null) {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              r -> {
+                Thread thread = new Thread(r, "bigtable-jdbc-client-idle-closer");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      idleCloser = executor;
+    }
+    return idleCloser;
+  }
+
+  /** A reference-counted handle on a shared client. Closing the lease releases the reference. */
+  public final class Lease implements AutoCloseable {
+    private final SharedClient shared;
+    private final BigtableDataClient client;
+    private final long idleTimeoutMillis;
+    private boolean released = false;
+
+    private Lease(SharedClient shared, BigtableDataClient client, long idleTimeoutMillis) {
+      this.shared = shared;
+      this.client = client;
+      this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public BigtableDataClient getClient() {
+      return client;
+    }
+
+    @Override
+    public void close() {
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+      }
+      release(shared, idleTimeoutMillis);
+    }
+  }
+
+  private static final class SharedClient {
+    private final ClientKey key;
+    // refCount and pendingClose are guarded by the registry.
+    private int refCount = 0;
+    private ScheduledFuture<?> pendingClose;
+    private volatile BigtableDataClient client;
+    // The factory that created client.
+    private IBigtableClientFactory factory;
+
+    private SharedClient(ClientKey key) {
+      this.key = key;
+    }
+
+    private synchronized BigtableDataClient getOrCreate(IBigtableClientFactory factory)
+        throws IOException {
+      if (client == null) {
+        client =
+            factory.createBigtableDataClient(
+                key.projectId, key.instanceId, key.appProfileId, key.universeDomain);
+        this.factory = factory;
+      }
+      return client;
+    }
+
+    private synchronized void close() {
+      if (client != null) {
+        try {
+          client.close();
+        } finally {
+          factory.clientClosed(client);
+          client = null;
+          factory = null;
+        }
+      }
+    }
+  }
+
+  private static final class ClientKey {
+    private final String projectId;
+    private final String instanceId;
+    private final String appProfileId;
+    private final String universeDomain;
+    private final Object identity;
+
+    private ClientKey(
+        String projectId,
+        String instanceId,
+        String appProfileId,
+        String universeDomain,
+        Object identity) {
+      this.projectId = projectId;
+      this.instanceId = instanceId;
+      this.appProfileId = appProfileId;
+      this.universeDomain = universeDomain;
+      this.identity = identity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ClientKey)) {
+        return false;
+      }
+      ClientKey that = (ClientKey) o;
+      return Objects.equals(projectId, that.projectId)
+          && Objects.equals(instanceId, that.instanceId)
+          && Objects.equals(appProfileId, that.appProfileId)
+          && Objects.equals(universeDomain, that.universeDomain)
+          && Objects.equals(identity, that.identity);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(projectId, instanceId, appProfileId, universeDomain, identity);
+    }
+  }
+}
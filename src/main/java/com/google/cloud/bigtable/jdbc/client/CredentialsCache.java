@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide cache of parsed credentials, keyed by credential file path, JSON digest or
+ * application default credentials.
+ *
+ * <p>While clients use them, cached credentials are refreshed in the background well before their
+ * access token expires, so that requests find a valid token instead of blocking on an OAuth
+ * refresh. Clients are counted through {@link #retain} and {@link #release}; when the last one is
+ * closed, the background refresh stops and the credentials are dropped from the cache.
+ */
+public final class CredentialsCache {
+  private static final CredentialsCache INSTANCE = new CredentialsCache(createRefresher());
+
+  // Tokens are refreshed this long before they expire. The auth library only starts its own
+  // refresh within a few minutes of expiry, so requests never reach that point.
+  @VisibleForTesting static final long REFRESH_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  // Used when a token has no expiration time.
+  @VisibleForTesting
+  static final long DEFAULT_REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+  @VisibleForTesting static final long RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  // After this many refreshes in a row fail, the background refresh stops and the auth library
+  // refreshes the token when a request needs it.
+  @VisibleForTesting static final int MAX_CONSECUTIVE_FAILURES = 5;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  // Loads in progress, so that concurrent callers for the same key share a single load.
+  private final ConcurrentMap<String, CompletableFuture<GoogleCredentials>> loading =
+      new ConcurrentHashMap<>();
+  private final ScheduledExecutorService refresher;
+
+  @VisibleForTesting
+  CredentialsCache(ScheduledExecutorService refresher) {
+    this.refresher = refresher;
+  }
+
+  public static CredentialsCache getInstance() {
+    return INSTANCE;
+  }
+
+  private static ScheduledExecutorService createRefresher() {
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            r -> {
+              Thread thread = new Thread(r, "bigtable-jdbc-credentials-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /** Returns the credentials in the key file at {@code path}, reading the file on first use. */
+  public GoogleCredentials getFromFile(Path path, Collection<String> scopes) throws IOException {
+    Path normalized = path.toAbsolutePath().normalize();
+    return get(
+        "file:" + normalized,
+        () -> {
+          try (InputStream in = Files.newInputStream(normalized)) {
+            return GoogleCredentials.fromStream(in).createScoped(scopes);
+          }
+        });
+  }
+
+  /** Returns the credentials in the key file content {@code json}, parsing it on first use. */
+  public GoogleCredentials getFromJson(String json, Collection<String> scopes) throws IOException {
+    return get(
+        "json:" + Hashing.sha256().hashString(json, StandardCharsets.UTF_8),
+        () ->
+            GoogleCredentials.fromStream(
+                    new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                .createScoped(scopes));
+  }
+
+  /** Returns the application default credentials, looking them up on first use. */
+  public GoogleCredentials getApplicationDefault() throws IOException {
+    return get("adc", GoogleCredentials::getApplicationDefault);
+  }
+
+  /** Returns the number of cached credentials. */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Records that a client uses {@code credentials}, cached under {@code key}. The first client
+   * starts the background refresh.
+   *
+   * @return false if {@code credentials} are no longer cached under {@code key}, in which case
+   *     {@link #release} must not be called
+   */
+  synchronized boolean retain(String key, GoogleCredentials credentials) {
+    Entry entry = entries.get(key);
+    if (entry == null || entry.credentials != credentials) {
+      return false;
+    }
+    if (entry.refCount++ == 0) {
+      entry.consecutiveFailures = 0;
+      // Fetch the first token in the background right away.
+      entry.nextRefresh =
+          refresher.schedule(() -> refreshAndReschedule(entry), 0, TimeUnit.MILLISECONDS);
+    }
+    return true;
+  }
+
+  /**
+   * Records that a client retained through {@link #retain} was closed. When no client uses the
+   * credentials anymore, their background refresh is cancelled and they are dropped.
+   */
+  synchronized void release(String key, GoogleCredentials credentials) {
+    Entry entry = entries.get(key);
+    if (entry == null || entry.credentials != credentials || --entry.refCount > 0) {
+      return;
+    }
+    entries.remove(key);
+    if (entry.nextRefresh != null) {
+      entry.nextRefresh.cancel(false);
+      entry.nextRefresh = null;
+    }
+  }
+
+  /**
+   * Returns the credentials cached under {@code key}, loading them on first use. The loader runs
+   * outside the cache monitor so that a slow lookup only blocks callers waiting for the same key;
+   * concurrent callers for that key share a single load.
+   */
+  @VisibleForTesting
+  GoogleCredentials get(String key, CredentialsLoader loader) throws IOException {
+    Entry cached = entries.get(key);
+    if (cached != null) {
+      return cached.credentials;
+    }
+    CompletableFuture<GoogleCredentials> created = new CompletableFuture<>();
+    CompletableFuture<GoogleCredentials> pending = loading.putIfAbsent(key, created);
+    if (pending != null) {
+      return await(pending);
+    }
+    try {
+      GoogleCredentials loaded;
+      cached = entries.get(key);
+      if (cached != null) {
+        // Another caller finished loading between the lookup and the registration of the load.
+        loaded = cached.credentials;
+      } else {
+        loaded = loader.load();
+        synchronized (this) {
+          entries.put(key, new Entry(loaded));
+        }
+      }
+      created.complete(loaded);
+      return loaded;
+    } catch (IOException | RuntimeException e) {
+      created.completeExceptionally(e);
+      throw e;
+    } finally {
+      loading.remove(key, created);
+    }
+  }
+
+  private static GoogleCredentials await(CompletableFuture<GoogleCredentials> pending)
+      throws IOException {
+    try {
+      return pending.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while loading credentials");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause.getMessage(), cause);
+    }
+  }
+
+  /** Refreshes the token of {@code entry} and schedules the next refresh while it is retained. */
+  @VisibleForTesting
+  void refreshAndReschedule(Entry entry) {
+    long delayMillis;
+    boolean failed = false;
+    try {
+      entry.credentials.refresh();
+      delayMillis =
+          nextRefreshDelayMillis(entry.credentials.getAccessToken(), System.currentTimeMillis());
+    } catch (IOException | RuntimeException e) {
+      delayMillis = RETRY_DELAY_MILLIS;
+      failed = true;
+    }
+    synchronized (this) {
+      entry.consecutiveFailures = failed ? entry.consecutiveFailures + 1 : 0;
+      if (entry.refCount == 0 || entry.consecutiveFailures >= MAX_CONSECUTIVE_FAILURES) {
+        entry.nextRefresh = null;
+        return;
+      }
+      entry.nextRefresh =
+          refresher.schedule(
+              () -> refreshAndReschedule(entry), delayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @VisibleForTesting
+  static long nextRefreshDelayMillis(AccessToken token, long nowMillis) {
+    Date expiration = token == null ? null : token.getExpirationTime();
+    if (expiration == null) {
+      return DEFAULT_REFRESH_INTERVAL_MILLIS;
+    }
+    long untilExpiry = expiration.getTime() - nowMillis;
+    // Tokens shorter-lived than twice the margin are refreshed at half their lifetime.
+    long delay = Math.max(untilExpiry - REFRESH_MARGIN_MILLIS, untilExpiry / 2);
+    return Math.max(delay, RETRY_DELAY_MILLIS);
+  }
+
+  @VisibleForTesting
+  interface CredentialsLoader {
+    GoogleCredentials load() throws IOException;
+  }
+
+  /** Cached credentials and the state of their background refresh, guarded by the cache. */
+  @VisibleForTesting
+  static final class Entry {
+    private final GoogleCredentials credentials;
+    private int refCount = 0;
+    private int consecutiveFailures = 0;
+    private ScheduledFuture<?> nextRefresh;
+
+    private Entry(GoogleCredentials credentials) {
+      this.credentials = credentials;
+    }
+  }
+}
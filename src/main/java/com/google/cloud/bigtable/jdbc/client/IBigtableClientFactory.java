@@ -24,4 +24,25 @@ public interface IBigtableClientFactory {
   BigtableDataClient createBigtableDataClient(
       String projectId, String instanceId, String appProfileId, String universeDomain)
       throws IOException;
+
+  /**
+   * Returns a value identifying the credentials and settings this factory applies to the clients
+   * it creates. Factories reporting equal identities may share a client through {@link
+   * BigtableClientRegistry}. The default of {@code null} limits sharing to this factory instance.
+   */
+  default Object getClientIdentity() {
+    return null;
+  }
+
+  /**
+   * Fetches the auth token used by the clients of this factory ahead of the first request. The
+   * default does nothing.
+   */
+  default void prefetchCredentials() throws IOException {}
+
+  /**
+   * Called by {@link BigtableClientRegistry} after it closed {@code client}, which this factory
+   * created, so that the factory can release what the client used. The default does nothing.
+   */
+  default void clientClosed(BigtableDataClient client) {}
 }
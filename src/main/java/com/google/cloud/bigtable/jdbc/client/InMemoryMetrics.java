@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall.SimpleForwardingClientCall;
+import io.grpc.ForwardingClientCallListener.SimpleForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight client-side metrics recorded in memory, enabled with {@code
+ * metrics_provider=in_memory}.
+ *
+ * <p>Every RPC attempt made by the Bigtable clients of the process is recorded per gRPC method:
+ * the number of attempts and their status codes, the time to the first response, and the total
+ * attempt latency. Retries show up as additional attempts, and connectivity errors as {@code
+ * UNAVAILABLE} statuses. No dependencies beyond gRPC are needed.
+ */
+public final class InMemoryMetrics {
+  private static final InMemoryMetrics INSTANCE = new InMemoryMetrics();
+
+  private final ConcurrentMap<String, MethodRecorder> methods = new ConcurrentHashMap<>();
+
+  @VisibleForTesting
+  InMemoryMetrics() {}
+
+  /** Returns the metrics shared by all clients of the process. */
+  public static InMemoryMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /** Returns an interceptor that records the RPCs made through a channel. */
+  ClientInterceptor newInterceptor() {
+    return new RecordingInterceptor();
+  }
+
+  /** Returns a snapshot of the recorded metrics, keyed by full gRPC method name. */
+  public Map<String, MethodStats> snapshot() {
+    Map<String, MethodStats> snapshot = new TreeMap<>();
+    for (Map.Entry<String, MethodRecorder> entry : methods.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().snapshot());
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /** Discards all recorded metrics. */
+  public void reset() {
+    methods.clear();
+  }
+
+  @VisibleForTesting
+  void recordFirstResponse(String method, long latencyNanos) {
+    recorder(method).recordFirstResponse(latencyNanos);
+  }
+
+  @VisibleForTesting
+  void recordAttempt(String method, Status.Code code, long latencyNanos) {
+    recorder(method).recordAttempt(code, latencyNanos);
+  }
+
+  private MethodRecorder recorder(String method) {
+    return methods.computeIfAbsent(method, m -> new MethodRecorder());
+  }
+
+  /** Metrics of a single gRPC method. */
+  public static final class MethodStats {
+    private final long attempts;
+    private final long failures;
+    private final Map<String, Long> statusCounts;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+    private final long firstResponses;
+    private final long totalFirstResponseNanos;
+
+    private MethodStats(
+        long attempts,
+        long failures,
+        Map<String, Long> statusCounts,
+        long totalLatencyNanos,
+        long maxLatencyNanos,
+        long firstResponses,
+        long totalFirstResponseNanos) {
+      this.attempts = attempts;
+      this.failures = failures;
+      this.statusCounts = statusCounts;
+      this.totalLatencyNanos = totalLatencyNanos;
+      this.maxLatencyNanos = maxLatencyNanos;
+      this.firstResponses = firstResponses;
+      this.totalFirstResponseNanos = totalFirstResponseNanos;
+    }
+
+    /** Returns the number of completed attempts, including retries. */
+    public long getAttempts() {
+      return attempts;
+    }
+
+    /** Returns the number of attempts that completed with a status other than {@code OK}. */
+    public long getFailures() {
+      return failures;
+    }
+
+    /** Returns the number of completed attempts per gRPC status code name. */
+    public Map<String, Long> getStatusCounts() {
+      return statusCounts;
+    }
+
+    /** Returns the mean latency of the completed attempts, in nanoseconds. */
+    public long getMeanLatencyNanos() {
+      return attempts == 0 ? 0 : totalLatencyNanos / attempts;
+    }
+
+    /** Returns the highest latency of a completed attempt, in nanoseconds. */
+    public long getMaxLatencyNanos() {
+      return maxLatencyNanos;
+    }
+
+    /** Returns the mean time from the start of an attempt to its first response, in nanoseconds. */
+    public long getMeanFirstResponseNanos() {
+      return firstResponses == 0 ? 0 : totalFirstResponseNanos / firstResponses;
+    }
+
+    @Override
+    public String toString() {
+      return "MethodStats{attempts="
+          + attempts
+          + ", failures="
+          + failures
+          + ", statusCounts="
+          + statusCounts
+          + ", meanLatencyNanos="
+          + getMeanLatencyNanos()
+          + ", maxLatencyNanos="
+          + maxLatencyNanos
+          + ", meanFirstResponseNanos="
+          + getMeanFirstResponseNanos()
+          + "}";
+    }
+  }
+
+  private static final class MethodRecorder {
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final ConcurrentMap<Status.Code, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder firstResponses = new LongAdder();
+    private final LongAdder totalFirstResponseNanos = new LongAdder();
+
+    void recordFirstResponse(long latencyNanos) {
+      firstResponses.increment();
+      totalFirstResponseNanos.add(latencyNanos);
+    }
+
+    void recordAttempt(Status.Code code, long latencyNanos) {
+      attempts.increment();
+      if (code != Status.Code.OK) {
+        failures.increment();
+      }
+      statusCounts.computeIfAbsent(code, c -> new LongAdder()).increment();
+      totalLatencyNanos.add(latencyNanos);
+      maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    MethodStats snapshot() {
+      Map<String, Long> counts = new TreeMap<>();
+      for (Map.Entry<Status.Code, LongAdder> entry : statusCounts.entrySet()) {
+        counts.put(entry.getKey().name(), entry.getValue().sum());
+      }
+      return new MethodStats(
+          attempts.sum(),
+          failures.sum(),
+          Collections.unmodifiableMap(counts),
+          totalLatencyNanos.sum(),
+          maxLatencyNanos.get(),
+          firstResponses.sum(),
+          totalFirstResponseNanos.sum());
+    }
+  }
+
+  private final class RecordingInterceptor implements ClientInterceptor {
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+        MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+      String methodName = method.getFullMethodName();
+      return new SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+          long startNanos = System.nanoTime();
+          // gRPC delivers the callbacks of a call one at a time, so no synchronization is needed.
+          Listener<RespT> recordingListener =
+              new SimpleForwardingClientCallListener<RespT>(responseListener) {
+                private boolean awaitingFirstResponse = true;
+
+                @Override
+                public void onMessage(RespT message) {
+                  if (awaitingFirstResponse) {
+                    awaitingFirstResponse = false;
+                    recordFirstResponse(methodName, System.nanoTime() - startNanos);
+                  }
+                  super.onMessage(message);
+                }
+
+                @Override
+                public void onClose(Status status, Metadata trailers) {
+                  recordAttempt(methodName, status.getCode(), System.nanoTime() - startNanos);
+                  super.onClose(status, trailers);
+                }
+              };
+          super.start(recordingListener, headers);
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.cloud.bigtable.data.v2.stub.EnhancedBigtableStubSettings;
+import com.google.cloud.bigtable.data.v2.stub.metrics.MetricsProvider;
+import com.google.cloud.bigtable.data.v2.stub.metrics.NoopMetricsProvider;
+import com.google.cloud.bigtable.jdbc.util.ConnectionProperty;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The client-side metrics settings parsed from the connection properties.
+ *
+ * <p>Metrics are disabled by default. The OpenTelemetry based metrics of the Bigtable client can
+ * hang while initializing in some environments, so a custom provider is loaded on a background
+ * thread once per process, and creating a client waits for it for a bounded time only.
+ */
+final class MetricsOptions {
+  private static final Logger LOG = Logger.getLogger(MetricsOptions.class.getName());
+
+  static final String NONE = "none";
+  static final String IN_MEMORY = "in_memory";
+
+  // Custom providers by class name, shared by all clients of the process.
+  private static final ConcurrentMap<String, CompletableFuture<MetricsProvider>> CUSTOM_PROVIDERS =
+      new ConcurrentHashMap<>();
+
+  private static final Executor LOADER =
+      r -> {
+        Thread thread = new Thread(r, "bigtable-jdbc-metrics-init");
+        thread.setDaemon(true);
+        thread.start();
+      };
+
+  private final String provider;
+  private final long initTimeoutMillis;
+
+  private MetricsOptions(String provider, long initTimeoutMillis) {
+    this.provider = provider;
+    this.initTimeoutMillis = initTimeoutMillis;
+  }
+
+  /**
+   * Parses the metrics options in {@code properties}. Loading a custom provider starts right away
+   * in the background.
+   *
+   * @throws IllegalArgumentException if an option has an invalid value.
+   */
+  static MetricsOptions fromProperties(Properties properties) {
+    String provider = ConnectionProperty.METRICS_PROVIDER.get(properties).trim();
+    if (provider.isEmpty()) {
+      throw invalidValue(ConnectionProperty.METRICS_PROVIDER, provider);
+    }
+    String timeout = ConnectionProperty.METRICS_INIT_TIMEOUT_MS.get(properties);
+    long initTimeoutMillis;
+    try {
+      initTimeoutMillis = Long.parseLong(timeout.trim());
+    } catch (NumberFormatException e) {
+      throw invalidValue(ConnectionProperty.METRICS_INIT_TIMEOUT_MS, timeout);
+    }
+    if (initTimeoutMillis < 0) {
+      throw invalidValue(ConnectionProperty.METRICS_INIT_TIMEOUT_MS, timeout);
+    }
+    if (!provider.equals(NONE) && !provider.equals(IN_MEMORY)) {
+      loadCustomProvider(provider);
+    }
+    return new MetricsOptions(provider, initTimeoutMillis);
+  }
+
+  /**
+   * Returns a value identifying the metrics of the clients created with these options right now. A
+   * custom provider that is still loading is told apart from the loaded one: clients created
+   * meanwhile may fall back to no metrics, and must not be shared with connections made once it is
+   * loaded.
+   */
+  Object clientIdentity() {
+    if (provider.equals(NONE)
+        || provider.equals(IN_MEMORY)
+        || loadCustomProvider(provider).isDone()) {
+      return this;
+    }
+    return Arrays.asList(this, "loading");
+  }
+
+  /** Sets the metrics provider of {@code stubSettings} and installs in-memory recording. */
+  void applyTo(EnhancedBigtableStubSettings.Builder stubSettings) {
+    if (provider.equals(NONE)) {
+      stubSettings.setMetricsProvider(NoopMetricsProvider.INSTANCE);
+    } else if (provider.equals(IN_MEMORY)) {
+      stubSettings.setMetricsProvider(NoopMetricsProvider.INSTANCE);
+      InstantiatingGrpcChannelProvider.Builder transport =
+          TransportOptions.transportProviderBuilder(stubSettings);
+      TransportOptions.addInterceptor(transport, InMemoryMetrics.getInstance().newInterceptor());
+      stubSettings.setTransportChannelProvider(transport.build());
+    } else {
+      stubSettings.setMetricsProvider(awaitCustomProvider());
+    }
+  }
+
+  private MetricsProvider awaitCustomProvider() {
+    try {
+      return loadCustomProvider(provider).get(initTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOG.warning(
+          "Metrics provider "
+              + provider
+              + " was not ready after "
+              + initTimeoutMillis
+              + " ms; the client is created without metrics.");
+      return NoopMetricsProvider.INSTANCE;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return NoopMetricsProvider.INSTANCE;
+    } catch (ExecutionException e) {
+      throw new IllegalArgumentException(
+          "Invalid value for " + ConnectionProperty.METRICS_PROVIDER.getKey() + ": " + provider,
+          e.getCause());
+    }
+  }
+
+  private static CompletableFuture<MetricsProvider> loadCustomProvider(String className) {
+    return CUSTOM_PROVIDERS.computeIfAbsent(
+        className,
+        name -> {
+          CompletableFuture<MetricsProvider> future =
+              CompletableFuture.supplyAsync(() -> instantiate(name), LOADER);
+          future.whenComplete(
+              (p, e) -> {
+                if (e != null) {
+                  LOG.log(Level.WARNING, "Failed to load metrics provider " + name, e);
+                }
+              });
+          return future;
+        });
+  }
+
+  /**
+   * Creates the provider named by {@code className}, which must either implement {@link
+   * MetricsProvider} or {@code Supplier<MetricsProvider>} and have a public no-argument
+   * constructor.
+   */
+  @VisibleForTesting
+  static MetricsProvider instantiate(String className) {
+    Object instance;
+    try {
+      ClassLoader loader = Thread.currentThread().getContextClassLoader();
+      if (loader == null) {
+        loader = MetricsOptions.class.getClassLoader();
+      }
+      instance = Class.forName(className, true, loader).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      throw new IllegalArgumentException("Cannot instantiate " + className, e);
+    }
+    if (instance instanceof Supplier) {
+      instance = ((Supplier<?>) instance).get();
+    }
+    if (!(instance instanceof MetricsProvider)) {
+      throw new IllegalArgumentException(
+          className + " is neither a MetricsProvider nor a Supplier<MetricsProvider>");
+    }
+    return (MetricsProvider) instance;
+  }
+
+  private static IllegalArgumentException invalidValue(ConnectionProperty property, String value) {
+    return new IllegalArgumentException(
+        "Invalid value for " + property.getKey() + ": " + value);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof MetricsOptions)) {
+      return false;
+    }
+    return provider.equals(((MetricsOptions) o).provider);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(provider);
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import com.google.api.core.ApiFunction;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.api.gax.rpc.TransportChannelProvider;
+import com.google.cloud.bigtable.data.v2.stub.EnhancedBigtableStubSettings;
+import com.google.cloud.bigtable.jdbc.util.ConnectionProperty;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC transport settings parsed from the connection properties. Unset options keep the defaults
+ * of the Bigtable client.
+ */
+public final class TransportOptions {
+  private static final String COMPRESSION_NONE = "none";
+  private static final String COMPRESSION_GZIP = "gzip";
+
+  private final Integer channelPoolSize;
+  private final Long keepAliveTimeMillis;
+  private final Long keepAliveTimeoutMillis;
+  private final Integer maxInboundMessageSize;
+  private final String messageCompression;
+  private final Boolean attemptDirectPath;
+  private final Integer executorThreads;
+
+  private TransportOptions(
+      Integer channelPoolSize,
+      Long keepAliveTimeMillis,
+      Long keepAliveTimeoutMillis,
+      Integer maxInboundMessageSize,
+      String messageCompression,
+      Boolean attemptDirectPath,
+      Integer executorThreads) {
+    this.channelPoolSize = channelPoolSize;
+    this.keepAliveTimeMillis = keepAliveTimeMillis;
+    this.keepAliveTimeoutMillis = keepAliveTimeoutMillis;
+    this.maxInboundMessageSize = maxInboundMessageSize;
+    this.messageCompression = messageCompression;
+    this.attemptDirectPath = attemptDirectPath;
+    this.executorThreads = executorThreads;
+  }
+
+  /**
+   * Parses and validates the transport options in {@code properties}.
+   *
+   * @throws IllegalArgumentException if an option has an invalid value.
+   */
+  public static TransportOptions fromProperties(Properties properties) {
+    Integer channelPoolSize = parsePositiveInt(properties, ConnectionProperty.CHANNEL_POOL_SIZE);
+    Long keepAliveTime = parsePositiveLong(properties, ConnectionProperty.KEEPALIVE_TIME_MS);
+    Long keepAliveTimeout = parsePositiveLong(properties, ConnectionProperty.KEEPALIVE_TIMEOUT_MS);
+    Integer maxInboundMessageSize =
+        parsePositiveInt(properties, ConnectionProperty.MAX_INBOUND_MESSAGE_SIZE);
+    Integer executorThreads = parsePositiveInt(properties, ConnectionProperty.EXECUTOR_THREADS);
+
+    String compression =
+        ConnectionProperty.MESSAGE_COMPRESSION.get(properties).trim().toLowerCase(Locale.ROOT);
+    if (!compression.equals(COMPRESSION_NONE) && !compression.equals(COMPRESSION_GZIP)) {
+      throw invalidValue(ConnectionProperty.MESSAGE_COMPRESSION, compression);
+    }
+
+    Boolean attemptDirectPath = null;
+    String directPath = ConnectionProperty.ATTEMPT_DIRECT_PATH.get(properties);
+    if (directPath != null) {
+      if (directPath.equalsIgnoreCase("true")) {
+        attemptDirectPath = true;
+      } else if (directPath.equalsIgnoreCase("false")) {
+        attemptDirectPath = false;
+      } else {
+        throw invalidValue(ConnectionProperty.ATTEMPT_DIRECT_PATH, directPath);
+      }
+    }
+
+    return new TransportOptions(
+        channelPoolSize,
+        keepAliveTime,
+        keepAliveTimeout,
+        maxInboundMessageSize,
+        compression,
+        attemptDirectPath,
+        executorThreads);
+  }
+
+  /** Returns true if no option differs from the client defaults. */
+  public boolean isDefault() {
+    return channelPoolSize == null
+        && keepAliveTimeMillis == null
+        && keepAliveTimeoutMillis == null
+        && maxInboundMessageSize == null
+        && messageCompression.equals(COMPRESSION_NONE)
+        && attemptDirectPath == null
+        && executorThreads == null;
+  }
+
+  /**
+   * Replaces the transport channel provider of {@code stubSettings} with one using the options.
+   *
+   * @return the dedicated executor created for {@code executor_threads}, which the caller must
+   *     shut down once the client built from {@code stubSettings} is closed, or null if there is
+   *     none
+   */
+  public ExecutorService applyTo(EnhancedBigtableStubSettings.Builder stubSettings) {
+    if (isDefault()) {
+      return null;
+    }
+    InstantiatingGrpcChannelProvider.Builder transport = transportProviderBuilder(stubSettings);
+
+    if (channelPoolSize != null) {
+      transport.setChannelPoolSettings(ChannelPoolSettings.staticallySized(channelPoolSize));
+    }
+    if (keepAliveTimeMillis != null) {
+      transport.setKeepAliveTimeDuration(Duration.ofMillis(keepAliveTimeMillis));
+    }
+    if (keepAliveTimeoutMillis != null) {
+      transport.setKeepAliveTimeoutDuration(Duration.ofMillis(keepAliveTimeoutMillis));
+    }
+    if (maxInboundMessageSize != null) {
+      transport.setMaxInboundMessageSize(maxInboundMessageSize);
+    }
+    if (attemptDirectPath != null) {
+      transport.setAttemptDirectPath(attemptDirectPath);
+    }
+    ExecutorService executor = null;
+    if (executorThreads != null) {
+      executor = createExecutor(executorThreads);
+      transport.setExecutor(executor);
+    }
+    if (messageCompression.equals(COMPRESSION_GZIP)) {
+      addInterceptor(transport, new CompressionInterceptor(COMPRESSION_GZIP));
+    }
+    stubSettings.setTransportChannelProvider(transport.build());
+    return executor;
+  }
+
+  /** Returns a builder of the current transport channel provider of {@code stubSettings}. */
+  static InstantiatingGrpcChannelProvider.Builder transportProviderBuilder(
+      EnhancedBigtableStubSettings.Builder stubSettings) {
+    TransportChannelProvider current = stubSettings.getTransportChannelProvider();
+    return current instanceof InstantiatingGrpcChannelProvider
+        ? ((InstantiatingGrpcChannelProvider) current).toBuilder()
+        : EnhancedBigtableStubSettings.defaultGrpcTransportProviderBuilder();
+  }
+
+  /** Adds {@code interceptor} to the channels created by {@code transport}. */
+  static void addInterceptor(
+      InstantiatingGrpcChannelProvider.Builder transport, ClientInterceptor interceptor) {
+    ApiFunction<ManagedChannelBuilder, ManagedChannelBuilder> configurator =
+        transport.getChannelConfigurator();
+    transport.setChannelConfigurator(
+        channelBuilder -> {
+          ManagedChannelBuilder configured =
+              configurator == null ? channelBuilder : configurator.apply(channelBuilder);
+          return configured.intercept(interceptor);
+        });
+  }
+
+  // Core threads time out so that an idle client does not keep them alive.
+  private static ExecutorService createExecutor(int threads) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+              Thread thread =
+                  new Thread(r, "bigtable-jdbc-grpc-executor-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static Integer parsePositiveInt(Properties properties, ConnectionProperty property) {
+    Long value = parsePositiveLong(properties, property);
+    if (value == null) {
+      return null;
+    }
+    if (value > Integer.MAX_VALUE) {
+      throw invalidValue(property, value.toString());
+    }
+    return value.intValue();
+  }
+
+  private static Long parsePositiveLong(Properties properties, ConnectionProperty property) {
+    String value = property.get(properties);
+    if (value == null) {
+      return null;
+    }
+    long parsed;
+    try {
+      parsed = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw invalidValue(property, value);
+    }
+    if (parsed <= 0) {
+      throw invalidValue(property, value);
+    }
+    return parsed;
+  }
+
+  private static IllegalArgumentException invalidValue(ConnectionProperty property, String value) {
+    return new IllegalArgumentException(
+        "Invalid value for " + property.getKey() + ": " + value);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TransportOptions)) {
+      return false;
+    }
+    TransportOptions that = (TransportOptions) o;
+    return Objects.equals(channelPoolSize, that.channelPoolSize)
+        && Objects.equals(keepAliveTimeMillis, that.keepAliveTimeMillis)
+        && Objects.equals(keepAliveTimeoutMillis, that.keepAliveTimeoutMillis)
+        && Objects.equals(maxInboundMessageSize, that.maxInboundMessageSize)
+        && Objects.equals(messageCompression, that.messageCompression)
+        && Objects.equals(attemptDirectPath, that.attemptDirectPath)
+        && Objects.equals(executorThreads, that.executorThreads);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        channelPoolSize,
+        keepAliveTimeMillis,
+        keepAliveTimeoutMillis,
+        maxInboundMessageSize,
+        messageCompression,
+        attemptDirectPath,
+        executorThreads);
+  }
+
+  /** Compresses outgoing messages with the given gRPC compressor. */
+  private static final class CompressionInterceptor implements ClientInterceptor {
+    private final String compressor;
+
+    private CompressionInterceptor(String compressor) {
+      this.compressor = compressor;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+        MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+      return next.newCall(method, callOptions.withCompression(compressor));
+    }
+  }
+}
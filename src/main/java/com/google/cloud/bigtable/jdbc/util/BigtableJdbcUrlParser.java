@@ -17,8 +17,10 @@
 package com.google.cloud.bigtable.jdbc.util;
 
 import com.google.common.collect.ImmutableMap;
+import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLDecoder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,7 +63,8 @@ public class BigtableJdbcUrlParser {
               JDBC_SCHEME, jdbcUri.getScheme()));
     }
 
-    String schemeSpecificPart = jdbcUri.getSchemeSpecificPart();
+    // Kept encoded, so that decoded query values are not parsed again.
+    String schemeSpecificPart = jdbcUri.getRawSchemeSpecificPart();
     // schemeSpecificPart is never null
     if (!schemeSpecificPart.startsWith(BIGTABLE_SSP_PREFIX)) {
       throw new IllegalArgumentException(
@@ -103,7 +106,8 @@ public class BigtableJdbcUrlParser {
     String instanceId = matcher.group(2);
 
     // Extract query parameters
-    ImmutableMap<String, String> queryParameters = parseQueryParameters(internalUri.getQuery());
+    ImmutableMap<String, String> queryParameters =
+        parseQueryParameters(internalUri.getRawQuery());
 
     return new BigtableJdbcUrl(projectId, instanceId, queryParameters);
   }
@@ -116,8 +120,8 @@ public class BigtableJdbcUrlParser {
     for (String param : query.split("&")) {
       String[] pair = param.split("=", MAX_QUERY_PARAMS);
       if (pair.length > 0) {
-        String key = pair[0];
-        String value = pair.length == MAX_QUERY_PARAMS ? pair[1] : "";
+        String key = decode(pair[0]);
+        String value = pair.length == MAX_QUERY_PARAMS ? decode(pair[1]) : "";
         try {
           builder.put(key, value);
         } catch (IllegalArgumentException e) {
@@ -129,6 +133,15 @@ public class BigtableJdbcUrlParser {
     return builder.build();
   }
 
+  // Decodes the %-escapes of a query key or value; '+' is kept as is.
+  private static String decode(String encoded) {
+    try {
+      return URLDecoder.decode(encoded.replace("+", "%2B"), "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   /** Data class to hold the parsed components of the Bigtable JDBC URL. */
   public static class BigtableJdbcUrl {
     private final String projectId;
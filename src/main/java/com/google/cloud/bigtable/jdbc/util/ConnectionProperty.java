@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.util;
+
+import java.sql.DriverPropertyInfo;
+import java.util.Properties;
+
+/** The connection properties accepted in the JDBC URL or the connection {@link Properties}. */
+public enum ConnectionProperty {
+  APP_PROFILE_ID("app_profile_id", "The Bigtable app profile ID to use."),
+  UNIVERSE_DOMAIN("universe_domain", "The universe domain for the Bigtable service."),
+  CREDENTIAL_FILE_PATH(
+      "credential_file_path", "Local path to a service account JSON key file."),
+  CREDENTIAL_JSON("credential_json", "The full JSON content of a service account key."),
+  CLIENT_IDLE_TIMEOUT_MS(
+      "client_idle_timeout_ms",
+      "How long a shared client is kept open after its last connection closes.",
+      "0"),
+  CONNECTION_VALIDATION(
+      "connection_validation",
+      "How a new connection checks that Bigtable is reachable.",
+      "sync",
+      "sync",
+      "async",
+      "none"),
+  VALIDATION_TTL_MS(
+      "validation_ttl_ms",
+      "How long a successful query is reused as proof of liveness by isValid.",
+      "5000"),
+  QUERY_TIMEOUT_SECONDS(
+      "query_timeout_seconds",
+      "The default query timeout of the statements of a connection, in seconds. 0 means none.",
+      "0"),
+  PREPARED_QUERY_CACHE_SIZE(
+      "prepared_query_cache_size",
+      "The maximum number of prepared queries cached per connection. 0 disables the cache.",
+      "256"),
+  PREPARED_QUERY_CACHE_MAX_BYTES(
+      "prepared_query_cache_max_bytes",
+      "The estimated memory the prepared queries cached per connection may use, in bytes.",
+      "4194304"),
+  PREPARED_QUERY_REFRESH_MS(
+      "prepared_query_refresh_ms",
+      "The age after which a cached prepared query is prepared again in the background when it is"
+          + " used, in milliseconds. 0 disables refreshing.",
+      "1800000"),
+  AUTO_PARAMETERIZE(
+      "auto_parameterize",
+      "Whether plain Statement queries have their literals replaced by parameters, so that queries"
+          + " differing only in literal values share one prepared query.",
+      "false",
+      "true",
+      "false"),
+  BATCH_MAX_IN_FLIGHT(
+      "batch_max_in_flight",
+      "The maximum number of queries of a PreparedStatement batch that run at the same time.",
+      "8"),
+  SCROLL_MEMORY_LIMIT_BYTES(
+      "scroll_memory_limit_bytes",
+      "How many bytes of rows a TYPE_SCROLL_INSENSITIVE result set keeps on the heap before"
+          + " spilling older rows to a temporary file.",
+      "67108864"),
+  CHANNEL_POOL_SIZE("channel_pool_size", "The number of gRPC channels in the channel pool."),
+  KEEPALIVE_TIME_MS(
+      "keepalive_time_ms", "The interval between gRPC keepalive pings, in milliseconds."),
+  KEEPALIVE_TIMEOUT_MS(
+      "keepalive_timeout_ms",
+      "How long to wait for a keepalive ping acknowledgement, in milliseconds."),
+  MAX_INBOUND_MESSAGE_SIZE(
+      "max_inbound_message_size", "The maximum size of a response message, in bytes."),
+  MESSAGE_COMPRESSION(
+      "message_compression",
+      "The compression applied to request messages.",
+      "none",
+      "none",
+      "gzip"),
+  ATTEMPT_DIRECT_PATH(
+      "attempt_direct_path",
+      "Whether to attempt DirectPath connectivity when it is available.",
+      null,
+      "true",
+      "false"),
+  EXECUTOR_THREADS(
+      "executor_threads",
+      "The number of threads of a dedicated executor for gRPC callbacks. By default the shared"
+          + " gRPC executor is used."),
+  WARMUP(
+      "warmup",
+      "Whether to fetch the auth token and prepare the warm-up queries when connecting.",
+      "false",
+      "true",
+      "false"),
+  WARMUP_QUERIES("warmup_queries", "Semicolon-separated SQL queries prepared during warm-up."),
+  WARMUP_QUERIES_RESOURCE(
+      "warmup_queries_resource",
+      "Classpath resource or file with semicolon-separated SQL queries prepared during warm-up."),
+  METRICS_PROVIDER(
+      "metrics_provider",
+      "The client-side metrics provider: none, in_memory, or the class name of a MetricsProvider"
+          + " or Supplier<MetricsProvider>.",
+      "none"),
+  METRICS_INIT_TIMEOUT_MS(
+      "metrics_init_timeout_ms",
+      "How long creating a client waits for a custom metrics provider before continuing without"
+          + " metrics.",
+      "1000");
+
+  private final String key;
+  private final String description;
+  private final String defaultValue;
+  private final String[] choices;
+
+  ConnectionProperty(String key, String description) {
+    this(key, description, null);
+  }
+
+  ConnectionProperty(String key, String description, String defaultValue, String... choices) {
+    this.key = key;
+    this.description = description;
+    this.defaultValue = defaultValue;
+    this.choices = choices;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  /** Returns the value used when the property is not set, or null if there is none. */
+  public String getDefaultValue() {
+    return defaultValue;
+  }
+
+  /** Returns the value of this property in {@code properties}, or its default value. */
+  public String get(Properties properties) {
+    return properties.getProperty(key, defaultValue);
+  }
+
+  /** Returns true if {@code key} names a supported connection property. */
+  public static boolean isSupported(String key) {
+    for (ConnectionProperty property : values()) {
+      if (property.key.equals(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Describes this property for {@link java.sql.Driver#getPropertyInfo}. */
+  public DriverPropertyInfo toDriverPropertyInfo(Properties info) {
+    DriverPropertyInfo propertyInfo = new DriverPropertyInfo(key, info.getProperty(key));
+    propertyInfo.required = false;
+    propertyInfo.description = description;
+    if (choices.length > 0) {
+      propertyInfo.choices = choices.clone();
+    }
+    return propertyInfo;
+  }
+}
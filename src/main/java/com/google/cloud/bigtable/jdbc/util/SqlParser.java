@@ -16,158 +16,392 @@
 
 package com.google.cloud.bigtable.jdbc.util;
 
+import com.google.common.collect.ImmutableSet;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 public class SqlParser {
+  /** The name prefix of the parameters created by {@link #parameterizeLiterals}. */
+  public static final String LITERAL_PARAM_PREFIX = "literal";
+
+  // Literals following these tokens are part of the query shape and must stay literals.
+  private static final Set<String> LITERAL_ONLY_CONTEXTS =
+      ImmutableSet.of(
+          "LIMIT",
+          "OFFSET",
+          "INTERVAL",
+          "DATE",
+          "DATETIME",
+          "TIME",
+          "TIMESTAMP",
+          "NUMERIC",
+          "BIGNUMERIC",
+          "JSON",
+          "RANGE",
+          "COLLATE",
+          "[",
+          "=>");
+  // Keywords that end an ORDER BY or GROUP BY clause.
+  private static final Set<String> BY_CLAUSE_END_KEYWORDS =
+      ImmutableSet.of(
+          "LIMIT",
+          "OFFSET",
+          "HAVING",
+          "QUALIFY",
+          "WINDOW",
+          "UNION",
+          "INTERSECT",
+          "EXCEPT",
+          "SELECT",
+          "FROM",
+          "WHERE");
 
   /**
    * Replaces '?' placeholders with named parameters @param1, @param2, ... Ignores placeholders
-   * inside quotes, triple quotes, or comments.
+   * inside quotes, triple quotes, or comments. The parsed form of {@code sql} is taken from {@link
+   * SqlTemplate#of}, so repeated calls for the same SQL do not parse it again.
    *
    * @param sql the SQL string with '?' placeholders
    * @param paramCount expected number of parameters
    * @return SQL with named parameters
    */
   public static String replacePlaceholdersWithNamedParams(String sql, int paramCount) {
-    StringBuilder parsed = new StringBuilder();
-    int paramIndex = 1;
-
-    boolean inSingleQuote = false;
-    boolean inDoubleQuote = false;
-    boolean inTripleQuote = false;
-
-    boolean inSingleLineComment = false;
-    boolean inMultiLineComment = false;
+    return SqlTemplate.of(sql).toNamedParams(paramCount);
+  }
 
+  /**
+   * Replaces the string, bytes and number literals of {@code sql} with named parameters @literal1,
+   * @literal2, ... so that queries differing only in their literal values share one normalized
+   * text.
+   *
+   * <p>Literals whose value must be known when the query is planned are kept: those in ORDER BY
+   * and GROUP BY clauses (which may be column positions), after LIMIT, OFFSET and INTERVAL, in
+   * typed literals such as {@code DATE '2024-01-01'}, in subscripts, and in named arguments.
+   * Strings with escape sequences are kept as well. If the query already has parameters, nothing
+   * is replaced.
+   *
+   * @param sql the SQL string
+   * @return the normalized SQL and the extracted parameters, in order
+   */
+  public static ParameterizedSql parameterizeLiterals(String sql) {
+    StringBuilder normalized = new StringBuilder(sql.length());
+    Map<String, Parameter> parameters = new LinkedHashMap<>();
+    // The last significant token: an upper-cased keyword or identifier, a punctuation character,
+    // or LITERAL.
+    String previousToken = "";
+    int depth = 0;
+    // The parenthesis depth of the current ORDER BY or GROUP BY clause, -1 outside of one.
+    int byClauseDepth = -1;
     int length = sql.length();
+    int i = 0;
 
-    for (int i = 0; i < length; i++) {
+    while (i < length) {
       char c = sql.charAt(i);
+      char next = i + 1 < length ? sql.charAt(i + 1) : 0;
 
-      // Check for start/end of multi-line comments /* ... */
-      if (!inSingleQuote && !inDoubleQuote && !inTripleQuote && !inSingleLineComment) {
-        if (!inMultiLineComment && c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
-          inMultiLineComment = true;
-          parsed.append("/*");
-          i++;
-          continue;
-        } else if (inMultiLineComment && c == '*' && i + 1 < length && sql.charAt(i + 1) == '/') {
-          inMultiLineComment = false;
-          parsed.append("*/");
-          i++;
+      if (Character.isWhitespace(c)) {
+        normalized.append(c);
+        i++;
+      } else if ((c == '-' && next == '-') || c == '#') {
+        int end = sql.indexOf('\n', i);
+        end = end < 0 ? length : end;
+        normalized.append(sql, i, end);
+        i = end;
+      } else if (c == '/' && next == '*') {
+        int end = sql.indexOf("*/", i + 2);
+        end = end < 0 ? length : end + 2;
+        normalized.append(sql, i, end);
+        i = end;
+      } else if (c == '`') {
+        int end = sql.indexOf('`', i + 1);
+        end = end < 0 ? length : end + 1;
+        normalized.append(sql, i, end);
+        previousToken = "IDENTIFIER";
+        i = end;
+      } else if (c == '@' || c == '?') {
+        return new ParameterizedSql(sql, Collections.emptyMap());
+      } else if (c == '\'' || c == '"') {
+        boolean liftable = byClauseDepth < 0 && !LITERAL_ONLY_CONTEXTS.contains(previousToken);
+        i = parameterizeString(sql, i, i, "", liftable, normalized, parameters);
+        if (i < 0) {
+          return new ParameterizedSql(sql, Collections.emptyMap());
+        }
+        previousToken = "LITERAL";
+      } else if (Character.isLetter(c) || c == '_') {
+        int end = i + 1;
+        while (end < length && isIdentifierPart(sql.charAt(end))) {
+          end++;
+        }
+        String word = sql.substring(i, end);
+        if (end < length
+            && (sql.charAt(end) == '\'' || sql.charAt(end) == '"')
+            && isStringPrefix(word)) {
+          boolean liftable = byClauseDepth < 0 && !LITERAL_ONLY_CONTEXTS.contains(previousToken);
+          i = parameterizeString(sql, i, end, word, liftable, normalized, parameters);
+          if (i < 0) {
+            return new ParameterizedSql(sql, Collections.emptyMap());
+          }
+          previousToken = "LITERAL";
           continue;
         }
+        String keyword = word.toUpperCase(Locale.ROOT);
+        boolean startsByClause =
+            keyword.equals("BY")
+                && (previousToken.equals("ORDER") || previousToken.equals("GROUP"));
+        if (startsByClause) {
+          byClauseDepth = depth;
+        } else if (byClauseDepth >= 0 && BY_CLAUSE_END_KEYWORDS.contains(keyword)) {
+          byClauseDepth = -1;
+        }
+        normalized.append(word);
+        previousToken = keyword;
+        i = end;
+      } else if (Character.isDigit(c)
+          || (c == '.' && Character.isDigit(next) && !previousToken.equals("IDENTIFIER"))) {
+        boolean liftable = byClauseDepth < 0 && !LITERAL_ONLY_CONTEXTS.contains(previousToken);
+        i = parameterizeNumber(sql, i, liftable, normalized, parameters);
+        previousToken = "LITERAL";
+      } else if (c == '=' && next == '>') {
+        normalized.append("=>");
+        previousToken = "=>";
+        i += 2;
+      } else {
+        if (c == '(') {
+          depth++;
+        } else if (c == ')') {
+          depth--;
+          if (byClauseDepth > depth) {
+            byClauseDepth = -1;
+          }
+        } else if (c == ';') {
+          byClauseDepth = -1;
+        }
+        normalized.append(c);
+        previousToken = String.valueOf(c);
+        i++;
       }
+    }
+    return new ParameterizedSql(normalized.toString(), parameters);
+  }
 
-      if (inMultiLineComment) {
-        // Inside multi-line comment - just append chars
-        parsed.append(c);
-        continue;
+  /**
+   * Returns {@code sql} with a LIMIT clause that returns at most {@code limit} rows, or null if
+   * adding one is not known to be safe: if {@code sql} is not a query, already has a LIMIT or
+   * OFFSET outside of parentheses, has several statements or ends inside a quote or comment.
+   *
+   * @param sql the SQL string
+   * @param limit the maximum number of rows, positive
+   * @return the limited SQL, or null
+   */
+  public static String withLimit(String sql, long limit) {
+    SqlTemplate template = SqlTemplate.of(sql);
+    if (template.getKind() != SqlTemplate.Kind.QUERY
+        || !template.isTerminated()
+        || !template.getSeparatorOffsets().isEmpty()) {
+      return null;
+    }
+    int depth = 0;
+    int i = 0;
+    // The SQL tokens are the text between the quoted and commented spans.
+    for (SqlTemplate.Span span : template.getSpans()) {
+      depth = scanTokens(sql, i, span.getStart(), depth);
+      if (depth < 0) {
+        return null;
       }
+      i = span.getEnd();
+    }
+    depth = scanTokens(sql, i, sql.length(), depth);
+    if (depth != 0) {
+      return null;
+    }
+    // On a new line, in case the query ends with a single-line comment.
+    return sql + "\nLIMIT " + limit;
+  }
 
-      // Check for start of single-line comment (-- or #), only if not in quotes or triple quote
-      if (!inSingleQuote && !inDoubleQuote && !inTripleQuote && !inSingleLineComment) {
-        if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
-          inSingleLineComment = true;
-          parsed.append("--");
-          i++;
-          continue;
-        } else if (c == '#') {
-          inSingleLineComment = true;
-          parsed.append('#');
-          continue;
+  /**
+   * Scans the SQL tokens from {@code start} to {@code end}, starting at parenthesis {@code depth},
+   * and returns the depth at {@code end}, or -1 if a LIMIT or OFFSET keyword is outside of
+   * parentheses or a parenthesis is closed that was not opened.
+   */
+  private static int scanTokens(String sql, int start, int end, int depth) {
+    int i = start;
+    while (i < end) {
+      char c = sql.charAt(i);
+      if (Character.isLetter(c) || c == '_') {
+        int wordEnd = i + 1;
+        while (wordEnd < end && isIdentifierPart(sql.charAt(wordEnd))) {
+          wordEnd++;
         }
-      }
-
-      // End single line comment at line break
-      if (inSingleLineComment) {
-        parsed.append(c);
-        if (c == '\n' || c == '\r') {
-          inSingleLineComment = false;
+        String keyword = sql.substring(i, wordEnd).toUpperCase(Locale.ROOT);
+        if (depth == 0 && (keyword.equals("LIMIT") || keyword.equals("OFFSET"))) {
+          return -1;
         }
-        continue;
-      }
-
-      // Handle triple quotes (""" ... """)
-      if (!inSingleQuote && !inDoubleQuote && !inSingleLineComment && !inMultiLineComment) {
-        if (!inTripleQuote
-            && c == '"'
-            && i + 2 < length
-            && sql.charAt(i + 1) == '"'
-            && sql.charAt(i + 2) == '"') {
-          inTripleQuote = true;
-          parsed.append("\"\"");
-          i += 2;
-          continue;
-        } else if (inTripleQuote
-            && c == '"'
-            && i + 2 < length
-            && sql.charAt(i + 1) == '"'
-            && sql.charAt(i + 2) == '"') {
-          inTripleQuote = false;
-          parsed.append("\"\"");
-          i += 2;
-          continue;
+        i = wordEnd;
+      } else {
+        if (c == '(') {
+          depth++;
+        } else if (c == ')' && --depth < 0) {
+          return -1;
         }
+        i++;
       }
+    }
+    return depth;
+  }
 
-      if (inTripleQuote) {
-        // Inside triple quote, just append
-        parsed.append(c);
-        continue;
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  // r, b, rb and br prefixes mark raw and bytes literals.
+  private static boolean isStringPrefix(String word) {
+    String prefix = word.toLowerCase(Locale.ROOT);
+    return prefix.equals("r") || prefix.equals("b") || prefix.equals("rb") || prefix.equals("br");
+  }
+
+  /**
+   * Appends the string literal whose prefix starts at {@code start} and whose opening quote is at
+   * {@code quote}, as a parameter if it can be lifted. Returns the index after the literal, or -1
+   * if it is not terminated.
+   */
+  private static int parameterizeString(
+      String sql,
+      int start,
+      int quote,
+      String prefix,
+      boolean liftable,
+      StringBuilder normalized,
+      Map<String, Parameter> parameters) {
+    char quoteChar = sql.charAt(quote);
+    String delimiter =
+        sql.startsWith(String.valueOf(new char[] {quoteChar, quoteChar, quoteChar}), quote)
+            ? String.valueOf(new char[] {quoteChar, quoteChar, quoteChar})
+            : String.valueOf(quoteChar);
+    int contentStart = quote + delimiter.length();
+    boolean hasEscape = false;
+    int j = contentStart;
+    while (j < sql.length() && !sql.startsWith(delimiter, j)) {
+      if (sql.charAt(j) == '\\') {
+        hasEscape = true;
+        j++;
       }
+      j++;
+    }
+    if (j >= sql.length()) {
+      return -1;
+    }
+    int end = j + delimiter.length();
+    String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+    boolean isRaw = lowerPrefix.contains("r");
+    boolean isBytes = lowerPrefix.contains("b");
+    if (!liftable || (hasEscape && !isRaw)) {
+      normalized.append(sql, start, end);
+      return end;
+    }
+    String content = sql.substring(contentStart, j);
+    String name = LITERAL_PARAM_PREFIX + (parameters.size() + 1);
+    parameters.put(
+        name,
+        isBytes
+            ? new Parameter(SqlTypeEnum.BYTES.name(), content.getBytes(StandardCharsets.UTF_8))
+            : new Parameter(SqlTypeEnum.STRING.name(), content));
+    normalized.append('@').append(name);
+    return end;
+  }
 
-      // Handle single quotes (') with escapes
-      if (!inDoubleQuote && !inTripleQuote && !inSingleLineComment && !inMultiLineComment) {
-        if (inSingleQuote && c == '\\') {
-          parsed.append("\\");
-          continue;
-        }
-        if (c == '\'') {
-          // Check for escaped quote: '' inside single quote string
-          if (inSingleQuote && i + 1 < length && sql.charAt(i + 1) == '\'') {
-            parsed.append("\'");
-            i++; // skip next quote
-            continue;
-          }
-          inSingleQuote = !inSingleQuote;
-          parsed.append(c);
-          continue;
+  /**
+   * Appends the number literal starting at {@code start}, as a parameter if it can be lifted.
+   * Returns the index after the literal.
+   */
+  private static int parameterizeNumber(
+      String sql,
+      int start,
+      boolean liftable,
+      StringBuilder normalized,
+      Map<String, Parameter> parameters) {
+    int length = sql.length();
+    int j = start;
+    boolean isFloat = false;
+    boolean isHex =
+        sql.charAt(start) == '0'
+            && start + 1 < length
+            && (sql.charAt(start + 1) == 'x' || sql.charAt(start + 1) == 'X');
+    if (isHex) {
+      liftable = false;
+      j += 2;
+    } else {
+      while (j < length && Character.isDigit(sql.charAt(j))) {
+        j++;
+      }
+      if (j < length && sql.charAt(j) == '.') {
+        isFloat = true;
+        j++;
+        while (j < length && Character.isDigit(sql.charAt(j))) {
+          j++;
         }
       }
-
-      // Handle double quotes (") with escapes
-      if (!inSingleQuote && !inTripleQuote && !inSingleLineComment && !inMultiLineComment) {
-        if (c == '"') {
-          // Check for escaped double quote \" inside double quotes
-          if (inDoubleQuote && i > 0 && sql.charAt(i - 1) == '\\') {
-            parsed.append(c);
-            continue;
+      if (j < length && (sql.charAt(j) == 'e' || sql.charAt(j) == 'E')) {
+        int exponent = j + 1;
+        if (exponent < length && (sql.charAt(exponent) == '+' || sql.charAt(exponent) == '-')) {
+          exponent++;
+        }
+        if (exponent < length && Character.isDigit(sql.charAt(exponent))) {
+          isFloat = true;
+          j = exponent;
+          while (j < length && Character.isDigit(sql.charAt(j))) {
+            j++;
           }
-          inDoubleQuote = !inDoubleQuote;
-          parsed.append(c);
-          continue;
         }
       }
-
-      // Replace placeholder '?' only if outside any quote or comment
-      if (c == '?'
-          && !inSingleQuote
-          && !inDoubleQuote
-          && !inTripleQuote
-          && !inSingleLineComment
-          && !inMultiLineComment) {
-        if (paramIndex > paramCount) {
-          throw new IllegalArgumentException("More placeholders than paramCount");
-        }
-        parsed.append("@param").append(paramIndex++);
-      } else {
-        parsed.append(c);
+    }
+    // Something like 1abc or a hex literal is kept as written.
+    if (j < length && isIdentifierPart(sql.charAt(j))) {
+      liftable = false;
+      while (j < length && isIdentifierPart(sql.charAt(j))) {
+        j++;
       }
     }
+    String literal = sql.substring(start, j);
+    if (liftable) {
+      try {
+        Parameter parameter =
+            isFloat
+                ? new Parameter(SqlTypeEnum.DOUBLE.name(), Double.parseDouble(literal))
+                : new Parameter(SqlTypeEnum.INT.name(), Long.parseLong(literal));
+        String name = LITERAL_PARAM_PREFIX + (parameters.size() + 1);
+        parameters.put(name, parameter);
+        normalized.append('@').append(name);
+        return j;
+      } catch (NumberFormatException e) {
+        // Out of range for INT64, kept as written.
+      }
+    }
+    normalized.append(literal);
+    return j;
+  }
 
-    if (paramIndex <= paramCount) {
-      throw new IllegalArgumentException("Fewer placeholders than paramCount");
+  /** A query whose literals were replaced by named parameters. */
+  public static final class ParameterizedSql {
+    private final String sql;
+    private final Map<String, Parameter> parameters;
+
+    private ParameterizedSql(String sql, Map<String, Parameter> parameters) {
+      this.sql = sql;
+      this.parameters = Collections.unmodifiableMap(parameters);
+    }
+
+    /** Returns the normalized SQL. */
+    public String getSql() {
+      return sql;
     }
 
-    return parsed.toString();
+    /** Returns the extracted parameters by name, in the order they appear in the query. */
+    public Map<String, Parameter> getParameters() {
+      return parameters;
+    }
   }
 }
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The parsed form of a SQL string: the positions of its '?' placeholders outside of quotes and
+ * comments, the spans of its quotes and comments, its text with the placeholders replaced by named
+ * parameters, and the kind of statement it is.
+ *
+ * <p>Templates are immutable and shared through a bounded process-wide cache keyed by SQL text, so
+ * a statement that is prepared again, for example after {@code clearParameters()}, does not parse
+ * its SQL again.
+ */
+public final class SqlTemplate {
+  /** The number of SQL strings whose templates are cached. */
+  static final int MAX_CACHED_TEMPLATES = 1024;
+
+  private static final Cache<String, SqlTemplate> CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_TEMPLATES).build();
+
+  /** The kind of a SQL statement, from its first keyword. */
+  public enum Kind {
+    /** SELECT or WITH. */
+    QUERY,
+    /** INSERT, UPDATE, DELETE or MERGE. */
+    DML,
+    /** CREATE, ALTER or DROP. */
+    DDL,
+    OTHER
+  }
+
+  /** A quoted or commented range of the SQL text, in which SQL tokens are not recognized. */
+  public static final class Span {
+    /** What a span holds. */
+    public enum Type {
+      /** A -- or # comment, including its line break, or a block comment. */
+      COMMENT,
+      /** A single, double or triple quoted string or bytes literal, without its prefix. */
+      STRING,
+      /** A back-quoted identifier. */
+      QUOTED_IDENTIFIER
+    }
+
+    private final Type type;
+    private final int start;
+    private final int end;
+
+    private Span(Type type, int start, int end) {
+      this.type = type;
+      this.start = start;
+      this.end = end;
+    }
+
+    public Type getType() {
+      return type;
+    }
+
+    /** Returns the offset of the first character of the span. */
+    public int getStart() {
+      return start;
+    }
+
+    /** Returns the offset after the last character of the span. */
+    public int getEnd() {
+      return end;
+    }
+  }
+
+  private final String sql;
+  private final List<Integer> placeholderOffsets;
+  private final List<Span> spans;
+  private final List<Integer> separatorOffsets;
+  private final boolean terminated;
+  private final String namedParamsSql;
+  private final Kind kind;
+
+  private SqlTemplate(
+      String sql,
+      List<Integer> placeholderOffsets,
+      List<Span> spans,
+      List<Integer> separatorOffsets,
+      boolean terminated,
+      String namedParamsSql,
+      Kind kind) {
+    this.sql = sql;
+    this.placeholderOffsets = placeholderOffsets;
+    this.spans = spans;
+    this.separatorOffsets = separatorOffsets;
+    this.terminated = terminated;
+    this.namedParamsSql = namedParamsSql;
+    this.kind = kind;
+  }
+
+  /** Returns the template of {@code sql}, parsing it only if it is not cached. */
+  public static SqlTemplate of(String sql) {
+    SqlTemplate template = CACHE.getIfPresent(sql);
+    if (template == null) {
+      template = compile(sql);
+      CACHE.put(sql, template);
+    }
+    return template;
+  }
+
+  /** Returns the SQL text of this template. */
+  public String getSql() {
+    return sql;
+  }
+
+  /** Returns the number of '?' placeholders. */
+  public int getPlaceholderCount() {
+    return placeholderOffsets.size();
+  }
+
+  /** Returns the offsets of the '?' placeholders in the SQL text, in order. */
+  public List<Integer> getPlaceholderOffsets() {
+    return placeholderOffsets;
+  }
+
+  /**
+   * Returns the quoted and commented spans of the SQL text, in order. Text outside of them is SQL
+   * tokens and whitespace.
+   */
+  public List<Span> getSpans() {
+    return spans;
+  }
+
+  /** Returns the offsets of the ';' statement separators outside of the spans, in order. */
+  public List<Integer> getSeparatorOffsets() {
+    return separatorOffsets;
+  }
+
+  /**
+   * Returns false if the SQL text ends inside a quote or a block comment; the last span then ends
+   * at the end of the text.
+   */
+  public boolean isTerminated() {
+    return terminated;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Returns the SQL with its placeholders replaced by named parameters @param1, @param2, ...
+   *
+   * @param paramCount expected number of parameters
+   * @throws IllegalArgumentException if the SQL has a different number of placeholders
+   */
+  public String toNamedParams(int paramCount) {
+    if (getPlaceholderCount() > paramCount) {
+      throw new IllegalArgumentException("More placeholders than paramCount");
+    }
+    if (getPlaceholderCount() < paramCount) {
+      throw new IllegalArgumentException("Fewer placeholders than paramCount");
+    }
+    return namedParamsSql;
+  }
+
+  @VisibleForTesting
+  static SqlTemplate compile(String sql) {
+    StringBuilder segment = new StringBuilder();
+    List<String> segments = new ArrayList<>();
+    List<Integer> placeholderOffsets = new ArrayList<>();
+    List<Span> spans = new ArrayList<>();
+    List<Integer> separatorOffsets = new ArrayList<>();
+    // The offset at which the current quote or comment started.
+    int spanStart = -1;
+
+    boolean inSingleQuote = false;
+    boolean inDoubleQuote = false;
+    boolean inTripleQuote = false;
+    boolean inBackQuote = false;
+
+    boolean inSingleLineComment = false;
+    boolean inMultiLineComment = false;
+
+    int length = sql.length();
+
+    for (int i = 0; i < length; i++) {
+      char c = sql.charAt(i);
+
+      if (inBackQuote) {
+        segment.append(c);
+        if (c == '`') {
+          inBackQuote = false;
+          spans.add(new Span(Span.Type.QUOTED_IDENTIFIER, spanStart, i + 1));
+        }
+        continue;
+      }
+
+      // Check for start/end of multi-line comments /* ... */
+      if (!inSingleQuote && !inDoubleQuote && !inTripleQuote && !inSingleLineComment) {
+        if (!inMultiLineComment && c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+          inMultiLineComment = true;
+          spanStart = i;
+          segment.append("/*");
+          i++;
+          continue;
+        } else if (inMultiLineComment && c == '*' && i + 1 < length && sql.charAt(i + 1) == '/') {
+          inMultiLineComment = false;
+          spans.add(new Span(Span.Type.COMMENT, spanStart, i + 2));
+          segment.append("*/");
+          i++;
+          continue;
+        }
+      }
+
+      if (inMultiLineComment) {
+        // Inside multi-line comment - just append chars
+        segment.append(c);
+        continue;
+      }
+
+      // Check for start of single-line comment (-- or #), only if not in quotes or triple quote
+      if (!inSingleQuote && !inDoubleQuote && !inTripleQuote && !inSingleLineComment) {
+        if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+          inSingleLineComment = true;
+          spanStart = i;
+          segment.append("--");
+          i++;
+          continue;
+        } else if (c == '#') {
+          inSingleLineComment = true;
+          spanStart = i;
+          segment.append('#');
+          continue;
+        }
+      }
+
+      // End single line comment at line break
+      if (inSingleLineComment) {
+        segment.append(c);
+        if (c == '\n' || c == '\r') {
+          inSingleLineComment = false;
+          spans.add(new Span(Span.Type.COMMENT, spanStart, i + 1));
+        }
+        continue;
+      }
+
+      // Handle triple quotes (""" ... """)
+      if (!inSingleQuote && !inDoubleQuote && !inSingleLineComment && !inMultiLineComment) {
+        if (!inTripleQuote
+            && c == '"'
+            && i + 2 < length
+            && sql.charAt(i + 1) == '"'
+            && sql.charAt(i + 2) == '"') {
+          inTripleQuote = true;
+          spanStart = i;
+          segment.append("\"\"");
+          i += 2;
+          continue;
+        } else if (inTripleQuote
+            && c == '"'
+            && i + 2 < length
+            && sql.charAt(i + 1) == '"'
+            && sql.charAt(i + 2) == '"') {
+          inTripleQuote = false;
+          spans.add(new Span(Span.Type.STRING, spanStart, i + 3));
+          segment.append("\"\"");
+          i += 2;
+          continue;
+        }
+      }
+
+      if (inTripleQuote) {
+        // Inside triple quote, just append
+        segment.append(c);
+        continue;
+      }
+
+      // Handle single quotes (') with escapes
+      if (!inDoubleQuote && !inTripleQuote && !inSingleLineComment && !inMultiLineComment) {
+        if (inSingleQuote && c == '\\') {
+          segment.append("\\");
+          continue;
+        }
+        if (c == '\'') {
+          // Check for escaped quote: '' inside single quote string
+          if (inSingleQuote && i + 1 < length && sql.charAt(i + 1) == '\'') {
+            segment.append("\'");
+            i++; // skip next quote
+            continue;
+          }
+          inSingleQuote = !inSingleQuote;
+          if (inSingleQuote) {
+            spanStart = i;
+          } else {
+            spans.add(new Span(Span.Type.STRING, spanStart, i + 1));
+          }
+          segment.append(c);
+          continue;
+        }
+      }
+
+      // Handle double quotes (") with escapes
+      if (!inSingleQuote && !inTripleQuote && !inSingleLineComment && !inMultiLineComment) {
+        if (c == '"') {
+          // Check for escaped double quote \" inside double quotes
+          if (inDoubleQuote && i > 0 && sql.charAt(i - 1) == '\\') {
+            segment.append(c);
+            continue;
+          }
+          inDoubleQuote = !inDoubleQuote;
+          if (inDoubleQuote) {
+            spanStart = i;
+          } else {
+            spans.add(new Span(Span.Type.STRING, spanStart, i + 1));
+          }
+          segment.append(c);
+          continue;
+        }
+      }
+
+      boolean inCode = !inSingleQuote && !inDoubleQuote;
+      if (inCode && c == '`') {
+        inBackQuote = true;
+        spanStart = i;
+      } else if (inCode && c == ';') {
+        separatorOffsets.add(i);
+      }
+
+      // Replace placeholder '?' only if outside any quote or comment
+      if (c == '?' && inCode) {
+        segments.add(segment.toString());
+        segment.setLength(0);
+        placeholderOffsets.add(i);
+      } else {
+        segment.append(c);
+      }
+    }
+
+    segments.add(segment.toString());
+    boolean terminated =
+        !inSingleQuote && !inDoubleQuote && !inTripleQuote && !inBackQuote && !inMultiLineComment;
+    if (inSingleLineComment || !terminated) {
+      spans.add(
+          new Span(
+              inSingleLineComment || inMultiLineComment
+                  ? Span.Type.COMMENT
+                  : inBackQuote ? Span.Type.QUOTED_IDENTIFIER : Span.Type.STRING,
+              spanStart,
+              length));
+    }
+
+    StringBuilder namedParamsSql = new StringBuilder(sql.length() + 8 * segments.size());
+    namedParamsSql.append(segments.get(0));
+    for (int index = 1; index < segments.size(); index++) {
+      namedParamsSql.append("@param").append(index).append(segments.get(index));
+    }
+    return new SqlTemplate(
+        sql,
+        ImmutableList.copyOf(placeholderOffsets),
+        ImmutableList.copyOf(spans),
+        ImmutableList.copyOf(separatorOffsets),
+        terminated,
+        namedParamsSql.toString(),
+        classify(sql));
+  }
+
+  // Classifies the statement by its first keyword, skipping whitespace, comments and parentheses.
+  private static Kind classify(String sql) {
+    int length = sql.length();
+    int i = 0;
+    while (i < length) {
+      char c = sql.charAt(i);
+      if (Character.isWhitespace(c) || c == '(') {
+        i++;
+      } else if ((c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') || c == '#') {
+        int end = sql.indexOf('\n', i);
+        i = end < 0 ? length : end + 1;
+      } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+        int end = sql.indexOf("*/", i + 2);
+        i = end < 0 ? length : end + 2;
+      } else {
+        break;
+      }
+    }
+    int end = i;
+    while (end < length && Character.isLetter(sql.charAt(end))) {
+      end++;
+    }
+    switch (sql.substring(i, end).toUpperCase(Locale.ROOT)) {
+      case "SELECT":
+      case "WITH":
+        return Kind.QUERY;
+      case "INSERT":
+      case "UPDATE":
+      case "DELETE":
+      case "MERGE":
+        return Kind.DML;
+      case "CREATE":
+      case "ALTER":
+      case "DROP":
+        return Kind.DDL;
+      default:
+        return Kind.OTHER;
+    }
+  }
+}
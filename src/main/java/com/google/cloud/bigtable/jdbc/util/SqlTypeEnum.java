@@ -23,7 +23,10 @@ import com.google.protobuf.ByteString;
 import java.sql.Types;
 import java.time.*;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public enum SqlTypeEnum {
   BYTES(SqlType.bytes(), Types.BINARY, byte[].class.getName()) {
@@ -78,6 +81,15 @@ public enum SqlTypeEnum {
     }
   };
 
+  // Labels are matched case-insensitively.
+  private static final Map<String, SqlTypeEnum> BY_LABEL = new HashMap<>();
+
+  static {
+    for (SqlTypeEnum type : values()) {
+      BY_LABEL.put(type.name(), type);
+    }
+  }
+
   private final SqlType<?> sqlType;
   private final int sqlTypeCode;
   private final String javaClassName;
@@ -103,10 +115,11 @@ public enum SqlTypeEnum {
   public abstract void bind(BoundStatement.Builder bound, String name, Object value);
 
   public static SqlTypeEnum fromLabel(String label) {
-    return Arrays.stream(values())
-        .filter(e -> e.name().equalsIgnoreCase(label))
-        .findFirst()
-        .orElseThrow(() -> new IllegalArgumentException("Unknown SqlType: " + label));
+    SqlTypeEnum type = label == null ? null : BY_LABEL.get(label.toUpperCase(Locale.ROOT));
+    if (type == null) {
+      throw new IllegalArgumentException("Unknown SqlType: " + label);
+    }
+    return type;
   }
 
   public static SqlTypeEnum fromJdbcType(int jdbcType) {
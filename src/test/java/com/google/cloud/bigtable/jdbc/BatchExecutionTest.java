@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BatchExecutionTest {
+  private final List<Integer> startedQueries = new ArrayList<>();
+  private final List<AutoCloseable> results = new ArrayList<>();
+
+  private BatchExecution<AutoCloseable> createBatch(int size, int maxInFlight) {
+    return new BatchExecution<>(
+        size,
+        maxInFlight,
+        QueryExecution.start(0),
+        (index, execution) -> {
+          startedQueries.add(index);
+          AutoCloseable result = mock(AutoCloseable.class);
+          results.add(result);
+          return result;
+        });
+  }
+
+  @Test
+  public void testStartsAtMostMaxInFlightQueries() throws SQLException {
+    BatchExecution<AutoCloseable> batch = createBatch(4, 2);
+    batch.start();
+    assertEquals(List.of(0, 1), startedQueries);
+
+    batch.done(0);
+    assertEquals(List.of(0, 1, 2), startedQueries);
+    // Reporting a query twice does not free another slot.
+    batch.done(0);
+    assertEquals(List.of(0, 1, 2), startedQueries);
+    batch.done(1);
+    assertEquals(List.of(0, 1, 2, 3), startedQueries);
+  }
+
+  @Test
+  public void testGetStartsQueriesUpToIndex() throws SQLException {
+    BatchExecution<AutoCloseable> batch = createBatch(3, 1);
+    batch.start();
+
+    AutoCloseable last = batch.get(2);
+
+    assertEquals(List.of(0, 1, 2), startedQueries);
+    assertSame(results.get(2), last);
+  }
+
+  @Test
+  public void testFailedQueryIsReportedByGet() throws SQLException {
+    BatchExecution<AutoCloseable> batch =
+        new BatchExecution<>(
+            2,
+            2,
+            QueryExecution.start(0),
+            (index, execution) -> {
+              if (index == 0) {
+                throw new IllegalStateException("unavailable");
+              }
+              return mock(AutoCloseable.class);
+            });
+    batch.start();
+
+    SQLException e = assertThrows(SQLException.class, () -> batch.get(0));
+    assertEquals("Failed to execute query: unavailable", e.getMessage());
+    batch.get(1);
+  }
+
+  @Test
+  public void testCloseClosesRunningQueries() throws Exception {
+    BatchExecution<AutoCloseable> batch = createBatch(3, 2);
+    batch.start();
+    batch.done(0);
+
+    batch.close();
+
+    verify(results.get(0), never()).close();
+    verify(results.get(1)).close();
+    verify(results.get(2)).close();
+    assertThrows(SQLException.class, () -> batch.get(2));
+  }
+
+  @Test
+  public void testCancellingTheExecutionClosesTheBatch() throws Exception {
+    QueryExecution execution = QueryExecution.start(0);
+    AutoCloseable result = mock(AutoCloseable.class);
+    BatchExecution<AutoCloseable> batch =
+        new BatchExecution<>(1, 1, execution, (index, queryExecution) -> result);
+    batch.start();
+
+    execution.cancel();
+
+    verify(result).close();
+    SQLException e = assertThrows(SQLException.class, () -> batch.get(0));
+    assertEquals(QueryExecution.CANCELLED_SQL_STATE, e.getSQLState());
+  }
+
+  @Test
+  public void testCloseDoesNotWaitForAQueryToStart() throws Exception {
+    CountDownLatch starting = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AutoCloseable result = mock(AutoCloseable.class);
+    BatchExecution<AutoCloseable> batch =
+        new BatchExecution<>(
+            1,
+            1,
+            QueryExecution.start(0),
+            (index, execution) -> {
+              starting.countDown();
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return result;
+            });
+    Thread starter = new Thread(batch::start);
+    starter.start();
+    assertTrue(starting.await(10, TimeUnit.SECONDS));
+
+    Thread closer = new Thread(batch::close);
+    closer.start();
+    closer.join(TimeUnit.SECONDS.toMillis(10));
+    assertFalse(closer.isAlive());
+
+    release.countDown();
+    starter.join(TimeUnit.SECONDS.toMillis(10));
+    // The query that finished starting after the close is closed right away.
+    verify(result).close();
+  }
+}
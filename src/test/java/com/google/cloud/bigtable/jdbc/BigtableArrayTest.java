@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BigtableArrayTest {
+
+  @Test
+  public void testInt64ArrayIsBoxed() throws SQLException {
+    BigtableArray array = new BigtableArray(SqlType.int64(), Arrays.asList(1L, 2L, 3L));
+
+    assertEquals("INT64", array.getBaseTypeName());
+    assertEquals(Types.BIGINT, array.getBaseType());
+    assertArrayEquals(new Long[] {1L, 2L, 3L}, (Long[]) array.getArray());
+    assertArrayEquals(new Long[] {2L, 3L}, (Long[]) array.getArray(2, 2));
+    assertThrows(SQLException.class, () -> array.getArray(3, 2));
+  }
+
+  @Test
+  public void testFloat64ArrayIsBoxed() throws SQLException {
+    BigtableArray array = new BigtableArray(SqlType.float64(), Arrays.asList(1.5, 2.5));
+
+    assertArrayEquals(new Double[] {1.5, 2.5}, (Double[]) array.getArray());
+  }
+
+  @Test
+  public void testArrayWithNullElementsHasTheSameType() throws SQLException {
+    BigtableArray array = new BigtableArray(SqlType.int64(), Arrays.asList(1L, null));
+
+    assertArrayEquals(new Long[] {1L, null}, (Long[]) array.getArray());
+    assertArrayEquals(
+        new String[] {"a", null},
+        (String[]) new BigtableArray(SqlType.string(), Arrays.asList("a", null)).getArray());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> BigtableArray.toLongArray(Arrays.asList(1L, null)));
+  }
+
+  @Test
+  public void testStructElementsAreWrapped() throws SQLException {
+    Struct struct = mock(Struct.class);
+    SqlType.Struct structType = mock(SqlType.Struct.class);
+    when(structType.getCode()).thenReturn(SqlType.Code.STRUCT);
+    BigtableArray array = new BigtableArray(structType, Collections.singletonList(struct));
+
+    Object[] elements = (Object[]) array.getArray();
+    assertTrue(elements[0] instanceof BigtableStruct);
+  }
+
+  @Test
+  public void testUnsupportedAndFree() {
+    BigtableArray array = new BigtableArray(SqlType.string(), Arrays.asList("a"));
+
+    assertThrows(SQLFeatureNotSupportedException.class, array::getResultSet);
+    assertThrows(
+        SQLFeatureNotSupportedException.class,
+        () -> array.getArray(Collections.singletonMap("a", String.class)));
+    array.free();
+    assertThrows(SQLException.class, array::getArray);
+  }
+}
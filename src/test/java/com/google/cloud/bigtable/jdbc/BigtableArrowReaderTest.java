@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSetMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.common.collect.ImmutableList;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BigtableArrowReaderTest {
+  private BufferAllocator allocator;
+  private ResultSet stream;
+  private ResultSetMetadata metadata;
+
+  @Before
+  public void setUp() {
+    allocator = new RootAllocator();
+    stream = mock(ResultSet.class);
+    metadata = mock(ResultSetMetadata.class);
+    when(stream.getMetadata()).thenReturn(metadata);
+  }
+
+  @After
+  public void tearDown() {
+    allocator.close();
+  }
+
+  private static ColumnMetadata column(String name, SqlType<?> type) {
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    when(column.name()).thenReturn(name);
+    when(column.type()).thenReturn((SqlType) type);
+    return column;
+  }
+
+  @Test
+  public void testToSchema() {
+    Schema schema =
+        BigtableArrowReader.toSchema(
+            ImmutableList.of(
+                column("id", SqlType.int64()),
+                column("ts", SqlType.timestamp()),
+                column("tags", SqlType.arrayOf(SqlType.string())),
+                column("cf", SqlType.mapOf(SqlType.bytes(), SqlType.bytes()))));
+
+    assertEquals(new ArrowType.Int(64, true), schema.findField("id").getType());
+    assertEquals(
+        new ArrowType.Timestamp(org.apache.arrow.vector.types.TimeUnit.MICROSECOND, "UTC"),
+        schema.findField("ts").getType());
+    assertEquals(ArrowType.List.INSTANCE, schema.findField("tags").getType());
+    assertEquals(
+        ArrowType.Utf8.INSTANCE, schema.findField("tags").getChildren().get(0).getType());
+    assertEquals(new ArrowType.Map(false), schema.findField("cf").getType());
+  }
+
+  @Test
+  public void testLoadsBatches() throws Exception {
+    SqlType.Array<Long> arrayType = SqlType.arrayOf(SqlType.int64());
+    List<ColumnMetadata> columns =
+        ImmutableList.of(
+            column("id", SqlType.int64()),
+            column("name", SqlType.string()),
+            column("ts", SqlType.timestamp()),
+            column("values", arrayType));
+    when(metadata.getColumns()).thenReturn(columns);
+    when(stream.next()).thenReturn(true, true, true, false);
+    when(stream.getLong(0)).thenReturn(1L, 2L, 3L);
+    when(stream.isNull(1)).thenReturn(false, true, false);
+    when(stream.getString(1)).thenReturn("a", "c");
+    when(stream.getTimestamp(2)).thenReturn(Instant.ofEpochSecond(1, 2_000));
+    when(stream.getList(3, arrayType))
+        .thenReturn(ImmutableList.of(4L, 5L), ImmutableList.of(), ImmutableList.of(6L));
+
+    BigtableResultSet resultSet = new BigtableResultSet(stream);
+    try (BigtableArrowReader reader = new BigtableArrowReader(resultSet, allocator, 2)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(2, root.getRowCount());
+      assertEquals(2L, ((BigIntVector) root.getVector("id")).get(1));
+      VarCharVector names = (VarCharVector) root.getVector("name");
+      assertEquals("a", names.getObject(0).toString());
+      assertTrue(names.isNull(1));
+      assertEquals(1_000_002L, ((TimeStampMicroTZVector) root.getVector("ts")).get(0));
+      ListVector values = (ListVector) root.getVector("values");
+      assertEquals(ImmutableList.of(4L, 5L), values.getObject(0));
+      assertEquals(ImmutableList.of(), values.getObject(1));
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(1, root.getRowCount());
+      assertEquals(3L, ((BigIntVector) root.getVector("id")).get(0));
+      assertEquals("c", names.getObject(0).toString());
+      assertEquals(ImmutableList.of(6L), values.getObject(0));
+
+      assertFalse(reader.loadNextBatch());
+      assertEquals(0, root.getRowCount());
+    }
+    verify(stream).close();
+  }
+
+  @Test
+  public void testInvalidBatchSize() {
+    assertThrows(
+        SQLException.class,
+        () -> new BigtableArrowReader(new BigtableResultSet(stream), allocator, 0));
+  }
+}
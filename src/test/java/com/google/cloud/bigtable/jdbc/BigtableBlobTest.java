@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import com.google.protobuf.ByteString;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BigtableBlobTest {
+  private final ByteString bytes = ByteString.copyFromUtf8("abcabd");
+
+  @Test
+  public void testReadsTheByteString() throws Exception {
+    BigtableBlob blob = new BigtableBlob(bytes);
+
+    assertSame(bytes, blob.getByteString());
+    assertEquals(6, blob.length());
+    assertArrayEquals("bca".getBytes(), blob.getBytes(2, 3));
+    assertArrayEquals("bd".getBytes(), blob.getBytes(5, 10));
+    assertArrayEquals(bytes.toByteArray(), blob.getBinaryStream().readAllBytes());
+    assertArrayEquals("cab".getBytes(), blob.getBinaryStream(3, 3).readAllBytes());
+    assertThrows(SQLException.class, () -> blob.getBinaryStream(5, 3));
+    assertThrows(SQLException.class, () -> blob.getBytes(0, 1));
+  }
+
+  @Test
+  public void testPosition() throws Exception {
+    BigtableBlob blob = new BigtableBlob(bytes);
+
+    assertEquals(1, blob.position("ab".getBytes(), 1));
+    assertEquals(4, blob.position("ab".getBytes(), 2));
+    assertEquals(4, blob.position(new BigtableBlob(ByteString.copyFromUtf8("abd")), 1));
+    assertEquals(-1, blob.position("abe".getBytes(), 1));
+  }
+
+  @Test
+  public void testIsReadOnly() {
+    BigtableBlob blob = new BigtableBlob(bytes);
+
+    assertThrows(SQLFeatureNotSupportedException.class, () -> blob.setBytes(1, new byte[1]));
+    assertThrows(SQLFeatureNotSupportedException.class, () -> blob.setBinaryStream(1));
+    assertThrows(SQLFeatureNotSupportedException.class, () -> blob.truncate(0));
+  }
+
+  @Test
+  public void testFree() {
+    BigtableBlob blob = new BigtableBlob(bytes);
+    blob.free();
+
+    assertThrows(SQLException.class, () -> blob.length());
+  }
+}
@@ -22,15 +22,20 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
 import com.google.cloud.bigtable.data.v2.models.sql.BoundStatement;
 import com.google.cloud.bigtable.jdbc.client.IBigtableClientFactory;
+import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -38,7 +43,10 @@ import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -120,6 +128,224 @@ public class BigtableConnectionTest {
     verify(mockClientFactory).createBigtableDataClient("test-project", "test-instance", null, "");
   }
 
+  @Test
+  public void testConnectionsShareClient() throws SQLException, IOException {
+    when(mockClientFactory.createBigtableDataClient("test-project", "test-instance", null, null))
+        .thenReturn(mockDataClient);
+    Connection first = new BigtableConnection(baseURL, properties, null, mockClientFactory);
+    Connection second = new BigtableConnection(baseURL, properties, null, mockClientFactory);
+    verify(mockClientFactory, times(1))
+        .createBigtableDataClient("test-project", "test-instance", null, null);
+
+    first.close();
+    verify(mockDataClient, never()).close();
+    second.close();
+    verify(mockDataClient).close();
+  }
+
+  @Test
+  public void testInvalidTransportProperty() {
+    SQLException e =
+        assertThrows(
+            SQLException.class,
+            () -> new BigtableConnection(baseURL + "?channel_pool_size=0", properties));
+    assertEquals("Invalid value for channel_pool_size: 0", e.getMessage());
+  }
+
+  @Test
+  public void testTransportPropertiesAreAccepted() throws SQLException {
+    String url = baseURL + "?channel_pool_size=4&message_compression=gzip";
+    assertNotNull(new BigtableConnection(url, properties, mockDataClient, mockClientFactory));
+  }
+
+  @Test
+  public void testWarmUpPreparesQueries() throws SQLException, IOException {
+    String url = baseURL + "?warmup=true&warmup_queries=SELECT%201;SELECT%202";
+    BigtableConnection connection =
+        new BigtableConnection(url, properties, mockDataClient, mockClientFactory);
+
+    verify(mockClientFactory).prefetchCredentials();
+    verify(mockDataClient).prepareStatement("SELECT 1", ImmutableMap.of());
+    verify(mockDataClient).prepareStatement("SELECT 2", ImmutableMap.of());
+    assertEquals(2, connection.getPreparedQueryCache().size());
+
+    connection.createStatement().executeQuery("SELECT 1");
+    verify(mockDataClient, times(2)).prepareStatement(anyString(), anyMap());
+  }
+
+  @Test
+  public void testWarmUpFailureIsReportedAsWarning() throws SQLException {
+    when(mockDataClient.prepareStatement(anyString(), anyMap()))
+        .thenThrow(new RuntimeException("unavailable"));
+    String url = baseURL + "?warmup=true&warmup_queries=SELECT%201";
+    BigtableConnection connection =
+        new BigtableConnection(url, properties, mockDataClient, mockClientFactory);
+
+    assertNotNull(connection.getWarnings());
+    assertEquals(0, connection.getPreparedQueryCache().size());
+  }
+
+  @Test
+  public void testWarmUpDisabledByDefault() throws SQLException, IOException {
+    String url = baseURL + "?warmup_queries=SELECT%201";
+    new BigtableConnection(url, properties, mockDataClient, mockClientFactory);
+    verify(mockClientFactory, never()).prefetchCredentials();
+    verify(mockDataClient, never()).prepareStatement(anyString(), anyMap());
+  }
+
+  @Test
+  public void testDefaultQueryTimeout() throws SQLException {
+    String url = baseURL + "?query_timeout_seconds=15";
+    BigtableConnection connection =
+        new BigtableConnection(url, properties, mockDataClient, mockClientFactory);
+    assertEquals(15, connection.createStatement().getQueryTimeout());
+    assertEquals(0, createConnection().createStatement().getQueryTimeout());
+
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?query_timeout_seconds=-1",
+                properties,
+                mockDataClient,
+                mockClientFactory));
+  }
+
+  @Test
+  public void testBatchMaxInFlight() throws SQLException {
+    BigtableConnection connection =
+        new BigtableConnection(
+            baseURL + "?batch_max_in_flight=2", properties, mockDataClient, mockClientFactory);
+    assertEquals(2, connection.getBatchMaxInFlight());
+    assertEquals(BatchExecution.DEFAULT_MAX_IN_FLIGHT, createConnection().getBatchMaxInFlight());
+
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?batch_max_in_flight=0",
+                properties,
+                mockDataClient,
+                mockClientFactory));
+  }
+
+  @Test
+  public void testScrollMemoryLimit() throws SQLException {
+    BigtableConnection connection =
+        new BigtableConnection(
+            baseURL + "?scroll_memory_limit_bytes=1024",
+            properties,
+            mockDataClient,
+            mockClientFactory);
+    assertEquals(1024, connection.getScrollMemoryLimitBytes());
+    assertEquals(
+        RowStore.DEFAULT_MEMORY_LIMIT_BYTES, createConnection().getScrollMemoryLimitBytes());
+    assertEquals(
+        RowStore.MAX_MEMORY_LIMIT_BYTES,
+        new BigtableConnection(
+                baseURL + "?scroll_memory_limit_bytes=" + Long.MAX_VALUE,
+                properties,
+                mockDataClient,
+                mockClientFactory)
+            .getScrollMemoryLimitBytes());
+
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?scroll_memory_limit_bytes=0",
+                properties,
+                mockDataClient,
+                mockClientFactory));
+  }
+
+  @Test
+  public void testNetworkTimeout() throws SQLException {
+    Connection connection = createConnection();
+    assertEquals(0, connection.getNetworkTimeout());
+    connection.setNetworkTimeout(Runnable::run, 2000);
+    assertEquals(2000, connection.getNetworkTimeout());
+    assertThrows(SQLException.class, () -> connection.setNetworkTimeout(Runnable::run, -1));
+    assertThrows(SQLException.class, () -> connection.setNetworkTimeout(null, 1000));
+  }
+
+  @Test
+  public void testPreparedQueryCache() throws SQLException {
+    BigtableConnection connection = createConnection();
+    connection.createStatement().executeQuery("SELECT 1");
+    connection.createStatement().executeQuery("SELECT 1");
+    connection.prepareStatement("SELECT 1").executeQuery();
+
+    verify(mockDataClient, times(1)).prepareStatement(anyString(), anyMap());
+    BigtableConnection.PreparedQueryCacheStatistics statistics =
+        connection.getPreparedQueryCacheStatistics();
+    assertEquals(1, statistics.getSize());
+    assertEquals(2, statistics.getHits());
+    assertEquals(1, statistics.getMisses());
+  }
+
+  @Test
+  public void testPreparedQueryCacheDisabled() throws SQLException {
+    BigtableConnection connection =
+        new BigtableConnection(
+            baseURL + "?prepared_query_cache_size=0",
+            properties,
+            mockDataClient,
+            mockClientFactory);
+    connection.createStatement().executeQuery("SELECT 1");
+    connection.createStatement().executeQuery("SELECT 1");
+    verify(mockDataClient, times(2)).prepareStatement(anyString(), anyMap());
+
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?prepared_query_cache_size=-1",
+                properties,
+                mockDataClient,
+                mockClientFactory));
+  }
+
+  @Test
+  public void testCloseClosesStatements() throws SQLException {
+    Connection connection = createConnection();
+    Statement statement = connection.createStatement();
+    Statement closedStatement = connection.prepareStatement("SELECT 1");
+    closedStatement.close();
+    connection.close();
+    assertTrue(statement.isClosed());
+  }
+
+  @Test
+  public void testAbort() throws SQLException {
+    Connection connection = createConnection();
+    Statement statement = connection.createStatement();
+    List<Runnable> teardown = new ArrayList<>();
+
+    connection.abort(teardown::add);
+    assertTrue(connection.isClosed());
+    assertEquals(1, teardown.size());
+    verify(mockDataClient, never()).close();
+    assertThrows(SQLException.class, connection::createStatement);
+
+    teardown.get(0).run();
+    verify(mockDataClient).close();
+    assertTrue(statement.isClosed());
+
+    // Aborting or closing again has no effect.
+    connection.abort(teardown::add);
+    connection.close();
+    assertEquals(1, teardown.size());
+    verify(mockDataClient).close();
+  }
+
+  @Test
+  public void testAbortRequiresExecutor() throws SQLException {
+    Connection connection = createConnection();
+    assertThrows(SQLException.class, () -> connection.abort(null));
+    assertFalse(connection.isClosed());
+  }
+
   @Test
   public void testConnectionWithDataClient() throws SQLException {
     BigtableConnection bigtableConnection = createConnection();
@@ -151,6 +377,28 @@ public class BigtableConnectionTest {
     assertNotNull(connection.createStatement());
   }
 
+  @Test
+  public void testCreateScrollInsensitiveStatement() throws SQLException {
+    Connection connection = createConnection();
+    Statement statement =
+        connection.createStatement(
+            ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+    assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, statement.getResultSetType());
+    assertEquals(
+        ResultSet.TYPE_SCROLL_INSENSITIVE,
+        connection
+            .prepareStatement(
+                "SELECT * FROM table",
+                ResultSet.TYPE_SCROLL_INSENSITIVE,
+                ResultSet.CONCUR_READ_ONLY)
+            .getResultSetType());
+    assertThrows(
+        SQLFeatureNotSupportedException.class,
+        () ->
+            connection.createStatement(
+                ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_READ_ONLY));
+  }
+
   @Test
   public void testCreateStatementWithUnsupportedType() {
     assertThrows(
@@ -218,10 +466,140 @@ public class BigtableConnectionTest {
   public void testIsValidWithSetTimeout() throws SQLException {
     Connection connection = createConnection();
     assertTrue(connection.isValid(10));
+    assertNull(connection.getWarnings());
+  }
+
+  @Test
+  public void testIsValidTimesOut() throws SQLException {
+    Connection connection = createConnection();
+    when(mockDataClient.prepareStatement(anyString(), anyMap()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(5_000);
+              return null;
+            });
+    long start = System.nanoTime();
+    assertFalse(connection.isValid(1));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+  }
+
+  @Test
+  public void testIsValidWithNegativeTimeout() throws SQLException {
+    Connection connection = createConnection();
+    assertThrows(SQLException.class, () -> connection.isValid(-1));
+  }
+
+  @Test
+  public void testIsValidReusesRecentSuccess() throws SQLException {
+    Connection connection = createConnection();
+    assertTrue(connection.isValid(0));
+    assertTrue(connection.isValid(0));
+    verify(mockDataClient, times(1)).prepareStatement(anyString(), anyMap());
+  }
+
+  @Test
+  public void testIsValidWithZeroTtl() throws SQLException {
+    Connection connection =
+        new BigtableConnection(
+            baseURL + "?validation_ttl_ms=0", properties, mockDataClient, mockClientFactory);
+    assertTrue(connection.isValid(0));
+    assertTrue(connection.isValid(0));
+    // The validation query is prepared once, but executed each time.
+    verify(mockDataClient, times(1)).prepareStatement(anyString(), anyMap());
+    verify(mockDataClient, times(2)).executeQuery(any());
+  }
+
+  @Test
+  public void testIsValidReusesSuccessfulQuery() throws SQLException {
+    BigtableConnection connection = createConnection();
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT * FROM table")) {
+      rs.next();
+    }
+    assertTrue(connection.isValid(0));
+    verify(mockDataClient, times(1)).prepareStatement(anyString(), anyMap());
+  }
+
+  @Test
+  public void testSyncValidationFailureFailsConnection() throws IOException {
+    when(mockClientFactory.createBigtableDataClient("test-project", "test-instance", null, null))
+        .thenReturn(mockDataClient);
+    when(mockDataClient.prepareStatement(anyString(), anyMap()))
+        .thenThrow(new RuntimeException("unavailable"));
+    assertThrows(
+        SQLException.class,
+        () -> new BigtableConnection(baseURL, properties, null, mockClientFactory));
+    verify(mockDataClient).close();
+  }
+
+  @Test
+  public void testAsyncValidation() throws SQLException, IOException {
+    when(mockClientFactory.createBigtableDataClient("test-project", "test-instance", null, null))
+        .thenReturn(mockDataClient);
+    Connection connection =
+        new BigtableConnection(
+            baseURL + "?connection_validation=async", properties, null, mockClientFactory);
+    verify(mockDataClient, timeout(5_000)).prepareStatement(anyString(), anyMap());
+    assertTrue(connection.isValid(5));
+    connection.close();
+  }
+
+  @Test
+  public void testAsyncValidationFailureIsReported() throws SQLException, IOException {
+    when(mockClientFactory.createBigtableDataClient("test-project", "test-instance", null, null))
+        .thenReturn(mockDataClient);
+    when(mockDataClient.prepareStatement(anyString(), anyMap()))
+        .thenThrow(new RuntimeException("unavailable"));
+    Connection connection =
+        new BigtableConnection(
+            baseURL + "?connection_validation=async", properties, null, mockClientFactory);
+    assertFalse(connection.isValid(5));
     assertNotNull(connection.getWarnings());
-    assertEquals(
-        "timeout is not supported in isValid and will be ignored.",
-        connection.getWarnings().getMessage());
+    connection.close();
+  }
+
+  @Test
+  public void testNoValidation() throws SQLException, IOException {
+    when(mockClientFactory.createBigtableDataClient("test-project", "test-instance", null, null))
+        .thenReturn(mockDataClient);
+    Connection connection =
+        new BigtableConnection(
+            baseURL + "?connection_validation=none", properties, null, mockClientFactory);
+    verify(mockDataClient, never()).prepareStatement(anyString(), anyMap());
+    connection.close();
+  }
+
+  @Test
+  public void testInvalidValidationSettings() {
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?connection_validation=eventually",
+                properties,
+                null,
+                mockClientFactory));
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?validation_ttl_ms=-1", properties, null, mockClientFactory));
+  }
+
+  @Test
+  public void testInvalidClientIdleTimeout() throws IOException {
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?client_idle_timeout_ms=-1", properties, null, mockClientFactory));
+    assertThrows(
+        SQLException.class,
+        () ->
+            new BigtableConnection(
+                baseURL + "?client_idle_timeout_ms=soon", properties, null, mockClientFactory));
+    verify(mockClientFactory, never())
+        .createBigtableDataClient("test-project", "test-instance", null, null);
   }
 
   @Test
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.PooledConnection;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BigtableDataSourceTest {
+  private static final String URL = "jdbc:bigtable:/projects/test-project/instances/test-instance";
+
+  private final List<BigtableConnection> physicalConnections =
+      Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger failures = new AtomicInteger();
+  private BigtableDataSource dataSource;
+
+  @Before
+  public void setUp() {
+    dataSource =
+        new BigtableDataSource(
+            (url, info) -> {
+              if (failures.getAndDecrement() > 0) {
+                throw new SQLException("boom");
+              }
+              BigtableConnection connection =
+                  new BigtableConnection(url, info, mock(BigtableDataClient.class));
+              physicalConnections.add(connection);
+              return connection;
+            });
+    dataSource.setUrl(URL);
+  }
+
+  @Test
+  public void testPrefillCreatesInitialConnections() throws SQLException {
+    dataSource.setInitialPoolSize(4);
+    try (Connection connection = dataSource.getConnection()) {
+      assertNotNull(connection);
+    }
+
+    assertEquals(4, physicalConnections.size());
+    BigtableDataSource.PoolStatistics stats = dataSource.getPoolStatistics();
+    assertEquals(4, stats.getTotalConnections());
+    assertEquals(4, stats.getIdleConnections());
+    assertEquals(4, stats.getCreatedConnections());
+    assertEquals(1, stats.getCheckouts());
+  }
+
+  @Test
+  public void testCloseReturnsConnectionToPool() throws SQLException {
+    Connection first = dataSource.getConnection();
+    assertEquals(1, dataSource.getPoolStatistics().getActiveConnections());
+    first.close();
+    assertTrue(first.isClosed());
+    assertFalse(physicalConnections.get(0).isClosed());
+    assertThrows(SQLException.class, first::createStatement);
+
+    try (Connection second = dataSource.getConnection()) {
+      assertFalse(second.isClosed());
+    }
+    assertEquals(1, physicalConnections.size());
+    assertEquals(1, dataSource.getPoolStatistics().getIdleConnections());
+  }
+
+  @Test
+  public void testMaxIdleClosesExcessConnections() throws SQLException {
+    dataSource.setMaxIdle(1);
+    Connection first = dataSource.getConnection();
+    Connection second = dataSource.getConnection();
+    first.close();
+    second.close();
+
+    assertEquals(2, physicalConnections.size());
+    assertFalse(physicalConnections.get(0).isClosed());
+    assertTrue(physicalConnections.get(1).isClosed());
+    BigtableDataSource.PoolStatistics stats = dataSource.getPoolStatistics();
+    assertEquals(1, stats.getTotalConnections());
+    assertEquals(1, stats.getIdleConnections());
+    assertEquals(1, stats.getDestroyedConnections());
+  }
+
+  @Test
+  public void testClosedPhysicalConnectionIsNotHandedOut() throws SQLException {
+    dataSource.getConnection().close();
+    physicalConnections.get(0).close();
+
+    try (Connection connection = dataSource.getConnection()) {
+      assertFalse(connection.isClosed());
+    }
+    assertEquals(2, physicalConnections.size());
+    assertEquals(1, dataSource.getPoolStatistics().getDestroyedConnections());
+  }
+
+  @Test
+  public void testCheckoutTimesOutWhenPoolIsExhausted() throws SQLException {
+    dataSource.setMaxPoolSize(1);
+    dataSource.setConnectionTimeoutMillis(10);
+    Connection connection = dataSource.getConnection();
+
+    assertThrows(SQLTimeoutException.class, dataSource::getConnection);
+    BigtableDataSource.PoolStatistics stats = dataSource.getPoolStatistics();
+    assertEquals(1, stats.getWaitedCheckouts());
+    assertEquals(1, stats.getTimedOutCheckouts());
+
+    connection.close();
+    dataSource.getConnection().close();
+  }
+
+  @Test
+  public void testLoginTimeout() throws Exception {
+    CountDownLatch connecting = new CountDownLatch(1);
+    BigtableConnection slowConnection = mock(BigtableConnection.class);
+    BigtableDataSource slowDataSource =
+        new BigtableDataSource(
+            (url, info) -> {
+              try {
+                connecting.await();
+              } catch (InterruptedException e) {
+                throw new SQLException(e);
+              }
+              return slowConnection;
+            });
+    slowDataSource.setUrl(URL);
+    slowDataSource.setLoginTimeout(1);
+
+    assertThrows(SQLTimeoutException.class, slowDataSource::getConnection);
+    assertEquals(0, slowDataSource.getPoolStatistics().getTotalConnections());
+    // The connection is closed once it is created.
+    connecting.countDown();
+    verify(slowConnection, timeout(5000)).close();
+  }
+
+  @Test
+  public void testPrefillFailureIsReported() {
+    dataSource.setInitialPoolSize(2);
+    failures.set(1);
+
+    SQLException e = assertThrows(SQLException.class, dataSource::getConnection);
+    assertEquals("boom", e.getMessage());
+    assertEquals(0, dataSource.getPoolStatistics().getIdleConnections());
+  }
+
+  @Test
+  public void testCloseDataSource() throws SQLException {
+    Connection active = dataSource.getConnection();
+    dataSource.getConnection().close();
+    dataSource.close();
+
+    assertTrue(dataSource.isClosed());
+    assertTrue(physicalConnections.get(1).isClosed());
+    assertThrows(SQLException.class, dataSource::getConnection);
+
+    active.close();
+    assertTrue(physicalConnections.get(0).isClosed());
+    assertEquals(0, dataSource.getPoolStatistics().getTotalConnections());
+  }
+
+  @Test
+  public void testGetPooledConnectionBypassesPool() throws SQLException {
+    PooledConnection pooledConnection = dataSource.getPooledConnection();
+    pooledConnection.getConnection().close();
+
+    assertFalse(physicalConnections.get(0).isClosed());
+    assertEquals(0, dataSource.getPoolStatistics().getIdleConnections());
+    pooledConnection.close();
+    assertTrue(physicalConnections.get(0).isClosed());
+  }
+
+  @Test
+  public void testConfigurationIsFrozenAfterFirstUse() throws SQLException {
+    dataSource.getConnection().close();
+    assertThrows(IllegalStateException.class, () -> dataSource.setMaxPoolSize(5));
+  }
+
+  @Test
+  public void testMissingUrl() {
+    BigtableDataSource withoutUrl = new BigtableDataSource();
+    assertThrows(SQLException.class, withoutUrl::getConnection);
+  }
+
+  @Test
+  public void testUnsupportedFeatures() {
+    assertThrows(
+        SQLFeatureNotSupportedException.class, () -> dataSource.getConnection("user", "pass"));
+    assertThrows(
+        SQLFeatureNotSupportedException.class,
+        () -> dataSource.getPooledConnection("user", "pass"));
+    assertThrows(SQLFeatureNotSupportedException.class, () -> dataSource.getParentLogger());
+  }
+}
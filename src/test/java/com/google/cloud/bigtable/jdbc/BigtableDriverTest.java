@@ -18,6 +18,7 @@ package com.google.cloud.bigtable.jdbc;
 
 import static org.junit.Assert.*;
 
+import com.google.cloud.bigtable.jdbc.util.ConnectionProperty;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
@@ -93,11 +94,19 @@ public class BigtableDriverTest {
     Properties info = new Properties();
     info.setProperty("app_profile_id", "test_profile");
     DriverPropertyInfo[] properties = driver.getPropertyInfo(url, info);
-    assertEquals(2, properties.length);
+    assertEquals(ConnectionProperty.values().length, properties.length);
     assertEquals("app_profile_id", properties[0].name);
     assertEquals("test_profile", properties[0].value);
     assertEquals("universe_domain", properties[1].name);
     assertNull(properties[1].value);
+    for (DriverPropertyInfo property : properties) {
+      assertNotNull(property.description);
+    }
+
+    DriverPropertyInfo compression =
+        properties[ConnectionProperty.MESSAGE_COMPRESSION.ordinal()];
+    assertEquals("message_compression", compression.name);
+    assertArrayEquals(new String[] {"none", "gzip"}, compression.choices);
   }
 
   @Test(expected = SQLFeatureNotSupportedException.class)
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BigtablePooledConnectionTest {
+  private BigtableDataClient dataClient;
+  private BigtableConnection physicalConnection;
+  private BigtablePooledConnection pooledConnection;
+  private ConnectionEventListener listener;
+
+  @Before
+  public void setUp() throws SQLException {
+    dataClient = mock(BigtableDataClient.class);
+    physicalConnection =
+        new BigtableConnection(
+            "jdbc:bigtable:/projects/test-project/instances/test-instance",
+            new Properties(),
+            dataClient);
+    pooledConnection = new BigtablePooledConnection(physicalConnection);
+    listener = mock(ConnectionEventListener.class);
+    pooledConnection.addConnectionEventListener(listener);
+  }
+
+  @Test
+  public void testLogicalCloseKeepsPhysicalConnectionOpen() throws SQLException {
+    Connection connection = pooledConnection.getConnection();
+    Statement statement = connection.createStatement();
+    connection.close();
+    connection.close();
+
+    assertTrue(connection.isClosed());
+    assertTrue(statement.isClosed());
+    assertFalse(physicalConnection.isClosed());
+    verify(listener, times(1)).connectionClosed(any(ConnectionEvent.class));
+    verify(dataClient, never()).close();
+    assertThrows(SQLException.class, connection::createStatement);
+    assertFalse(connection.isValid(0));
+  }
+
+  @Test
+  public void testStatementReturnsLogicalConnection() throws SQLException {
+    Connection connection = pooledConnection.getConnection();
+    Statement statement = connection.createStatement();
+
+    assertSame(connection, statement.getConnection());
+    statement.getConnection().close();
+    assertTrue(connection.isClosed());
+    assertFalse(physicalConnection.isClosed());
+    verify(dataClient, never()).close();
+  }
+
+  @Test
+  public void testNewLogicalConnectionClosesPrevious() throws SQLException {
+    Connection first = pooledConnection.getConnection();
+    Connection second = pooledConnection.getConnection();
+
+    assertTrue(first.isClosed());
+    assertFalse(second.isClosed());
+    assertNotEquals(first, second);
+    verify(listener, never()).connectionClosed(any(ConnectionEvent.class));
+  }
+
+  @Test
+  public void testNetworkTimeoutIsResetForNextBorrower() throws SQLException {
+    Connection first = pooledConnection.getConnection();
+    first.setNetworkTimeout(Runnable::run, 5_000);
+    first.close();
+
+    Connection second = pooledConnection.getConnection();
+    assertEquals(0, second.getNetworkTimeout());
+  }
+
+  @Test
+  public void testCloseClosesPhysicalConnection() throws SQLException {
+    Connection connection = pooledConnection.getConnection();
+    pooledConnection.close();
+
+    assertTrue(connection.isClosed());
+    assertTrue(physicalConnection.isClosed());
+    assertFalse(pooledConnection.isUsable());
+    verify(dataClient).close();
+    assertThrows(SQLException.class, pooledConnection::getConnection);
+  }
+
+  @Test
+  public void testAbortShutsDownOnExecutor() throws SQLException {
+    Connection connection = pooledConnection.getConnection();
+    List<Runnable> teardown = new ArrayList<>();
+    pooledConnection.abort(teardown::add);
+
+    assertTrue(connection.isClosed());
+    assertTrue(physicalConnection.isClosed());
+    assertFalse(pooledConnection.isUsable());
+    verify(dataClient, never()).close();
+    teardown.forEach(Runnable::run);
+    verify(dataClient).close();
+  }
+
+  @Test
+  public void testErrorOnClosedPhysicalConnectionIsReported() throws SQLException {
+    Connection connection = pooledConnection.getConnection();
+    physicalConnection.close();
+
+    assertThrows(SQLException.class, connection::createStatement);
+    verify(listener).connectionErrorOccurred(any(ConnectionEvent.class));
+    assertFalse(pooledConnection.isUsable());
+  }
+}
@@ -16,20 +16,41 @@
 
 package com.google.cloud.bigtable.jdbc;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import com.google.cloud.bigtable.data.v2.internal.PrepareResponse;
+import com.google.cloud.bigtable.data.v2.internal.PreparedStatementImpl;
+import com.google.cloud.bigtable.data.v2.internal.PreparedStatementImpl.PreparedQueryData;
 import com.google.cloud.bigtable.data.v2.models.sql.BoundStatement;
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
 import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSetMetadata;
+import java.sql.BatchUpdateException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -348,6 +369,13 @@ public class BigtablePreparedStatementTest {
     statement.setInt(1, 123);
   }
 
+  @Test
+  public void testSetInvalidParameterIndex() {
+    PreparedStatement statement = createStatement();
+    assertThrows(SQLException.class, () -> statement.setLong(0, 1L));
+    assertThrows(SQLException.class, () -> statement.setString(-1, "test"));
+  }
+
   @Test
   public void testSetShort() throws SQLException {
     PreparedStatement statement = createStatement();
@@ -372,23 +400,18 @@ public class BigtablePreparedStatementTest {
   }
 
   @Test
-  public void testSetLargeMaxRows() {
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          PreparedStatement statement = createStatement();
-          statement.setLargeMaxRows(100L);
-        });
+  public void testSetLargeMaxRows() throws SQLException {
+    PreparedStatement statement = createStatement();
+    statement.setLargeMaxRows(100L);
+    assertEquals(100L, statement.getLargeMaxRows());
+    assertEquals(100, statement.getMaxRows());
   }
 
   @Test
-  public void testSetQueryTimeout() {
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          PreparedStatement statement = createStatement();
-          statement.setQueryTimeout(100);
-        });
+  public void testSetQueryTimeout() throws SQLException {
+    PreparedStatement statement = createStatement();
+    statement.setQueryTimeout(100);
+    assertEquals(100, statement.getQueryTimeout());
   }
 
   @Test
@@ -510,4 +533,145 @@ public class BigtablePreparedStatementTest {
           statement.setString(1, "new value");
         });
   }
+
+  @Test
+  public void testExecuteBatchRunsQueriesInOrder() throws SQLException {
+    ResultSet secondResultSet = mock(ResultSet.class);
+    ResultSet thirdResultSet = mock(ResultSet.class);
+    when(mockConnection.getBatchMaxInFlight()).thenReturn(1);
+    when(mockDataClient.prepareStatement(any(), any())).thenReturn(mockPreparedStatement);
+    when(mockPreparedStatement.bind()).thenReturn(mockBoundStatementBuilder);
+    when(mockBoundStatementBuilder.build()).thenReturn(mockBoundStatement);
+    when(mockDataClient.executeQuery(mockBoundStatement))
+        .thenReturn(mockResultSet, secondResultSet, thirdResultSet);
+
+    PreparedStatement statement = createStatement();
+    for (long id = 1; id <= 3; id++) {
+      statement.setLong(1, id);
+      statement.addBatch();
+    }
+    int[] updateCounts = statement.executeBatch();
+
+    assertArrayEquals(
+        new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO},
+        updateCounts);
+    verify(mockDataClient, times(1)).prepareStatement(any(), any());
+    // Only one query runs at a time; moving to the next result starts the next query.
+    verify(mockDataClient, times(1)).executeQuery(mockBoundStatement);
+    java.sql.ResultSet first = statement.getResultSet();
+    assertNotNull(first);
+    assertSame(first, statement.getResultSet());
+    assertTrue(statement.getMoreResults());
+    assertThrows(SQLException.class, first::next);
+    verify(mockResultSet, atLeastOnce()).close();
+    verify(mockDataClient, times(2)).executeQuery(mockBoundStatement);
+    assertTrue(statement.getMoreResults());
+    assertNotNull(statement.getResultSet());
+    assertFalse(statement.getMoreResults());
+    assertNull(statement.getResultSet());
+    verify(mockDataClient, times(3)).executeQuery(mockBoundStatement);
+    verify(mockBoundStatementBuilder, times(3)).setLongParam(any(), any(Long.class));
+  }
+
+  @Test
+  public void testExecuteBatchQueryMergesResults() throws SQLException {
+    ResultSet secondResultSet = mock(ResultSet.class);
+    when(mockDataClient.prepareStatement(any(), any())).thenReturn(mockPreparedStatement);
+    when(mockPreparedStatement.bind()).thenReturn(mockBoundStatementBuilder);
+    when(mockBoundStatementBuilder.build()).thenReturn(mockBoundStatement);
+    when(mockDataClient.executeQuery(mockBoundStatement))
+        .thenReturn(mockResultSet, secondResultSet);
+    when(mockResultSet.next()).thenReturn(true, false);
+    when(secondResultSet.next()).thenReturn(true, true, false);
+
+    BigtablePreparedStatement statement = createStatement();
+    statement.setLong(1, 1L);
+    statement.addBatch();
+    statement.setLong(1, 2L);
+    statement.addBatch();
+    java.sql.ResultSet resultSet = statement.executeBatchQuery();
+
+    int rows = 0;
+    while (resultSet.next()) {
+      rows++;
+    }
+    assertEquals(3, rows);
+    verify(mockResultSet, atLeastOnce()).close();
+    verify(secondResultSet, atLeastOnce()).close();
+  }
+
+  @Test
+  public void testExecuteBatchRequiresSameParameterTypes() throws SQLException {
+    PreparedStatement statement = createStatement();
+    statement.setLong(1, 1L);
+    statement.addBatch();
+    statement.setString(1, "two");
+    statement.addBatch();
+
+    assertThrows(BatchUpdateException.class, statement::executeBatch);
+  }
+
+  @Test
+  public void testExecuteEmptyBatch() throws SQLException {
+    PreparedStatement statement = createStatement();
+    statement.setLong(1, 1L);
+    statement.addBatch();
+    statement.clearBatch();
+
+    assertArrayEquals(new int[0], statement.executeBatch());
+    assertNull(statement.getResultSet());
+  }
+
+  @Test
+  public void testGetMetaDataUsesPrepareResponse() throws SQLException {
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    ResultSetMetadata metadata = mock(ResultSetMetadata.class);
+    when(metadata.getColumns()).thenReturn(List.of(column));
+    PrepareResponse response = mock(PrepareResponse.class);
+    when(response.resultSetMetadata()).thenReturn(metadata);
+    PreparedQueryData data = mock(PreparedQueryData.class);
+    when(data.prepareFuture()).thenReturn(ApiFutures.immediateFuture(response));
+    PreparedStatementImpl prepared = mock(PreparedStatementImpl.class);
+    when(prepared.getLatestPrepareResponse()).thenReturn(data);
+    when(mockDataClient.prepareStatement(any(), any())).thenReturn(prepared);
+
+    PreparedStatement statement = createStatement();
+    statement.setLong(1, 1L);
+    assertEquals(1, statement.getMetaData().getColumnCount());
+
+    verify(mockDataClient, never()).executeQuery(any());
+  }
+
+  @Test
+  public void testGetMetaDataTimesOutWaitingForPrepareResponse() throws SQLException {
+    PreparedQueryData data = mock(PreparedQueryData.class);
+    when(data.prepareFuture()).thenReturn(SettableApiFuture.create());
+    PreparedStatementImpl prepared = mock(PreparedStatementImpl.class);
+    when(prepared.getLatestPrepareResponse()).thenReturn(data);
+    when(mockDataClient.prepareStatement(any(), any())).thenReturn(prepared);
+
+    PreparedStatement statement = createStatement();
+    statement.setLong(1, 1L);
+    statement.setQueryTimeout(1);
+    assertThrows(SQLTimeoutException.class, statement::getMetaData);
+  }
+
+  @Test
+  public void testGetMetaDataWithoutPrepareResponse() throws SQLException {
+    when(mockDataClient.prepareStatement(any(), any())).thenReturn(mockPreparedStatement);
+
+    PreparedStatement statement = createStatement();
+    statement.setLong(1, 1L);
+    assertNull(statement.getMetaData());
+
+    verify(mockDataClient, never()).executeQuery(any());
+  }
+
+  @Test
+  public void testGetMetaDataWithUnsetParameters() throws SQLException {
+    PreparedStatement statement = createStatement();
+
+    assertNull(statement.getMetaData());
+    assertEquals(1, statement.getParameterMetaData().getParameterCount());
+  }
 }
@@ -21,23 +21,37 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiExceptionFactory;
 import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
 import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
 import com.google.cloud.bigtable.data.v2.models.sql.ResultSetMetadata;
 import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
 import com.google.common.collect.ImmutableList;
 import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.sql.Blob;
 import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
@@ -86,6 +100,35 @@ public class BigtableResultSetTest {
     assertFalse(resultSet.next());
   }
 
+  @Test
+  public void testFirstResponseListenerRunsOnce() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true).thenReturn(false);
+    Runnable listener = mock(Runnable.class);
+    resultSet.setFirstResponseListener(listener);
+
+    assertTrue(resultSet.next());
+    assertFalse(resultSet.next());
+    verify(listener).run();
+  }
+
+  @Test
+  public void testStalePlanIsRetriedOnceBeforeFirstRow() throws SQLException {
+    RuntimeException stalePlan =
+        ApiExceptionFactory.createException(
+            new RuntimeException("Prepared query expired"),
+            GrpcStatusCode.of(Status.Code.FAILED_PRECONDITION),
+            false);
+    ResultSet retried = mock(ResultSet.class);
+    when(mockedBigtableResultSet.next()).thenThrow(stalePlan);
+    when(retried.next()).thenReturn(true).thenThrow(stalePlan);
+    resultSet.setStalePlanRetry(() -> retried);
+
+    assertTrue(resultSet.next());
+    verify(mockedBigtableResultSet).close();
+    // Once rows were returned, the query is not re-executed.
+    assertThrows(RuntimeException.class, () -> resultSet.next());
+  }
+
   @Test
   public void testGettersWithNullValues() throws SQLException {
     when(mockedBigtableResultSet.next()).thenReturn(true);
@@ -121,6 +164,18 @@ public class BigtableResultSetTest {
     assertNull(resultSet.getBytes("col1"));
     assertTrue(resultSet.wasNull());
 
+    assertNull(resultSet.getByteString("col1"));
+    assertTrue(resultSet.wasNull());
+
+    assertNull(resultSet.getBinaryStream(1));
+    assertTrue(resultSet.wasNull());
+
+    assertNull(resultSet.getBlob("col1"));
+    assertTrue(resultSet.wasNull());
+
+    assertNull(resultSet.getCharacterStream("col1"));
+    assertTrue(resultSet.wasNull());
+
     assertNull(resultSet.getTimestamp("col1"));
     assertTrue(resultSet.wasNull());
 
@@ -190,8 +245,8 @@ public class BigtableResultSetTest {
     when(longColumn.type()).thenReturn((SqlType) SqlType.int64());
 
     when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(stringColumn, longColumn));
-    when(mockedBigtableResultSet.getString("col1")).thenReturn("value1");
-    when(mockedBigtableResultSet.getLong("col2")).thenReturn(123L);
+    when(mockedBigtableResultSet.getString(0)).thenReturn("value1");
+    when(mockedBigtableResultSet.getLong(1)).thenReturn(123L);
 
     assertTrue(resultSet.next());
     assertEquals("value1", resultSet.getObject(1));
@@ -206,7 +261,7 @@ public class BigtableResultSetTest {
     when(mockedColumnMetadata.name()).thenReturn("col1");
     when(mockedColumnMetadata.type()).thenReturn((SqlType) SqlType.string());
     when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(mockedColumnMetadata));
-    when(mockedBigtableResultSet.isNull("col1")).thenReturn(true);
+    when(mockedBigtableResultSet.isNull(0)).thenReturn(true);
 
     assertTrue(resultSet.next());
     assertNull(resultSet.getObject(1));
@@ -255,6 +310,68 @@ public class BigtableResultSetTest {
     resultSet.getObject(1);
   }
 
+  @Test
+  public void testGetObjectWithClass() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true);
+    ColumnMetadata timestampColumn = mock(ColumnMetadata.class);
+    when(timestampColumn.type()).thenReturn((SqlType) SqlType.timestamp());
+    ColumnMetadata dateColumn = mock(ColumnMetadata.class);
+    when(dateColumn.type()).thenReturn((SqlType) SqlType.date());
+    ColumnMetadata stringColumn = mock(ColumnMetadata.class);
+    when(stringColumn.name()).thenReturn("stringCol");
+    when(stringColumn.type()).thenReturn((SqlType) SqlType.string());
+    when(mockedMetadata.getColumns())
+        .thenReturn(ImmutableList.of(timestampColumn, dateColumn, stringColumn));
+    when(mockedMetadata.getColumnIndex("dateCol")).thenReturn(1);
+    Instant instant = Instant.ofEpochSecond(1_700_000_000L, 123_456_789);
+    when(mockedBigtableResultSet.getTimestamp(0)).thenReturn(instant);
+    when(mockedBigtableResultSet.getDate(1))
+        .thenReturn(com.google.cloud.Date.fromYearMonthDay(2026, 2, 3));
+    when(mockedBigtableResultSet.getString(2)).thenReturn("value");
+
+    assertTrue(resultSet.next());
+    assertSame(instant, resultSet.getObject(1, Instant.class));
+    assertEquals(
+        OffsetDateTime.ofInstant(instant, ZoneOffset.UTC),
+        resultSet.getObject(1, OffsetDateTime.class));
+    assertEquals(Long.valueOf(1_700_000_000_123_456L), resultSet.getObject(1, Long.class));
+    assertEquals(Timestamp.from(instant), resultSet.getObject(1, Timestamp.class));
+    assertEquals(LocalDate.of(2026, 2, 3), resultSet.getObject("dateCol", LocalDate.class));
+    // Classes without a converter are served by getObject.
+    assertEquals("value", resultSet.getObject(3, CharSequence.class));
+    assertFalse(resultSet.wasNull());
+    assertThrows(SQLException.class, () -> resultSet.getObject(3, Long.class));
+  }
+
+  @Test
+  public void testGetArray() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true);
+    SqlType.Array<Long> arrayType = SqlType.arrayOf(SqlType.int64());
+    ColumnMetadata arrayColumn = mock(ColumnMetadata.class);
+    when(arrayColumn.type()).thenReturn((SqlType) arrayType);
+    when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(arrayColumn));
+    when(mockedBigtableResultSet.getList(0, arrayType)).thenReturn(ImmutableList.of(4L, 5L));
+
+    assertTrue(resultSet.next());
+    java.sql.Array array = resultSet.getArray(1);
+    assertEquals("INT64", array.getBaseTypeName());
+    assertArrayEquals(new Long[] {4L, 5L}, (Long[]) array.getArray());
+    assertArrayEquals(new long[] {4L, 5L}, resultSet.getObject(1, long[].class));
+  }
+
+  @Test
+  public void testGetObjectWithClassAndNull() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true);
+    ColumnMetadata timestampColumn = mock(ColumnMetadata.class);
+    when(timestampColumn.type()).thenReturn((SqlType) SqlType.timestamp());
+    when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(timestampColumn));
+    when(mockedBigtableResultSet.isNull(0)).thenReturn(true);
+
+    assertTrue(resultSet.next());
+    assertNull(resultSet.getObject(1, Instant.class));
+    assertTrue(resultSet.wasNull());
+  }
+
   @Test
   public void testClose() throws Exception {
     resultSet.close();
@@ -301,6 +418,132 @@ public class BigtableResultSetTest {
     assertNotNull(resultSet.getMetaData());
   }
 
+  @Test
+  public void testNextBatch() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true, true, true, false);
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    when(column.name()).thenReturn("col1");
+    when(column.type()).thenReturn((SqlType) SqlType.int64());
+    when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(column));
+    when(mockedBigtableResultSet.getLong(0)).thenReturn(1L, 2L, 3L);
+
+    BigtableResultSet unwrapped = resultSet.unwrap(BigtableResultSet.class);
+    RowBatch first = unwrapped.nextBatch(2);
+    assertEquals(2, first.getRowCount());
+    assertEquals(2L, first.getColumn(1).getLongs()[1]);
+    RowBatch second = unwrapped.nextBatch(2);
+    assertSame(first, second);
+    assertEquals(1, second.getRowCount());
+    assertEquals(3L, second.getColumn(1).getLongs()[0]);
+    assertEquals(0, unwrapped.nextBatch(2).getRowCount());
+    assertTrue(resultSet.isAfterLast());
+
+    assertTrue(resultSet.isWrapperFor(BigtableResultSet.class));
+    assertFalse(resultSet.isWrapperFor(String.class));
+    assertThrows(SQLException.class, () -> resultSet.unwrap(String.class));
+    assertThrows(SQLException.class, () -> unwrapped.nextBatch(0));
+  }
+
+  @Test
+  public void testFetchSizeReadsAhead() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true, true, false);
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    when(column.name()).thenReturn("col1");
+    when(column.type()).thenReturn((SqlType) SqlType.string());
+    when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(column));
+    when(mockedMetadata.getColumnIndex("col1")).thenReturn(0);
+    when(mockedBigtableResultSet.getString(0)).thenReturn("value1", "value2");
+
+    resultSet.setFetchSize(10);
+    assertEquals(10, resultSet.getFetchSize());
+    assertTrue(resultSet.next());
+    assertEquals("value1", resultSet.getString(1));
+    assertTrue(resultSet.next());
+    assertEquals("value2", resultSet.getString("col1"));
+    assertFalse(resultSet.next());
+    assertThrows(SQLException.class, () -> resultSet.setFetchSize(-1));
+  }
+
+  @Test
+  public void testMaxRowsCancelsStream() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true);
+    resultSet.setMaxRows(2);
+
+    assertTrue(resultSet.next());
+    verify(mockedBigtableResultSet, never()).close();
+    // The stream is cancelled as soon as the last row is returned.
+    assertTrue(resultSet.next());
+    verify(mockedBigtableResultSet).close();
+    assertFalse(resultSet.next());
+
+    verify(mockedBigtableResultSet, times(2)).next();
+    verify(mockedBigtableResultSet).close();
+    assertTrue(resultSet.isAfterLast());
+  }
+
+  @Test
+  public void testScrollInsensitive() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true, true, true, false);
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    when(column.name()).thenReturn("col1");
+    when(column.type()).thenReturn((SqlType) SqlType.int64());
+    when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(column));
+    when(mockedMetadata.getColumnIndex("col1")).thenReturn(0);
+    when(mockedBigtableResultSet.getLong(0)).thenReturn(1L, 2L, 3L);
+    resultSet.setScrollable(RowStore.DEFAULT_MEMORY_LIMIT_BYTES);
+    assertEquals(java.sql.ResultSet.TYPE_SCROLL_INSENSITIVE, resultSet.getType());
+
+    assertTrue(resultSet.isBeforeFirst());
+    assertTrue(resultSet.absolute(2));
+    assertEquals(2L, resultSet.getLong(1));
+    assertEquals(2, resultSet.getRow());
+    // Only the rows up to the cursor were read.
+    verify(mockedBigtableResultSet, times(2)).next();
+
+    assertTrue(resultSet.previous());
+    assertTrue(resultSet.isFirst());
+    assertEquals(1L, resultSet.getLong("col1"));
+    assertTrue(resultSet.last());
+    assertTrue(resultSet.isLast());
+    assertEquals(3L, resultSet.getLong(1));
+    assertTrue(resultSet.absolute(-3));
+    assertEquals(1L, resultSet.getLong(1));
+    assertTrue(resultSet.relative(1));
+    assertEquals(2L, resultSet.getLong(1));
+    assertFalse(resultSet.relative(5));
+    assertTrue(resultSet.isAfterLast());
+    assertEquals(0, resultSet.getRow());
+    assertTrue(resultSet.previous());
+    assertEquals(3L, resultSet.getLong(1));
+    resultSet.beforeFirst();
+    assertTrue(resultSet.next());
+    assertEquals(1L, resultSet.getLong(1));
+  }
+
+  @Test
+  public void testColumnsAreLookedUpOnce() throws SQLException {
+    when(mockedBigtableResultSet.next()).thenReturn(true, true, false);
+    when(mockedMetadata.getColumnIndex("col1")).thenReturn(0);
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    when(column.name()).thenReturn("col1");
+    when(column.type()).thenReturn((SqlType) SqlType.int64());
+    when(mockedMetadata.getColumns()).thenReturn(ImmutableList.of(column));
+    when(mockedBigtableResultSet.getLong(0)).thenReturn(1L, 1L, 2L, 2L);
+
+    assertTrue(resultSet.next());
+    assertEquals(1L, resultSet.getLong("col1"));
+    assertEquals(1L, resultSet.getObject(1));
+    assertTrue(resultSet.next());
+    assertEquals(2L, resultSet.getLong("col1"));
+    assertEquals(2L, resultSet.getObject(1));
+
+    verify(mockedMetadata, times(1)).getColumnIndex("col1");
+    verify(mockedMetadata, times(1)).getColumns();
+    // Values are read by index, never by name.
+    verify(mockedBigtableResultSet, never()).getLong("col1");
+    assertSame(resultSet.getMetaData(), resultSet.getMetaData());
+  }
+
   @Test
   public void testGetWarnings() throws SQLException {
     assertNull(resultSet.getWarnings());
@@ -325,6 +568,42 @@ public class BigtableResultSetTest {
     assertNull(resultSet.getDate("col1", Calendar.getInstance()));
   }
 
+  @Test
+  public void testBinaryAccessorsShareTheReceivedBytes() throws Exception {
+    ByteString bytes = ByteString.copyFromUtf8("bigtable");
+    when(mockedBigtableResultSet.next()).thenReturn(true);
+    when(mockedMetadata.getColumnIndex("bytesCol")).thenReturn(0);
+    when(mockedBigtableResultSet.getBytes(0)).thenReturn(bytes);
+
+    assertTrue(resultSet.next());
+
+    assertSame(bytes, resultSet.getByteString("bytesCol"));
+    ByteBuffer buffer = resultSet.getByteBuffer(1);
+    assertTrue(buffer.isReadOnly());
+    assertEquals(bytes.asReadOnlyByteBuffer(), buffer);
+    assertFalse(resultSet.wasNull());
+
+    InputStream in = resultSet.getBinaryStream("bytesCol");
+    assertArrayEquals(bytes.toByteArray(), in.readAllBytes());
+
+    Blob blob = resultSet.getBlob(1);
+    assertEquals(bytes.size(), blob.length());
+    assertArrayEquals(bytes.toByteArray(), blob.getBinaryStream().readAllBytes());
+  }
+
+  @Test
+  public void testGetCharacterStream() throws Exception {
+    when(mockedBigtableResultSet.next()).thenReturn(true);
+    when(mockedBigtableResultSet.getString(0)).thenReturn("value");
+
+    assertTrue(resultSet.next());
+
+    char[] chars = new char[8];
+    Reader reader = resultSet.getCharacterStream(1);
+    assertEquals(5, reader.read(chars));
+    assertEquals("value", new String(chars, 0, 5));
+  }
+
   @Test
   public void testGetTimestampWithCalendar() throws SQLException {
     assertNull(resultSet.getTimestamp(1, Calendar.getInstance()));
@@ -332,12 +611,11 @@ public class BigtableResultSetTest {
   }
 
   @Test
-  public void testUnsupportedFeatures() {
+  public void testUnsupportedFeatures() throws SQLException {
     assertUnsupported(() -> resultSet.getBigDecimal(1, 1));
     assertUnsupported(() -> resultSet.getTime(1));
     assertUnsupported(() -> resultSet.getAsciiStream(1));
     assertUnsupported(() -> resultSet.getUnicodeStream(1));
-    assertUnsupported(() -> resultSet.getBinaryStream(1));
     assertUnsupported(() -> resultSet.getCursorName());
     assertUnsupported(() -> resultSet.isFirst());
     assertUnsupported(() -> resultSet.isLast());
@@ -350,9 +628,7 @@ public class BigtableResultSetTest {
     assertUnsupported(() -> resultSet.previous());
     assertUnsupported(() -> resultSet.setFetchDirection(1));
     assertUnsupported(() -> resultSet.getFetchDirection());
-    assertUnsupported(() -> resultSet.setFetchSize(1));
-    assertUnsupported(() -> resultSet.getFetchSize());
-    assertUnsupported(() -> resultSet.getType());
+    assertEquals(java.sql.ResultSet.TYPE_FORWARD_ONLY, resultSet.getType());
     assertUnsupported(() -> resultSet.getConcurrency());
     assertUnsupported(() -> resultSet.rowUpdated());
     assertUnsupported(() -> resultSet.rowInserted());
@@ -386,9 +662,7 @@ public class BigtableResultSetTest {
     assertUnsupported(() -> resultSet.getStatement());
     assertUnsupported(() -> resultSet.getObject(1, (Map<String, Class<?>>) null));
     assertUnsupported(() -> resultSet.getRef(1));
-    assertUnsupported(() -> resultSet.getBlob(1));
     assertUnsupported(() -> resultSet.getClob(1));
-    assertUnsupported(() -> resultSet.getArray(1));
     assertUnsupported(() -> resultSet.getURL(1));
     assertUnsupported(() -> resultSet.getRowId(1));
     assertUnsupported(() -> resultSet.getNClob(1));
@@ -20,17 +20,24 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.ApiExceptionFactory;
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
 import com.google.cloud.bigtable.data.v2.models.sql.BoundStatement;
 import com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement;
 import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
 import com.google.common.collect.ImmutableMap;
+import io.grpc.Status;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -130,6 +137,27 @@ public class BigtableStatementTest {
     assertNotNull(statement.getResultSet());
   }
 
+  @Test
+  public void testExecuteQueryClosesPreviousResultSet() throws SQLException {
+    PreparedStatement mockPreparedStatement = Mockito.mock(PreparedStatement.class);
+    BoundStatement.Builder mockBoundStatementBuilder = Mockito.mock(BoundStatement.Builder.class);
+    BoundStatement mockBoundStatement = Mockito.mock(BoundStatement.class);
+
+    when(mockDataClient.prepareStatement(Mockito.anyString(), Mockito.any()))
+        .thenReturn(mockPreparedStatement);
+    when(mockPreparedStatement.bind()).thenReturn(mockBoundStatementBuilder);
+    when(mockBoundStatementBuilder.build()).thenReturn(mockBoundStatement);
+    when(mockDataClient.executeQuery(mockBoundStatement)).thenReturn(mockResultSet);
+
+    BigtableStatement statement = createStatement();
+    java.sql.ResultSet first = statement.executeQuery(SQL);
+    java.sql.ResultSet second = statement.executeQuery(SQL);
+
+    assertTrue(first.isClosed());
+    assertFalse(second.isClosed());
+    assertSame(second, statement.getResultSet());
+  }
+
   @Test
   public void testGetMoreResults() throws SQLException {
     BigtableStatement statement = createStatement();
@@ -189,12 +217,6 @@ public class BigtableStatementTest {
 
   @Test
   public void testUnsupportedFeatures() {
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          BigtableStatement statement = createStatement();
-          statement.setQueryTimeout(1);
-        });
     assertThrows(
         SQLFeatureNotSupportedException.class,
         () -> {
@@ -213,18 +235,6 @@ public class BigtableStatementTest {
           BigtableStatement statement = createStatement();
           statement.executeBatch();
         });
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          BigtableStatement statement = createStatement();
-          statement.setLargeMaxRows(1);
-        });
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          BigtableStatement statement = createStatement();
-          statement.setMaxRows(1);
-        });
     assertThrows(
         SQLFeatureNotSupportedException.class,
         () -> {
@@ -249,24 +259,12 @@ public class BigtableStatementTest {
           BigtableStatement statement = createStatement();
           statement.getFetchDirection();
         });
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          BigtableStatement statement = createStatement();
-          statement.getFetchSize();
-        });
     assertThrows(
         SQLFeatureNotSupportedException.class,
         () -> {
           BigtableStatement statement = createStatement();
           statement.getResultSetConcurrency();
         });
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          BigtableStatement statement = createStatement();
-          statement.getResultSetType();
-        });
     assertThrows(
         SQLFeatureNotSupportedException.class,
         () -> {
@@ -285,12 +283,6 @@ public class BigtableStatementTest {
           BigtableStatement statement = createStatement();
           statement.isCloseOnCompletion();
         });
-    assertThrows(
-        SQLFeatureNotSupportedException.class,
-        () -> {
-          BigtableStatement statement = createStatement();
-          statement.getLargeMaxRows();
-        });
   }
 
   @Test
@@ -310,6 +302,103 @@ public class BigtableStatementTest {
     assertNotNull(resultSet);
   }
 
+  private void mockQuery() {
+    PreparedStatement mockPreparedStatement = Mockito.mock(PreparedStatement.class);
+    BoundStatement.Builder mockBoundStatementBuilder = Mockito.mock(BoundStatement.Builder.class);
+    BoundStatement mockBoundStatement = Mockito.mock(BoundStatement.class);
+    when(mockDataClient.prepareStatement(Mockito.anyString(), Mockito.any()))
+        .thenReturn(mockPreparedStatement);
+    when(mockPreparedStatement.bind()).thenReturn(mockBoundStatementBuilder);
+    when(mockBoundStatementBuilder.build()).thenReturn(mockBoundStatement);
+    when(mockDataClient.executeQuery(mockBoundStatement)).thenReturn(mockResultSet);
+  }
+
+  @Test
+  public void testQueryTimeout() throws SQLException {
+    when(mockConnection.getDefaultQueryTimeout()).thenReturn(30);
+    BigtableStatement statement = createStatement();
+    assertEquals(30, statement.getQueryTimeout());
+    statement.setQueryTimeout(5);
+    assertEquals(5, statement.getQueryTimeout());
+    assertThrows(SQLException.class, () -> statement.setQueryTimeout(-1));
+  }
+
+  @Test
+  public void testFetchSizeIsPassedToResultSets() throws SQLException {
+    mockQuery();
+    BigtableStatement statement = createStatement();
+    assertEquals(0, statement.getFetchSize());
+    statement.setFetchSize(4);
+
+    java.sql.ResultSet resultSet = statement.executeQuery(SQL);
+
+    assertEquals(4, resultSet.getFetchSize());
+    assertThrows(SQLException.class, () -> statement.setFetchSize(-1));
+  }
+
+  @Test
+  public void testMaxRowsIsPushedDownAsLimit() throws SQLException {
+    mockQuery();
+    BigtableStatement statement = createStatement();
+    assertEquals(0, statement.getMaxRows());
+    statement.setMaxRows(10);
+    assertEquals(10L, statement.getLargeMaxRows());
+
+    statement.executeQuery("SELECT * FROM t");
+    statement.executeQuery("SELECT * FROM t LIMIT 5");
+
+    Mockito.verify(mockDataClient).prepareStatement("SELECT * FROM t\nLIMIT 10", ImmutableMap.of());
+    Mockito.verify(mockDataClient).prepareStatement("SELECT * FROM t LIMIT 5", ImmutableMap.of());
+    assertThrows(SQLException.class, () -> statement.setLargeMaxRows(-1));
+  }
+
+  @Test
+  public void testQueryTimeoutCancelsStream() throws SQLException {
+    mockQuery();
+    when(mockConnection.getNetworkTimeoutMillis()).thenReturn(50);
+    when(mockResultSet.next()).thenThrow(new RuntimeException("stream cancelled"));
+
+    BigtableStatement statement = createStatement();
+    java.sql.ResultSet resultSet = statement.executeQuery(SQL);
+
+    Mockito.verify(mockResultSet, Mockito.timeout(5000)).close();
+    assertThrows(SQLTimeoutException.class, resultSet::next);
+  }
+
+  @Test
+  public void testCancel() throws SQLException {
+    mockQuery();
+    when(mockResultSet.next()).thenThrow(new RuntimeException("stream cancelled"));
+
+    BigtableStatement statement = createStatement();
+    java.sql.ResultSet resultSet = statement.executeQuery(SQL);
+    statement.cancel();
+
+    Mockito.verify(mockResultSet).close();
+    SQLException e = assertThrows(SQLException.class, resultSet::next);
+    assertEquals(QueryExecution.CANCELLED_SQL_STATE, e.getSQLState());
+  }
+
+  @Test
+  public void testCancelWithoutQuery() throws SQLException {
+    BigtableStatement statement = createStatement();
+    statement.cancel();
+    statement.close();
+    assertThrows(SQLException.class, statement::cancel);
+  }
+
+  @Test
+  public void testExhaustedResultSetIsNotCancelled() throws SQLException {
+    mockQuery();
+    when(mockResultSet.next()).thenReturn(false);
+
+    BigtableStatement statement = createStatement();
+    java.sql.ResultSet resultSet = statement.executeQuery(SQL);
+    assertFalse(resultSet.next());
+    statement.cancel();
+    assertFalse(resultSet.next());
+  }
+
   @Test
   public void testExecuteQuery_passesEmptyMapToPrepareStatement() throws SQLException {
     String sql = "SELECT 42";
@@ -329,6 +418,117 @@ public class BigtableStatementTest {
     Mockito.verify(mockDataClient).prepareStatement(sql, ImmutableMap.of());
   }
 
+  @Test
+  public void testExecuteQuery_usesPreparedQueryCache() throws SQLException {
+    String sql = "SELECT 42";
+    PreparedStatement mockPreparedStatement = Mockito.mock(PreparedStatement.class);
+    BoundStatement.Builder mockBoundStatementBuilder = Mockito.mock(BoundStatement.Builder.class);
+    BoundStatement mockBoundStatement = Mockito.mock(BoundStatement.class);
+    PreparedQueryCache cache = new PreparedQueryCache();
+    cache.put(sql, ImmutableMap.of(), mockPreparedStatement);
+
+    when(mockConnection.getPreparedQueryCache()).thenReturn(cache);
+    when(mockPreparedStatement.bind()).thenReturn(mockBoundStatementBuilder);
+    when(mockBoundStatementBuilder.build()).thenReturn(mockBoundStatement);
+    when(mockDataClient.executeQuery(mockBoundStatement)).thenReturn(mockResultSet);
+
+    BigtableStatement statement = createStatement();
+    assertNotNull(statement.executeQuery(sql));
+
+    Mockito.verify(mockDataClient, Mockito.never())
+        .prepareStatement(Mockito.anyString(), Mockito.any());
+  }
+
+  @Test
+  public void testExecuteQuery_autoParameterizeSharesPreparedQuery() throws SQLException {
+    String normalized = "SELECT * FROM t WHERE _key = @literal1";
+    PreparedStatement mockPreparedStatement = Mockito.mock(PreparedStatement.class);
+    BoundStatement.Builder mockBoundStatementBuilder = Mockito.mock(BoundStatement.Builder.class);
+    BoundStatement mockBoundStatement = Mockito.mock(BoundStatement.class);
+
+    when(mockConnection.getPreparedQueryCache()).thenReturn(new PreparedQueryCache());
+    when(mockConnection.isAutoParameterize()).thenReturn(true);
+    when(mockDataClient.prepareStatement(Mockito.eq(normalized), Mockito.any()))
+        .thenReturn(mockPreparedStatement);
+    when(mockPreparedStatement.bind()).thenReturn(mockBoundStatementBuilder);
+    when(mockBoundStatementBuilder.build()).thenReturn(mockBoundStatement);
+    when(mockDataClient.executeQuery(mockBoundStatement)).thenReturn(mockResultSet);
+
+    BigtableStatement statement = createStatement();
+    statement.executeQuery("SELECT * FROM t WHERE _key = 'a'");
+    statement.executeQuery("SELECT * FROM t WHERE _key = 'b'");
+
+    Mockito.verify(mockDataClient, Mockito.times(1))
+        .prepareStatement(normalized, ImmutableMap.of("literal1", SqlType.string()));
+    Mockito.verify(mockBoundStatementBuilder).setStringParam("literal1", "a");
+    Mockito.verify(mockBoundStatementBuilder).setStringParam("literal1", "b");
+  }
+
+  @Test
+  public void testExecuteQuery_autoParameterizeFallsBackWhenRejected() throws SQLException {
+    String normalized = "SELECT * FROM t WHERE _key = @literal1";
+    PreparedStatement mockPreparedStatement = Mockito.mock(PreparedStatement.class);
+    BoundStatement.Builder mockBoundStatementBuilder = Mockito.mock(BoundStatement.Builder.class);
+    BoundStatement mockBoundStatement = Mockito.mock(BoundStatement.class);
+    ApiException invalidArgument =
+        ApiExceptionFactory.createException(
+            new RuntimeException("Parameter type mismatch"),
+            GrpcStatusCode.of(Status.Code.INVALID_ARGUMENT),
+            false);
+
+    when(mockConnection.getPreparedQueryCache()).thenReturn(new PreparedQueryCache());
+    when(mockConnection.isAutoParameterize()).thenReturn(true);
+    when(mockDataClient.prepareStatement(Mockito.anyString(), Mockito.any()))
+        .thenReturn(mockPreparedStatement);
+    when(mockDataClient.prepareStatement(Mockito.eq(normalized), Mockito.any()))
+        .thenThrow(invalidArgument);
+    when(mockPreparedStatement.bind()).thenReturn(mockBoundStatementBuilder);
+    when(mockBoundStatementBuilder.build()).thenReturn(mockBoundStatement);
+    when(mockDataClient.executeQuery(mockBoundStatement)).thenReturn(mockResultSet);
+
+    BigtableStatement statement = createStatement();
+    assertNotNull(statement.executeQuery("SELECT * FROM t WHERE _key = 'a'"));
+    assertNotNull(statement.executeQuery("SELECT * FROM t WHERE _key = 'b'"));
+
+    // The rejected query is not prepared again.
+    Mockito.verify(mockDataClient, Mockito.times(1))
+        .prepareStatement(Mockito.eq(normalized), Mockito.any());
+    Mockito.verify(mockDataClient)
+        .prepareStatement("SELECT * FROM t WHERE _key = 'b'", ImmutableMap.of());
+  }
+
+  @Test
+  public void testExecuteQuery_repreparesStalePlanOnce() throws SQLException {
+    PreparedStatement stale = Mockito.mock(PreparedStatement.class);
+    PreparedStatement fresh = Mockito.mock(PreparedStatement.class);
+    BoundStatement.Builder staleBuilder = Mockito.mock(BoundStatement.Builder.class);
+    BoundStatement.Builder freshBuilder = Mockito.mock(BoundStatement.Builder.class);
+    BoundStatement staleBound = Mockito.mock(BoundStatement.class);
+    BoundStatement freshBound = Mockito.mock(BoundStatement.class);
+    PreparedQueryCache cache = new PreparedQueryCache();
+    cache.put(SQL, ImmutableMap.of(), stale);
+
+    when(mockConnection.getPreparedQueryCache()).thenReturn(cache);
+    when(mockDataClient.prepareStatement(SQL, ImmutableMap.of())).thenReturn(fresh);
+    when(stale.bind()).thenReturn(staleBuilder);
+    when(staleBuilder.build()).thenReturn(staleBound);
+    when(fresh.bind()).thenReturn(freshBuilder);
+    when(freshBuilder.build()).thenReturn(freshBound);
+    when(mockDataClient.executeQuery(staleBound))
+        .thenThrow(
+            ApiExceptionFactory.createException(
+                new RuntimeException("Prepared query expired"),
+                GrpcStatusCode.of(Status.Code.FAILED_PRECONDITION),
+                false));
+    when(mockDataClient.executeQuery(freshBound)).thenReturn(mockResultSet);
+
+    BigtableStatement statement = createStatement();
+    assertNotNull(statement.executeQuery(SQL));
+
+    Mockito.verify(mockDataClient).prepareStatement(SQL, ImmutableMap.of());
+    assertEquals(fresh, cache.peek(SQL, ImmutableMap.of()));
+  }
+
   @Test
   public void testWarnings() throws SQLException {
     BigtableStatement statement = createStatement();
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BigtableStructTest {
+
+  @Test
+  public void testAttributesAreReadOnAccess() {
+    Struct struct = mock(Struct.class);
+    SqlType.Struct type = mock(SqlType.Struct.class);
+    SqlType.Struct.Field nameField = mock(SqlType.Struct.Field.class);
+    SqlType.Struct.Field countField = mock(SqlType.Struct.Field.class);
+    when(type.getFields()).thenReturn((List) Arrays.asList(nameField, countField));
+    when(type.getType(0)).thenReturn((SqlType) SqlType.string());
+    when(type.getType(1)).thenReturn((SqlType) SqlType.int64());
+    when(struct.getString(0)).thenReturn("name");
+    when(struct.getLong(1)).thenReturn(3L);
+
+    BigtableStruct jdbcStruct = new BigtableStruct(struct, type);
+    assertEquals("STRUCT", jdbcStruct.getSQLTypeName());
+    verify(struct, never()).getString(0);
+
+    assertEquals(3L, jdbcStruct.getAttribute(1));
+    verify(struct, never()).getString(0);
+    assertArrayEquals(new Object[] {"name", 3L}, jdbcStruct.getAttributes());
+  }
+
+  @Test
+  public void testNestedStructsAreWrapped() {
+    Struct struct = mock(Struct.class);
+    SqlType.Struct type = mock(SqlType.Struct.class);
+    SqlType.Struct nestedType = mock(SqlType.Struct.class);
+    when(nestedType.getCode()).thenReturn(SqlType.Code.STRUCT);
+    when(type.getType(0)).thenReturn((SqlType) nestedType);
+    when(struct.getStruct(0)).thenReturn(mock(Struct.class));
+
+    assertTrue(new BigtableStruct(struct, type).getAttribute(0) instanceof BigtableStruct);
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement;
+import com.google.cloud.bigtable.jdbc.client.IBigtableClientFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ConnectionWarmUpTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testSplitQueries() {
+    assertEquals(
+        Arrays.asList("SELECT 1", "SELECT _key FROM t\n  WHERE _key = 'a'"),
+        ConnectionWarmUp.splitQueries(
+            "-- warm-up\nSELECT 1;\n\n  SELECT _key FROM t\n  WHERE _key = 'a'  ;\n;"));
+  }
+
+  @Test
+  public void testSplitQueriesIgnoresSemicolonsInLiteralsAndComments() {
+    assertEquals(
+        Arrays.asList("SELECT 'a;b' FROM t", "SELECT 2"),
+        ConnectionWarmUp.splitQueries(
+            "SELECT 'a;b' FROM t -- c;d\n;/* e; */ SELECT 2 /* f */\n;  -- g;\n"));
+  }
+
+  @Test
+  public void testIsEnabled() throws SQLException {
+    Properties properties = new Properties();
+    assertFalse(ConnectionWarmUp.isEnabled(properties));
+    properties.setProperty("warmup", "TRUE");
+    assertTrue(ConnectionWarmUp.isEnabled(properties));
+    properties.setProperty("warmup", "yes");
+    assertThrows(SQLException.class, () -> ConnectionWarmUp.isEnabled(properties));
+  }
+
+  @Test
+  public void testLoadQueriesFromPropertyAndFile() throws SQLException, IOException {
+    File file = temporaryFolder.newFile("warmup.sql");
+    Files.write(file.toPath(), "SELECT 2;\nSELECT 3;".getBytes(StandardCharsets.UTF_8));
+    Properties properties = new Properties();
+    properties.setProperty("warmup_queries", "SELECT 1");
+    properties.setProperty("warmup_queries_resource", file.getAbsolutePath());
+
+    assertEquals(
+        Arrays.asList("SELECT 1", "SELECT 2", "SELECT 3"),
+        ConnectionWarmUp.loadQueries(properties));
+  }
+
+  @Test
+  public void testLoadQueriesFromMissingResource() {
+    Properties properties = new Properties();
+    properties.setProperty("warmup_queries_resource", "does/not/exist.sql");
+    assertThrows(SQLException.class, () -> ConnectionWarmUp.loadQueries(properties));
+  }
+
+  @Test
+  public void testRunPreparesQueriesIntoCache() throws IOException {
+    BigtableDataClient client = mock(BigtableDataClient.class);
+    IBigtableClientFactory clientFactory = mock(IBigtableClientFactory.class);
+    PreparedStatement first = mock(PreparedStatement.class);
+    PreparedStatement second = mock(PreparedStatement.class);
+    when(client.prepareStatement(eq("SELECT 1"), anyMap())).thenReturn(first);
+    when(client.prepareStatement(eq("SELECT 2"), anyMap())).thenReturn(second);
+    PreparedQueryCache cache = new PreparedQueryCache();
+
+    List<SQLWarning> warnings =
+        ConnectionWarmUp.run(
+            client, clientFactory, ImmutableList.of("SELECT 1", "SELECT 2"), cache, executor);
+
+    assertTrue(warnings.isEmpty());
+    assertEquals(first, cache.get("SELECT 1", ImmutableMap.of()));
+    assertEquals(second, cache.get("SELECT 2", ImmutableMap.of()));
+  }
+
+  @Test
+  public void testRunSkipsQueriesWithPlaceholders() {
+    BigtableDataClient client = mock(BigtableDataClient.class);
+    PreparedQueryCache cache = new PreparedQueryCache();
+
+    List<SQLWarning> warnings =
+        ConnectionWarmUp.run(
+            client, null, ImmutableList.of("SELECT * FROM t WHERE _key = ?"), cache, executor);
+
+    assertEquals(1, warnings.size());
+    verify(client, never()).prepareStatement(anyString(), anyMap());
+  }
+
+  @Test
+  public void testRunReportsFailuresAsWarnings() throws IOException {
+    BigtableDataClient client = mock(BigtableDataClient.class);
+    IBigtableClientFactory clientFactory = mock(IBigtableClientFactory.class);
+    doThrow(new IOException("no token")).when(clientFactory).prefetchCredentials();
+    when(client.prepareStatement(eq("SELECT 1"), anyMap()))
+        .thenThrow(new RuntimeException("bad query"));
+    PreparedQueryCache cache = new PreparedQueryCache();
+
+    List<SQLWarning> warnings =
+        ConnectionWarmUp.run(client, clientFactory, ImmutableList.of("SELECT 1"), cache, executor);
+
+    assertEquals(2, warnings.size());
+    assertNotNull(warnings.get(0).getCause());
+    assertNull(cache.get("SELECT 1", ImmutableMap.of()));
+  }
+}
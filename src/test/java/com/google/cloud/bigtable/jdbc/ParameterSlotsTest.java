@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.google.cloud.bigtable.data.v2.models.sql.BoundStatement;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.jdbc.util.SqlTypeEnum;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ParameterSlotsTest {
+
+  @Test
+  public void testBindsPrimitiveAndObjectValues() {
+    ParameterSlots slots = new ParameterSlots(5);
+    slots.setLong(1, 42L);
+    slots.setBoolean(2, true);
+    slots.setDouble(3, 1.5);
+    slots.setFloat(4, 2.5f);
+    slots.setObject(5, SqlTypeEnum.STRING, "value");
+    BoundStatement.Builder bound = mock(BoundStatement.Builder.class);
+
+    slots.bindTo(bound);
+
+    verify(bound).setLongParam("param1", 42L);
+    verify(bound).setBooleanParam("param2", true);
+    verify(bound).setDoubleParam("param3", 1.5);
+    verify(bound).setFloatParam("param4", 2.5f);
+    verify(bound).setStringParam("param5", "value");
+  }
+
+  @Test
+  public void testGrowsBeyondCapacity() {
+    ParameterSlots slots = new ParameterSlots(0);
+    slots.setLong(100, 7L);
+
+    assertEquals(1, slots.size());
+    assertEquals(SqlTypeEnum.INT, slots.getType(100));
+    assertEquals(7L, slots.getValue(100));
+    assertEquals("param100", ParameterSlots.name(100));
+  }
+
+  @Test
+  public void testReplacingValueKeepsSize() {
+    ParameterSlots slots = new ParameterSlots(1);
+    slots.setObject(1, SqlTypeEnum.STRING, "a");
+    slots.setLong(1, 1L);
+
+    assertEquals(1, slots.size());
+    assertEquals(SqlTypeEnum.INT, slots.getType(1));
+    assertEquals(1L, slots.getValue(1));
+  }
+
+  @Test
+  public void testClear() {
+    ParameterSlots slots = new ParameterSlots(2);
+    slots.setLong(1, 1L);
+    slots.setObject(2, SqlTypeEnum.STRING, "a");
+    slots.clear();
+
+    assertEquals(0, slots.size());
+    assertNull(slots.getType(1));
+    assertNull(slots.getType(3));
+    assertEquals(ImmutableMap.of(), slots.parameterTypes());
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    ParameterSlots slots = new ParameterSlots(1);
+    slots.setLong(1, 1L);
+    ParameterSlots copy = slots.copy();
+    slots.setLong(1, 2L);
+
+    assertEquals(1L, copy.getValue(1));
+    assertEquals(2L, slots.getValue(1));
+  }
+
+  @Test
+  public void testSnapshotIsReusedUntilChanged() {
+    ParameterSlots slots = new ParameterSlots(1);
+    slots.setLong(1, 1L);
+    ParameterSlots snapshot = slots.snapshot();
+    assertSame(snapshot, slots.snapshot());
+
+    slots.setLong(1, 2L);
+    ParameterSlots changed = slots.snapshot();
+    assertNotSame(snapshot, changed);
+    assertEquals(1L, snapshot.getValue(1));
+    assertEquals(2L, changed.getValue(1));
+
+    slots.clear();
+    assertNotSame(changed, slots.snapshot());
+  }
+
+  @Test
+  public void testParameterTypes() {
+    ParameterSlots slots = new ParameterSlots(2);
+    slots.setObject(2, SqlTypeEnum.STRING, "a");
+    slots.setDouble(1, 1.0);
+
+    assertEquals(
+        ImmutableMap.of("param1", SqlType.float64(), "param2", SqlType.string()),
+        slots.parameterTypes());
+  }
+
+  @Test
+  public void testHasSameTypes() {
+    ParameterSlots slots = new ParameterSlots(2);
+    slots.setLong(1, 1L);
+    slots.setObject(2, SqlTypeEnum.STRING, "one");
+    ParameterSlots sameTypes = slots.copy();
+    sameTypes.setLong(1, 2L);
+    ParameterSlots otherTypes = slots.copy();
+    otherTypes.setDouble(1, 2.0);
+    ParameterSlots moreParameters = slots.copy();
+    moreParameters.setLong(3, 3L);
+
+    assertTrue(slots.hasSameTypes(sameTypes));
+    assertFalse(slots.hasSameTypes(otherTypes));
+    assertFalse(slots.hasSameTypes(moreParameters));
+    assertFalse(moreParameters.hasSameTypes(slots));
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiExceptionFactory;
+import com.google.cloud.bigtable.data.v2.models.sql.PreparedStatement;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.common.collect.ImmutableMap;
+import io.grpc.Status;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PreparedQueryCacheTest {
+  private static final Map<String, SqlType<?>> NO_PARAMETERS = ImmutableMap.of();
+
+  @Test
+  public void testKeyIncludesParameterTypes() {
+    PreparedQueryCache cache = new PreparedQueryCache();
+    PreparedStatement stringQuery = mock(PreparedStatement.class);
+    PreparedStatement longQuery = mock(PreparedStatement.class);
+    String sql = "SELECT * FROM t WHERE _key = @param1";
+    Map<String, SqlType<?>> stringParameter = new HashMap<>();
+    stringParameter.put("param1", SqlType.string());
+    cache.put(sql, stringParameter, stringQuery);
+    cache.put(sql, ImmutableMap.of("param1", SqlType.int64()), longQuery);
+
+    assertSame(stringQuery, cache.get(sql, ImmutableMap.of("param1", SqlType.string())));
+    assertSame(longQuery, cache.get(sql, ImmutableMap.of("param1", SqlType.int64())));
+    assertNull(cache.get(sql, NO_PARAMETERS));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedEntry() {
+    PreparedQueryCache cache = new PreparedQueryCache(2, Long.MAX_VALUE);
+    PreparedStatement first = mock(PreparedStatement.class);
+    cache.put("SELECT 1", NO_PARAMETERS, first);
+    cache.put("SELECT 2", NO_PARAMETERS, mock(PreparedStatement.class));
+    assertSame(first, cache.get("SELECT 1", NO_PARAMETERS));
+    cache.put("SELECT 3", NO_PARAMETERS, mock(PreparedStatement.class));
+
+    assertEquals(2, cache.size());
+    assertSame(first, cache.get("SELECT 1", NO_PARAMETERS));
+    assertNull(cache.get("SELECT 2", NO_PARAMETERS));
+    assertEquals(1, cache.getStatistics().getEvictions());
+  }
+
+  @Test
+  public void testEvictsByEstimatedMemory() {
+    PreparedQueryCache cache = new PreparedQueryCache(100, 3_000);
+    for (int i = 0; i < 10; i++) {
+      cache.put("SELECT " + i, NO_PARAMETERS, mock(PreparedStatement.class));
+    }
+    BigtableConnection.PreparedQueryCacheStatistics statistics = cache.getStatistics();
+    assertEquals(2, statistics.getSize());
+    assertEquals(8, statistics.getEvictions());
+    assertTrue(statistics.getEstimatedBytes() <= 3_000);
+  }
+
+  @Test
+  public void testReplacingEntryKeepsSize() {
+    PreparedQueryCache cache = new PreparedQueryCache();
+    cache.put("SELECT 1", NO_PARAMETERS, mock(PreparedStatement.class));
+    long bytes = cache.getStatistics().getEstimatedBytes();
+    PreparedStatement replacement = mock(PreparedStatement.class);
+    cache.put("SELECT 1", NO_PARAMETERS, replacement);
+
+    assertEquals(1, cache.size());
+    assertEquals(bytes, cache.getStatistics().getEstimatedBytes());
+    assertSame(replacement, cache.get("SELECT 1", NO_PARAMETERS));
+  }
+
+  @Test
+  public void testDisabledCache() {
+    PreparedQueryCache cache = new PreparedQueryCache(0, Long.MAX_VALUE);
+    cache.put("SELECT 1", NO_PARAMETERS, mock(PreparedStatement.class));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testCountsHitsAndMisses() {
+    PreparedQueryCache cache = new PreparedQueryCache();
+    assertNull(cache.get("SELECT 1", NO_PARAMETERS));
+    cache.put("SELECT 1", NO_PARAMETERS, mock(PreparedStatement.class));
+    cache.get("SELECT 1", NO_PARAMETERS);
+    cache.get("SELECT 1", NO_PARAMETERS);
+
+    BigtableConnection.PreparedQueryCacheStatistics statistics = cache.getStatistics();
+    assertEquals(2, statistics.getHits());
+    assertEquals(1, statistics.getMisses());
+  }
+
+  @Test
+  public void testRefreshesEntryUsedAfterRefreshAge() throws InterruptedException {
+    PreparedQueryCache cache = new PreparedQueryCache(10, Long.MAX_VALUE, 1);
+    PreparedStatement refreshed = mock(PreparedStatement.class);
+    Executor directExecutor = Runnable::run;
+    cache.startRefreshing((sql, parameterTypes) -> refreshed, directExecutor);
+    cache.put("SELECT 1", NO_PARAMETERS, mock(PreparedStatement.class));
+    Thread.sleep(5);
+
+    assertSame(refreshed, cache.get("SELECT 1", NO_PARAMETERS));
+    assertEquals(1, cache.getStatistics().getRefreshes());
+  }
+
+  @Test
+  public void testFailedRefreshKeepsEntry() throws InterruptedException {
+    PreparedQueryCache cache = new PreparedQueryCache(10, Long.MAX_VALUE, 1);
+    PreparedStatement current = mock(PreparedStatement.class);
+    Executor directExecutor = Runnable::run;
+    cache.startRefreshing(
+        (sql, parameterTypes) -> {
+          throw new IllegalStateException("unavailable");
+        },
+        directExecutor);
+    cache.put("SELECT 1", NO_PARAMETERS, current);
+    Thread.sleep(5);
+
+    assertSame(current, cache.get("SELECT 1", NO_PARAMETERS));
+    assertEquals(0, cache.getStatistics().getRefreshes());
+  }
+
+  @Test
+  public void testNoRefreshWhenStopped() throws InterruptedException {
+    PreparedQueryCache cache = new PreparedQueryCache(10, Long.MAX_VALUE, 1);
+    PreparedStatement current = mock(PreparedStatement.class);
+    Executor directExecutor = Runnable::run;
+    cache.startRefreshing((sql, parameterTypes) -> mock(PreparedStatement.class), directExecutor);
+    cache.stopRefreshing();
+    cache.put("SELECT 1", NO_PARAMETERS, current);
+    Thread.sleep(5);
+
+    assertSame(current, cache.get("SELECT 1", NO_PARAMETERS));
+  }
+
+  @Test
+  public void testInvalidateOnlyRemovesStaleStatement() {
+    PreparedQueryCache cache = new PreparedQueryCache();
+    PreparedStatement stale = mock(PreparedStatement.class);
+    PreparedStatement current = mock(PreparedStatement.class);
+    cache.put("SELECT 1", NO_PARAMETERS, current);
+
+    cache.invalidate("SELECT 1", NO_PARAMETERS, stale);
+    assertSame(current, cache.peek("SELECT 1", NO_PARAMETERS));
+    cache.invalidate("SELECT 1", NO_PARAMETERS, current);
+    assertNull(cache.peek("SELECT 1", NO_PARAMETERS));
+    assertEquals(0, cache.getStatistics().getEstimatedBytes());
+  }
+
+  @Test
+  public void testIsStalePlanError() {
+    assertTrue(
+        PreparedQueryCache.isStalePlanError(
+            new RuntimeException(
+                ApiExceptionFactory.createException(
+                    new RuntimeException("Prepared query expired"),
+                    GrpcStatusCode.of(Status.Code.FAILED_PRECONDITION),
+                    false))));
+    assertFalse(
+        PreparedQueryCache.isStalePlanError(
+            ApiExceptionFactory.createException(
+                new RuntimeException("unavailable"),
+                GrpcStatusCode.of(Status.Code.UNAVAILABLE),
+                true)));
+  }
+}
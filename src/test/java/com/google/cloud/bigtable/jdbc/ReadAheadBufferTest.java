@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSet;
+import com.google.cloud.bigtable.data.v2.models.sql.ResultSetMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.CancellationException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ReadAheadBufferTest {
+  private ResultSet stream;
+  private ResultSetMetadata metadata;
+
+  @Before
+  public void setUp() {
+    stream = mock(ResultSet.class);
+    metadata = mock(ResultSetMetadata.class);
+    when(stream.getMetadata()).thenReturn(metadata);
+  }
+
+  private void mockColumns(SqlType<?>... types) {
+    ImmutableList.Builder<ColumnMetadata> columns = ImmutableList.builder();
+    for (int i = 0; i < types.length; i++) {
+      ColumnMetadata column = mock(ColumnMetadata.class);
+      when(column.name()).thenReturn("col" + i);
+      when(column.type()).thenReturn((SqlType) types[i]);
+      columns.add(column);
+    }
+    when(metadata.getColumns()).thenReturn(columns.build());
+  }
+
+  @Test
+  public void testReadsCopiedRows() {
+    mockColumns(SqlType.int64(), SqlType.string());
+    when(metadata.getColumnIndex("col1")).thenReturn(1);
+    when(stream.next()).thenReturn(true, true, false);
+    when(stream.getLong(0)).thenReturn(1L, 2L);
+    when(stream.isNull(1)).thenReturn(false, true);
+    when(stream.getString(1)).thenReturn("a");
+    ResultSet buffered = new ReadAheadBuffer(stream, 4).asResultSet();
+
+    assertTrue(buffered.next());
+    assertEquals(1L, buffered.getLong(0));
+    assertEquals("a", buffered.getString("col1"));
+    assertTrue(buffered.next());
+    assertEquals(2L, buffered.getLong(0));
+    assertTrue(buffered.isNull("col1"));
+    assertFalse(buffered.next());
+    assertFalse(buffered.next());
+    assertSame(metadata, buffered.getMetadata());
+  }
+
+  @Test
+  public void testProducerStopsWhileBufferIsFull() throws InterruptedException {
+    mockColumns(SqlType.int64());
+    when(stream.next()).thenReturn(true);
+    ResultSet buffered = new ReadAheadBuffer(stream, 2).asResultSet();
+
+    assertTrue(buffered.next());
+    // One row is consumed, two are buffered and a fourth is copied, waiting for room.
+    verify(stream, timeout(5000).times(4)).next();
+    Thread.sleep(100);
+    verify(stream, times(4)).next();
+
+    buffered.close();
+    verify(stream).close();
+    assertThrows(CancellationException.class, buffered::next);
+  }
+
+  @Test
+  public void testStreamFailureIsRethrown() {
+    mockColumns(SqlType.int64());
+    IllegalStateException failure = new IllegalStateException("stream failed");
+    when(stream.next()).thenReturn(true).thenThrow(failure);
+    ResultSet buffered = new ReadAheadBuffer(stream, 4).asResultSet();
+
+    assertTrue(buffered.next());
+    assertSame(failure, assertThrows(IllegalStateException.class, buffered::next));
+    assertSame(failure, assertThrows(IllegalStateException.class, buffered::next));
+  }
+
+  @Test
+  public void testErrorIsNotReportedAsARow() {
+    mockColumns(SqlType.int64());
+    when(stream.next()).thenThrow(new AssertionError("broken"));
+    ResultSet buffered = new ReadAheadBuffer(stream, 4).asResultSet();
+
+    // The producer's thread fails; the consumer stops waiting for rows.
+    assertThrows(CancellationException.class, buffered::next);
+  }
+
+  @Test
+  public void testUnsupportedColumnTypesAreReadDirectly() {
+    mockColumns((SqlType<?>) null);
+    when(stream.next()).thenReturn(true, false);
+    when(stream.getLong(0)).thenReturn(7L);
+    ResultSet buffered = new ReadAheadBuffer(stream, 4).asResultSet();
+
+    assertTrue(buffered.next());
+    assertEquals(7L, buffered.getLong(0));
+    assertFalse(buffered.next());
+    verify(stream, times(2)).next();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RowBatchTest {
+
+  private static ColumnMetadata column(String name, SqlType<?> type) {
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    when(column.name()).thenReturn(name);
+    when(column.type()).thenReturn((SqlType) type);
+    return column;
+  }
+
+  @Test
+  public void testStoresValuesByColumn() {
+    List<ColumnMetadata> columns =
+        ImmutableList.of(
+            column("id", SqlType.int64()),
+            column("score", SqlType.float64()),
+            column("active", SqlType.bool()),
+            column("country", SqlType.string()),
+            column("payload", SqlType.bytes()));
+    RowBatch batch = new RowBatch(columns);
+    batch.reset(4);
+    ByteString payload = ByteString.copyFromUtf8("payload");
+    String[] countries = {"FR", "US", "FR"};
+    for (int row = 0; row < 3; row++) {
+      StructReader reader = mock(StructReader.class);
+      when(reader.getLong(0)).thenReturn((long) row);
+      when(reader.getDouble(1)).thenReturn(row * 0.5);
+      when(reader.getBoolean(2)).thenReturn(row % 2 == 0);
+      when(reader.getString(3)).thenReturn(countries[row]);
+      when(reader.isNull(4)).thenReturn(row == 1);
+      when(reader.getBytes(4)).thenReturn(payload);
+      batch.readRow(reader);
+    }
+
+    assertEquals(3, batch.getRowCount());
+    assertEquals(5, batch.getColumnCount());
+    RowBatch.Column ids = batch.getColumn(1);
+    assertEquals("id", ids.getName());
+    assertEquals(2L, ids.getLongs()[2]);
+    assertNull(ids.getDoubles());
+    assertEquals(1.0, batch.getColumn(2).getDoubles()[2], 0);
+    assertTrue(batch.getColumn(3).getBooleans()[0]);
+    assertFalse(batch.getColumn(3).getBooleans()[1]);
+
+    RowBatch.Column country = batch.getColumn(4);
+    assertEquals(ImmutableList.of("FR", "US"), country.getDictionary());
+    assertEquals(0, country.getDictionaryCodes()[2]);
+    assertEquals("US", country.getString(1));
+
+    RowBatch.Column payloads = batch.getColumn(5);
+    assertSame(payload, payloads.getBytes(0));
+    assertTrue(payloads.isNull(1));
+    assertNull(payloads.getObject(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> batch.getColumn(6));
+  }
+
+  @Test
+  public void testResetReusesArrays() {
+    RowBatch batch = new RowBatch(ImmutableList.of(column("id", SqlType.int64())));
+    batch.reset(8);
+    long[] longs = batch.getColumn(1).getLongs();
+    StructReader reader = mock(StructReader.class);
+    when(reader.isNull(0)).thenReturn(true);
+    batch.readRow(reader);
+
+    batch.reset(4);
+
+    assertEquals(0, batch.getRowCount());
+    assertSame(longs, batch.getColumn(1).getLongs());
+    assertFalse(batch.getColumn(1).isNull(0));
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.Date;
+import com.google.cloud.bigtable.data.v2.models.sql.ColumnMetadata;
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.Struct;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.ByteString;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RowStoreTest {
+  private static final SqlType.Map<ByteString, ByteString> FAMILY_TYPE =
+      SqlType.mapOf(SqlType.bytes(), SqlType.bytes());
+  private static final SqlType.Array<String> TAGS_TYPE = SqlType.arrayOf(SqlType.string());
+
+  private static ColumnMetadata column(String name, SqlType<?> type) {
+    ColumnMetadata column = mock(ColumnMetadata.class);
+    when(column.name()).thenReturn(name);
+    when(column.type()).thenReturn((SqlType) type);
+    return column;
+  }
+
+  private static final List<ColumnMetadata> COLUMNS =
+      ImmutableList.of(
+          column("id", SqlType.int64()),
+          column("name", SqlType.string()),
+          column("score", SqlType.float32()),
+          column("active", SqlType.bool()),
+          column("updated", SqlType.timestamp()),
+          column("day", SqlType.date()),
+          column("tags", TAGS_TYPE),
+          column("family", FAMILY_TYPE),
+          column("detail", SqlType.struct()));
+
+  private static StructReader row(long id, Struct detail) {
+    StructReader reader = mock(StructReader.class);
+    when(reader.getLong(0)).thenReturn(id);
+    when(reader.getString(1)).thenReturn("name-" + id);
+    when(reader.isNull(2)).thenReturn(id % 2 == 0);
+    when(reader.getFloat(2)).thenReturn(id / 2f);
+    when(reader.getBoolean(3)).thenReturn(true);
+    when(reader.getTimestamp(4)).thenReturn(Instant.ofEpochSecond(id, 5));
+    when(reader.getDate(5)).thenReturn(Date.fromYearMonthDay(2026, 1, (int) (id % 28) + 1));
+    when(reader.getList(6, TAGS_TYPE)).thenReturn(ImmutableList.of("a", "b"));
+    when(reader.getMap(7, FAMILY_TYPE))
+        .thenReturn(ImmutableMap.of(ByteString.copyFromUtf8("q"), ByteString.copyFromUtf8("v")));
+    when(reader.getStruct(8)).thenReturn(detail);
+    return reader;
+  }
+
+  private static void assertRow(Object[] values, long id, Struct detail) {
+    assertEquals(id, values[0]);
+    assertEquals("name-" + id, values[1]);
+    assertEquals(id % 2 == 0 ? null : id / 2f, values[2]);
+    assertEquals(true, values[3]);
+    assertEquals(Instant.ofEpochSecond(id, 5), values[4]);
+    assertEquals(Date.fromYearMonthDay(2026, 1, (int) (id % 28) + 1), values[5]);
+    assertEquals(ImmutableList.of("a", "b"), values[6]);
+    assertEquals(
+        ImmutableMap.of(ByteString.copyFromUtf8("q"), ByteString.copyFromUtf8("v")),
+        (Map<?, ?>) values[7]);
+    if (values.length > 8) {
+      assertSame(detail, values[8]);
+    }
+  }
+
+  @Test
+  public void testRowsInMemory() {
+    RowStore store = new RowStore(COLUMNS, RowStore.DEFAULT_MEMORY_LIMIT_BYTES);
+    Struct detail = mock(Struct.class);
+    for (int id = 0; id < 3; id++) {
+      store.add(row(id, detail));
+    }
+
+    assertEquals(3, store.size());
+    assertRow(store.get(2), 2, detail);
+    assertRow(store.get(0), 0, detail);
+    store.close();
+  }
+
+  @Test
+  public void testSpilledRowsAcrossSegments() {
+    // Without STRUCT values, which stay on the heap, every row is spilled, into segments smaller
+    // than a row.
+    RowStore store = new RowStore(COLUMNS.subList(0, 8), 1, 16);
+    for (int id = 0; id < 20; id++) {
+      store.add(row(id, null));
+    }
+
+    for (int id = 19; id >= 0; id--) {
+      assertRow(store.get(id), id, null);
+    }
+    Path spillFile = store.spillFile();
+    assertTrue(Files.exists(spillFile));
+    store.close();
+    assertFalse(Files.exists(spillFile));
+    assertThrows(IllegalStateException.class, () -> store.get(0));
+  }
+
+  @Test
+  public void testHeapValuesCountTowardTheLimit() {
+    RowStore store = new RowStore(COLUMNS, 4096);
+    Struct detail = mock(Struct.class);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> {
+          for (int id = 0; id < 100; id++) {
+            store.add(row(id, detail));
+          }
+        });
+    assertTrue(store.size() < 100);
+    store.close();
+  }
+
+  @Test
+  public void testNullsAndEmptyValues() {
+    List<ColumnMetadata> columns =
+        ImmutableList.of(column("key", SqlType.bytes()), column("value", SqlType.string()));
+    RowStore store = new RowStore(columns, 0, 8);
+    StructReader reader = mock(StructReader.class);
+    when(reader.getBytes(0)).thenReturn(ByteString.EMPTY);
+    when(reader.isNull(1)).thenReturn(true);
+    store.add(reader);
+
+    assertArrayEquals(new Object[] {ByteString.EMPTY, null}, store.get(0));
+    store.close();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.models.sql.SqlType;
+import com.google.cloud.bigtable.data.v2.models.sql.StructReader;
+import com.google.protobuf.ByteString;
+import java.time.Instant;
+import java.time.LocalDate;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ValueConvertersTest {
+  private final StructReader reader = mock(StructReader.class);
+
+  @Test
+  public void testToEpochMicros() {
+    assertEquals(0L, ValueConverters.toEpochMicros(Instant.EPOCH));
+    assertEquals(1_500_001L, ValueConverters.toEpochMicros(Instant.ofEpochSecond(1, 500_001_999)));
+    assertEquals(-500_000L, ValueConverters.toEpochMicros(Instant.ofEpochSecond(-1, 500_000_000)));
+    assertThrows(ArithmeticException.class, () -> ValueConverters.toEpochMicros(Instant.MAX));
+  }
+
+  @Test
+  public void testConvertersByColumnType() {
+    when(reader.getDate(0)).thenReturn(com.google.cloud.Date.fromYearMonthDay(2026, 1, 31));
+    when(reader.getLong(1)).thenReturn(7L);
+    when(reader.getBytes(2)).thenReturn(ByteString.copyFromUtf8("ab"));
+
+    assertEquals(
+        LocalDate.of(2026, 1, 31),
+        ValueConverters.of(SqlType.date(), LocalDate.class).convert(reader, 0));
+    assertEquals(7, ValueConverters.of(SqlType.int64(), Integer.class).convert(reader, 1));
+    assertArrayEquals(
+        "ab".getBytes(),
+        (byte[]) ValueConverters.of(SqlType.bytes(), byte[].class).convert(reader, 2));
+  }
+
+  @Test
+  public void testMissingConverters() {
+    assertNull(ValueConverters.of(SqlType.string(), Instant.class));
+    assertNull(ValueConverters.of(SqlType.int64(), Object.class));
+    assertNull(ValueConverters.of(null, Long.class));
+  }
+}
@@ -17,7 +17,9 @@
 package com.google.cloud.bigtable.jdbc.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -170,6 +172,47 @@ public class BigtableClientFactoryImplTest {
     assertEquals(1, loadCount[0]);
   }
 
+  @Test
+  public void testClientIdentity() {
+    String jsonContent =
+        "{\"client_id\": \"dummy_client_id\",\n"
+            + "  \"client_secret\": \"dummy_client_secret\",\n"
+            + "  \"refresh_token\": \"dummy_refresh_token\",\n"
+            + "  \"type\": \"authorized_user\"\n"
+            + "}";
+    Properties info = new Properties();
+    info.setProperty("credential_json", jsonContent);
+
+    assertEquals(
+        new BigtableClientFactoryImpl(info).getClientIdentity(),
+        new BigtableClientFactoryImpl(info).getClientIdentity());
+    assertNotEquals(
+        new BigtableClientFactoryImpl(info).getClientIdentity(),
+        new BigtableClientFactoryImpl().getClientIdentity());
+
+    Credentials credentials = mock(Credentials.class);
+    assertEquals(
+        new BigtableClientFactoryImpl(credentials).getClientIdentity(),
+        new BigtableClientFactoryImpl(credentials).getClientIdentity());
+    assertNotEquals(
+        new BigtableClientFactoryImpl(credentials).getClientIdentity(),
+        new BigtableClientFactoryImpl(mock(Credentials.class)).getClientIdentity());
+
+    Properties tuned = new Properties();
+    tuned.putAll(info);
+    tuned.setProperty("channel_pool_size", "8");
+    assertNotEquals(
+        new BigtableClientFactoryImpl(info).getClientIdentity(),
+        new BigtableClientFactoryImpl(tuned).getClientIdentity());
+  }
+
+  @Test
+  public void testInvalidTransportProperty() {
+    Properties info = new Properties();
+    info.setProperty("keepalive_time_ms", "soon");
+    assertThrows(IllegalArgumentException.class, () -> new BigtableClientFactoryImpl(info));
+  }
+
   @Test
   public void testDefaultConstructor() {
     BigtableClientFactoryImpl factory = new BigtableClientFactoryImpl();
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BigtableClientRegistryTest {
+  private BigtableClientRegistry registry;
+  private IBigtableClientFactory factory;
+  private BigtableDataClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    registry = new BigtableClientRegistry();
+    factory = mock(IBigtableClientFactory.class);
+    client = mock(BigtableDataClient.class);
+    when(factory.getClientIdentity()).thenReturn("identity");
+    when(factory.createBigtableDataClient("project", "instance", null, null)).thenReturn(client);
+  }
+
+  @Test
+  public void testLeasesShareClient() throws IOException {
+    BigtableClientRegistry.Lease first =
+        registry.acquire(factory, "project", "instance", null, null, 0);
+    BigtableClientRegistry.Lease second =
+        registry.acquire(factory, "project", "instance", null, null, 0);
+
+    assertSame(first.getClient(), second.getClient());
+    verify(factory, times(1)).createBigtableDataClient("project", "instance", null, null);
+    assertEquals(1, registry.size());
+  }
+
+  @Test
+  public void testLastReleaseClosesClient() throws IOException {
+    BigtableClientRegistry.Lease first =
+        registry.acquire(factory, "project", "instance", null, null, 0);
+    BigtableClientRegistry.Lease second =
+        registry.acquire(factory, "project", "instance", null, null, 0);
+
+    first.close();
+    verify(client, never()).close();
+    // Releasing the same lease twice must not drop another lease's reference.
+    first.close();
+    verify(client, never()).close();
+
+    second.close();
+    verify(client).close();
+    assertEquals(0, registry.size());
+  }
+
+  @Test
+  public void testIdleTimeoutKeepsClientForReuse() throws IOException {
+    BigtableClientRegistry.Lease first =
+        registry.acquire(factory, "project", "instance", null, null, 60_000);
+    first.close();
+    verify(client, never()).close();
+    assertEquals(1, registry.size());
+
+    BigtableClientRegistry.Lease second =
+        registry.acquire(factory, "project", "instance", null, null, 60_000);
+    assertSame(client, second.getClient());
+    verify(factory, times(1)).createBigtableDataClient("project", "instance", null, null);
+  }
+
+  @Test
+  public void testIdleTimeoutClosesClientEventually() throws IOException {
+    BigtableClientRegistry.Lease lease =
+        registry.acquire(factory, "project", "instance", null, null, 10);
+    lease.close();
+    verify(client, timeout(5_000)).close();
+  }
+
+  @Test
+  public void testDifferentIdentitiesDoNotShare() throws IOException {
+    IBigtableClientFactory otherFactory = mock(IBigtableClientFactory.class);
+    BigtableDataClient otherClient = mock(BigtableDataClient.class);
+    when(otherFactory.getClientIdentity()).thenReturn("other-identity");
+    when(otherFactory.createBigtableDataClient("project", "instance", null, null))
+        .thenReturn(otherClient);
+
+    BigtableClientRegistry.Lease first =
+        registry.acquire(factory, "project", "instance", null, null, 0);
+    BigtableClientRegistry.Lease second =
+        registry.acquire(otherFactory, "project", "instance", null, null, 0);
+
+    assertNotSame(first.getClient(), second.getClient());
+    assertEquals(2, registry.size());
+  }
+
+  @Test
+  public void testNullIdentityIsScopedToFactoryInstance() throws IOException {
+    IBigtableClientFactory first = mock(IBigtableClientFactory.class);
+    IBigtableClientFactory second = mock(IBigtableClientFactory.class);
+    when(first.createBigtableDataClient("project", "instance", null, null)).thenReturn(client);
+    when(second.createBigtableDataClient("project", "instance", null, null))
+        .thenReturn(mock(BigtableDataClient.class));
+
+    registry.acquire(first, "project", "instance", null, null, 0);
+    registry.acquire(second, "project", "instance", null, null, 0);
+
+    assertEquals(2, registry.size());
+  }
+
+  @Test
+  public void testFailedCreationIsNotRegistered() throws IOException {
+    when(factory.createBigtableDataClient("project", "other-instance", null, null))
+        .thenThrow(new IOException("boom"));
+
+    assertThrows(
+        IOException.class,
+        () -> registry.acquire(factory, "project", "other-instance", null, null, 0));
+    assertEquals(0, registry.size());
+  }
+}
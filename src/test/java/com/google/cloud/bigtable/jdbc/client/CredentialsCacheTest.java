@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.UserCredentials;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+@RunWith(JUnit4.class)
+public class CredentialsCacheTest {
+  private static final String JSON =
+      "{\"client_id\": \"dummy_client_id\",\n"
+          + "  \"client_secret\": \"dummy_client_secret\",\n"
+          + "  \"refresh_token\": \"dummy_refresh_token\",\n"
+          + "  \"type\": \"authorized_user\"\n"
+          + "}";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ScheduledExecutorService refresher;
+  private ScheduledFuture<?> scheduledRefresh;
+  private CredentialsCache cache;
+
+  @Before
+  public void setUp() {
+    refresher = mock(ScheduledExecutorService.class);
+    scheduledRefresh = mock(ScheduledFuture.class);
+    doReturn(scheduledRefresh)
+        .when(refresher)
+        .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    cache = new CredentialsCache(refresher);
+  }
+
+  // Runs the refresh scheduled last and returns the delay it was scheduled with.
+  private long runScheduledRefresh(int scheduledSoFar) {
+    ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+    ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+    verify(refresher, times(scheduledSoFar))
+        .schedule(refresh.capture(), delay.capture(), eq(TimeUnit.MILLISECONDS));
+    refresh.getValue().run();
+    return delay.getValue();
+  }
+
+  @Test
+  public void testGetFromFileReadsFileOnce() throws IOException {
+    Path file = temporaryFolder.newFile("credentials.json").toPath();
+    Files.write(file, JSON.getBytes(StandardCharsets.UTF_8));
+
+    GoogleCredentials first = cache.getFromFile(file, BigtableClientFactoryImpl.SCOPES);
+    Files.delete(file);
+    GoogleCredentials second = cache.getFromFile(file, BigtableClientFactoryImpl.SCOPES);
+
+    assertSame(first, second);
+    assertEquals(1, cache.size());
+    // Nothing is refreshed until a client uses the credentials.
+    verify(refresher, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void testGetFromJsonIsKeyedByContent() throws IOException {
+    GoogleCredentials first = cache.getFromJson(JSON, BigtableClientFactoryImpl.SCOPES);
+    GoogleCredentials second = cache.getFromJson(JSON, BigtableClientFactoryImpl.SCOPES);
+    String otherJson = JSON.replace("dummy_client_id", "other_client_id");
+    GoogleCredentials other = cache.getFromJson(otherJson, BigtableClientFactoryImpl.SCOPES);
+
+    assertSame(first, second);
+    assertNotSame(first, other);
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testMissingFileIsNotCached() {
+    Path missing = temporaryFolder.getRoot().toPath().resolve("missing.json");
+    assertThrows(
+        IOException.class, () -> cache.getFromFile(missing, BigtableClientFactoryImpl.SCOPES));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testRetainStartsRefreshAndLastReleaseDropsCredentials() throws IOException {
+    GoogleCredentials credentials = mock(UserCredentials.class);
+    cache.get("key", () -> credentials);
+
+    assertFalse(cache.retain("key", mock(UserCredentials.class)));
+    assertTrue(cache.retain("key", credentials));
+    assertTrue(cache.retain("key", credentials));
+    verify(refresher, times(1)).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+
+    cache.release("key", credentials);
+    assertEquals(1, cache.size());
+    verify(scheduledRefresh, never()).cancel(false);
+    cache.release("key", credentials);
+    assertEquals(0, cache.size());
+    verify(scheduledRefresh).cancel(false);
+  }
+
+  @Test
+  public void testRefreshSchedulesNextRefreshBeforeExpiry() throws IOException {
+    AtomicInteger refreshes = new AtomicInteger();
+    // getAccessToken() is final, so the token comes from a real refresh instead of a stub.
+    GoogleCredentials credentials =
+        new GoogleCredentials() {
+          @Override
+          public AccessToken refreshAccessToken() {
+            refreshes.incrementAndGet();
+            long expiry = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+            return new AccessToken("token", new Date(expiry));
+          }
+        };
+    cache.get("key", () -> credentials);
+    cache.retain("key", credentials);
+
+    assertEquals(0L, runScheduledRefresh(1));
+    assertEquals(1, refreshes.get());
+    long expected = TimeUnit.HOURS.toMillis(1) - CredentialsCache.REFRESH_MARGIN_MILLIS;
+    ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+    verify(refresher, times(2))
+        .schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+    assertEquals(expected, delay.getValue(), TimeUnit.SECONDS.toMillis(5));
+  }
+
+  @Test
+  public void testFailedRefreshIsRetriedThenStops() throws IOException {
+    GoogleCredentials credentials = mock(UserCredentials.class);
+    doThrow(new IOException("unavailable")).when(credentials).refresh();
+    cache.get("key", () -> credentials);
+    cache.retain("key", credentials);
+
+    for (int attempt = 1; attempt < CredentialsCache.MAX_CONSECUTIVE_FAILURES; attempt++) {
+      runScheduledRefresh(attempt);
+    }
+    long retryDelay = CredentialsCache.RETRY_DELAY_MILLIS;
+    verify(refresher, times(CredentialsCache.MAX_CONSECUTIVE_FAILURES - 1))
+        .schedule(any(Runnable.class), eq(retryDelay), eq(TimeUnit.MILLISECONDS));
+
+    runScheduledRefresh(CredentialsCache.MAX_CONSECUTIVE_FAILURES);
+    verify(credentials, times(CredentialsCache.MAX_CONSECUTIVE_FAILURES)).refresh();
+    verify(refresher, times(CredentialsCache.MAX_CONSECUTIVE_FAILURES))
+        .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void testRefreshStopsAfterRelease() throws IOException {
+    GoogleCredentials credentials = mock(UserCredentials.class);
+    cache.get("key", () -> credentials);
+    cache.retain("key", credentials);
+    cache.release("key", credentials);
+
+    runScheduledRefresh(1);
+    verify(refresher, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void testSlowLoadDoesNotBlockOtherKeys() throws Exception {
+    GoogleCredentials slow = mock(UserCredentials.class);
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch finishLoad = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    CredentialsCache.CredentialsLoader slowLoader =
+        () -> {
+          loads.incrementAndGet();
+          loadStarted.countDown();
+          try {
+            finishLoad.await();
+          } catch (InterruptedException e) {
+            throw new IOException(e);
+          }
+          return slow;
+        };
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<GoogleCredentials> first = executor.submit(() -> cache.get("slow", slowLoader));
+      assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+      Future<GoogleCredentials> second = executor.submit(() -> cache.get("slow", slowLoader));
+
+      // Other keys are loaded and retained while the slow load is still running.
+      GoogleCredentials other = mock(UserCredentials.class);
+      assertSame(other, cache.get("other", () -> other));
+      assertTrue(cache.retain("other", other));
+      assertFalse(first.isDone());
+
+      finishLoad.countDown();
+      assertSame(slow, first.get(5, TimeUnit.SECONDS));
+      assertSame(slow, second.get(5, TimeUnit.SECONDS));
+      assertEquals(1, loads.get());
+      assertEquals(2, cache.size());
+    } finally {
+      finishLoad.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testNextRefreshDelay() {
+    long now = 1_000_000L;
+    assertEquals(
+        CredentialsCache.DEFAULT_REFRESH_INTERVAL_MILLIS,
+        CredentialsCache.nextRefreshDelayMillis(null, now));
+    assertEquals(
+        CredentialsCache.DEFAULT_REFRESH_INTERVAL_MILLIS,
+        CredentialsCache.nextRefreshDelayMillis(new AccessToken("token", null), now));
+    // Short-lived tokens are refreshed at half their lifetime.
+    long tenMinutes = TimeUnit.MINUTES.toMillis(10);
+    assertEquals(
+        tenMinutes / 2,
+        CredentialsCache.nextRefreshDelayMillis(
+            new AccessToken("token", new Date(now + tenMinutes)), now));
+    // Expired tokens are retried after a short delay.
+    assertEquals(
+        CredentialsCache.RETRY_DELAY_MILLIS,
+        CredentialsCache.nextRefreshDelayMillis(new AccessToken("token", new Date(now - 1)), now));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.bigtable.jdbc.client.InMemoryMetrics.MethodStats;
+import io.grpc.Status;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class InMemoryMetricsTest {
+  private static final String EXECUTE_QUERY = "google.bigtable.v2.Bigtable/ExecuteQuery";
+
+  @Test
+  public void testRecordsAttempts() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+    metrics.recordFirstResponse(EXECUTE_QUERY, 10);
+    metrics.recordAttempt(EXECUTE_QUERY, Status.Code.OK, 100);
+    metrics.recordFirstResponse(EXECUTE_QUERY, 30);
+    metrics.recordAttempt(EXECUTE_QUERY, Status.Code.OK, 300);
+    metrics.recordAttempt(EXECUTE_QUERY, Status.Code.UNAVAILABLE, 50);
+
+    Map<String, MethodStats> snapshot = metrics.snapshot();
+    assertEquals(1, snapshot.size());
+    MethodStats stats = snapshot.get(EXECUTE_QUERY);
+    assertEquals(3, stats.getAttempts());
+    assertEquals(1, stats.getFailures());
+    assertEquals(Long.valueOf(2), stats.getStatusCounts().get("OK"));
+    assertEquals(Long.valueOf(1), stats.getStatusCounts().get("UNAVAILABLE"));
+    assertEquals(150, stats.getMeanLatencyNanos());
+    assertEquals(300, stats.getMaxLatencyNanos());
+    assertEquals(20, stats.getMeanFirstResponseNanos());
+  }
+
+  @Test
+  public void testReset() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+    metrics.recordAttempt(EXECUTE_QUERY, Status.Code.OK, 100);
+    metrics.reset();
+    assertTrue(metrics.snapshot().isEmpty());
+  }
+
+  @Test
+  public void testEmptyStats() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+    metrics.recordFirstResponse(EXECUTE_QUERY, 10);
+    MethodStats stats = metrics.snapshot().get(EXECUTE_QUERY);
+    assertEquals(0, stats.getAttempts());
+    assertEquals(0, stats.getMeanLatencyNanos());
+    assertEquals(10, stats.getMeanFirstResponseNanos());
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.bigtable.data.v2.BigtableDataSettings;
+import com.google.cloud.bigtable.data.v2.stub.EnhancedBigtableStubSettings;
+import com.google.cloud.bigtable.data.v2.stub.metrics.MetricsProvider;
+import com.google.cloud.bigtable.data.v2.stub.metrics.NoopMetricsProvider;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MetricsOptionsTest {
+  private static final MetricsProvider SUPPLIED_PROVIDER = NoopMetricsProvider.INSTANCE;
+  private static final CountDownLatch SLOW_PROVIDER_RELEASE = new CountDownLatch(1);
+
+  /** A custom provider supplier, loaded by class name. */
+  public static class TestProviderSupplier implements Supplier<MetricsProvider> {
+    @Override
+    public MetricsProvider get() {
+      return SUPPLIED_PROVIDER;
+    }
+  }
+
+  /** A custom provider supplier that does not finish initializing until released. */
+  public static class SlowProviderSupplier implements Supplier<MetricsProvider> {
+    @Override
+    public MetricsProvider get() {
+      try {
+        SLOW_PROVIDER_RELEASE.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return SUPPLIED_PROVIDER;
+    }
+  }
+
+  private static Properties properties(String... keyValues) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      properties.setProperty(keyValues[i], keyValues[i + 1]);
+    }
+    return properties;
+  }
+
+  private static EnhancedBigtableStubSettings.Builder stubSettings() {
+    return BigtableDataSettings.newBuilder()
+        .setProjectId("project")
+        .setInstanceId("instance")
+        .stubSettings();
+  }
+
+  @Test
+  public void testDefaultDisablesMetrics() {
+    EnhancedBigtableStubSettings.Builder stubSettings = stubSettings();
+    MetricsOptions.fromProperties(new Properties()).applyTo(stubSettings);
+    assertSame(NoopMetricsProvider.INSTANCE, stubSettings.getMetricsProvider());
+  }
+
+  @Test
+  public void testInMemoryInstallsInterceptor() {
+    EnhancedBigtableStubSettings.Builder stubSettings = stubSettings();
+    Object before = stubSettings.getTransportChannelProvider();
+    MetricsOptions.fromProperties(properties("metrics_provider", "in_memory"))
+        .applyTo(stubSettings);
+    assertSame(NoopMetricsProvider.INSTANCE, stubSettings.getMetricsProvider());
+    assertNotSame(before, stubSettings.getTransportChannelProvider());
+  }
+
+  @Test
+  public void testCustomProviderSupplier() {
+    EnhancedBigtableStubSettings.Builder stubSettings = stubSettings();
+    MetricsOptions.fromProperties(
+            properties("metrics_provider", TestProviderSupplier.class.getName()))
+        .applyTo(stubSettings);
+    assertSame(SUPPLIED_PROVIDER, stubSettings.getMetricsProvider());
+  }
+
+  @Test
+  public void testSlowCustomProviderFallsBackToNoop() {
+    EnhancedBigtableStubSettings.Builder stubSettings = stubSettings();
+    MetricsOptions options =
+        MetricsOptions.fromProperties(
+            properties(
+                "metrics_provider",
+                SlowProviderSupplier.class.getName(),
+                "metrics_init_timeout_ms",
+                "10"));
+    Object loadingIdentity = options.clientIdentity();
+    try {
+      options.applyTo(stubSettings);
+      assertSame(NoopMetricsProvider.INSTANCE, stubSettings.getMetricsProvider());
+    } finally {
+      SLOW_PROVIDER_RELEASE.countDown();
+    }
+    // Clients created with the fallback are not shared once the provider is loaded.
+    MetricsOptions.fromProperties(
+            properties("metrics_provider", SlowProviderSupplier.class.getName()))
+        .applyTo(stubSettings());
+    assertNotEquals(loadingIdentity, options.clientIdentity());
+  }
+
+  @Test
+  public void testInvalidProviderClass() {
+    MetricsOptions options =
+        MetricsOptions.fromProperties(properties("metrics_provider", "com.example.Missing"));
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> options.applyTo(stubSettings()));
+    assertEquals("Invalid value for metrics_provider: com.example.Missing", e.getMessage());
+
+    assertThrows(
+        IllegalArgumentException.class, () -> MetricsOptions.instantiate("java.lang.Object"));
+  }
+
+  @Test
+  public void testInvalidTimeout() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> MetricsOptions.fromProperties(properties("metrics_init_timeout_ms", "-1")));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> MetricsOptions.fromProperties(properties("metrics_init_timeout_ms", "abc")));
+  }
+
+  @Test
+  public void testEquality() {
+    assertEquals(
+        MetricsOptions.fromProperties(properties("metrics_provider", "in_memory")),
+        MetricsOptions.fromProperties(
+            properties("metrics_provider", "in_memory", "metrics_init_timeout_ms", "5")));
+    assertNotEquals(
+        MetricsOptions.fromProperties(new Properties()),
+        MetricsOptions.fromProperties(properties("metrics_provider", "in_memory")));
+  }
+}
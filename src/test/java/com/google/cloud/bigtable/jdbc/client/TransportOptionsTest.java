@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.api.gax.rpc.TransportChannelProvider;
+import com.google.cloud.bigtable.data.v2.BigtableDataSettings;
+import com.google.cloud.bigtable.data.v2.stub.EnhancedBigtableStubSettings;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TransportOptionsTest {
+
+  private static Properties properties(String... keyValues) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      properties.setProperty(keyValues[i], keyValues[i + 1]);
+    }
+    return properties;
+  }
+
+  @Test
+  public void testDefaults() {
+    TransportOptions options = TransportOptions.fromProperties(new Properties());
+    assertTrue(options.isDefault());
+
+    EnhancedBigtableStubSettings.Builder stubSettings =
+        BigtableDataSettings.newBuilder()
+            .setProjectId("project")
+            .setInstanceId("instance")
+            .stubSettings();
+    TransportChannelProvider before = stubSettings.getTransportChannelProvider();
+    assertNull(options.applyTo(stubSettings));
+    assertSame(before, stubSettings.getTransportChannelProvider());
+  }
+
+  @Test
+  public void testApplyTo() {
+    TransportOptions options =
+        TransportOptions.fromProperties(
+            properties(
+                "channel_pool_size", "6",
+                "keepalive_time_ms", "30000",
+                "keepalive_timeout_ms", "10000",
+                "max_inbound_message_size", "1048576",
+                "message_compression", "GZIP",
+                "attempt_direct_path", "false",
+                "executor_threads", "4"));
+    assertFalse(options.isDefault());
+
+    EnhancedBigtableStubSettings.Builder stubSettings =
+        BigtableDataSettings.newBuilder()
+            .setProjectId("project")
+            .setInstanceId("instance")
+            .stubSettings();
+    ExecutorService executor = options.applyTo(stubSettings);
+    assertNotNull(executor);
+    executor.shutdown();
+
+    InstantiatingGrpcChannelProvider provider =
+        (InstantiatingGrpcChannelProvider) stubSettings.getTransportChannelProvider();
+    assertEquals(Integer.valueOf(1048576), provider.toBuilder().getMaxInboundMessageSize());
+    assertEquals(6, provider.getChannelPoolSettings().getInitialChannelCount());
+  }
+
+  @Test
+  public void testEquality() {
+    assertEquals(
+        TransportOptions.fromProperties(properties("channel_pool_size", "4")),
+        TransportOptions.fromProperties(properties("channel_pool_size", "4")));
+    assertEquals(
+        TransportOptions.fromProperties(properties("channel_pool_size", "4")).hashCode(),
+        TransportOptions.fromProperties(properties("channel_pool_size", "4")).hashCode());
+    assertNotEquals(
+        TransportOptions.fromProperties(properties("channel_pool_size", "4")),
+        TransportOptions.fromProperties(properties("channel_pool_size", "8")));
+  }
+
+  @Test
+  public void testInvalidValues() {
+    String[][] invalid = {
+      {"channel_pool_size", "0"},
+      {"channel_pool_size", "many"},
+      {"keepalive_time_ms", "-1"},
+      {"keepalive_timeout_ms", "1.5"},
+      {"max_inbound_message_size", "4294967296"},
+      {"message_compression", "zstd"},
+      {"attempt_direct_path", "maybe"},
+      {"executor_threads", "-4"},
+    };
+    for (String[] keyValue : invalid) {
+      IllegalArgumentException e =
+          assertThrows(
+              IllegalArgumentException.class,
+              () -> TransportOptions.fromProperties(properties(keyValue[0], keyValue[1])));
+      assertTrue(e.getMessage().contains(keyValue[0]));
+    }
+  }
+}
@@ -16,9 +16,14 @@
 
 package com.google.cloud.bigtable.jdbc.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import org.junit.Test;
 
 public class SqlParserTest {
@@ -272,4 +277,104 @@ public class SqlParserTest {
             + "WHERE name = '?' AND notes = \"/* ? */\" AND extra = @param1;";
     assertEquals(expected, SqlParser.replacePlaceholdersWithNamedParams(sql, 1));
   }
+
+  @Test
+  public void testParameterizeLiterals() {
+    SqlParser.ParameterizedSql parameterized =
+        SqlParser.parameterizeLiterals(
+            "SELECT * FROM users WHERE name = 'bob' AND age > 30 AND score < 1.5e2");
+    assertEquals(
+        "SELECT * FROM users WHERE name = @literal1 AND age > @literal2 AND score < @literal3",
+        parameterized.getSql());
+    Map<String, Parameter> parameters = parameterized.getParameters();
+    assertEquals(3, parameters.size());
+    assertEquals("STRING", parameters.get("literal1").getTypeLabel());
+    assertEquals("bob", parameters.get("literal1").getValue());
+    assertEquals("INT", parameters.get("literal2").getTypeLabel());
+    assertEquals(30L, parameters.get("literal2").getValue());
+    assertEquals("DOUBLE", parameters.get("literal3").getTypeLabel());
+    assertEquals(150.0, parameters.get("literal3").getValue());
+  }
+
+  @Test
+  public void testParameterizeLiteralsSameShape() {
+    assertEquals(
+        SqlParser.parameterizeLiterals("SELECT * FROM t WHERE _key = 'a'").getSql(),
+        SqlParser.parameterizeLiterals("SELECT * FROM t WHERE _key = \"bcd\"").getSql());
+  }
+
+  @Test
+  public void testParameterizeBytesAndRawLiterals() {
+    SqlParser.ParameterizedSql parameterized =
+        SqlParser.parameterizeLiterals("SELECT * FROM t WHERE _key = b'row1' AND c = r'a\\d'");
+    assertEquals(
+        "SELECT * FROM t WHERE _key = @literal1 AND c = @literal2", parameterized.getSql());
+    Parameter bytes = parameterized.getParameters().get("literal1");
+    assertEquals("BYTES", bytes.getTypeLabel());
+    assertArrayEquals("row1".getBytes(StandardCharsets.UTF_8), (byte[]) bytes.getValue());
+    assertEquals("a\\d", parameterized.getParameters().get("literal2").getValue());
+  }
+
+  @Test
+  public void testParameterizeLiteralsKeepsShapeLiterals() {
+    String sql =
+        "SELECT cf['col'], COUNT(*) FROM t WHERE d > DATE '2024-01-01' AND s = 'a\\'b'"
+            + " AND h = 0x1F GROUP BY 1 ORDER BY 2 DESC LIMIT 10 OFFSET 5";
+    SqlParser.ParameterizedSql parameterized = SqlParser.parameterizeLiterals(sql);
+    assertEquals(sql, parameterized.getSql());
+    assertTrue(parameterized.getParameters().isEmpty());
+  }
+
+  @Test
+  public void testParameterizeLiteralsAfterOrderBy() {
+    SqlParser.ParameterizedSql parameterized =
+        SqlParser.parameterizeLiterals(
+            "SELECT * FROM (SELECT * FROM t ORDER BY 1) WHERE x = 'a' ORDER BY 2");
+    assertEquals(
+        "SELECT * FROM (SELECT * FROM t ORDER BY 1) WHERE x = @literal1 ORDER BY 2",
+        parameterized.getSql());
+    assertEquals(1, parameterized.getParameters().size());
+  }
+
+  @Test
+  public void testParameterizeLiteralsSkipsCommentsAndIdentifiers() {
+    String sql = "SELECT `col 'x'` FROM t -- where x = 'a'\n/* 'b' */ WHERE y = 2";
+    assertEquals(
+        "SELECT `col 'x'` FROM t -- where x = 'a'\n/* 'b' */ WHERE y = @literal1",
+        SqlParser.parameterizeLiterals(sql).getSql());
+  }
+
+  @Test
+  public void testParameterizeLiteralsWithExistingParameters() {
+    String sql = "SELECT * FROM t WHERE a = @p AND b = 'x'";
+    SqlParser.ParameterizedSql parameterized = SqlParser.parameterizeLiterals(sql);
+    assertEquals(sql, parameterized.getSql());
+    assertTrue(parameterized.getParameters().isEmpty());
+  }
+
+  @Test
+  public void testWithLimit() {
+    assertEquals("SELECT * FROM t\nLIMIT 10", SqlParser.withLimit("SELECT * FROM t", 10));
+    assertEquals(
+        "SELECT * FROM t -- all rows\nLIMIT 10",
+        SqlParser.withLimit("SELECT * FROM t -- all rows", 10));
+    assertEquals(
+        "SELECT * FROM (SELECT * FROM t LIMIT 5) WHERE a = 'limit'\nLIMIT 10",
+        SqlParser.withLimit("SELECT * FROM (SELECT * FROM t LIMIT 5) WHERE a = 'limit'", 10));
+    assertEquals(
+        "WITH x AS (SELECT 1) SELECT * FROM x\nLIMIT 3",
+        SqlParser.withLimit("WITH x AS (SELECT 1) SELECT * FROM x", 3));
+    assertEquals(
+        "SELECT `limit` FROM t\nLIMIT 10", SqlParser.withLimit("SELECT `limit` FROM t", 10));
+  }
+
+  @Test
+  public void testWithLimitWhenUnsafe() {
+    assertNull(SqlParser.withLimit("SELECT * FROM t LIMIT 5", 10));
+    assertNull(SqlParser.withLimit("SELECT * FROM t limit 5 offset 2", 10));
+    assertNull(SqlParser.withLimit("SELECT * FROM t;", 10));
+    assertNull(SqlParser.withLimit("SELECT * FROM t /* unterminated", 10));
+    assertNull(SqlParser.withLimit("SELECT 'unterminated", 10));
+    assertNull(SqlParser.withLimit("INSERT INTO t VALUES (1)", 10));
+  }
 }
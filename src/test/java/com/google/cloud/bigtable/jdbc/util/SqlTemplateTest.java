@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.bigtable.jdbc.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SqlTemplateTest {
+
+  @Test
+  public void testOfReturnsCachedTemplate() {
+    String sql = "SELECT * FROM users WHERE id = ?";
+    assertSame(SqlTemplate.of(sql), SqlTemplate.of(sql));
+  }
+
+  @Test
+  public void testPlaceholderOffsets() {
+    String sql = "SELECT * FROM t WHERE a = ? AND b = '?' /* ? */ AND c = ?";
+    SqlTemplate template = SqlTemplate.compile(sql);
+    assertEquals(2, template.getPlaceholderCount());
+    assertEquals(
+        Arrays.asList(sql.indexOf('?'), sql.lastIndexOf('?')), template.getPlaceholderOffsets());
+    assertEquals(
+        "SELECT * FROM t WHERE a = @param1 AND b = '?' /* ? */ AND c = @param2",
+        template.toNamedParams(2));
+  }
+
+  @Test
+  public void testToNamedParamsChecksCount() {
+    SqlTemplate template = SqlTemplate.compile("SELECT * FROM t WHERE a = ?");
+    assertThrows(IllegalArgumentException.class, () -> template.toNamedParams(0));
+    assertThrows(IllegalArgumentException.class, () -> template.toNamedParams(2));
+  }
+
+  @Test
+  public void testSpansAndSeparators() {
+    String sql = "SELECT `a;?` FROM t WHERE b = 'x;' -- c;\n AND d = ?; SELECT 1";
+    SqlTemplate template = SqlTemplate.compile(sql);
+    assertEquals(1, template.getPlaceholderCount());
+    assertEquals(3, template.getSpans().size());
+    SqlTemplate.Span identifier = template.getSpans().get(0);
+    assertEquals(SqlTemplate.Span.Type.QUOTED_IDENTIFIER, identifier.getType());
+    assertEquals("`a;?`", sql.substring(identifier.getStart(), identifier.getEnd()));
+    SqlTemplate.Span string = template.getSpans().get(1);
+    assertEquals(SqlTemplate.Span.Type.STRING, string.getType());
+    assertEquals("'x;'", sql.substring(string.getStart(), string.getEnd()));
+    SqlTemplate.Span comment = template.getSpans().get(2);
+    assertEquals(SqlTemplate.Span.Type.COMMENT, comment.getType());
+    assertEquals("-- c;\n", sql.substring(comment.getStart(), comment.getEnd()));
+    assertEquals(Arrays.asList(sql.lastIndexOf(';')), template.getSeparatorOffsets());
+    assertTrue(template.isTerminated());
+  }
+
+  @Test
+  public void testUnterminatedSpan() {
+    String sql = "SELECT 1 /* open";
+    SqlTemplate template = SqlTemplate.compile(sql);
+    assertFalse(template.isTerminated());
+    assertEquals(sql.length(), template.getSpans().get(0).getEnd());
+    assertFalse(SqlTemplate.compile("SELECT 'open").isTerminated());
+  }
+
+  @Test
+  public void testKind() {
+    assertEquals(SqlTemplate.Kind.QUERY, SqlTemplate.compile("select 1").getKind());
+    assertEquals(
+        SqlTemplate.Kind.QUERY,
+        SqlTemplate.compile("-- comment\n (WITH t AS (SELECT 1) SELECT * FROM t)").getKind());
+    assertEquals(
+        SqlTemplate.Kind.DML, SqlTemplate.compile("/* x */ INSERT INTO t VALUES (1)").getKind());
+    assertEquals(SqlTemplate.Kind.DDL, SqlTemplate.compile("CREATE TABLE t").getKind());
+    assertEquals(SqlTemplate.Kind.OTHER, SqlTemplate.compile("").getKind());
+  }
+}
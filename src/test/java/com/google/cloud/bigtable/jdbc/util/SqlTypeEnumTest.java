@@ -36,6 +36,12 @@ public class SqlTypeEnumTest {
   public void testFromLabel() {
     assertEquals(SqlTypeEnum.STRING, SqlTypeEnum.fromLabel("STRING"));
     assertEquals(SqlTypeEnum.INT, SqlTypeEnum.fromLabel("INT"));
+    assertEquals(SqlTypeEnum.BOOL, SqlTypeEnum.fromLabel("bool"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFromLabelNull() {
+    SqlTypeEnum.fromLabel(null);
   }
 
   @Test(expected = IllegalArgumentException.class)